@@ -0,0 +1,99 @@
+package com.quodbiometria.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+@Configuration
+public class ExecutorConfig {
+
+    /**
+     * Pool limitado para a ingestão em lote. A fila curta com {@link ThreadPoolExecutor.CallerRunsPolicy}
+     * faz a thread que lê o arquivo processar a entrada quando o pool está saturado, limitando a quantidade
+     * de imagens mantidas em memória.
+     */
+    @Bean(name = "bulkIngestExecutor", destroyMethod = "shutdown")
+    public ThreadPoolTaskExecutor bulkIngestExecutor(
+            @Value("${app.bulk-ingest.threads:4}") int threads,
+            @Value("${app.bulk-ingest.queue-capacity:8}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("bulk-ingest-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Pool dos workers da fila de processamento. O worker só reivindica um job quando há thread livre, por
+     * isso o pool não precisa de fila.
+     */
+    @Bean(name = "processingJobExecutor", destroyMethod = "shutdown")
+    public ThreadPoolTaskExecutor processingJobExecutor(@Value("${app.jobs.worker-threads:2}") int threads) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(0);
+        executor.setThreadNamePrefix("processing-job-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Pool de I/O da leitura antecipada de chunks do GridFS. As tarefas apenas aguardam o MongoDB; quando o
+     * pool está cheio a própria thread leitora faz a consulta.
+     */
+    @Bean(name = "gridFsPrefetchExecutor", destroyMethod = "shutdown")
+    public ThreadPoolTaskExecutor gridFsPrefetchExecutor(
+            @Value("${app.storage.gridfs.prefetch.threads:4}") int threads) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(threads * 4);
+        executor.setThreadNamePrefix("gridfs-prefetch-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Pool da pré-validação em lote. As validações leem apenas o cabeçalho das imagens, por isso um pool
+     * pequeno atende várias requisições; quando está saturado a thread da requisição valida a imagem.
+     */
+    @Bean(name = "preValidationExecutor", destroyMethod = "shutdown")
+    public ThreadPoolTaskExecutor preValidationExecutor(
+            @Value("${app.pre-validation.threads:4}") int threads,
+            @Value("${app.pre-validation.queue-capacity:100}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("pre-validation-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Thread do flush por tamanho do buffer de resultados de detecção facial. A fila de uma posição basta:
+     * se já houver um flush pendente, ele levará os resultados que chegarem até lá.
+     */
+    @Bean(name = "faceDetectionWriteExecutor", destroyMethod = "shutdown")
+    public ThreadPoolTaskExecutor faceDetectionWriteExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(1);
+        executor.setThreadNamePrefix("face-detection-write-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.initialize();
+        return executor;
+    }
+}
@@ -0,0 +1,95 @@
+package com.quodbiometria.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Políticas de tratamento de imagens configuráveis por tipo de imagem ({@code FACIAL}, {@code DIGITAL},
+ * {@code DOCUMENTO}...). Valores não definidos para um tipo caem no bloco {@code padrao}.
+ *
+ * <pre>
+ * app.image.policy.padrao.jpeg-quality=0.9
+ * app.image.policy.tipos.facial.max-dimension=1600
+ * </pre>
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.image.policy")
+public class ImageTypePolicyProperties {
+
+    /**
+     * Tag de métricas para tipos sem política própria.
+     */
+    public static final String OTHER_TYPE_TAG = "outro";
+
+    private Policy padrao = new Policy();
+    private Map<String, Policy> tipos = new HashMap<>();
+
+    /**
+     * Resolve um valor da política para o tipo de imagem, usando o valor padrão quando o tipo não o define.
+     *
+     * @param tipoImagem Tipo da imagem (não diferencia maiúsculas de minúsculas)
+     * @param getter Propriedade da política a ser lida
+     * @return Valor configurado para o tipo, o valor padrão ou {@code null} se nenhum estiver definido
+     */
+    public <T> T resolve(String tipoImagem, Function<Policy, T> getter) {
+        Policy policy = tipoImagem != null ? tipos.get(tipoImagem.toLowerCase()) : null;
+        T value = policy != null ? getter.apply(policy) : null;
+        return value != null ? value : getter.apply(padrao);
+    }
+
+    /**
+     * Valor do tipo de imagem para tags de métricas. Só os tipos com política configurada viram tag; os demais,
+     * que vêm do cliente, são agrupados em {@value #OTHER_TYPE_TAG} para não criar medidores sem limite.
+     */
+    public String metricTag(String tipoImagem) {
+        String tipo = tipoImagem != null ? tipoImagem.toLowerCase() : null;
+        return tipo != null && tipos.containsKey(tipo) ? tipo : OTHER_TYPE_TAG;
+    }
+
+    @Data
+    public static class Policy {
+        /**
+         * Maior lado permitido, em pixels, para imagens normalizadas na ingestão. Zero desativa o limite.
+         */
+        private Integer maxDimension;
+
+        /**
+         * Qualidade JPEG (0.0 a 1.0) usada ao recodificar imagens normalizadas.
+         */
+        private Float jpegQuality;
+
+        /**
+         * Tamanho dos chunks do GridFS, em bytes, para novos arquivos. Vazio usa o padrão do driver (255KB).
+         */
+        private Integer chunkSizeBytes;
+
+        /**
+         * Número máximo de pixels (largura x altura lidas do cabeçalho) aceito antes de decodificar a imagem.
+         */
+        private Long maxPixels;
+
+        /**
+         * Dimensões mínimas, em pixels, exigidas na validação.
+         */
+        private Integer minWidth;
+        private Integer minHeight;
+
+        /**
+         * Limites da proporção largura/altura aceitos na validação.
+         */
+        private Double minAspectRatio;
+        private Double maxAspectRatio;
+
+        /**
+         * Nomes das regras de validação que não se aplicam ao tipo.
+         */
+        private List<String> regrasDesativadas;
+    }
+}
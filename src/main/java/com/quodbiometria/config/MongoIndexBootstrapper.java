@@ -0,0 +1,228 @@
+package com.quodbiometria.config;
+
+import com.quodbiometria.model.entity.BiometricImageMetadata;
+import com.quodbiometria.model.entity.ErasureCertificate;
+import com.quodbiometria.model.entity.FaceDetectionArchive;
+import com.quodbiometria.model.entity.FaceDetectionResult;
+import com.quodbiometria.model.entity.JwtSigningKey;
+import com.quodbiometria.model.entity.ProcessingJob;
+import com.quodbiometria.model.entity.RateLimitBucketState;
+import com.quodbiometria.model.entity.RefreshToken;
+import com.quodbiometria.model.entity.StatisticsRollup;
+import com.quodbiometria.model.entity.User;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.index.IndexInfo;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Cria na inicialização os índices exigidos pelas consultas dos repositórios e serviços.
+ * A criação é idempotente: índices já existentes com a mesma definição são mantidos. Índices TTL cujo prazo
+ * mudou na configuração são atualizados com {@code collMod}, sem recriação.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class MongoIndexBootstrapper {
+
+    private final MongoTemplate mongoTemplate;
+
+    @Value("${app.mongo.indexes.auto-create:true}")
+    private boolean autoCreate;
+
+    @Value("${app.face-detection.retention.days:0}")
+    private long detectionRetentionDays;
+
+    @PostConstruct
+    public void init() {
+        if (!autoCreate) {
+            log.info("Criação automática de índices desativada");
+            return;
+        }
+        ensureIndexes();
+    }
+
+    /**
+     * Garante a existência de todos os índices declarados.
+     *
+     * @return Quantidade de índices criados ou confirmados
+     */
+    public int ensureIndexes() {
+        int ensured = 0;
+        Duration detectionRetention = Duration.ofDays(Math.max(detectionRetentionDays, 0));
+        for (Map.Entry<Class<?>, List<Index>> entry : requiredIndexes(detectionRetention).entrySet()) {
+            for (Index index : entry.getValue()) {
+                try {
+                    String name = mongoTemplate.indexOps(entry.getKey()).ensureIndex(index);
+                    log.debug("Índice {} garantido na coleção {}", name,
+                            mongoTemplate.getCollectionName(entry.getKey()));
+                    ensured++;
+                } catch (Exception e) {
+                    if (updateExpiration(entry.getKey(), index)) {
+                        ensured++;
+                        continue;
+                    }
+                    log.error("Falha ao criar índice {} na coleção {}: {}", index.getIndexKeys().toJson(),
+                            mongoTemplate.getCollectionName(entry.getKey()), e.getMessage());
+                }
+            }
+        }
+        if (detectionRetention.isZero()) {
+            dropDetectionExpiration();
+        }
+        log.info("{} índices garantidos nas coleções da aplicação", ensured);
+        return ensured;
+    }
+
+    /**
+     * Um índice TTL existente com outro prazo faz o {@code ensureIndex} falhar por conflito de opções; nesse
+     * caso o prazo é alterado no próprio índice.
+     */
+    private boolean updateExpiration(Class<?> entityClass, Index index) {
+        Object expireAfterSeconds = index.getIndexOptions().get("expireAfterSeconds");
+        if (expireAfterSeconds == null) {
+            return false;
+        }
+
+        String collection = mongoTemplate.getCollectionName(entityClass);
+        try {
+            mongoTemplate.executeCommand(new Document("collMod", collection)
+                    .append("index", new Document("keyPattern", index.getIndexKeys())
+                            .append("expireAfterSeconds", expireAfterSeconds)));
+            log.info("Prazo do índice TTL {} na coleção {} alterado para {}s", index.getIndexKeys().toJson(),
+                    collection, expireAfterSeconds);
+            return true;
+        } catch (Exception e) {
+            log.error("Falha ao alterar prazo do índice TTL {} na coleção {}: {}", index.getIndexKeys().toJson(),
+                    collection, e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Com a retenção de resultados de detecção desligada, remove o índice TTL criado por uma configuração
+     * anterior; do contrário os resultados continuariam expirando.
+     */
+    private void dropDetectionExpiration() {
+        try {
+            IndexOperations indexOps = mongoTemplate.indexOps(FaceDetectionResult.class);
+            for (IndexInfo info : indexOps.getIndexInfo()) {
+                if (info.getExpireAfter().isPresent() && info.isIndexForFields(List.of("createdAt"))) {
+                    indexOps.dropIndex(info.getName());
+                    log.info("Retenção de resultados de detecção desligada; índice TTL {} removido", info.getName());
+                }
+            }
+        } catch (Exception e) {
+            log.error("Falha ao remover índice TTL dos resultados de detecção: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Índices por entidade. Cada índice atende às consultas indicadas no comentário; o nome padrão do
+     * MongoDB é mantido para que definições já criadas pelo mongo-init.js sejam reconhecidas.
+     *
+     * @param detectionRetention Retenção dos resultados de detecção facial; zero mantém os resultados
+     *                           indefinidamente
+     */
+    static Map<Class<?>, List<Index>> requiredIndexes(Duration detectionRetention) {
+        Map<Class<?>, List<Index>> indexes = new LinkedHashMap<>();
+
+        indexes.put(BiometricImageMetadata.class, List.of(
+                // findByUsuarioIdAndAtivaTrue[AndIdGreaterThan]OrderByIdAsc
+                new Index().on("usuarioId", Sort.Direction.ASC).on("_id", Sort.Direction.ASC),
+                // findByUsuarioIdAndTipoImagemAndAtivaTrue[AndIdGreaterThan]OrderByIdAsc
+                new Index().on("usuarioId", Sort.Direction.ASC).on("tipoImagem", Sort.Direction.ASC)
+                        .on("_id", Sort.Direction.ASC),
+                // findByHashAndUsuarioId, existsByHashAndUsuarioIdAndAtivaTrue
+                new Index().on("hash", Sort.Direction.ASC).on("usuarioId", Sort.Direction.ASC),
+                // ColdTierMigrationService: dataCriacao < corte, storageTier != COLD, ordenado por dataCriacao
+                new Index().on("dataCriacao", Sort.Direction.ASC).on("storageTier", Sort.Direction.ASC),
+                // BlobGarbageCollector: imagens excluídas aguardando remoção dos blobs
+                new Index().on("ativa", Sort.Direction.ASC).on("dataExclusao", Sort.Direction.ASC),
+                // BlobGarbageCollector: blobs do GridFS referenciados por alguma imagem
+                new Index().on("fileId", Sort.Direction.ASC)
+        ));
+
+        List<Index> detectionIndexes = new ArrayList<>(List.of(
+                // findByUsuarioIdOrderByIdAsc, findByUsuarioIdAndIdGreaterThanOrderByIdAsc
+                new Index().on("usuarioId", Sort.Direction.ASC).on("_id", Sort.Direction.ASC),
+                // findTopByUsuarioIdOrderByCreatedAtDesc
+                new Index().on("usuarioId", Sort.Direction.ASC).on("createdAt", Sort.Direction.DESC),
+                // existsByImageId: FaceDetectionJobHandler
+                new Index().on("imageId", Sort.Direction.ASC)
+        ));
+        if (!detectionRetention.isZero()) {
+            // TTL: resultados removidos pelo MongoDB ao fim do período de retenção
+            detectionIndexes.add(new Index().on("createdAt", Sort.Direction.ASC).expire(detectionRetention));
+        }
+        indexes.put(FaceDetectionResult.class, detectionIndexes);
+
+        indexes.put(FaceDetectionArchive.class, List.of(
+                // UserDataErasureService: arquivo do usuário
+                new Index().on("usuarioId", Sort.Direction.ASC)
+        ));
+
+        indexes.put(ProcessingJob.class, List.of(
+                // claimNext: ramo de jobs pendentes vencidos
+                new Index().on("status", Sort.Direction.ASC).on("proximaExecucao", Sort.Direction.ASC),
+                // claimNext: ramo de jobs com lease expirado
+                new Index().on("status", Sort.Direction.ASC).on("lockExpiraEm", Sort.Direction.ASC),
+                // findByImagemIdOrderByDataCriacaoAsc
+                new Index().on("imagemId", Sort.Direction.ASC).on("dataCriacao", Sort.Direction.ASC),
+                // findTop100ByStatusOrderByDataAtualizacaoDesc
+                new Index().on("status", Sort.Direction.ASC).on("dataAtualizacao", Sort.Direction.DESC),
+                // UserDataErasureService: jobs do usuário
+                new Index().on("usuarioId", Sort.Direction.ASC)
+        ));
+
+        indexes.put(ErasureCertificate.class, List.of(
+                // findByUsuarioIdOrderByDataSolicitacaoDesc
+                new Index().on("usuarioId", Sort.Direction.ASC).on("dataSolicitacao", Sort.Direction.DESC)
+        ));
+
+        indexes.put(StatisticsRollup.class, List.of(
+                // findByGranularidadeAndInicioBetweenOrderByInicioAsc
+                new Index().on("granularidade", Sort.Direction.ASC).on("inicio", Sort.Direction.ASC)
+        ));
+
+        indexes.put(User.class, List.of(
+                // findByEmail, existsByEmail
+                new Index().on("email", Sort.Direction.ASC).unique()
+        ));
+
+        indexes.put(RefreshToken.class, List.of(
+                // findByToken
+                new Index().on("token", Sort.Direction.ASC),
+                // findAllByUserIdAndRevokedFalse, findByUserIdAndToken, deleteByUserId
+                new Index().on("userId", Sort.Direction.ASC).on("revoked", Sort.Direction.ASC),
+                // TTL: tokens expirados, revogados ou não, são removidos pelo MongoDB ao atingir expiryDate
+                new Index().on("expiryDate", Sort.Direction.ASC).expire(Duration.ZERO)
+        ));
+
+        indexes.put(RateLimitBucketState.class, List.of(
+                // TTL: buckets que já estariam cheios de novo equivalem a buckets novos
+                new Index().on("expiraEm", Sort.Direction.ASC).expire(Duration.ZERO)
+        ));
+
+        indexes.put(JwtSigningKey.class, List.of(
+                // JwtKeyRing.refresh (chaves ainda não aposentadas) e TTL: chaves aposentadas, que já não
+                // verificam nenhum token válido
+                new Index().on("retireAt", Sort.Direction.ASC).expire(Duration.ZERO)
+        ));
+
+        return indexes;
+    }
+}
@@ -54,6 +54,15 @@ public class SecurityConfig {
                         .requestMatchers(HttpMethod.GET, "/api/biometric/images/**").authenticated()
                         .requestMatchers(HttpMethod.POST, "/api/biometric/images/**").authenticated()
 
+                        // Fila de processamento
+                        .requestMatchers("/api/biometria/jobs/**").hasAnyRole("ADMIN", "MANAGER")
+
+                        // Exportação para auditoria
+                        .requestMatchers("/api/biometria/exportacao/**").hasAnyRole("ADMIN", "MANAGER")
+
+                        // Portabilidade: o controller restringe ao próprio usuário ou a administradores
+                        .requestMatchers(HttpMethod.GET, "/api/biometria/portabilidade/**").authenticated()
+
                         // Estatísticas e relatórios
                         .requestMatchers(HttpMethod.GET, "/api/statistics/**").hasAnyRole("ADMIN", "MANAGER")
                         .requestMatchers(HttpMethod.GET, "/api/reports/**").authenticated()
@@ -0,0 +1,48 @@
+package com.quodbiometria.config;
+
+import com.quodbiometria.service.storage.BlobStore;
+import com.quodbiometria.service.storage.ColdBlobStore;
+import com.quodbiometria.service.storage.FileSystemBlobStore;
+import com.quodbiometria.service.storage.GridFsBlobStore;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.gridfs.GridFsTemplate;
+
+import java.nio.file.Path;
+import java.util.concurrent.Executor;
+
+@Configuration
+public class StorageConfig {
+
+    @Bean
+    public BlobStore hotBlobStore(GridFsTemplate gridFsTemplate,
+                                  MongoTemplate mongoTemplate,
+                                  ImageTypePolicyProperties policyProperties,
+                                  @Qualifier("gridFsPrefetchExecutor") Executor prefetchExecutor,
+                                  @Value("${spring.data.mongodb.gridfs.bucket:fs}") String bucket,
+                                  @Value("${app.storage.gridfs.prefetch.chunks-per-batch:4}") int chunksPerBatch,
+                                  @Value("${app.storage.gridfs.prefetch.batches-ahead:2}") int batchesAhead) {
+        return new GridFsBlobStore(gridFsTemplate, mongoTemplate.getCollection(bucket + ".files"),
+                mongoTemplate.getCollection(bucket + ".chunks"), policyProperties, prefetchExecutor, chunksPerBatch, batchesAhead);
+    }
+
+    /**
+     * Tier frio, criado quando a migração por idade ou a preservação de originais está ativa, ou quando um
+     * diretório foi configurado para continuar lendo imagens já migradas. Sem ele, imagens no tier frio não
+     * podem ser lidas.
+     */
+    @Bean
+    @ConditionalOnExpression("${app.storage.tiering.enabled:false} or ${app.image.normalization.keep-original:false}"
+            + " or !'${app.storage.cold.path:}'.isBlank()")
+    public ColdBlobStore coldBlobStore(@Value("${app.storage.cold.path:}") String coldStoragePath) {
+        if (coldStoragePath.isBlank()) {
+            throw new IllegalStateException("app.storage.cold.path (COLD_STORAGE_PATH) deve apontar para um "
+                    + "volume persistente do tier frio quando o tiering ou a preservação de originais está ativa");
+        }
+        return new FileSystemBlobStore(Path.of(coldStoragePath));
+    }
+}
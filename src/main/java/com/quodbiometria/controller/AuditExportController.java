@@ -0,0 +1,46 @@
+package com.quodbiometria.controller;
+
+import com.quodbiometria.model.dto.request.AuditExportFilterDTO;
+import com.quodbiometria.service.export.AuditExportService;
+import com.quodbiometria.util.KeysetPagination;
+import com.quodbiometria.util.StreamingDownload;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.ModelAttribute;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.WebAsyncTask;
+
+@RestController
+@RequestMapping("/api/biometria/exportacao")
+@RequiredArgsConstructor
+public class AuditExportController {
+
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
+    private final AuditExportService exportService;
+
+    @Value("${app.export.request-timeout-ms:3600000}")
+    private long requestTimeoutMs;
+
+    @GetMapping("/imagens")
+    public WebAsyncTask<Void> exportImageMetadata(@ModelAttribute AuditExportFilterDTO filtro,
+                                                  HttpServletResponse response) {
+        KeysetPagination.decodeCursor(filtro.getAfter());
+
+        return StreamingDownload.of(response, requestTimeoutMs, NDJSON, "metadados-imagens.ndjson",
+                out -> exportService.exportImageMetadata(filtro, out));
+    }
+
+    @GetMapping("/deteccoes-faciais")
+    public WebAsyncTask<Void> exportFaceDetections(@ModelAttribute AuditExportFilterDTO filtro,
+                                                   HttpServletResponse response) {
+        KeysetPagination.decodeCursor(filtro.getAfter());
+
+        return StreamingDownload.of(response, requestTimeoutMs, NDJSON, "deteccoes-faciais.ndjson",
+                out -> exportService.exportFaceDetections(filtro, out));
+    }
+}
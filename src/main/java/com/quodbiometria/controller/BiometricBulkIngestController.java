@@ -0,0 +1,60 @@
+package com.quodbiometria.controller;
+
+import com.quodbiometria.model.dto.response.ApiResponseDTO;
+import com.quodbiometria.model.dto.response.BulkIngestReportDTO;
+import com.quodbiometria.service.BulkIngestService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/biometria/imagens/lote")
+@RequiredArgsConstructor
+@Slf4j
+public class BiometricBulkIngestController {
+
+    private final BulkIngestService bulkIngestService;
+
+    /**
+     * Endpoint para ingestão em lote de imagens biométricas
+     *
+     * @param arquivoZip Arquivo ZIP com as imagens (opcional se {@code arquivos} for informado)
+     * @param arquivos Imagens enviadas individualmente no mesmo request (opcional se {@code arquivoZip} for informado)
+     * @param manifesto Manifesto CSV no formato {@code arquivo,usuarioId,tipoImagem[,dispositivo]}
+     * @param retomarDaLinha Linha do manifesto a partir da qual o lote deve ser processado
+     * @return Relatório com o resultado de cada item do lote
+     */
+    @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<ApiResponseDTO<BulkIngestReportDTO>> ingestBatch(
+            @RequestParam(value = "arquivoZip", required = false) MultipartFile arquivoZip,
+            @RequestParam(value = "arquivos", required = false) List<MultipartFile> arquivos,
+            @RequestParam("manifesto") MultipartFile manifesto,
+            @RequestParam(value = "retomarDaLinha", defaultValue = "1") int retomarDaLinha) {
+
+        BulkIngestReportDTO report;
+        if (arquivoZip != null && !arquivoZip.isEmpty()) {
+            report = bulkIngestService.ingestZip(arquivoZip, manifesto, retomarDaLinha);
+        } else if (arquivos != null && !arquivos.isEmpty()) {
+            report = bulkIngestService.ingestFiles(arquivos, manifesto, retomarDaLinha);
+        } else {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Informe um arquivo ZIP ou ao menos uma imagem para o lote");
+        }
+
+        log.info("Ingestão em lote concluída: {} itens, {} armazenados, {} duplicados, {} rejeitados, {} falhas",
+                report.getTotalItens(), report.getArmazenados(), report.getDuplicados(),
+                report.getRejeitados(), report.getFalhas());
+
+        return ResponseEntity.ok(new ApiResponseDTO<>(true, "Lote processado", report));
+    }
+}
@@ -3,6 +3,8 @@ package com.quodbiometria.controller;
 import com.quodbiometria.model.dto.request.BiometricImageUploadRequestDTO;
 import com.quodbiometria.model.dto.response.ApiResponseDTO;
 import com.quodbiometria.model.dto.response.BiometricImageMetadataResponseDTO;
+import com.quodbiometria.model.dto.response.BiometricImageSummaryDTO;
+import com.quodbiometria.model.dto.response.PageResponseDTO;
 import com.quodbiometria.service.BiometricImageStorageService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -14,7 +16,6 @@ import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 
 @RestController
@@ -54,23 +55,36 @@ public class BiometricImageController {
         return new ResponseEntity<>(imageBytes, headers, HttpStatus.OK);
     }
 
+    @GetMapping("/{id}/metadados")
+    public ResponseEntity<ApiResponseDTO<BiometricImageMetadataResponseDTO>> getMetadata(@PathVariable String id) {
+        BiometricImageMetadataResponseDTO metadata = storageService.getMetadataById(id);
+
+        return ResponseEntity.ok(new ApiResponseDTO<>(true,
+                "Metadados da imagem recuperados com sucesso", metadata));
+    }
+
     @GetMapping("/usuario/{usuarioId}")
-    public ResponseEntity<ApiResponseDTO<List<BiometricImageMetadataResponseDTO>>> getImagesByUsuario(
-            @PathVariable String usuarioId) {
+    public ResponseEntity<ApiResponseDTO<PageResponseDTO<BiometricImageSummaryDTO>>> getImagesByUsuario(
+            @PathVariable String usuarioId,
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) Integer limit) {
 
-        List<BiometricImageMetadataResponseDTO> images = storageService.getImagesByUsuario(usuarioId);
+        PageResponseDTO<BiometricImageSummaryDTO> images =
+                storageService.getImagesByUsuario(usuarioId, after, limit);
 
         return ResponseEntity.ok(new ApiResponseDTO<>(true,
                 "Imagens biométricas recuperadas com sucesso", images));
     }
 
     @GetMapping("/usuario/{usuarioId}/tipo/{tipoImagem}")
-    public ResponseEntity<ApiResponseDTO<List<BiometricImageMetadataResponseDTO>>> getImagesByUsuarioAndTipo(
+    public ResponseEntity<ApiResponseDTO<PageResponseDTO<BiometricImageSummaryDTO>>> getImagesByUsuarioAndTipo(
             @PathVariable String usuarioId,
-            @PathVariable String tipoImagem) {
+            @PathVariable String tipoImagem,
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) Integer limit) {
 
-        List<BiometricImageMetadataResponseDTO> images =
-                storageService.getImagesByUsuarioAndTipo(usuarioId, tipoImagem);
+        PageResponseDTO<BiometricImageSummaryDTO> images =
+                storageService.getImagesByUsuarioAndTipo(usuarioId, tipoImagem, after, limit);
 
         return ResponseEntity.ok(new ApiResponseDTO<>(true,
                 "Imagens biométricas recuperadas com sucesso", images));
@@ -0,0 +1,42 @@
+package com.quodbiometria.controller;
+
+import com.quodbiometria.model.dto.response.ApiResponseDTO;
+import com.quodbiometria.model.dto.response.PreValidationReportDTO;
+import com.quodbiometria.service.ImagePreValidationService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/biometria/imagens/pre-validacao")
+@RequiredArgsConstructor
+public class BiometricPreValidationController {
+
+    private final ImagePreValidationService preValidationService;
+
+    /**
+     * Endpoint para pré-validar imagens antes do upload, sem armazená-las
+     *
+     * @param arquivos Imagens a validar
+     * @param tipoImagem Tipo aplicado a todas as imagens sem tipo próprio
+     * @param tiposImagem Tipo de cada imagem, na ordem dos arquivos (opcional)
+     * @return Veredito de cada imagem
+     */
+    @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<ApiResponseDTO<PreValidationReportDTO>> preValidate(
+            @RequestParam("arquivos") List<MultipartFile> arquivos,
+            @RequestParam(value = "tipoImagem", required = false) String tipoImagem,
+            @RequestParam(value = "tiposImagem", required = false) List<String> tiposImagem) {
+
+        PreValidationReportDTO report = preValidationService.validate(arquivos, tipoImagem, tiposImagem);
+
+        return ResponseEntity.ok(new ApiResponseDTO<>(true, "Pré-validação concluída", report));
+    }
+}
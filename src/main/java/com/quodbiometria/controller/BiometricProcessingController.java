@@ -4,6 +4,7 @@ import com.quodbiometria.exception.ImageProcessingException;
 import com.quodbiometria.model.dto.request.FaceDetectionRequestDTO;
 import com.quodbiometria.model.dto.response.ApiResponseDTO;
 import com.quodbiometria.model.dto.response.FaceDetectionResponseDTO;
+import com.quodbiometria.model.dto.response.PageResponseDTO;
 import com.quodbiometria.service.FacialProcessingService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -12,8 +13,7 @@ import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
-
-import java.util.List;
+import org.springframework.web.server.ResponseStatusException;
 
 @RestController
 @RequestMapping("/api/biometrics/processing")
@@ -78,16 +78,21 @@ public class BiometricProcessingController {
      * Endpoint para buscar resultados de detecção facial por usuário
      *
      * @param usuarioId ID do usuário
-     * @return Lista de resultados de detecção facial
+     * @param after Cursor retornado na página anterior
+     * @param limit Quantidade máxima de resultados na página
+     * @return Página de resultados de detecção facial
      */
     @GetMapping("/face-detection/usuario/{usuarioId}")
-    public ResponseEntity<ApiResponseDTO<List<FaceDetectionResponseDTO>>> buscarResultadosPorUsuario(
-            @PathVariable String usuarioId) {
+    public ResponseEntity<ApiResponseDTO<PageResponseDTO<FaceDetectionResponseDTO>>> buscarResultadosPorUsuario(
+            @PathVariable String usuarioId,
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) Integer limit) {
 
         try {
-            List<FaceDetectionResponseDTO> resultados = facialProcessingService.buscarResultadosPorUsuario(usuarioId);
+            PageResponseDTO<FaceDetectionResponseDTO> resultados =
+                    facialProcessingService.buscarResultadosPorUsuario(usuarioId, after, limit);
 
-            if (resultados.isEmpty()) {
+            if (resultados.getItens().isEmpty()) {
                 return ResponseEntity.ok(new ApiResponseDTO<>(
                         true,
                         "Nenhum resultado encontrado para o usuário",
@@ -100,6 +105,8 @@ public class BiometricProcessingController {
                     "Resultados encontrados com sucesso",
                     resultados
             ));
+        } catch (ResponseStatusException e) {
+            throw e;
         } catch (Exception e) {
             log.error("Erro ao buscar resultados de detecção facial", e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -0,0 +1,55 @@
+package com.quodbiometria.controller;
+
+import com.quodbiometria.model.entity.User;
+import com.quodbiometria.model.enums.Role;
+import com.quodbiometria.service.export.DataPortabilityExportService;
+import com.quodbiometria.util.StreamingDownload;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.WebAsyncTask;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Pacote de portabilidade (LGPD) com imagens, metadados e resultados de detecção facial de um usuário.
+ * Apenas o próprio usuário ou um administrador pode solicitá-lo.
+ */
+@RestController
+@RequestMapping("/api/biometria/portabilidade")
+@RequiredArgsConstructor
+public class DataPortabilityController {
+
+    private final DataPortabilityExportService exportService;
+
+    @Value("${app.export.request-timeout-ms:3600000}")
+    private long requestTimeoutMs;
+
+    @GetMapping("/{usuarioId}")
+    public WebAsyncTask<Void> exportUserPackage(@PathVariable String usuarioId,
+                                                @AuthenticationPrincipal User user,
+                                                HttpServletResponse response) {
+        checkAccess(user, usuarioId);
+
+        return StreamingDownload.of(response, requestTimeoutMs, MediaType.parseMediaType("application/zip"),
+                "dados-biometricos.zip", out -> exportService.exportUserPackage(usuarioId, out));
+    }
+
+    static void checkAccess(User user, String usuarioId) {
+        if (user == null) {
+            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Acesso negado");
+        }
+        boolean admin = user.getAuthorities().stream()
+                .anyMatch(authority -> Role.ROLE_ADMIN.name().equals(authority.getAuthority()));
+        if (!admin && !usuarioId.equals(user.getId())) {
+            throw new ResponseStatusException(HttpStatus.FORBIDDEN,
+                    "Apenas o próprio usuário ou um administrador pode exportar estes dados");
+        }
+    }
+}
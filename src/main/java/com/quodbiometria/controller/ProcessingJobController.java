@@ -0,0 +1,55 @@
+package com.quodbiometria.controller;
+
+import com.quodbiometria.model.dto.response.ApiResponseDTO;
+import com.quodbiometria.model.dto.response.ProcessingJobResponseDTO;
+import com.quodbiometria.model.enums.ProcessingJobStatus;
+import com.quodbiometria.model.mappers.ProcessingJobMapper;
+import com.quodbiometria.service.jobs.ProcessingJobQueueService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/biometria/jobs")
+@RequiredArgsConstructor
+public class ProcessingJobController {
+
+    private final ProcessingJobQueueService jobQueueService;
+    private final ProcessingJobMapper jobMapper;
+
+    @GetMapping("/{id}")
+    public ResponseEntity<ApiResponseDTO<ProcessingJobResponseDTO>> getJob(@PathVariable String id) {
+        ProcessingJobResponseDTO job = jobMapper.toDTO(jobQueueService.findById(id));
+
+        return ResponseEntity.ok(new ApiResponseDTO<>(true, "Job de processamento recuperado com sucesso", job));
+    }
+
+    @GetMapping("/imagem/{imagemId}")
+    public ResponseEntity<ApiResponseDTO<List<ProcessingJobResponseDTO>>> getJobsByImagem(
+            @PathVariable String imagemId) {
+        List<ProcessingJobResponseDTO> jobs = jobMapper.toDTOList(jobQueueService.findByImagemId(imagemId));
+
+        return ResponseEntity.ok(new ApiResponseDTO<>(true, "Jobs de processamento recuperados com sucesso", jobs));
+    }
+
+    @GetMapping("/status/{status}")
+    public ResponseEntity<ApiResponseDTO<List<ProcessingJobResponseDTO>>> getJobsByStatus(
+            @PathVariable ProcessingJobStatus status) {
+        List<ProcessingJobResponseDTO> jobs = jobMapper.toDTOList(jobQueueService.findByStatus(status));
+
+        return ResponseEntity.ok(new ApiResponseDTO<>(true, "Jobs de processamento recuperados com sucesso", jobs));
+    }
+
+    @PostMapping("/{id}/reprocessar")
+    public ResponseEntity<ApiResponseDTO<ProcessingJobResponseDTO>> requeueJob(@PathVariable String id) {
+        ProcessingJobResponseDTO job = jobMapper.toDTO(jobQueueService.requeue(id));
+
+        return ResponseEntity.ok(new ApiResponseDTO<>(true, "Job de processamento reenfileirado com sucesso", job));
+    }
+}
@@ -0,0 +1,42 @@
+package com.quodbiometria.controller;
+
+import com.quodbiometria.model.dto.response.ApiResponseDTO;
+import com.quodbiometria.model.dto.response.StatisticsSummaryDTO;
+import com.quodbiometria.model.enums.RollupGranularity;
+import com.quodbiometria.service.statistics.StatisticsRollupService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDateTime;
+
+@RestController
+@RequestMapping("/api/statistics")
+@RequiredArgsConstructor
+public class StatisticsController {
+
+    private final StatisticsRollupService statisticsService;
+
+    /**
+     * Estatísticas agregadas do período. Sem datas, retorna as últimas 24 horas por hora ou os últimos
+     * 30 dias por dia.
+     */
+    @GetMapping
+    public ResponseEntity<ApiResponseDTO<StatisticsSummaryDTO>> getStatistics(
+            @RequestParam(defaultValue = "HORA") RollupGranularity granularidade,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime de,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime ate) {
+
+        LocalDateTime fim = ate != null ? ate : LocalDateTime.now();
+        LocalDateTime inicio = de != null ? de
+                : granularidade == RollupGranularity.HORA ? fim.minusHours(24) : fim.minusDays(30);
+
+        StatisticsSummaryDTO summary = statisticsService.getSummary(granularidade, inicio, fim);
+
+        return ResponseEntity.ok(new ApiResponseDTO<>(true, "Estatísticas recuperadas com sucesso", summary));
+    }
+}
@@ -3,6 +3,7 @@ package com.quodbiometria.controller;
 import com.quodbiometria.model.dto.request.UserCreateDTO;
 import com.quodbiometria.model.dto.request.UserUpdateDTO;
 import com.quodbiometria.model.dto.response.ApiResponseDTO;
+import com.quodbiometria.model.dto.response.PageResponseDTO;
 import com.quodbiometria.model.dto.response.UserResponseDTO;
 import com.quodbiometria.service.UserService;
 import lombok.RequiredArgsConstructor;
@@ -10,8 +11,6 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
-
 @RestController
 @RequestMapping("/api/users")
 @RequiredArgsConstructor
@@ -43,8 +42,10 @@ public class UserController {
 
     @GetMapping
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<ApiResponseDTO<List<UserResponseDTO>>> getAllUsers() {
-        List<UserResponseDTO> users = userService.getAllUsers();
+    public ResponseEntity<ApiResponseDTO<PageResponseDTO<UserResponseDTO>>> getAllUsers(
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) Integer limit) {
+        PageResponseDTO<UserResponseDTO> users = userService.getAllUsers(after, limit);
         return ResponseEntity.ok(new ApiResponseDTO<>(
                 true,
                 "Users retrieved successfully",
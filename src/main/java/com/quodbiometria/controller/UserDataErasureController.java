@@ -0,0 +1,61 @@
+package com.quodbiometria.controller;
+
+import com.quodbiometria.model.dto.request.ErasureRequestDTO;
+import com.quodbiometria.model.dto.response.ApiResponseDTO;
+import com.quodbiometria.model.dto.response.ErasureCertificateResponseDTO;
+import com.quodbiometria.model.mappers.ErasureCertificateMapper;
+import com.quodbiometria.service.privacy.UserDataErasureService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.security.Principal;
+import java.util.List;
+
+/**
+ * Solicitações de eliminação de dados (LGPD). A eliminação é executada pela fila de processamento; o
+ * certificado retornado permite acompanhar o progresso e comprova a conclusão.
+ */
+@RestController
+@RequestMapping("/api/admin/lgpd/eliminacoes")
+@RequiredArgsConstructor
+public class UserDataErasureController {
+
+    private final UserDataErasureService erasureService;
+    private final ErasureCertificateMapper certificateMapper;
+
+    @PostMapping
+    public ResponseEntity<ApiResponseDTO<List<ErasureCertificateResponseDTO>>> requestErasure(
+            @RequestBody ErasureRequestDTO request, Principal principal) {
+        String solicitante = principal != null ? principal.getName() : null;
+        List<ErasureCertificateResponseDTO> certificates = certificateMapper.toDTOList(
+                erasureService.requestErasure(request.getUsuarioIds(), solicitante));
+
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .body(new ApiResponseDTO<>(true, "Eliminação de dados solicitada com sucesso", certificates));
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<ApiResponseDTO<ErasureCertificateResponseDTO>> getCertificate(@PathVariable String id) {
+        ErasureCertificateResponseDTO certificate = certificateMapper.toDTO(erasureService.findCertificate(id));
+
+        return ResponseEntity.ok(new ApiResponseDTO<>(true, "Certificado de eliminação recuperado com sucesso",
+                certificate));
+    }
+
+    @GetMapping("/usuario/{usuarioId}")
+    public ResponseEntity<ApiResponseDTO<List<ErasureCertificateResponseDTO>>> getCertificatesByUsuario(
+            @PathVariable String usuarioId) {
+        List<ErasureCertificateResponseDTO> certificates = certificateMapper.toDTOList(
+                erasureService.findCertificatesByUsuario(usuarioId));
+
+        return ResponseEntity.ok(new ApiResponseDTO<>(true, "Certificados de eliminação recuperados com sucesso",
+                certificates));
+    }
+}
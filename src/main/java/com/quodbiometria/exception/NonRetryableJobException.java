@@ -0,0 +1,8 @@
+package com.quodbiometria.exception;
+
+public class NonRetryableJobException extends RuntimeException {
+
+    public NonRetryableJobException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,31 @@
+package com.quodbiometria.model.dto.request;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AuditExportFilterDTO {
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime de;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime ate;
+
+    private String usuarioId;
+
+    private String tipoImagem;
+
+    /**
+     * Cursor do último registro recebido, para retomar uma exportação interrompida.
+     */
+    private String after;
+}
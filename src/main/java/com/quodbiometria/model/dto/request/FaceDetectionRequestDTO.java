@@ -15,6 +15,8 @@ public class FaceDetectionRequestDTO {
     @NotNull(message = "O ID do usuário é obrigatório")
     private String usuarioId;
 
+    private String imageId;
+
     private String dispositivo;
 
     private Boolean salvarResultado;
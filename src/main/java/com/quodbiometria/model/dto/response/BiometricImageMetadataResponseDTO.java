@@ -1,5 +1,6 @@
 package com.quodbiometria.model.dto.response;
 
+import com.quodbiometria.model.enums.StorageTier;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -18,6 +19,7 @@ public class BiometricImageMetadataResponseDTO {
     private String filename;
     private String contentType;
     private long size;
+    private Long originalSize;
     private String usuarioId;
     private String tipoImagem;
     private String dispositivo;
@@ -25,4 +27,6 @@ public class BiometricImageMetadataResponseDTO {
     private LocalDateTime dataAtualizacao;
     private boolean ativa;
     private Map<String, String> exifMetadata;
+    private StorageTier storageTier;
+    private String duplicadaDe;
 }
\ No newline at end of file
@@ -0,0 +1,25 @@
+package com.quodbiometria.model.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Resumo de imagem usado nas listagens. Também serve de projeção nas consultas do repositório, de modo que
+ * apenas estes campos são lidos do MongoDB; os metadados completos, incluindo EXIF, ficam no detalhe.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BiometricImageSummaryDTO {
+
+    private String id;
+    private String tipoImagem;
+    private long size;
+    private LocalDateTime dataCriacao;
+    private boolean ativa;
+}
@@ -0,0 +1,22 @@
+package com.quodbiometria.model.dto.response;
+
+import com.quodbiometria.model.enums.BulkIngestItemStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkIngestItemResultDTO {
+    private int linha;
+    private String arquivo;
+    private String usuarioId;
+    private String tipoImagem;
+    private BulkIngestItemStatus status;
+    private String imagemId;
+    private String hash;
+    private String mensagem;
+}
@@ -0,0 +1,23 @@
+package com.quodbiometria.model.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkIngestReportDTO {
+    private int totalItens;
+    private int armazenados;
+    private int duplicados;
+    private int rejeitados;
+    private int falhas;
+    private int naoEncontrados;
+    private int proximaLinha;
+    private List<BulkIngestItemResultDTO> itens;
+}
@@ -0,0 +1,28 @@
+package com.quodbiometria.model.dto.response;
+
+import com.quodbiometria.model.enums.ErasureStatus;
+import com.quodbiometria.model.enums.ErasureStep;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ErasureCertificateResponseDTO {
+    private String id;
+    private String usuarioId;
+    private ErasureStatus status;
+    private String solicitadoPor;
+    private List<ErasureStep> etapasConcluidas;
+    private Map<String, Long> registrosRemovidos;
+    private LocalDateTime dataSolicitacao;
+    private LocalDateTime dataInicio;
+    private LocalDateTime dataConclusao;
+}
@@ -0,0 +1,23 @@
+package com.quodbiometria.model.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Página de uma listagem paginada por cursor. Para obter a página seguinte, o cliente envia
+ * {@code proximoCursor} no parâmetro {@code after}; o valor é nulo quando não há mais itens.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PageResponseDTO<T> {
+    private List<T> itens;
+    private String proximoCursor;
+    private int limite;
+    private boolean temMais;
+}
@@ -0,0 +1,18 @@
+package com.quodbiometria.model.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PreValidationItemResultDTO {
+    private int indice;
+    private String arquivo;
+    private String tipoImagem;
+    private boolean valida;
+    private String mensagem;
+}
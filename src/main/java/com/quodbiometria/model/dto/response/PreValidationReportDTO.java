@@ -0,0 +1,19 @@
+package com.quodbiometria.model.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PreValidationReportDTO {
+    private int totalItens;
+    private int validas;
+    private int invalidas;
+    private List<PreValidationItemResultDTO> itens;
+}
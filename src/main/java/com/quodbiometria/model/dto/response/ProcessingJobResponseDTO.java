@@ -0,0 +1,29 @@
+package com.quodbiometria.model.dto.response;
+
+import com.quodbiometria.model.enums.ProcessingJobStatus;
+import com.quodbiometria.model.enums.ProcessingJobType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProcessingJobResponseDTO {
+    private String id;
+    private ProcessingJobType tipo;
+    private ProcessingJobStatus status;
+    private String imagemId;
+    private String usuarioId;
+    private int tentativas;
+    private int maxTentativas;
+    private LocalDateTime proximaExecucao;
+    private String ultimoErro;
+    private String resultado;
+    private LocalDateTime dataCriacao;
+    private LocalDateTime dataConclusao;
+}
@@ -0,0 +1,22 @@
+package com.quodbiometria.model.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StatisticsPointDTO {
+    private LocalDateTime inicio;
+    private long uploads;
+    private Map<String, Long> uploadsPorTipo;
+    private long deteccoesTotal;
+    private long deteccoesComFace;
+    private Double taxaSucessoDeteccao;
+}
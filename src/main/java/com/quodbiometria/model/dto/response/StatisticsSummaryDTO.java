@@ -0,0 +1,30 @@
+package com.quodbiometria.model.dto.response;
+
+import com.quodbiometria.model.enums.RollupGranularity;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StatisticsSummaryDTO {
+    private RollupGranularity granularidade;
+    private LocalDateTime de;
+    private LocalDateTime ate;
+    private long totalUploads;
+    private Map<String, Long> uploadsPorTipo;
+    private Map<String, Long> uploadsPorDispositivo;
+    private long deteccoesTotal;
+    private long deteccoesComFace;
+    private Double taxaSucessoDeteccao;
+    private Map<String, Long> deteccoesPorDispositivo;
+    private Map<String, Long> histogramaConfianca;
+    private List<StatisticsPointDTO> serie;
+}
@@ -1,5 +1,6 @@
 package com.quodbiometria.model.entity;
 
+import com.quodbiometria.model.enums.StorageTier;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -24,12 +25,21 @@ public class BiometricImageMetadata {
     private String filename;
     private String contentType;
     private long size;
+    private Long originalSize;
+    private String originalFileId;
     private String usuarioId;
     private String tipoImagem;
     private String dispositivo;
     private LocalDateTime dataCriacao;
     private LocalDateTime dataAtualizacao;
     private String hash;
+    private String duplicadaDe;
     private boolean ativa;
+    private LocalDateTime dataExclusao;
     private Map<String, String> exifMetadata;
+    private StorageTier storageTier;
+    /**
+     * Quando a coleta de blobs deixou de encontrar o conteúdo da imagem; a imagem continua ativa.
+     */
+    private LocalDateTime blobAusenteDesde;
 }
\ No newline at end of file
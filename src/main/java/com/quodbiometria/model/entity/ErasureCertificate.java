@@ -0,0 +1,46 @@
+package com.quodbiometria.model.entity;
+
+import com.quodbiometria.model.enums.ErasureStatus;
+import com.quodbiometria.model.enums.ErasureStep;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Registro de uma solicitação de eliminação de dados (LGPD). Acompanha o progresso do job, cujo id é o mesmo
+ * do certificado, e ao final comprova o que foi removido. Não guarda nenhum dado pessoal além do
+ * identificador do usuário.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "erasure_certificates")
+public class ErasureCertificate {
+
+    @Id
+    private String id;
+
+    private String usuarioId;
+    private ErasureStatus status;
+    private String solicitadoPor;
+    private List<ErasureStep> etapasConcluidas;
+
+    /**
+     * Quantidade de registros removidos por etapa. Na etapa de imagens conta os metadados; os blobs
+     * correspondentes são removidos no mesmo lote.
+     */
+    private Map<String, Long> registrosRemovidos;
+
+    private LocalDateTime dataSolicitacao;
+    private LocalDateTime dataInicio;
+    private LocalDateTime dataAtualizacao;
+    private LocalDateTime dataConclusao;
+}
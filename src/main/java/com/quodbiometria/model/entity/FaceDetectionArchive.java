@@ -0,0 +1,38 @@
+package com.quodbiometria.model.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+/**
+ * Forma compacta de um {@link FaceDetectionResult}, gravada antes de o resultado expirar pela retenção. Mantém
+ * apenas o desfecho da detecção; retângulo, caminho da imagem processada e dispositivo são descartados. O id é
+ * o mesmo do resultado original.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "face_detection_results_archive")
+public class FaceDetectionArchive {
+
+    @Id
+    private String id;
+
+    private String usuarioId;
+
+    private String imageId;
+
+    private boolean faceDetected;
+
+    private float confidence;
+
+    private int faceCount;
+
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,44 @@
+package com.quodbiometria.model.entity;
+
+import com.quodbiometria.model.enums.JwtKeyAlgorithm;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+/**
+ * Chave de assinatura de JWT compartilhada por todos os nós. O id é o período de rotação ({@code slot}), o que
+ * garante exatamente uma chave por período sem depender de índice; {@code kid} é o identificador gravado no
+ * cabeçalho dos tokens.
+ * <p>
+ * {@code material} é a chave secreta (HMAC) ou a chave privada PKCS#8 (ECDSA), cifrada com AES-GCM a partir
+ * de {@code jwt.secret}; {@code publicKey} é a chave pública X.509, presente apenas nos algoritmos
+ * assimétricos. O documento é removido pelo índice TTL em {@code retireAt}, quando nenhum token assinado com
+ * a chave pode mais estar válido.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "jwt_signing_keys")
+public class JwtSigningKey {
+
+    @Id
+    private Long slot;
+
+    private String kid;
+
+    private JwtKeyAlgorithm algorithm;
+
+    private String material;
+
+    private String publicKey;
+
+    private LocalDateTime createdAt;
+
+    private LocalDateTime retireAt;
+}
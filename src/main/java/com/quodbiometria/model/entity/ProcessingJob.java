@@ -0,0 +1,40 @@
+package com.quodbiometria.model.entity;
+
+import com.quodbiometria.model.enums.ProcessingJobStatus;
+import com.quodbiometria.model.enums.ProcessingJobType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "processing_jobs")
+public class ProcessingJob {
+
+    @Id
+    private String id;
+
+    private ProcessingJobType tipo;
+    private ProcessingJobStatus status;
+    private String imagemId;
+    private String usuarioId;
+    private Map<String, String> parametros;
+    private int tentativas;
+    private int maxTentativas;
+    private LocalDateTime proximaExecucao;
+    private String lockOwner;
+    private LocalDateTime lockExpiraEm;
+    private String ultimoErro;
+    private String resultado;
+    private LocalDateTime dataCriacao;
+    private LocalDateTime dataAtualizacao;
+    private LocalDateTime dataConclusao;
+}
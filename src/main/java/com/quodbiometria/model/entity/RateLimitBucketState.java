@@ -0,0 +1,30 @@
+package com.quodbiometria.model.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+/**
+ * Estado serializado de um bucket de rate limit compartilhado entre os nós. O id é a chave do limite.
+ * {@code expiraEm} é o instante em que o bucket estaria cheio de novo sem novos consumos; a partir dele o
+ * documento equivale a um bucket novo e é removido pelo índice TTL.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "rate_limit_buckets")
+public class RateLimitBucketState {
+
+    @Id
+    private String id;
+
+    private byte[] state;
+
+    private LocalDateTime expiraEm;
+}
@@ -0,0 +1,45 @@
+package com.quodbiometria.model.entity;
+
+import com.quodbiometria.model.enums.RollupGranularity;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * Contadores agregados de um período (hora ou dia). O id é derivado da granularidade e do início do período,
+ * de modo que cada evento atualiza o documento com um upsert e {@code $inc}, sem leitura prévia.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "statistics_rollups")
+public class StatisticsRollup {
+
+    @Id
+    private String id;
+
+    private RollupGranularity granularidade;
+
+    private LocalDateTime inicio;
+
+    private Map<String, Long> uploadsPorTipo;
+
+    private Map<String, Long> uploadsPorDispositivo;
+
+    private long deteccoesTotal;
+
+    private long deteccoesComFace;
+
+    private Map<String, Long> deteccoesPorDispositivo;
+
+    private Map<String, Long> histogramaConfianca;
+
+    private LocalDateTime dataAtualizacao;
+}
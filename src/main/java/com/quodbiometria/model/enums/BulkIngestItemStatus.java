@@ -0,0 +1,9 @@
+package com.quodbiometria.model.enums;
+
+public enum BulkIngestItemStatus {
+    ARMAZENADA,
+    DUPLICADA,
+    REJEITADA,
+    FALHA,
+    NAO_ENCONTRADA
+}
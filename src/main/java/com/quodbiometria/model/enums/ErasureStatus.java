@@ -0,0 +1,7 @@
+package com.quodbiometria.model.enums;
+
+public enum ErasureStatus {
+    PENDENTE,
+    EM_ANDAMENTO,
+    CONCLUIDA
+}
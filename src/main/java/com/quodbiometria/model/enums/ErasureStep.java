@@ -0,0 +1,13 @@
+package com.quodbiometria.model.enums;
+
+/**
+ * Etapas da eliminação dos dados de um usuário, na ordem de execução. Sessões e conta são removidas primeiro
+ * para impedir que novos dados sejam gerados enquanto a eliminação está em andamento.
+ */
+public enum ErasureStep {
+    TOKENS,
+    CONTA,
+    JOBS,
+    IMAGENS,
+    DETECCOES_FACIAIS
+}
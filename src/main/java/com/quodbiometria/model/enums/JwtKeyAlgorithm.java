@@ -0,0 +1,25 @@
+package com.quodbiometria.model.enums;
+
+import io.jsonwebtoken.SignatureAlgorithm;
+
+/**
+ * Algoritmos suportados pelas chaves de assinatura de JWT.
+ */
+public enum JwtKeyAlgorithm {
+    HS512(SignatureAlgorithm.HS512),
+    ES256(SignatureAlgorithm.ES256);
+
+    private final SignatureAlgorithm signatureAlgorithm;
+
+    JwtKeyAlgorithm(SignatureAlgorithm signatureAlgorithm) {
+        this.signatureAlgorithm = signatureAlgorithm;
+    }
+
+    public SignatureAlgorithm getSignatureAlgorithm() {
+        return signatureAlgorithm;
+    }
+
+    public boolean isAsymmetric() {
+        return signatureAlgorithm.isEllipticCurve() || signatureAlgorithm.isRsa();
+    }
+}
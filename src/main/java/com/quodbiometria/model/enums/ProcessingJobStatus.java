@@ -0,0 +1,8 @@
+package com.quodbiometria.model.enums;
+
+public enum ProcessingJobStatus {
+    PENDENTE,
+    EM_EXECUCAO,
+    CONCLUIDO,
+    DEAD_LETTER
+}
@@ -0,0 +1,8 @@
+package com.quodbiometria.model.enums;
+
+public enum ProcessingJobType {
+    EXTRACAO_EXIF,
+    VERIFICACAO_DUPLICIDADE,
+    DETECCAO_FACIAL,
+    ELIMINACAO_DADOS_USUARIO
+}
@@ -0,0 +1,26 @@
+package com.quodbiometria.model.enums;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+public enum RollupGranularity {
+    HORA(ChronoUnit.HOURS),
+    DIA(ChronoUnit.DAYS);
+
+    private final ChronoUnit unit;
+
+    RollupGranularity(ChronoUnit unit) {
+        this.unit = unit;
+    }
+
+    public ChronoUnit getUnit() {
+        return unit;
+    }
+
+    /**
+     * Início do período ao qual o instante pertence.
+     */
+    public LocalDateTime truncate(LocalDateTime instante) {
+        return instante.truncatedTo(unit);
+    }
+}
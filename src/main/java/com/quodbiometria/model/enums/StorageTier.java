@@ -0,0 +1,6 @@
+package com.quodbiometria.model.enums;
+
+public enum StorageTier {
+    HOT,
+    COLD
+}
@@ -21,6 +21,7 @@ public class BiometricImageMetadataMapper {
                 .filename(entity.getFilename())
                 .contentType(entity.getContentType())
                 .size(entity.getSize())
+                .originalSize(entity.getOriginalSize())
                 .usuarioId(entity.getUsuarioId())
                 .tipoImagem(entity.getTipoImagem())
                 .dispositivo(entity.getDispositivo())
@@ -28,6 +29,8 @@ public class BiometricImageMetadataMapper {
                 .dataAtualizacao(entity.getDataAtualizacao())
                 .ativa(entity.isAtiva())
                 .exifMetadata(entity.getExifMetadata())
+                .storageTier(entity.getStorageTier())
+                .duplicadaDe(entity.getDuplicadaDe())
                 .build();
     }
 
@@ -52,6 +55,7 @@ public class BiometricImageMetadataMapper {
                 .filename(dto.getFilename())
                 .contentType(dto.getContentType())
                 .size(dto.getSize())
+                .originalSize(dto.getOriginalSize())
                 .usuarioId(dto.getUsuarioId())
                 .tipoImagem(dto.getTipoImagem())
                 .dispositivo(dto.getDispositivo())
@@ -59,6 +63,8 @@ public class BiometricImageMetadataMapper {
                 .dataAtualizacao(dto.getDataAtualizacao())
                 .ativa(dto.isAtiva())
                 .exifMetadata(dto.getExifMetadata())
+                .storageTier(dto.getStorageTier())
+                .duplicadaDe(dto.getDuplicadaDe())
                 .build();
     }
 }
\ No newline at end of file
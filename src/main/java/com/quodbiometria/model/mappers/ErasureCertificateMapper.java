@@ -0,0 +1,41 @@
+package com.quodbiometria.model.mappers;
+
+import com.quodbiometria.model.dto.response.ErasureCertificateResponseDTO;
+import com.quodbiometria.model.entity.ErasureCertificate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Component
+public class ErasureCertificateMapper {
+
+    public ErasureCertificateResponseDTO toDTO(ErasureCertificate entity) {
+        if (entity == null) {
+            return null;
+        }
+
+        return ErasureCertificateResponseDTO.builder()
+                .id(entity.getId())
+                .usuarioId(entity.getUsuarioId())
+                .status(entity.getStatus())
+                .solicitadoPor(entity.getSolicitadoPor())
+                .etapasConcluidas(entity.getEtapasConcluidas())
+                .registrosRemovidos(entity.getRegistrosRemovidos())
+                .dataSolicitacao(entity.getDataSolicitacao())
+                .dataInicio(entity.getDataInicio())
+                .dataConclusao(entity.getDataConclusao())
+                .build();
+    }
+
+    public List<ErasureCertificateResponseDTO> toDTOList(List<ErasureCertificate> entities) {
+        if (entities == null) {
+            return new ArrayList<>();
+        }
+
+        return entities.stream()
+                .map(this::toDTO)
+                .collect(Collectors.toList());
+    }
+}
@@ -27,6 +27,7 @@ public class FaceDetectionMapper {
 
         return FaceDetectionResult.builder()
                 .usuarioId(request.getUsuarioId())
+                .imageId(request.getImageId())
                 .dispositivo(request.getDispositivo())
                 .faceDetected(response.isFaceDetected())
                 .confidence(response.getConfidence())
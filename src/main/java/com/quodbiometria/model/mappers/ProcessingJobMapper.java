@@ -0,0 +1,44 @@
+package com.quodbiometria.model.mappers;
+
+import com.quodbiometria.model.dto.response.ProcessingJobResponseDTO;
+import com.quodbiometria.model.entity.ProcessingJob;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Component
+public class ProcessingJobMapper {
+
+    public ProcessingJobResponseDTO toDTO(ProcessingJob entity) {
+        if (entity == null) {
+            return null;
+        }
+
+        return ProcessingJobResponseDTO.builder()
+                .id(entity.getId())
+                .tipo(entity.getTipo())
+                .status(entity.getStatus())
+                .imagemId(entity.getImagemId())
+                .usuarioId(entity.getUsuarioId())
+                .tentativas(entity.getTentativas())
+                .maxTentativas(entity.getMaxTentativas())
+                .proximaExecucao(entity.getProximaExecucao())
+                .ultimoErro(entity.getUltimoErro())
+                .resultado(entity.getResultado())
+                .dataCriacao(entity.getDataCriacao())
+                .dataConclusao(entity.getDataConclusao())
+                .build();
+    }
+
+    public List<ProcessingJobResponseDTO> toDTOList(List<ProcessingJob> entities) {
+        if (entities == null) {
+            return new ArrayList<>();
+        }
+
+        return entities.stream()
+                .map(this::toDTO)
+                .collect(Collectors.toList());
+    }
+}
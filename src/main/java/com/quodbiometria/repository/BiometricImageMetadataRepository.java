@@ -1,6 +1,8 @@
 package com.quodbiometria.repository;
 
+import com.quodbiometria.model.dto.response.BiometricImageSummaryDTO;
 import com.quodbiometria.model.entity.BiometricImageMetadata;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.stereotype.Repository;
 
@@ -9,9 +11,18 @@ import java.util.List;
 @Repository
 public interface BiometricImageMetadataRepository extends MongoRepository<BiometricImageMetadata, String> {
 
-    List<BiometricImageMetadata> findByUsuarioId(String usuarioId);
+    List<BiometricImageSummaryDTO> findByUsuarioIdAndAtivaTrueOrderByIdAsc(String usuarioId, Pageable pageable);
 
-    List<BiometricImageMetadata> findByUsuarioIdAndTipoImagem(String usuarioId, String tipoImagem);
+    List<BiometricImageSummaryDTO> findByUsuarioIdAndAtivaTrueAndIdGreaterThanOrderByIdAsc(String usuarioId, String id,
+                                                                              Pageable pageable);
+
+    List<BiometricImageSummaryDTO> findByUsuarioIdAndTipoImagemAndAtivaTrueOrderByIdAsc(String usuarioId, String tipoImagem,
+                                                                           Pageable pageable);
+
+    List<BiometricImageSummaryDTO> findByUsuarioIdAndTipoImagemAndAtivaTrueAndIdGreaterThanOrderByIdAsc(
+            String usuarioId, String tipoImagem, String id, Pageable pageable);
 
     List<BiometricImageMetadata> findByHashAndUsuarioId(String hash, String usuarioId);
+
+    boolean existsByHashAndUsuarioIdAndAtivaTrue(String hash, String usuarioId);
 }
\ No newline at end of file
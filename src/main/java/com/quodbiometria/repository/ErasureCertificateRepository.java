@@ -0,0 +1,13 @@
+package com.quodbiometria.repository;
+
+import com.quodbiometria.model.entity.ErasureCertificate;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface ErasureCertificateRepository extends MongoRepository<ErasureCertificate, String> {
+
+    List<ErasureCertificate> findByUsuarioIdOrderByDataSolicitacaoDesc(String usuarioId);
+}
@@ -1,6 +1,7 @@
 package com.quodbiometria.repository;
 
 import com.quodbiometria.model.entity.FaceDetectionResult;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.stereotype.Repository;
 
@@ -10,11 +11,12 @@ import java.util.Optional;
 @Repository
 public interface FaceDetectionRepository extends MongoRepository<FaceDetectionResult, String> {
 
-    List<FaceDetectionResult> findByUsuarioId(String usuarioId);
+    List<FaceDetectionResult> findByUsuarioIdOrderByIdAsc(String usuarioId, Pageable pageable);
 
-    List<FaceDetectionResult> findByUsuarioIdAndFaceDetectedTrue(String usuarioId);
+    List<FaceDetectionResult> findByUsuarioIdAndIdGreaterThanOrderByIdAsc(String usuarioId, String id,
+                                                                         Pageable pageable);
 
     Optional<FaceDetectionResult> findTopByUsuarioIdOrderByCreatedAtDesc(String usuarioId);
 
-    List<FaceDetectionResult> findByConfidenceGreaterThanEqual(float minConfidence);
+    boolean existsByImageId(String imageId);
 }
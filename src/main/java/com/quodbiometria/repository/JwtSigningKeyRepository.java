@@ -0,0 +1,14 @@
+package com.quodbiometria.repository;
+
+import com.quodbiometria.model.entity.JwtSigningKey;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface JwtSigningKeyRepository extends MongoRepository<JwtSigningKey, Long> {
+
+    List<JwtSigningKey> findByRetireAtAfter(LocalDateTime now);
+}
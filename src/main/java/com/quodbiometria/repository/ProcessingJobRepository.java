@@ -0,0 +1,16 @@
+package com.quodbiometria.repository;
+
+import com.quodbiometria.model.entity.ProcessingJob;
+import com.quodbiometria.model.enums.ProcessingJobStatus;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface ProcessingJobRepository extends MongoRepository<ProcessingJob, String> {
+
+    List<ProcessingJob> findByImagemIdOrderByDataCriacaoAsc(String imagemId);
+
+    List<ProcessingJob> findTop100ByStatusOrderByDataAtualizacaoDesc(ProcessingJobStatus status);
+}
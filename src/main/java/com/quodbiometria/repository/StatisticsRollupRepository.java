@@ -0,0 +1,17 @@
+package com.quodbiometria.repository;
+
+import com.quodbiometria.model.entity.StatisticsRollup;
+import com.quodbiometria.model.enums.RollupGranularity;
+import org.springframework.data.domain.Range;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface StatisticsRollupRepository extends MongoRepository<StatisticsRollup, String> {
+
+    List<StatisticsRollup> findByGranularidadeAndInicioBetweenOrderByInicioAsc(RollupGranularity granularidade,
+                                                                               Range<LocalDateTime> periodo);
+}
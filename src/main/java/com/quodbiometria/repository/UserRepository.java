@@ -1,13 +1,17 @@
 package com.quodbiometria.repository;
 
 import com.quodbiometria.model.entity.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface UserRepository extends MongoRepository<User, String> {
     Optional<User> findByEmail(String email);
     boolean existsByEmail(String email);
+    List<User> findAllByOrderByIdAsc(Pageable pageable);
+    List<User> findByIdGreaterThanOrderByIdAsc(String id, Pageable pageable);
 }
\ No newline at end of file
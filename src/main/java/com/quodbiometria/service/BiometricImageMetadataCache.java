@@ -0,0 +1,93 @@
+package com.quodbiometria.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.quodbiometria.model.dto.response.BiometricImageSummaryDTO;
+import com.quodbiometria.model.dto.response.PageResponseDTO;
+import com.quodbiometria.model.entity.BiometricImageMetadata;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Cache local, limitado, dos metadados de imagens por id e das páginas de resumo por usuário. As escritas
+ * feitas por este nó invalidam exatamente as entradas afetadas; alterações feitas por outros nós aparecem
+ * após o TTL, exceto exclusões, que o {@link BiometricImageStorageService} confere no MongoDB antes de servir
+ * uma imagem. Os objetos em cache são compartilhados entre requisições e não devem ser modificados.
+ */
+@Component
+public class BiometricImageMetadataCache {
+
+    static final String BY_ID_CACHE = "biometria.metadados.por_id";
+    static final String SUMMARY_CACHE = "biometria.metadados.resumos";
+
+    private final boolean enabled;
+    private final Cache<String, BiometricImageMetadata> byId;
+    private final Cache<SummaryPageKey, PageResponseDTO<BiometricImageSummaryDTO>> summaries;
+
+    public BiometricImageMetadataCache(MeterRegistry meterRegistry,
+                                       @Value("${app.metadata-cache.enabled:true}") boolean enabled,
+                                       @Value("${app.metadata-cache.max-size:10000}") long maxSize,
+                                       @Value("${app.metadata-cache.summary-max-size:2000}") long summaryMaxSize,
+                                       @Value("${app.metadata-cache.ttl-seconds:300}") long ttlSeconds) {
+        this.enabled = enabled;
+        this.byId = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+        this.summaries = Caffeine.newBuilder()
+                .maximumSize(summaryMaxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, byId, BY_ID_CACHE);
+        CaffeineCacheMetrics.monitor(meterRegistry, summaries, SUMMARY_CACHE);
+    }
+
+    /**
+     * Retorna os metadados do cache ou os carrega. Ids inexistentes não são armazenados.
+     */
+    public BiometricImageMetadata getById(String id, Function<String, BiometricImageMetadata> loader) {
+        return enabled ? byId.get(id, loader) : loader.apply(id);
+    }
+
+    public PageResponseDTO<BiometricImageSummaryDTO> getSummaryPage(
+            String usuarioId, String tipoImagem, String after, int limit,
+            Supplier<PageResponseDTO<BiometricImageSummaryDTO>> loader) {
+        if (!enabled) {
+            return loader.get();
+        }
+        return summaries.get(new SummaryPageKey(usuarioId, tipoImagem, after, limit), key -> loader.get());
+    }
+
+    /**
+     * Invalida os metadados de uma imagem alterada.
+     */
+    public void evict(String id) {
+        byId.invalidate(id);
+    }
+
+    /**
+     * Invalida a imagem e todas as páginas de resumo do seu usuário, após inclusão ou exclusão.
+     */
+    public void evict(BiometricImageMetadata metadata) {
+        if (metadata.getId() != null) {
+            evict(metadata.getId());
+        }
+        evictUser(metadata.getUsuarioId());
+    }
+
+    public void evictUser(String usuarioId) {
+        summaries.asMap().keySet().removeIf(key -> Objects.equals(key.usuarioId(), usuarioId));
+    }
+
+    record SummaryPageKey(String usuarioId, String tipoImagem, String after, int limit) {
+    }
+}
@@ -1,53 +1,81 @@
 package com.quodbiometria.service;
 
-import com.mongodb.client.gridfs.model.GridFSFile;
+import com.mongodb.client.result.UpdateResult;
 import com.quodbiometria.exception.ImageValidationException;
 import com.quodbiometria.model.dto.request.BiometricImageUploadRequestDTO;
 import com.quodbiometria.model.dto.response.BiometricImageMetadataResponseDTO;
+import com.quodbiometria.model.dto.response.BiometricImageSummaryDTO;
+import com.quodbiometria.model.dto.response.PageResponseDTO;
 import com.quodbiometria.model.entity.BiometricImageMetadata;
+import com.quodbiometria.model.enums.ProcessingJobType;
+import com.quodbiometria.model.enums.StorageTier;
 import com.quodbiometria.model.mappers.BiometricImageMetadataMapper;
 import com.quodbiometria.repository.BiometricImageMetadataRepository;
+import com.quodbiometria.service.ImageNormalizationService.NormalizedImage;
+import com.quodbiometria.service.jobs.ProcessingJobQueueService;
+import com.quodbiometria.service.statistics.StatisticsRollupService;
+import com.quodbiometria.service.storage.TieredBlobStorage;
+import com.quodbiometria.util.HashUtil;
+import com.quodbiometria.util.KeysetPagination;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.commons.io.IOUtils;
 import org.bson.Document;
-import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.core.MongoTemplate;
 import org.springframework.data.mongodb.core.query.Criteria;
 import org.springframework.data.mongodb.core.query.Query;
-import org.springframework.data.mongodb.gridfs.GridFsResource;
-import org.springframework.data.mongodb.gridfs.GridFsTemplate;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
-import java.security.MessageDigest;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.NoSuchFileException;
 import java.security.NoSuchAlgorithmException;
 import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Optional;
+import java.util.Objects;
+import java.util.function.Function;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class BiometricImageStorageService {
 
-    private final GridFsTemplate gridFsTemplate;
+    private final TieredBlobStorage tieredBlobStorage;
     private final BiometricImageMetadataRepository metadataRepository;
     private final BiometricImageMetadataMapper mapper;
     private final ImageValidationService imageValidationService;
     private final ImageMetadataExtractionService metadataExtractionService;
+    private final ImageNormalizationService normalizationService;
+    private final ProcessingJobQueueService jobQueueService;
+    private final StatisticsRollupService statisticsService;
+    private final BiometricImageMetadataCache metadataCache;
+    private final MongoTemplate mongoTemplate;
+
+    @Value("${app.jobs.async-post-processing:false}")
+    private boolean asyncPostProcessing;
+
+    @Value("${app.jobs.face-detection-on-upload:false}")
+    private boolean faceDetectionOnUpload;
 
     public BiometricImageMetadataResponseDTO storeImage(MultipartFile file, BiometricImageUploadRequestDTO requestDTO,
                                                         Map<String, String> additionalMetadata) {
         try {
             imageValidationService.validateImage(file, requestDTO.getTipoImagem());
 
-            Map<String, String> exifMetadata = metadataExtractionService.extractMetadata(file);
+            // A normalização precisa da orientação EXIF, então a extração só é adiada quando ela está desligada
+            boolean extractExifInline = !asyncPostProcessing || normalizationService.isEnabled();
+            Map<String, String> exifMetadata = extractExifInline ?
+                    metadataExtractionService.extractMetadata(file) : new HashMap<>();
             Map<String, String> sanitizedExifMetadata = metadataExtractionService.sanitizeMetadata(exifMetadata);
 
             Map<String, String> allMetadata = new HashMap<>();
@@ -55,26 +83,41 @@ public class BiometricImageStorageService {
                 allMetadata.putAll(additionalMetadata);
             }
 
-            String hash = calculateSHA256(file.getInputStream());
+            String hash = HashUtil.sha256Hex(file.getInputStream());
+
+            if (!asyncPostProcessing) {
+                List<BiometricImageMetadata> existingImages = metadataRepository.findByHashAndUsuarioId(hash, requestDTO.getUsuarioId());
+                if (existingImages.stream().anyMatch(BiometricImageMetadata::isAtiva)) {
+                    log.warn("Imagem duplicada detectada para o usuário {} com hash {}", requestDTO.getUsuarioId(), hash);
+                }
+            }
+
+            NormalizedImage normalizedImage = normalizationService.normalize(file, requestDTO.getTipoImagem(),
+                    exifMetadata);
+            MultipartFile storedFile = normalizedImage.file();
 
-            List<BiometricImageMetadata> existingImages = metadataRepository.findByHashAndUsuarioId(hash, requestDTO.getUsuarioId());
-            if (!existingImages.isEmpty()) {
-                log.warn("Imagem duplicada detectada para o usuário {} com hash {}", requestDTO.getUsuarioId(), hash);
+            String originalFileId = null;
+            if (normalizedImage.normalized() && normalizationService.isKeepOriginal()) {
+                originalFileId = tieredBlobStorage.storeFor(StorageTier.COLD).store(
+                        file.getInputStream(), file.getOriginalFilename(), file.getContentType(), null);
             }
 
             Document metadataDoc = new Document();
             metadataDoc.append("usuarioId", requestDTO.getUsuarioId());
             metadataDoc.append("tipoImagem", requestDTO.getTipoImagem());
             metadataDoc.append("hash", hash);
+            if (normalizedImage.normalized()) {
+                metadataDoc.append("originalSize", file.getSize());
+            }
 
             final Map<String, String> finalMetadata = allMetadata;
             sanitizedExifMetadata.forEach((key, value) -> finalMetadata.put("exif." + key, value));
             finalMetadata.forEach(metadataDoc::append);
 
-            ObjectId fileId = gridFsTemplate.store(
-                    file.getInputStream(),
+            String fileId = tieredBlobStorage.store(
+                    storedFile.getInputStream(),
                     file.getOriginalFilename(),
-                    file.getContentType(),
+                    storedFile.getContentType(),
                     metadataDoc
             );
 
@@ -82,10 +125,12 @@ public class BiometricImageStorageService {
                     requestDTO.getDispositivo() : "DESCONHECIDO";
 
             BiometricImageMetadata imageMetadata = BiometricImageMetadata.builder()
-                    .fileId(fileId.toString())
+                    .fileId(fileId)
                     .filename(file.getOriginalFilename())
-                    .contentType(file.getContentType())
-                    .size(file.getSize())
+                    .contentType(storedFile.getContentType())
+                    .size(storedFile.getSize())
+                    .originalSize(normalizedImage.normalized() ? file.getSize() : null)
+                    .originalFileId(originalFileId)
                     .usuarioId(requestDTO.getUsuarioId())
                     .tipoImagem(requestDTO.getTipoImagem())
                     .dispositivo(dispositivo)
@@ -94,9 +139,15 @@ public class BiometricImageStorageService {
                     .hash(hash)
                     .ativa(true)
                     .exifMetadata(sanitizedExifMetadata)
+                    .storageTier(StorageTier.HOT)
                     .build();
 
             BiometricImageMetadata savedMetadata = metadataRepository.save(imageMetadata);
+            metadataCache.evictUser(savedMetadata.getUsuarioId());
+            statisticsService.recordUpload(savedMetadata.getTipoImagem(), dispositivo, savedMetadata.getDataCriacao());
+            if (asyncPostProcessing) {
+                enqueuePostProcessing(savedMetadata, !extractExifInline);
+            }
             return mapper.toDTO(savedMetadata);
 
         } catch (ImageValidationException e) {
@@ -110,9 +161,8 @@ public class BiometricImageStorageService {
     }
 
     public byte[] getImage(String id) {
-        try {
-            BiometricImageMetadata metadata = findMetadataById(id);
-            return getImageByFileId(metadata.getFileId());
+        try (InputStream content = openImage(id)) {
+            return content.readAllBytes();
         } catch (IOException e) {
             log.error("Erro ao recuperar imagem biométrica", e);
             throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR,
@@ -120,59 +170,128 @@ public class BiometricImageStorageService {
         }
     }
 
-    public byte[] getImageByFileId(String fileId) throws IOException {
-        GridFSFile file = Optional.of(gridFsTemplate.findOne(new Query(Criteria.where("_id").is(new ObjectId(fileId)))))
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Arquivo de imagem não encontrado"));
-        GridFsResource resource = gridFsTemplate.getResource(file);
-        return IOUtils.toByteArray(resource.getInputStream());
+    /**
+     * Abre o conteúdo da imagem para leitura em fluxo, sem carregá-lo inteiro em memória. No tier quente os
+     * chunks do GridFS são buscados antecipadamente em lotes.
+     * <p>
+     * Os metadados em cache podem apontar para um tier antigo quando outro nó migrou a imagem; se o blob não
+     * for encontrado, a entrada é descartada e a abertura é refeita uma vez com os metadados atuais.
+     */
+    public InputStream openImage(String id) {
+        BiometricImageMetadata metadata = findActiveMetadataById(id);
+        try {
+            try {
+                return tieredBlobStorage.open(metadata);
+            } catch (FileNotFoundException | NoSuchFileException e) {
+                metadataCache.evict(id);
+                BiometricImageMetadata current = findMetadataById(id);
+                if (Objects.equals(current.getFileId(), metadata.getFileId())
+                        && TieredBlobStorage.tierOf(current) == TieredBlobStorage.tierOf(metadata)) {
+                    throw e;
+                }
+                log.debug("Imagem {} mudou de local desde a leitura em cache; reabrindo no tier {}", id,
+                        TieredBlobStorage.tierOf(current));
+                return tieredBlobStorage.open(current);
+            }
+        } catch (FileNotFoundException | NoSuchFileException e) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Arquivo de imagem não encontrado");
+        } catch (IOException e) {
+            log.error("Erro ao abrir imagem biométrica", e);
+            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR,
+                    "Erro ao recuperar imagem biométrica: " + e.getMessage());
+        }
+    }
+
+    public ReadableByteChannel openImageChannel(String id) {
+        return Channels.newChannel(openImage(id));
     }
 
     public BiometricImageMetadataResponseDTO getMetadataById(String id) {
-        return mapper.toDTO(findMetadataById(id));
+        return mapper.toDTO(findActiveMetadataById(id));
     }
 
-    public List<BiometricImageMetadataResponseDTO> getImagesByUsuario(String usuarioId) {
-        List<BiometricImageMetadata> images = metadataRepository.findByUsuarioId(usuarioId);
-        return mapper.toDTOList(images);
+    public PageResponseDTO<BiometricImageSummaryDTO> getImagesByUsuario(String usuarioId, String after,
+                                                                        Integer limit) {
+        String afterId = KeysetPagination.decodeCursor(after);
+        int pageSize = KeysetPagination.resolveLimit(limit);
+
+        return metadataCache.getSummaryPage(usuarioId, null, afterId, pageSize, () -> {
+            Pageable pageable = KeysetPagination.lookahead(pageSize);
+            List<BiometricImageSummaryDTO> images = afterId == null
+                    ? metadataRepository.findByUsuarioIdAndAtivaTrueOrderByIdAsc(usuarioId, pageable)
+                    : metadataRepository.findByUsuarioIdAndAtivaTrueAndIdGreaterThanOrderByIdAsc(usuarioId, afterId, pageable);
+            return KeysetPagination.toPage(images, pageSize, BiometricImageSummaryDTO::getId, Function.identity());
+        });
     }
 
-    public List<BiometricImageMetadataResponseDTO> getImagesByUsuarioAndTipo(String usuarioId, String tipoImagem) {
-        List<BiometricImageMetadata> images = metadataRepository.findByUsuarioIdAndTipoImagem(usuarioId, tipoImagem);
-        return mapper.toDTOList(images);
+    public PageResponseDTO<BiometricImageSummaryDTO> getImagesByUsuarioAndTipo(String usuarioId,
+                                                                               String tipoImagem,
+                                                                               String after,
+                                                                               Integer limit) {
+        String afterId = KeysetPagination.decodeCursor(after);
+        int pageSize = KeysetPagination.resolveLimit(limit);
+
+        return metadataCache.getSummaryPage(usuarioId, tipoImagem, afterId, pageSize, () -> {
+            Pageable pageable = KeysetPagination.lookahead(pageSize);
+            List<BiometricImageSummaryDTO> images = afterId == null
+                    ? metadataRepository.findByUsuarioIdAndTipoImagemAndAtivaTrueOrderByIdAsc(usuarioId, tipoImagem, pageable)
+                    : metadataRepository.findByUsuarioIdAndTipoImagemAndAtivaTrueAndIdGreaterThanOrderByIdAsc(
+                            usuarioId, tipoImagem, afterId, pageable);
+            return KeysetPagination.toPage(images, pageSize, BiometricImageSummaryDTO::getId, Function.identity());
+        });
     }
 
+    /**
+     * Exclusão lógica: a imagem deixa de ser visível imediatamente e seus blobs e metadados são removidos
+     * depois pelo {@link com.quodbiometria.service.storage.BlobGarbageCollector}.
+     */
     public void deleteImage(String id) {
         BiometricImageMetadata metadata = findMetadataById(id);
-        gridFsTemplate.delete(new Query(Criteria.where("_id").is(new ObjectId(metadata.getFileId()))));
-        metadataRepository.delete(metadata);
-    }
-
-    private BiometricImageMetadata findMetadataById(String id) {
-        return metadataRepository.findById(id)
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND,
-                        "Imagem biométrica não encontrada"));
-    }
+        LocalDateTime agora = LocalDateTime.now();
 
-    private String calculateSHA256(InputStream inputStream) throws IOException, NoSuchAlgorithmException {
-        MessageDigest digest = MessageDigest.getInstance("SHA-256");
-        byte[] buffer = new byte[8192];
-        int bytesRead;
+        UpdateResult result = mongoTemplate.updateFirst(
+                new Query(Criteria.where("_id").is(metadata.getId()).and("ativa").is(true)),
+                new Update().set("ativa", false).set("dataExclusao", agora).set("dataAtualizacao", agora),
+                BiometricImageMetadata.class);
+        metadataCache.evict(metadata);
 
-        while ((bytesRead = inputStream.read(buffer)) != -1) {
-            digest.update(buffer, 0, bytesRead);
+        if (result.getModifiedCount() == 0) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Imagem biométrica não encontrada");
         }
+    }
 
-        byte[] hash = digest.digest();
+    private void enqueuePostProcessing(BiometricImageMetadata metadata, boolean includeExif) {
+        if (includeExif) {
+            jobQueueService.enqueue(ProcessingJobType.EXTRACAO_EXIF, metadata.getId(), metadata.getUsuarioId(), null);
+        }
+        jobQueueService.enqueue(ProcessingJobType.VERIFICACAO_DUPLICIDADE, metadata.getId(),
+                metadata.getUsuarioId(), null);
+        if (faceDetectionOnUpload && "FACIAL".equalsIgnoreCase(metadata.getTipoImagem())) {
+            jobQueueService.enqueue(ProcessingJobType.DETECCAO_FACIAL, metadata.getId(), metadata.getUsuarioId(), null);
+        }
+    }
 
-        StringBuilder hexString = new StringBuilder();
-        for (byte b : hash) {
-            String hex = Integer.toHexString(0xff & b);
-            if (hex.length() == 1) {
-                hexString.append('0');
-            }
-            hexString.append(hex);
+    /**
+     * Metadados de uma imagem confirmada como ativa no MongoDB. A entrada em cache pode ter sido excluída
+     * logicamente por outro nó, e o blob só é removido depois pelo coletor; por isso a situação é conferida
+     * por uma consulta pontual por {@code _id} antes de qualquer leitura ser servida.
+     */
+    private BiometricImageMetadata findActiveMetadataById(String id) {
+        BiometricImageMetadata metadata = findMetadataById(id);
+        if (!mongoTemplate.exists(new Query(Criteria.where("_id").is(metadata.getId()).and("ativa").is(true)),
+                BiometricImageMetadata.class)) {
+            metadataCache.evict(metadata);
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Imagem biométrica não encontrada");
         }
+        return metadata;
+    }
 
-        return hexString.toString();
+    private BiometricImageMetadata findMetadataById(String id) {
+        BiometricImageMetadata metadata = metadataCache.getById(id,
+                key -> metadataRepository.findById(key).filter(BiometricImageMetadata::isAtiva).orElse(null));
+        if (metadata == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Imagem biométrica não encontrada");
+        }
+        return metadata;
     }
 }
\ No newline at end of file
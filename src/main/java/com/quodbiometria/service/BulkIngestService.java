@@ -0,0 +1,337 @@
+package com.quodbiometria.service;
+
+import com.quodbiometria.exception.ImageValidationException;
+import com.quodbiometria.model.dto.request.BiometricImageUploadRequestDTO;
+import com.quodbiometria.model.dto.response.BiometricImageMetadataResponseDTO;
+import com.quodbiometria.model.dto.response.BulkIngestItemResultDTO;
+import com.quodbiometria.model.dto.response.BulkIngestReportDTO;
+import com.quodbiometria.model.enums.BulkIngestItemStatus;
+import com.quodbiometria.repository.BiometricImageMetadataRepository;
+import com.quodbiometria.util.ByteArrayMultipartFile;
+import com.quodbiometria.util.HashUtil;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.URLConnection;
+import java.nio.charset.StandardCharsets;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+/**
+ * Ingestão em lote de imagens biométricas a partir de um arquivo ZIP ou de um envio multipart com vários
+ * arquivos, guiada por um manifesto CSV ({@code arquivo,usuarioId,tipoImagem[,dispositivo]}).
+ * <p>
+ * As entradas do ZIP são lidas em streaming, sem extração para disco, e cada imagem é validada, tem o hash
+ * calculado e é armazenada em um pool de threads limitado. Imagens já armazenadas para o mesmo usuário são
+ * ignoradas, o que torna seguro reenviar o mesmo lote a partir de qualquer linha do manifesto.
+ */
+@Slf4j
+@Service
+public class BulkIngestService {
+
+    private static final String ORIGEM_LOTE = "INGESTAO_LOTE";
+    private static final List<String> MANIFEST_HEADER = List.of("arquivo", "usuarioid", "tipoimagem", "dispositivo");
+
+    private final BiometricImageStorageService storageService;
+    private final BiometricImageMetadataRepository metadataRepository;
+    private final Executor bulkIngestExecutor;
+
+    @Value("${app.image.validation.max-size:5242880}")
+    private long maxFileSize;
+
+    public BulkIngestService(BiometricImageStorageService storageService,
+                             BiometricImageMetadataRepository metadataRepository,
+                             @Qualifier("bulkIngestExecutor") Executor bulkIngestExecutor) {
+        this.storageService = storageService;
+        this.metadataRepository = metadataRepository;
+        this.bulkIngestExecutor = bulkIngestExecutor;
+    }
+
+    /**
+     * Ingere as imagens de um arquivo ZIP.
+     *
+     * @param arquivoZip Arquivo ZIP com as imagens
+     * @param manifesto Manifesto CSV que associa cada arquivo a um usuário e tipo de imagem
+     * @param retomarDaLinha Primeira linha do manifesto a ser processada (1 para o lote completo)
+     * @return Relatório com o resultado de cada linha processada
+     */
+    public BulkIngestReportDTO ingestZip(MultipartFile arquivoZip, MultipartFile manifesto, int retomarDaLinha) {
+        List<BulkIngestItemResultDTO> results = new ArrayList<>();
+        Map<String, ManifestEntry> entries = readManifest(manifesto, retomarDaLinha, results);
+        int proximaLinha = nextLine(entries, results, retomarDaLinha);
+
+        List<CompletableFuture<BulkIngestItemResultDTO>> pending = new ArrayList<>();
+        String interrupcao = null;
+
+        try (ZipInputStream zis = new ZipInputStream(arquivoZip.getInputStream())) {
+            ZipEntry zipEntry;
+            while (!entries.isEmpty() && (zipEntry = zis.getNextEntry()) != null) {
+                if (zipEntry.isDirectory()) {
+                    continue;
+                }
+
+                ManifestEntry entry = takeEntry(entries, zipEntry.getName());
+                if (entry == null) {
+                    continue;
+                }
+
+                byte[] content = readBounded(zis);
+                if (content == null) {
+                    results.add(result(entry, BulkIngestItemStatus.REJEITADA, null, null,
+                            String.format("O tamanho do arquivo excede o limite máximo permitido de %d bytes",
+                                    maxFileSize)));
+                    continue;
+                }
+
+                MultipartFile file = new ByteArrayMultipartFile("file", baseName(entry.arquivo()),
+                        URLConnection.guessContentTypeFromName(entry.arquivo()), content);
+                pending.add(CompletableFuture.supplyAsync(() -> ingestItem(entry, file), bulkIngestExecutor));
+            }
+        } catch (IOException e) {
+            log.error("Erro ao ler arquivo ZIP da ingestão em lote", e);
+            interrupcao = "Leitura do arquivo ZIP interrompida: " + e.getMessage();
+        }
+
+        return buildReport(results, pending, entries, proximaLinha, interrupcao);
+    }
+
+    /**
+     * Ingere imagens enviadas como partes de um único request multipart.
+     *
+     * @param arquivos Arquivos de imagem enviados
+     * @param manifesto Manifesto CSV que associa cada arquivo a um usuário e tipo de imagem
+     * @param retomarDaLinha Primeira linha do manifesto a ser processada (1 para o lote completo)
+     * @return Relatório com o resultado de cada linha processada
+     */
+    public BulkIngestReportDTO ingestFiles(List<MultipartFile> arquivos, MultipartFile manifesto, int retomarDaLinha) {
+        List<BulkIngestItemResultDTO> results = new ArrayList<>();
+        Map<String, ManifestEntry> entries = readManifest(manifesto, retomarDaLinha, results);
+        int proximaLinha = nextLine(entries, results, retomarDaLinha);
+
+        List<CompletableFuture<BulkIngestItemResultDTO>> pending = new ArrayList<>();
+        for (MultipartFile file : arquivos) {
+            if (file.getOriginalFilename() == null) {
+                continue;
+            }
+
+            ManifestEntry entry = takeEntry(entries, file.getOriginalFilename());
+            if (entry != null) {
+                pending.add(CompletableFuture.supplyAsync(() -> ingestItem(entry, file), bulkIngestExecutor));
+            }
+        }
+
+        return buildReport(results, pending, entries, proximaLinha, null);
+    }
+
+    private BulkIngestItemResultDTO ingestItem(ManifestEntry entry, MultipartFile file) {
+        String hash = null;
+        try {
+            hash = HashUtil.sha256Hex(file.getInputStream());
+            if (metadataRepository.existsByHashAndUsuarioIdAndAtivaTrue(hash, entry.usuarioId())) {
+                return result(entry, BulkIngestItemStatus.DUPLICADA, null, hash,
+                        "Imagem já armazenada para o usuário");
+            }
+
+            BiometricImageUploadRequestDTO requestDTO = BiometricImageUploadRequestDTO.builder()
+                    .usuarioId(entry.usuarioId())
+                    .tipoImagem(entry.tipoImagem())
+                    .dispositivo(entry.dispositivo())
+                    .build();
+
+            Map<String, String> metadata = new HashMap<>();
+            if (entry.dispositivo() != null) {
+                metadata.put("dispositivo", entry.dispositivo());
+            }
+            metadata.put("origem", ORIGEM_LOTE);
+            metadata.put("linhaManifesto", String.valueOf(entry.linha()));
+
+            BiometricImageMetadataResponseDTO stored = storageService.storeImage(file, requestDTO, metadata);
+            return result(entry, BulkIngestItemStatus.ARMAZENADA, stored.getId(), hash, null);
+        } catch (ImageValidationException e) {
+            return result(entry, BulkIngestItemStatus.REJEITADA, null, hash, e.getMessage());
+        } catch (ResponseStatusException e) {
+            return result(entry, BulkIngestItemStatus.FALHA, null, hash, e.getReason());
+        } catch (IOException | NoSuchAlgorithmException | RuntimeException e) {
+            log.error("Erro ao ingerir a linha {} do manifesto", entry.linha(), e);
+            return result(entry, BulkIngestItemStatus.FALHA, null, hash, e.getMessage());
+        }
+    }
+
+    private Map<String, ManifestEntry> readManifest(MultipartFile manifesto, int retomarDaLinha,
+                                                    List<BulkIngestItemResultDTO> results) {
+        if (manifesto == null || manifesto.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "O manifesto do lote é obrigatório");
+        }
+
+        Map<String, ManifestEntry> entries = new LinkedHashMap<>();
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(manifesto.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            int lineNumber = 0;
+            boolean firstLine = true;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+
+                String[] columns = line.split("[;,]", -1);
+                boolean header = firstLine && isHeader(columns);
+                firstLine = false;
+                if (header || lineNumber < retomarDaLinha) {
+                    continue;
+                }
+
+                ManifestEntry entry = new ManifestEntry(lineNumber,
+                        column(columns, 0), column(columns, 1), upperCase(column(columns, 2)), column(columns, 3));
+
+                if (entry.arquivo() == null || entry.usuarioId() == null || entry.tipoImagem() == null) {
+                    results.add(result(entry, BulkIngestItemStatus.FALHA, null, null,
+                            "Linha do manifesto inválida: arquivo, usuarioId e tipoImagem são obrigatórios"));
+                } else if (entries.containsKey(entry.arquivo())) {
+                    results.add(result(entry, BulkIngestItemStatus.FALHA, null, null,
+                            "Arquivo repetido no manifesto (linha " + entries.get(entry.arquivo()).linha() + ")"));
+                } else {
+                    entries.put(entry.arquivo(), entry);
+                }
+            }
+        } catch (IOException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Não foi possível ler o manifesto do lote: " + e.getMessage());
+        }
+
+        return entries;
+    }
+
+    private ManifestEntry takeEntry(Map<String, ManifestEntry> entries, String name) {
+        ManifestEntry entry = entries.remove(name);
+        return entry != null ? entry : entries.remove(baseName(name));
+    }
+
+    private byte[] readBounded(InputStream inputStream) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        byte[] buffer = new byte[8192];
+        long total = 0;
+        int bytesRead;
+
+        while ((bytesRead = inputStream.read(buffer)) != -1) {
+            total += bytesRead;
+            if (total > maxFileSize) {
+                return null;
+            }
+            output.write(buffer, 0, bytesRead);
+        }
+
+        return output.toByteArray();
+    }
+
+    private BulkIngestReportDTO buildReport(List<BulkIngestItemResultDTO> results,
+                                            List<CompletableFuture<BulkIngestItemResultDTO>> pending,
+                                            Map<String, ManifestEntry> notFound,
+                                            int proximaLinha,
+                                            String interrupcao) {
+        CompletableFuture.allOf(pending.toArray(new CompletableFuture[0])).join();
+        pending.forEach(future -> results.add(future.join()));
+
+        String notFoundMessage = interrupcao != null ? interrupcao : "Arquivo não encontrado no lote";
+        notFound.values().forEach(entry ->
+                results.add(result(entry, BulkIngestItemStatus.NAO_ENCONTRADA, null, null, notFoundMessage)));
+
+        results.sort(Comparator.comparingInt(BulkIngestItemResultDTO::getLinha));
+
+        return BulkIngestReportDTO.builder()
+                .totalItens(results.size())
+                .armazenados(count(results, BulkIngestItemStatus.ARMAZENADA))
+                .duplicados(count(results, BulkIngestItemStatus.DUPLICADA))
+                .rejeitados(count(results, BulkIngestItemStatus.REJEITADA))
+                .falhas(count(results, BulkIngestItemStatus.FALHA))
+                .naoEncontrados(count(results, BulkIngestItemStatus.NAO_ENCONTRADA))
+                .proximaLinha(proximaLinha)
+                .itens(results)
+                .build();
+    }
+
+    private int nextLine(Map<String, ManifestEntry> entries, List<BulkIngestItemResultDTO> invalid,
+                         int retomarDaLinha) {
+        int lastLine = retomarDaLinha - 1;
+        for (ManifestEntry entry : entries.values()) {
+            lastLine = Math.max(lastLine, entry.linha());
+        }
+        for (BulkIngestItemResultDTO item : invalid) {
+            lastLine = Math.max(lastLine, item.getLinha());
+        }
+        return lastLine + 1;
+    }
+
+    private int count(List<BulkIngestItemResultDTO> results, BulkIngestItemStatus status) {
+        return (int) results.stream().filter(item -> item.getStatus() == status).count();
+    }
+
+    private BulkIngestItemResultDTO result(ManifestEntry entry, BulkIngestItemStatus status, String imagemId,
+                                           String hash, String mensagem) {
+        return BulkIngestItemResultDTO.builder()
+                .linha(entry.linha())
+                .arquivo(entry.arquivo())
+                .usuarioId(entry.usuarioId())
+                .tipoImagem(entry.tipoImagem())
+                .status(status)
+                .imagemId(imagemId)
+                .hash(hash)
+                .mensagem(mensagem)
+                .build();
+    }
+
+    /**
+     * Cabeçalho do manifesto: as colunas, na ordem, com ou sem {@code dispositivo}. Só a primeira linha não vazia
+     * é considerada, para que arquivos com nomes como {@code arquivo_001.jpg} não sejam descartados.
+     */
+    private boolean isHeader(String[] columns) {
+        if (columns.length < MANIFEST_HEADER.size() - 1 || columns.length > MANIFEST_HEADER.size()) {
+            return false;
+        }
+        for (int i = 0; i < columns.length; i++) {
+            if (!MANIFEST_HEADER.get(i).equals(columns[i].trim().toLowerCase())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private String column(String[] columns, int index) {
+        if (index >= columns.length || columns[index].isBlank()) {
+            return null;
+        }
+        return columns[index].trim();
+    }
+
+    private String upperCase(String value) {
+        return value != null ? value.toUpperCase() : null;
+    }
+
+    private String baseName(String name) {
+        int lastSlash = Math.max(name.lastIndexOf('/'), name.lastIndexOf('\\'));
+        return lastSlash >= 0 ? name.substring(lastSlash + 1) : name;
+    }
+
+    private record ManifestEntry(int linha, String arquivo, String usuarioId, String tipoImagem, String dispositivo) {
+    }
+}
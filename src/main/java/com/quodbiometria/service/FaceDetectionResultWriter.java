@@ -0,0 +1,263 @@
+package com.quodbiometria.service;
+
+import com.mongodb.ErrorCategory;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.bulk.BulkWriteResult;
+import com.quodbiometria.model.entity.ErasureCertificate;
+import com.quodbiometria.model.entity.FaceDetectionResult;
+import com.quodbiometria.repository.FaceDetectionRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Grava os resultados de detecção facial. Com {@code app.face-detection.write-behind.enabled} ativo, os
+ * resultados são acumulados em memória e gravados em lote com inserção não ordenada, quando o lote enche ou
+ * a cada intervalo de flush; a requisição não espera a ida ao MongoDB.
+ * <p>
+ * Trade-off de durabilidade: resultados ainda no buffer são perdidos se o processo terminar de forma abrupta.
+ * No desligamento normal o buffer é esvaziado. Com o buffer cheio a requisição aguarda até
+ * {@code offer-timeout-ms} por espaço e, se não houver, grava o resultado de forma síncrona.
+ * <p>
+ * Resultados de um lote que falhou (queda de rede, troca de primário) voltam ao buffer e o flush para até a
+ * próxima execução. Como os ids são atribuídos antes do enfileiramento, um resultado já gravado numa tentativa
+ * anterior falha por chave duplicada e é descartado, sem duplicar o registro.
+ * <p>
+ * Antes de cada lote, resultados de usuários com eliminação de dados solicitada são descartados: o buffer de
+ * qualquer nó pode ainda conter resultados desses usuários quando a eliminação remove suas detecções.
+ */
+@Slf4j
+@Component
+public class FaceDetectionResultWriter {
+
+    static final String METRIC = "biometria.deteccao_facial.write_behind";
+
+    private final FaceDetectionRepository faceDetectionRepository;
+    private final MongoTemplate mongoTemplate;
+    private final Executor flushExecutor;
+    private final MeterRegistry meterRegistry;
+    private final boolean writeBehind;
+    private final int batchSize;
+    private final long offerTimeoutMs;
+    private final BlockingQueue<FaceDetectionResult> buffer;
+
+    public FaceDetectionResultWriter(FaceDetectionRepository faceDetectionRepository,
+                                     MongoTemplate mongoTemplate,
+                                     @Qualifier("faceDetectionWriteExecutor") Executor flushExecutor,
+                                     MeterRegistry meterRegistry,
+                                     @Value("${app.face-detection.write-behind.enabled:false}") boolean writeBehind,
+                                     @Value("${app.face-detection.write-behind.batch-size:200}") int batchSize,
+                                     @Value("${app.face-detection.write-behind.capacity:10000}") int capacity,
+                                     @Value("${app.face-detection.write-behind.offer-timeout-ms:50}") long offerTimeoutMs) {
+        this.faceDetectionRepository = faceDetectionRepository;
+        this.mongoTemplate = mongoTemplate;
+        this.flushExecutor = flushExecutor;
+        this.meterRegistry = meterRegistry;
+        this.writeBehind = writeBehind;
+        this.batchSize = batchSize;
+        this.offerTimeoutMs = offerTimeoutMs;
+        this.buffer = new ArrayBlockingQueue<>(capacity);
+        meterRegistry.gauge(METRIC + ".pendentes", buffer, BlockingQueue::size);
+    }
+
+    /**
+     * Grava o resultado, de imediato ou via buffer. O id é atribuído antes do enfileiramento para que
+     * possa ser registrado e devolvido sem esperar a gravação.
+     */
+    public FaceDetectionResult write(FaceDetectionResult result) {
+        if (!writeBehind) {
+            return faceDetectionRepository.save(result);
+        }
+
+        if (result.getId() == null) {
+            result.setId(new ObjectId().toHexString());
+        }
+
+        boolean accepted;
+        try {
+            accepted = buffer.offer(result, offerTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            accepted = false;
+        }
+
+        if (!accepted) {
+            count("sincrono", 1);
+            log.warn("Buffer de resultados de detecção facial cheio; gravando o resultado {} de forma síncrona",
+                    result.getId());
+            return faceDetectionRepository.save(result);
+        }
+
+        if (buffer.size() >= batchSize) {
+            try {
+                flushExecutor.execute(this::flush);
+            } catch (RejectedExecutionException e) {
+                // Já existe um flush agendado; ele levará este lote
+            }
+        }
+        return result;
+    }
+
+    @Scheduled(fixedDelayString = "${app.face-detection.write-behind.flush-interval-ms:1000}")
+    public void scheduledFlush() {
+        if (writeBehind) {
+            flush();
+        }
+    }
+
+    /**
+     * Grava em lotes tudo o que estiver no buffer.
+     *
+     * @return Quantidade de resultados gravados
+     */
+    public synchronized int flush() {
+        int written = 0;
+        while (!buffer.isEmpty()) {
+            List<FaceDetectionResult> batch = new ArrayList<>(batchSize);
+            if (buffer.drainTo(batch, batchSize) == 0) {
+                break;
+            }
+
+            List<FaceDetectionResult> failed = new ArrayList<>();
+            written += insertBatch(batch, failed);
+            if (!failed.isEmpty()) {
+                requeue(failed);
+                break;
+            }
+        }
+        return written;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (writeBehind) {
+            int written = flush();
+            log.info("Buffer de resultados de detecção facial esvaziado no desligamento: {} gravados", written);
+            if (!buffer.isEmpty()) {
+                count("falha", buffer.size());
+                log.error("{} resultados de detecção facial não puderam ser gravados antes do desligamento",
+                        buffer.size());
+            }
+        }
+    }
+
+    /**
+     * Grava o lote e coloca em {@code failed} os resultados que devem ser tentados de novo.
+     *
+     * @return Quantidade de resultados gravados
+     */
+    private int insertBatch(List<FaceDetectionResult> batch, List<FaceDetectionResult> failed) {
+        List<FaceDetectionResult> pending = batch;
+        try {
+            pending = withoutErasedUsers(batch);
+            if (pending.isEmpty()) {
+                return 0;
+            }
+            BulkWriteResult result = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, FaceDetectionResult.class)
+                    .insert(pending)
+                    .execute();
+            count("gravado", result.getInsertedCount());
+            return result.getInsertedCount();
+        } catch (BulkOperationException e) {
+            int inserted = e.getResult().getInsertedCount();
+            int duplicated = 0;
+            for (BulkWriteError error : e.getErrors()) {
+                if (ErrorCategory.fromErrorCode(error.getCode()) == ErrorCategory.DUPLICATE_KEY) {
+                    duplicated++;
+                } else {
+                    failed.add(pending.get(error.getIndex()));
+                }
+            }
+            count("gravado", inserted);
+            count("duplicado", duplicated);
+            log.error("Falha ao gravar {} de {} resultados de detecção facial; serão tentados de novo: {}",
+                    failed.size(), pending.size(), e.getMessage());
+            return inserted;
+        } catch (RuntimeException e) {
+            failed.addAll(pending);
+            log.error("Falha ao gravar lote de {} resultados de detecção facial; será tentado de novo",
+                    pending.size(), e);
+            return 0;
+        }
+    }
+
+    /**
+     * Remove do lote os resultados de usuários que têm certificado de eliminação, em qualquer situação.
+     */
+    private List<FaceDetectionResult> withoutErasedUsers(List<FaceDetectionResult> batch) {
+        Set<String> usuarioIds = batch.stream()
+                .map(FaceDetectionResult::getUsuarioId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        if (usuarioIds.isEmpty()) {
+            return batch;
+        }
+
+        List<String> erased = mongoTemplate.findDistinct(new Query(Criteria.where("usuarioId").in(usuarioIds)),
+                "usuarioId", ErasureCertificate.class, String.class);
+        if (erased.isEmpty()) {
+            return batch;
+        }
+
+        List<FaceDetectionResult> kept = batch.stream()
+                .filter(result -> !erased.contains(result.getUsuarioId()))
+                .toList();
+        count("descartado_eliminacao", batch.size() - kept.size());
+        log.info("{} resultados de detecção facial descartados por eliminação de dados dos usuários",
+                batch.size() - kept.size());
+        return kept;
+    }
+
+    /**
+     * Devolve ao buffer os resultados de um lote que falhou. Sem espaço no buffer, tenta a gravação síncrona;
+     * só o que falhar também nela é perdido.
+     */
+    private void requeue(List<FaceDetectionResult> failed) {
+        int requeued = 0;
+        for (FaceDetectionResult result : failed) {
+            if (buffer.offer(result)) {
+                requeued++;
+                continue;
+            }
+            try {
+                faceDetectionRepository.save(result);
+                count("sincrono", 1);
+            } catch (RuntimeException e) {
+                count("falha", 1);
+                log.error("Resultado de detecção facial {} perdido: {}", result.getId(), e.getMessage());
+            }
+        }
+        count("reenfileirado", requeued);
+    }
+
+    private void count(String resultado, int amount) {
+        if (amount > 0) {
+            Counter.builder(METRIC)
+                    .tag("resultado", resultado)
+                    .register(meterRegistry)
+                    .increment(amount);
+        }
+    }
+}
@@ -3,19 +3,24 @@ package com.quodbiometria.service;
 import com.quodbiometria.exception.ImageProcessingException;
 import com.quodbiometria.model.dto.request.FaceDetectionRequestDTO;
 import com.quodbiometria.model.dto.response.FaceDetectionResponseDTO;
+import com.quodbiometria.model.dto.response.PageResponseDTO;
 import com.quodbiometria.model.entity.FaceDetectionResult;
 import com.quodbiometria.model.mappers.FaceDetectionMapper;
 import com.quodbiometria.repository.FaceDetectionRepository;
 import com.quodbiometria.service.FaceDetectionService.RectResult;
+import com.quodbiometria.service.statistics.StatisticsRollupService;
+import com.quodbiometria.util.KeysetPagination;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.bytedeco.opencv.opencv_core.*;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
 
@@ -31,18 +36,24 @@ public class FacialProcessingService {
     private final ImageValidationService imageValidationService;
     private final FaceDetectionRepository faceDetectionRepository;
     private final FaceDetectionMapper faceDetectionMapper;
-
+    private final FaceDetectionResultWriter resultWriter;
+    private final StatisticsRollupService statisticsService;
 
     public FaceDetectionResponseDTO processFacialImage(MultipartFile file, FaceDetectionRequestDTO requestDTO)
             throws ImageProcessingException {
         try {
+            // A validação confere o limite de pixels pelo cabeçalho antes de o OpenCV decodificar a imagem
+            imageValidationService.validateImage(file, "FACIAL");
+
             Path tempFile = Files.createTempFile("face_", getFileExtension(file.getOriginalFilename()));
             file.transferTo(tempFile.toFile());
 
-            imageValidationService.validateImage(file, "FACIAL");
-
             List<RectResult> faces = faceDetectionService.detectFaces(tempFile.toString());
 
+            if (faces.size() != 1) {
+                statisticsService.recordDetection(false, null, requestDTO.getDispositivo(), LocalDateTime.now());
+            }
+
             if (faces.isEmpty()) {
                 throw new ImageProcessingException("Nenhuma face detectada na imagem");
             }
@@ -52,6 +63,8 @@ public class FacialProcessingService {
             }
 
             String processedImagePath = processDetectedFace(tempFile.toString(), faces.get(0));
+            statisticsService.recordDetection(true, faces.get(0).confidence(), requestDTO.getDispositivo(),
+                    LocalDateTime.now());
 
             FaceDetectionResponseDTO responseDTO = FaceDetectionResponseDTO.builder()
                     .faceDetected(true)
@@ -68,7 +81,7 @@ public class FacialProcessingService {
 
             if (requestDTO.getSalvarResultado() != null && requestDTO.getSalvarResultado()) {
                 FaceDetectionResult entity = faceDetectionMapper.toEntity(requestDTO, responseDTO);
-                faceDetectionRepository.save(entity);
+                resultWriter.write(entity);
                 log.info("Resultado da detecção facial salvo com ID: {}", entity.getId());
             }
 
@@ -109,11 +122,17 @@ public class FacialProcessingService {
         return "." + filename.substring(filename.lastIndexOf(".") + 1);
     }
 
-    public List<FaceDetectionResponseDTO> buscarResultadosPorUsuario(String usuarioId) {
-        List<FaceDetectionResult> resultados = faceDetectionRepository.findByUsuarioId(usuarioId);
-        return resultados.stream()
-                .map(faceDetectionMapper::toResponseDTO)
-                .toList();
+    public PageResponseDTO<FaceDetectionResponseDTO> buscarResultadosPorUsuario(String usuarioId, String after,
+                                                                                Integer limit) {
+        String afterId = KeysetPagination.decodeCursor(after);
+        int pageSize = KeysetPagination.resolveLimit(limit);
+        Pageable pageable = KeysetPagination.lookahead(pageSize);
+
+        List<FaceDetectionResult> resultados = afterId == null
+                ? faceDetectionRepository.findByUsuarioIdOrderByIdAsc(usuarioId, pageable)
+                : faceDetectionRepository.findByUsuarioIdAndIdGreaterThanOrderByIdAsc(usuarioId, afterId, pageable);
+        return KeysetPagination.toPage(resultados, pageSize, FaceDetectionResult::getId,
+                itens -> itens.stream().map(faceDetectionMapper::toResponseDTO).toList());
     }
 
     public FaceDetectionResponseDTO buscarResultadoMaisRecente(String usuarioId) {
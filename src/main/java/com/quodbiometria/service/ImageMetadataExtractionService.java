@@ -1,19 +1,12 @@
 package com.quodbiometria.service;
 
+import com.quodbiometria.util.ExifSegmentReader;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.commons.imaging.ImageReadException;
-import org.apache.commons.imaging.Imaging;
-import org.apache.commons.imaging.common.ImageMetadata;
-import org.apache.commons.imaging.formats.jpeg.JpegImageMetadata;
-import org.apache.commons.imaging.formats.tiff.TiffField;
-import org.apache.commons.imaging.formats.tiff.TiffImageMetadata;
-import org.apache.commons.imaging.formats.tiff.constants.ExifTagConstants;
-import org.apache.commons.imaging.formats.tiff.constants.TiffTagConstants;
-import org.apache.commons.imaging.formats.tiff.taginfos.TagInfo;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.text.SimpleDateFormat;
 import java.util.Date;
 import java.util.HashMap;
@@ -23,13 +16,23 @@ import java.util.Map;
 @Service
 public class ImageMetadataExtractionService {
 
+    /**
+     * Extrai as tags EXIF usadas pela aplicação lendo apenas o início do arquivo
+     * (ver {@link ExifSegmentReader}), além de nome, tipo e tamanho do arquivo.
+     */
     public Map<String, String> extractMetadata(MultipartFile file) {
         Map<String, String> metadata = new HashMap<>();
 
-        try {
-            processImageMetadata(file, metadata);
+        try (InputStream content = file.getInputStream()) {
+            metadata.putAll(ExifSegmentReader.read(content));
+
+            if (metadata.isEmpty()) {
+                log.info("Nenhum metadado EXIF encontrado na imagem");
+            }
+
+            addBasicMetadata(metadata, file);
             return metadata;
-        } catch (IOException | ImageReadException e) {
+        } catch (IOException e) {
             log.warn("Erro ao extrair metadados EXIF: {}", e.getMessage());
             log.debug("Detalhes do erro:", e);
             addBasicMetadata(metadata, file);
@@ -38,37 +41,6 @@ public class ImageMetadataExtractionService {
         }
     }
 
-    private void processImageMetadata(MultipartFile file, Map<String, String> metadata) throws IOException, ImageReadException {
-        ImageMetadata imageMetadata = Imaging.getMetadata(file.getInputStream(), file.getOriginalFilename());
-
-        if (imageMetadata instanceof JpegImageMetadata jpegMetadata) {
-            processJpegMetadata(metadata, jpegMetadata);
-        }
-
-        if (metadata.isEmpty()) {
-            log.info("Nenhum metadado EXIF encontrado na imagem");
-        }
-
-        addBasicMetadata(metadata, file);
-    }
-
-    private void processJpegMetadata(Map<String, String> metadata, JpegImageMetadata jpegMetadata) {
-        addTagToMetadata(metadata, jpegMetadata, TiffTagConstants.TIFF_TAG_MAKE, "camera.fabricante");
-        addTagToMetadata(metadata, jpegMetadata, TiffTagConstants.TIFF_TAG_MODEL, "camera.modelo");
-        addTagToMetadata(metadata, jpegMetadata, ExifTagConstants.EXIF_TAG_SOFTWARE, "software");
-        addTagToMetadata(metadata, jpegMetadata, ExifTagConstants.EXIF_TAG_DATE_TIME_ORIGINAL, "data.original");
-        addTagToMetadata(metadata, jpegMetadata, TiffTagConstants.TIFF_TAG_XRESOLUTION, "resolucao.x");
-        addTagToMetadata(metadata, jpegMetadata, TiffTagConstants.TIFF_TAG_YRESOLUTION, "resolucao.y");
-        addTagToMetadata(metadata, jpegMetadata, TiffTagConstants.TIFF_TAG_ORIENTATION, "orientacao");
-        addTagToMetadata(metadata, jpegMetadata, TiffTagConstants.TIFF_TAG_IMAGE_WIDTH, "largura");
-        addTagToMetadata(metadata, jpegMetadata, TiffTagConstants.TIFF_TAG_IMAGE_LENGTH, "altura");
-
-        TiffImageMetadata exifMetadata = jpegMetadata.getExif();
-        if (exifMetadata != null) {
-            extractGpsInfo(metadata, exifMetadata);
-        }
-    }
-
     private void addBasicMetadata(Map<String, String> metadata, MultipartFile file) {
         metadata.put("filename", file.getOriginalFilename());
         metadata.put("contentType", file.getContentType());
@@ -76,36 +48,6 @@ public class ImageMetadataExtractionService {
         metadata.put("extractedAt", new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss.SSSZ").format(new Date()));
     }
 
-    private void extractGpsInfo(Map<String, String> metadata, TiffImageMetadata exifMetadata) {
-        try {
-            TiffImageMetadata.GPSInfo gpsInfo = exifMetadata.getGPS();
-            if (gpsInfo != null) {
-                double longitude = gpsInfo.getLongitudeAsDegreesEast();
-                double latitude = gpsInfo.getLatitudeAsDegreesNorth();
-                metadata.put("gps.latitude", String.valueOf(latitude));
-                metadata.put("gps.longitude", String.valueOf(longitude));
-            }
-        } catch (ImageReadException e) {
-            log.debug("Não foi possível extrair informações de GPS", e);
-        }
-    }
-
-    private void addTagToMetadata(Map<String, String> metadata, JpegImageMetadata jpegMetadata,
-                                  TagInfo tagInfo, String metadataKey) {
-        try {
-            TiffField field = jpegMetadata.findEXIFValue(tagInfo);
-            if (field != null) {
-                String value = field.getValueDescription();
-                if (value != null && !value.isEmpty()) {
-                    value = value.replaceAll("(^\")|(\"|$)", "");
-                    metadata.put(metadataKey, value);
-                }
-            }
-        } catch (Exception e) {
-            log.debug("Não foi possível ler a tag {}: {}", tagInfo.name, e.getMessage());
-        }
-    }
-
     public Map<String, String> sanitizeMetadata(Map<String, String> metadata) {
         Map<String, String> sanitized = new HashMap<>();
         final String tipoImagem = metadata.getOrDefault("tipoImagem", "");
@@ -0,0 +1,231 @@
+package com.quodbiometria.service;
+
+import com.quodbiometria.config.ImageTypePolicyProperties;
+import com.quodbiometria.config.ImageTypePolicyProperties.Policy;
+import com.quodbiometria.util.ByteArrayMultipartFile;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Normalização opcional das imagens na ingestão: aplica a orientação EXIF, limita a resolução conforme o
+ * tipo de imagem e recodifica em JPEG com a qualidade configurada. Reduz o volume gravado no GridFS, o
+ * tráfego dos downloads e o custo de decodificação das etapas de processamento posteriores.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ImageNormalizationService {
+
+    private static final String JPEG_CONTENT_TYPE = "image/jpeg";
+    private static final float DEFAULT_JPEG_QUALITY = 0.9f;
+
+    private final ImageTypePolicyProperties policyProperties;
+    private final PixelBudgetGuard pixelBudgetGuard;
+
+    @Value("${app.image.normalization.enabled:false}")
+    private boolean enabled;
+
+    @Value("${app.image.normalization.keep-original:false}")
+    private boolean keepOriginal;
+
+    /**
+     * Normaliza uma imagem já validada.
+     *
+     * @param file Imagem original enviada pelo cliente
+     * @param tipoImagem Tipo da imagem, usado para escolher a política de resolução e qualidade
+     * @param exifMetadata Metadados EXIF extraídos da imagem original
+     * @return A imagem a ser armazenada, que é a original quando a normalização não traz ganho
+     * @throws IOException Se a imagem não puder ser lida ou recodificada
+     */
+    public NormalizedImage normalize(MultipartFile file, String tipoImagem, Map<String, String> exifMetadata)
+            throws IOException {
+        if (!enabled) {
+            return NormalizedImage.unchanged(file);
+        }
+
+        pixelBudgetGuard.check(file, tipoImagem);
+        BufferedImage image = ImageIO.read(file.getInputStream());
+        if (image == null) {
+            return NormalizedImage.unchanged(file);
+        }
+
+        int orientation = parseOrientation(exifMetadata != null ? exifMetadata.get("orientacao") : null);
+        Integer maxDimension = policyProperties.resolve(tipoImagem, Policy::getMaxDimension);
+        boolean needsRotation = orientation > 1 && orientation <= 8;
+        boolean needsResize = maxDimension != null && maxDimension > 0
+                && Math.max(image.getWidth(), image.getHeight()) > maxDimension;
+
+        BufferedImage result = toRgb(image);
+        if (needsRotation) {
+            result = applyOrientation(result, orientation);
+        }
+        if (needsResize) {
+            result = downscale(result, maxDimension);
+        }
+
+        Float quality = policyProperties.resolve(tipoImagem, Policy::getJpegQuality);
+        byte[] encoded = encodeJpeg(result, quality != null ? quality : DEFAULT_JPEG_QUALITY);
+
+        if (!needsRotation && !needsResize && encoded.length >= file.getSize()) {
+            return NormalizedImage.unchanged(file);
+        }
+
+        log.debug("Imagem normalizada de {} para {} bytes ({}x{})",
+                file.getSize(), encoded.length, result.getWidth(), result.getHeight());
+
+        MultipartFile normalizedFile = new ByteArrayMultipartFile(file.getName(), file.getOriginalFilename(),
+                JPEG_CONTENT_TYPE, encoded);
+        return new NormalizedImage(normalizedFile, true);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public boolean isKeepOriginal() {
+        return keepOriginal;
+    }
+
+    private int parseOrientation(String value) {
+        if (value == null) {
+            return 1;
+        }
+        String digits = value.replaceAll("\\D", "");
+        if (digits.isEmpty() || digits.length() > 1) {
+            return 1;
+        }
+        return Integer.parseInt(digits);
+    }
+
+    private BufferedImage toRgb(BufferedImage image) {
+        if (image.getType() == BufferedImage.TYPE_INT_RGB) {
+            return image;
+        }
+
+        BufferedImage rgb = new BufferedImage(image.getWidth(), image.getHeight(), BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = rgb.createGraphics();
+        graphics.setColor(Color.WHITE);
+        graphics.fillRect(0, 0, image.getWidth(), image.getHeight());
+        graphics.drawImage(image, 0, 0, null);
+        graphics.dispose();
+        return rgb;
+    }
+
+    private BufferedImage applyOrientation(BufferedImage image, int orientation) {
+        int width = image.getWidth();
+        int height = image.getHeight();
+        boolean swapsDimensions = orientation >= 5;
+
+        AffineTransform transform = new AffineTransform();
+        switch (orientation) {
+            case 2 -> {
+                transform.scale(-1, 1);
+                transform.translate(-width, 0);
+            }
+            case 3 -> {
+                transform.translate(width, height);
+                transform.rotate(Math.PI);
+            }
+            case 4 -> {
+                transform.scale(1, -1);
+                transform.translate(0, -height);
+            }
+            case 5 -> {
+                transform.rotate(-Math.PI / 2);
+                transform.scale(-1, 1);
+            }
+            case 6 -> {
+                transform.translate(height, 0);
+                transform.rotate(Math.PI / 2);
+            }
+            case 7 -> {
+                transform.scale(-1, 1);
+                transform.translate(-height, 0);
+                transform.translate(0, width);
+                transform.rotate(3 * Math.PI / 2);
+            }
+            case 8 -> {
+                transform.translate(0, width);
+                transform.rotate(3 * Math.PI / 2);
+            }
+            default -> {
+                return image;
+            }
+        }
+
+        BufferedImage oriented = new BufferedImage(swapsDimensions ? height : width,
+                swapsDimensions ? width : height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = oriented.createGraphics();
+        graphics.drawImage(image, transform, null);
+        graphics.dispose();
+        return oriented;
+    }
+
+    private BufferedImage downscale(BufferedImage image, int maxDimension) {
+        double scale = (double) maxDimension / Math.max(image.getWidth(), image.getHeight());
+        int targetWidth = Math.max(1, (int) Math.round(image.getWidth() * scale));
+        int targetHeight = Math.max(1, (int) Math.round(image.getHeight() * scale));
+
+        BufferedImage current = image;
+        int width = image.getWidth();
+        int height = image.getHeight();
+
+        // Reduções sucessivas pela metade evitam o aliasing de uma única interpolação bilinear em escalas grandes
+        do {
+            width = Math.max(targetWidth, width / 2);
+            height = Math.max(targetHeight, height / 2);
+
+            BufferedImage step = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+            Graphics2D graphics = step.createGraphics();
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.drawImage(current, 0, 0, width, height, null);
+            graphics.dispose();
+            current = step;
+        } while (width != targetWidth || height != targetHeight);
+
+        return current;
+    }
+
+    private byte[] encodeJpeg(BufferedImage image, float quality) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        try (ImageOutputStream imageOutput = ImageIO.createImageOutputStream(output)) {
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(Math.max(0f, Math.min(1f, quality)));
+
+            writer.setOutput(imageOutput);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+
+        return output.toByteArray();
+    }
+
+    public record NormalizedImage(MultipartFile file, boolean normalized) {
+
+        static NormalizedImage unchanged(MultipartFile file) {
+            return new NormalizedImage(file, false);
+        }
+    }
+}
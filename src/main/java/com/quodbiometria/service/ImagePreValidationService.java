@@ -0,0 +1,96 @@
+package com.quodbiometria.service;
+
+import com.quodbiometria.exception.ImageValidationException;
+import com.quodbiometria.model.dto.response.PreValidationItemResultDTO;
+import com.quodbiometria.model.dto.response.PreValidationReportDTO;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * Pré-validação em lote para os clientes de captura: aplica as mesmas regras do upload a várias imagens, em
+ * paralelo, sem gravar nada no GridFS ou no MongoDB. As regras de cabeçalho leem apenas o início de cada
+ * arquivo, então imagens rejeitadas não chegam a ser decodificadas.
+ */
+@Slf4j
+@Service
+public class ImagePreValidationService {
+
+    private final ImageValidationService imageValidationService;
+    private final Executor preValidationExecutor;
+
+    @Value("${app.pre-validation.max-files:50}")
+    private int maxFiles;
+
+    public ImagePreValidationService(ImageValidationService imageValidationService,
+                                     @Qualifier("preValidationExecutor") Executor preValidationExecutor) {
+        this.imageValidationService = imageValidationService;
+        this.preValidationExecutor = preValidationExecutor;
+    }
+
+    /**
+     * @param arquivos Imagens a validar
+     * @param tipoImagem Tipo aplicado às imagens sem tipo próprio
+     * @param tiposImagem Tipo de cada imagem, na mesma ordem de {@code arquivos} (opcional)
+     * @return Veredito de cada imagem, na ordem de envio
+     */
+    public PreValidationReportDTO validate(List<MultipartFile> arquivos, String tipoImagem, List<String> tiposImagem) {
+        if (arquivos == null || arquivos.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Informe ao menos uma imagem para validar");
+        }
+        if (arquivos.size() > maxFiles) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    String.format("A pré-validação aceita no máximo %d imagens por requisição", maxFiles));
+        }
+        if (tiposImagem != null && !tiposImagem.isEmpty() && tiposImagem.size() != arquivos.size()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "A lista de tipos de imagem deve ter um item para cada arquivo");
+        }
+
+        List<CompletableFuture<PreValidationItemResultDTO>> futures = new ArrayList<>();
+        for (int i = 0; i < arquivos.size(); i++) {
+            int indice = i;
+            String tipo = tiposImagem != null && !tiposImagem.isEmpty() ? tiposImagem.get(i) : tipoImagem;
+            if (tipo == null || tipo.isBlank()) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "O tipo de imagem é obrigatório");
+            }
+            futures.add(CompletableFuture.supplyAsync(
+                    () -> validateOne(indice, arquivos.get(indice), tipo), preValidationExecutor));
+        }
+
+        List<PreValidationItemResultDTO> itens = futures.stream().map(CompletableFuture::join).toList();
+        int validas = (int) itens.stream().filter(PreValidationItemResultDTO::isValida).count();
+
+        return PreValidationReportDTO.builder()
+                .totalItens(itens.size())
+                .validas(validas)
+                .invalidas(itens.size() - validas)
+                .itens(itens)
+                .build();
+    }
+
+    private PreValidationItemResultDTO validateOne(int indice, MultipartFile arquivo, String tipoImagem) {
+        PreValidationItemResultDTO.PreValidationItemResultDTOBuilder result = PreValidationItemResultDTO.builder()
+                .indice(indice)
+                .arquivo(arquivo.getOriginalFilename())
+                .tipoImagem(tipoImagem);
+        try {
+            imageValidationService.validateImage(arquivo, tipoImagem);
+            return result.valida(true).mensagem("Imagem válida").build();
+        } catch (ImageValidationException e) {
+            return result.valida(false).mensagem(e.getMessage()).build();
+        } catch (RuntimeException e) {
+            log.error("Erro inesperado na pré-validação do arquivo {}", arquivo.getOriginalFilename(), e);
+            return result.valida(false).mensagem("Erro ao validar a imagem: " + e.getMessage()).build();
+        }
+    }
+}
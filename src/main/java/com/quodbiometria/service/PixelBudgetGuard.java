@@ -0,0 +1,78 @@
+package com.quodbiometria.service;
+
+import com.quodbiometria.config.ImageTypePolicyProperties;
+import com.quodbiometria.config.ImageTypePolicyProperties.Policy;
+import com.quodbiometria.exception.ImageValidationException;
+import com.quodbiometria.util.ImageProbe;
+import com.quodbiometria.util.ImageProbe.ImageInfo;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Barreira contra bombas de descompressão: confere o número de pixels declarado no cabeçalho da imagem
+ * antes de qualquer decodificação completa ({@code ImageIO.read}, {@code imread}). Um PNG pequeno e muito
+ * comprimido pode se expandir para gigabytes ao ser decodificado; o limite é configurável por tipo de imagem
+ * em {@code app.image.policy.tipos.<tipo>.max-pixels}.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PixelBudgetGuard {
+
+    static final String REJECTION_METRIC = "biometria.imagens.pixel_budget.rejeicoes";
+
+    private final ImageTypePolicyProperties policyProperties;
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Lê o cabeçalho da imagem e confere o orçamento de pixels do tipo.
+     *
+     * @return Formato e dimensões lidos do cabeçalho
+     * @throws ImageValidationException Se o cabeçalho não puder ser lido ou a imagem exceder o limite
+     */
+    public ImageInfo check(MultipartFile file, String tipoImagem) throws ImageValidationException {
+        ImageInfo imageInfo;
+        try (InputStream content = file.getInputStream()) {
+            imageInfo = ImageProbe.probe(content);
+        } catch (IOException e) {
+            throw new ImageValidationException("Erro ao processar a imagem: " + e.getMessage());
+        }
+
+        if (imageInfo == null) {
+            countRejection(tipoImagem, "cabecalho_invalido");
+            throw new ImageValidationException("Não foi possível ler a imagem. Formato inválido ou arquivo corrompido.");
+        }
+
+        check(imageInfo, tipoImagem);
+        return imageInfo;
+    }
+
+    public void check(ImageInfo imageInfo, String tipoImagem) throws ImageValidationException {
+        Long maxPixels = policyProperties.resolve(tipoImagem, Policy::getMaxPixels);
+        if (maxPixels == null || maxPixels <= 0 || imageInfo.pixels() <= maxPixels) {
+            return;
+        }
+
+        countRejection(tipoImagem, "limite_excedido");
+        log.warn("Imagem {}x{} ({} pixels) rejeitada: limite de {} pixels para o tipo {}",
+                imageInfo.width(), imageInfo.height(), imageInfo.pixels(), maxPixels, tipoImagem);
+        throw new ImageValidationException(
+                String.format("A imagem excede o limite de %d pixels permitido para %s", maxPixels, tipoImagem));
+    }
+
+    private void countRejection(String tipoImagem, String motivo) {
+        Counter.builder(REJECTION_METRIC)
+                .description("Imagens rejeitadas pelo limite de pixels antes da decodificação")
+                .tag("tipoImagem", policyProperties.metricTag(tipoImagem))
+                .tag("motivo", motivo)
+                .register(meterRegistry)
+                .increment();
+    }
+}
@@ -1,29 +1,68 @@
 package com.quodbiometria.service;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.quodbiometria.service.ratelimit.MongoCompareAndSwapProxyManager;
 import io.github.bucket4j.Bandwidth;
 import io.github.bucket4j.Bucket;
+import io.github.bucket4j.BucketConfiguration;
+import io.github.bucket4j.ConsumptionProbe;
 import io.github.bucket4j.Refill;
-import lombok.RequiredArgsConstructor;
+import io.github.bucket4j.distributed.proxy.optimization.Optimizations;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.cache.CacheManager;
 import org.springframework.stereotype.Service;
 
 import java.time.Duration;
 
+/**
+ * Limite de tentativas de login. Com {@code app.security.rate-limit.distributed} ativo, o estado dos buckets fica
+ * no MongoDB e o limite vale para o cluster inteiro, e não por nó.
+ * <p>
+ * Localmente, cada chave tem um único objeto de bucket, criado de forma atômica; requisições simultâneas da mesma
+ * chave neste nó são agrupadas em uma única ida ao banco. Uma chave recusada fica bloqueada em cache local até o
+ * próximo reabastecimento, então tentativas repetidas durante um ataque são negadas sem consultar o MongoDB. O
+ * cache local só evita consumos, nunca os concede, e por isso não afrouxa o limite.
+ */
 @Service
-@RequiredArgsConstructor
 public class RateLimitService {
 
-    private final CacheManager cacheManager;
+    private final MongoCompareAndSwapProxyManager proxyManager;
+    private final boolean distributed;
+    private final Bandwidth limit;
+    private final Cache<String, Bucket> buckets;
+    private final Cache<String, Long> blockedUntil;
 
-    @Value("${app.security.rate-limit.login-attempts:5}")
-    private int loginAttemptsLimit;
+    public RateLimitService(MongoCompareAndSwapProxyManager proxyManager,
+                            @Value("${app.security.rate-limit.distributed:true}") boolean distributed,
+                            @Value("${app.security.rate-limit.login-attempts:5}") int loginAttemptsLimit,
+                            @Value("${app.security.rate-limit.login-duration:60}") int loginDurationInSeconds,
+                            @Value("${app.security.rate-limit.local-cache-size:10000}") long localCacheSize) {
+        this.proxyManager = proxyManager;
+        this.distributed = distributed;
 
-    @Value("${app.security.rate-limit.login-duration:60}")
-    private int loginDurationInSeconds;
+        Duration refillPeriod = Duration.ofSeconds(loginDurationInSeconds);
+        this.limit = Bandwidth.classic(loginAttemptsLimit, Refill.intervally(loginAttemptsLimit, refillPeriod));
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(localCacheSize)
+                .expireAfterAccess(refillPeriod.multipliedBy(2))
+                .build();
+        this.blockedUntil = Caffeine.newBuilder()
+                .maximumSize(localCacheSize)
+                .expireAfterWrite(refillPeriod)
+                .build();
+    }
 
     public boolean tryConsume(String key) {
-        return getBucket(key).tryConsume(1);
+        Long deadline = blockedUntil.getIfPresent(key);
+        if (deadline != null && deadline - System.nanoTime() > 0) {
+            return false;
+        }
+
+        ConsumptionProbe probe = getBucket(key).tryConsumeAndReturnRemaining(1);
+        if (!probe.isConsumed()) {
+            blockedUntil.put(key, System.nanoTime() + probe.getNanosToWaitForRefill());
+        }
+        return probe.isConsumed();
     }
 
     @SuppressWarnings("unused")
@@ -32,23 +71,15 @@ public class RateLimitService {
     }
 
     private Bucket getBucket(String key) {
-        org.springframework.cache.Cache cache = cacheManager.getCache("rateLimitBuckets");
-        if (cache != null) {
-            Bucket bucket = cache.get(key, Bucket.class);
-            if (bucket == null) {
-                bucket = createNewBucket(key);
-                cache.put(key, bucket);
-            }
-            return bucket;
-        }
-
-        return createNewBucket(key);
+        return buckets.get(key, this::createNewBucket);
     }
 
-    @SuppressWarnings("unused")
     private Bucket createNewBucket(String key) {
-        Bandwidth limit = Bandwidth.classic(loginAttemptsLimit,
-                Refill.intervally(loginAttemptsLimit, Duration.ofSeconds(loginDurationInSeconds)));
+        if (distributed) {
+            return proxyManager.builder()
+                    .withOptimization(Optimizations.batching())
+                    .build(key, BucketConfiguration.builder().addLimit(limit).build());
+        }
         return Bucket.builder().addLimit(limit).build();
     }
-}
\ No newline at end of file
+}
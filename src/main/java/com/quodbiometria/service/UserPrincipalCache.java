@@ -0,0 +1,61 @@
+package com.quodbiometria.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.quodbiometria.model.entity.User;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * Cache local, limitado e de TTL curto, dos usuários autenticados por e-mail, usado pelo filtro JWT para não
+ * consultar o MongoDB a cada requisição. Alterações de conta e de papéis feitas por este nó invalidam a entrada
+ * do usuário; as feitas por outros nós passam a valer após o TTL. Os objetos em cache são compartilhados entre
+ * requisições e não devem ser modificados.
+ */
+@Component
+public class UserPrincipalCache {
+
+    static final String CACHE_NAME = "seguranca.principais";
+
+    private final boolean enabled;
+    private final Cache<String, User> byEmail;
+
+    public UserPrincipalCache(MeterRegistry meterRegistry,
+                              @Value("${app.security.principal-cache.enabled:true}") boolean enabled,
+                              @Value("${app.security.principal-cache.max-size:10000}") long maxSize,
+                              @Value("${app.security.principal-cache.ttl-seconds:30}") long ttlSeconds) {
+        this.enabled = enabled;
+        this.byEmail = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, byEmail, CACHE_NAME);
+    }
+
+    /**
+     * Retorna o usuário do cache ou o carrega. E-mails sem usuário não são armazenados.
+     */
+    public User get(String email, Function<String, User> loader) {
+        return enabled ? byEmail.get(email, loader) : loader.apply(email);
+    }
+
+    public void evict(String email) {
+        if (email != null) {
+            byEmail.invalidate(email);
+        }
+    }
+
+    /**
+     * Invalida o usuário quando só o id é conhecido, como na eliminação de dados.
+     */
+    public void evictUserId(String userId) {
+        byEmail.asMap().values().removeIf(user -> Objects.equals(user.getId(), userId));
+    }
+}
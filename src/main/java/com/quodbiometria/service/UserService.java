@@ -2,13 +2,17 @@ package com.quodbiometria.service;
 
 import com.quodbiometria.model.dto.request.UserCreateDTO;
 import com.quodbiometria.model.dto.request.UserUpdateDTO;
+import com.quodbiometria.model.dto.response.PageResponseDTO;
 import com.quodbiometria.model.dto.response.UserResponseDTO;
 import com.quodbiometria.model.entity.User;
 import com.quodbiometria.model.enums.Role;
 import com.quodbiometria.model.mappers.UserMapper;
 import com.quodbiometria.repository.UserRepository;
+import com.quodbiometria.service.privacy.UserDataErasureService;
+import com.quodbiometria.util.KeysetPagination;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
@@ -28,6 +32,8 @@ public class UserService implements UserDetailsService {
     private final UserRepository userRepository;
     private final UserMapper userMapper;
     private final PasswordEncoder passwordEncoder;
+    private final UserDataErasureService erasureService;
+    private final UserPrincipalCache principalCache;
 
     @Override
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
@@ -35,6 +41,18 @@ public class UserService implements UserDetailsService {
                 .orElseThrow(() -> new UsernameNotFoundException("User not found"));
     }
 
+    /**
+     * Resolves the principal of an already authenticated request through the short-TTL principal cache.
+     * Login keeps using {@link #loadUserByUsername(String)}, so password checks always read the database.
+     */
+    public UserDetails loadPrincipalByUsername(String email) throws UsernameNotFoundException {
+        User user = principalCache.get(email, key -> userRepository.findByEmail(key).orElse(null));
+        if (user == null) {
+            throw new UsernameNotFoundException("User not found");
+        }
+        return user;
+    }
+
     public UserResponseDTO createUser(UserCreateDTO userDTO) {
 
         if (userRepository.existsByEmail(userDTO.getEmail())) {
@@ -85,9 +103,15 @@ public class UserService implements UserDetailsService {
         return userMapper.toDTO(user);
     }
 
-    public List<UserResponseDTO> getAllUsers() {
-        List<User> users = userRepository.findAll();
-        return userMapper.toDTOList(users);
+    public PageResponseDTO<UserResponseDTO> getAllUsers(String after, Integer limit) {
+        String afterId = KeysetPagination.decodeCursor(after);
+        int pageSize = KeysetPagination.resolveLimit(limit);
+        Pageable pageable = KeysetPagination.lookahead(pageSize);
+
+        List<User> users = afterId == null
+                ? userRepository.findAllByOrderByIdAsc(pageable)
+                : userRepository.findByIdGreaterThanOrderByIdAsc(afterId, pageable);
+        return KeysetPagination.toPage(users, pageSize, User::getId, userMapper::toDTOList);
     }
 
     public UserResponseDTO updateUser(String id, UserUpdateDTO userDTO) {
@@ -95,8 +119,11 @@ public class UserService implements UserDetailsService {
         User user = userRepository.findById(id)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "User not found"));
 
+        String previousEmail = user.getEmail();
         userMapper.updateEntityFromDTO(userDTO, user);
         User updatedUser = userRepository.save(user);
+        principalCache.evict(previousEmail);
+        principalCache.evict(updatedUser.getEmail());
 
         return userMapper.toDTO(updatedUser);
     }
@@ -108,6 +135,7 @@ public class UserService implements UserDetailsService {
 
         user.addRole(role);
         User updatedUser = userRepository.save(user);
+        principalCache.evict(updatedUser.getEmail());
 
         return userMapper.toDTO(updatedUser);
     }
@@ -119,15 +147,22 @@ public class UserService implements UserDetailsService {
 
         user.removeRole(role);
         User updatedUser = userRepository.save(user);
+        principalCache.evict(updatedUser.getEmail());
 
         return userMapper.toDTO(updatedUser);
     }
 
+    /**
+     * Removes the account immediately and schedules the erasure of the rest of the user's data
+     * (images, face detection results, tokens and jobs).
+     */
     public void deleteUser(String id) {
         User user = userRepository.findById(id)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "User not found"));
 
         userRepository.delete(user);
+        principalCache.evict(user.getEmail());
+        erasureService.requestErasure(List.of(user.getId()), null);
     }
 
     public UserDetails loadUserById(String id) {
@@ -0,0 +1,155 @@
+package com.quodbiometria.service.export;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.quodbiometria.model.dto.request.AuditExportFilterDTO;
+import com.quodbiometria.model.entity.BiometricImageMetadata;
+import com.quodbiometria.model.entity.FaceDetectionResult;
+import com.quodbiometria.util.KeysetPagination;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Exportação em NDJSON para auditoria. Os registros são lidos de um cursor do MongoDB em lotes de tamanho
+ * fixo e escritos um por linha, com flush a cada lote, de modo que o consumo de memória não depende do
+ * tamanho da exportação. Cada linha traz o campo {@code cursor}, que pode ser enviado em {@code after}
+ * para retomar a exportação a partir do registro seguinte.
+ * <p>
+ * O período também é convertido em limites de {@code _id}, cujo ObjectId traz o instante de criação. Assim a
+ * varredura ordenada por {@code _id} percorre só o intervalo do período, mesmo sem filtro por usuário; o filtro
+ * pelo campo de data continua aplicado para o resultado exato.
+ */
+@Slf4j
+@Service
+public class AuditExportService {
+
+    static final String CURSOR_FIELD = "cursor";
+
+    /**
+     * Folga entre o campo de data, preenchido pela aplicação, e o instante do ObjectId, gerado ao gravar.
+     */
+    static final Duration ID_TIME_MARGIN = Duration.ofMinutes(5);
+
+    private final MongoTemplate mongoTemplate;
+    private final ObjectMapper objectMapper;
+
+    @Value("${app.export.batch-size:500}")
+    private int batchSize;
+
+    public AuditExportService(MongoTemplate mongoTemplate, ObjectMapper objectMapper) {
+        this.mongoTemplate = mongoTemplate;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Exporta metadados de imagens filtrados por período de criação, usuário e tipo de imagem.
+     *
+     * @return Quantidade de registros exportados
+     */
+    public long exportImageMetadata(AuditExportFilterDTO filtro, OutputStream out) throws IOException {
+        Criteria criteria = baseCriteria(filtro, "dataCriacao");
+        if (filtro.getTipoImagem() != null) {
+            criteria.and("tipoImagem").is(filtro.getTipoImagem());
+        }
+        return export(buildQuery(criteria), BiometricImageMetadata.class, BiometricImageMetadata::getId, out);
+    }
+
+    /**
+     * Exporta resultados de detecção facial filtrados por período de processamento e usuário.
+     *
+     * @return Quantidade de registros exportados
+     */
+    public long exportFaceDetections(AuditExportFilterDTO filtro, OutputStream out) throws IOException {
+        Criteria criteria = baseCriteria(filtro, "createdAt");
+        return export(buildQuery(criteria), FaceDetectionResult.class, FaceDetectionResult::getId, out);
+    }
+
+    private Criteria baseCriteria(AuditExportFilterDTO filtro, String dateField) {
+        Criteria criteria = new Criteria();
+
+        String afterId = KeysetPagination.decodeCursor(filtro.getAfter());
+        if (afterId != null || filtro.getDe() != null || filtro.getAte() != null) {
+            Criteria id = criteria.and("_id");
+            if (afterId != null) {
+                id.gt(afterId);
+            }
+            if (filtro.getDe() != null) {
+                id.gte(ObjectId.getSmallestWithDate(toDate(filtro.getDe().minus(ID_TIME_MARGIN))));
+            }
+            if (filtro.getAte() != null) {
+                id.lt(ObjectId.getSmallestWithDate(toDate(filtro.getAte().plus(ID_TIME_MARGIN))));
+            }
+        }
+        if (filtro.getUsuarioId() != null) {
+            criteria.and("usuarioId").is(filtro.getUsuarioId());
+        }
+        if (filtro.getDe() != null || filtro.getAte() != null) {
+            Criteria periodo = criteria.and(dateField);
+            if (filtro.getDe() != null) {
+                periodo.gte(filtro.getDe());
+            }
+            if (filtro.getAte() != null) {
+                periodo.lt(filtro.getAte());
+            }
+        }
+        return criteria;
+    }
+
+    private static Date toDate(LocalDateTime dateTime) {
+        return Date.from(dateTime.atZone(ZoneId.systemDefault()).toInstant());
+    }
+
+    private Query buildQuery(Criteria criteria) {
+        return new Query(criteria)
+                .with(Sort.by(Sort.Direction.ASC, "_id"))
+                .cursorBatchSize(batchSize);
+    }
+
+    private <T> long export(Query query, Class<T> type, Function<T, String> idExtractor,
+                            OutputStream out) throws IOException {
+        long exported = 0;
+
+        try (Stream<T> stream = mongoTemplate.stream(query, type);
+             JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+
+            Iterator<T> iterator = stream.iterator();
+            while (iterator.hasNext()) {
+                T record = iterator.next();
+                ObjectNode node = objectMapper.valueToTree(record);
+                node.put(CURSOR_FIELD, KeysetPagination.encodeCursor(idExtractor.apply(record)));
+
+                generator.writeTree(node);
+                generator.writeRaw('\n');
+                exported++;
+
+                if (exported % batchSize == 0) {
+                    generator.flush();
+                    out.flush();
+                }
+            }
+            generator.flush();
+            out.flush();
+        }
+
+        log.info("Exportação de {} concluída com {} registros", type.getSimpleName(), exported);
+        return exported;
+    }
+}
@@ -0,0 +1,173 @@
+package com.quodbiometria.service.export;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.quodbiometria.model.entity.BiometricImageMetadata;
+import com.quodbiometria.model.entity.FaceDetectionResult;
+import com.quodbiometria.service.storage.TieredBlobStorage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.NoSuchFileException;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Pacote de portabilidade dos dados de um usuário, montado como ZIP diretamente na saída da resposta:
+ * <ul>
+ *     <li>{@code imagens/<id>.<ext>}: conteúdo de cada imagem ativa, copiado do stream do tier em que está;</li>
+ *     <li>{@code manifesto.ndjson}: metadados de cada imagem, com o caminho do arquivo no pacote;</li>
+ *     <li>{@code deteccoes-faciais.ndjson}: resultados de detecção facial do usuário.</li>
+ * </ul>
+ * Imagens e registros são lidos de cursores do MongoDB e cada entrada é escrita assim que seu stream fica
+ * disponível, então o consumo de memória não depende do tamanho do pacote. As imagens, já comprimidas, são
+ * gravadas sem nova compressão.
+ */
+@Slf4j
+@Service
+public class DataPortabilityExportService {
+
+    static final String IMAGES_DIR = "imagens/";
+    static final String MANIFEST_ENTRY = "manifesto.ndjson";
+    static final String DETECTIONS_ENTRY = "deteccoes-faciais.ndjson";
+    static final String FILE_FIELD = "arquivo";
+
+    private static final Pattern EXTENSION = Pattern.compile("\\.([A-Za-z0-9]{1,5})$");
+
+    private final MongoTemplate mongoTemplate;
+    private final TieredBlobStorage tieredBlobStorage;
+    private final ObjectMapper objectMapper;
+
+    @Value("${app.export.batch-size:500}")
+    private int batchSize;
+
+    public DataPortabilityExportService(MongoTemplate mongoTemplate, TieredBlobStorage tieredBlobStorage,
+                                        ObjectMapper objectMapper) {
+        this.mongoTemplate = mongoTemplate;
+        this.tieredBlobStorage = tieredBlobStorage;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Escreve o pacote do usuário em {@code out}. O stream não é fechado.
+     *
+     * @return Quantidade de imagens incluídas
+     */
+    public long exportUserPackage(String usuarioId, OutputStream out) throws IOException {
+        ZipOutputStream zip = new ZipOutputStream(out);
+        Set<String> missing = new HashSet<>();
+
+        long images = 0;
+        zip.setLevel(Deflater.NO_COMPRESSION);
+        try (Stream<BiometricImageMetadata> stream = mongoTemplate.stream(imagesQuery(usuarioId),
+                BiometricImageMetadata.class)) {
+            Iterator<BiometricImageMetadata> iterator = stream.iterator();
+            while (iterator.hasNext()) {
+                BiometricImageMetadata metadata = iterator.next();
+                if (writeImage(zip, metadata)) {
+                    images++;
+                } else {
+                    missing.add(metadata.getId());
+                }
+            }
+        }
+
+        zip.setLevel(Deflater.DEFAULT_COMPRESSION);
+        writeNdjson(zip, MANIFEST_ENTRY, imagesQuery(usuarioId), BiometricImageMetadata.class,
+                (metadata, node) -> node.put(FILE_FIELD,
+                        missing.contains(metadata.getId()) ? null : imageEntryName(metadata)));
+        writeNdjson(zip, DETECTIONS_ENTRY, cursorQuery(Criteria.where("usuarioId").is(usuarioId)),
+                FaceDetectionResult.class, (result, node) -> { });
+
+        zip.finish();
+        out.flush();
+        log.info("Pacote de portabilidade do usuário {} gerado com {} imagens ({} sem arquivo)", usuarioId,
+                images, missing.size());
+        return images;
+    }
+
+    private boolean writeImage(ZipOutputStream zip, BiometricImageMetadata metadata) throws IOException {
+        InputStream content;
+        try {
+            content = tieredBlobStorage.open(metadata);
+        } catch (FileNotFoundException | NoSuchFileException e) {
+            log.warn("Arquivo da imagem {} não encontrado; omitido do pacote de portabilidade", metadata.getId());
+            return false;
+        }
+
+        try (content) {
+            zip.putNextEntry(new ZipEntry(imageEntryName(metadata)));
+            content.transferTo(zip);
+            zip.closeEntry();
+        }
+        zip.flush();
+        return true;
+    }
+
+    private <T> void writeNdjson(ZipOutputStream zip, String entryName, Query query, Class<T> type,
+                                 BiConsumer<T, ObjectNode> enricher) throws IOException {
+        zip.putNextEntry(new ZipEntry(entryName));
+        long written = 0;
+
+        try (Stream<T> stream = mongoTemplate.stream(query, type);
+             JsonGenerator generator = objectMapper.getFactory().createGenerator(zip)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+
+            Iterator<T> iterator = stream.iterator();
+            while (iterator.hasNext()) {
+                T record = iterator.next();
+                ObjectNode node = objectMapper.valueToTree(record);
+                enricher.accept(record, node);
+
+                generator.writeTree(node);
+                generator.writeRaw('\n');
+                if (++written % batchSize == 0) {
+                    generator.flush();
+                    zip.flush();
+                }
+            }
+            generator.flush();
+        }
+
+        zip.closeEntry();
+        zip.flush();
+    }
+
+    private Query imagesQuery(String usuarioId) {
+        return cursorQuery(Criteria.where("usuarioId").is(usuarioId).and("ativa").is(true));
+    }
+
+    private Query cursorQuery(Criteria criteria) {
+        return new Query(criteria)
+                .with(Sort.by(Sort.Direction.ASC, "_id"))
+                .cursorBatchSize(batchSize);
+    }
+
+    /**
+     * Nome da entrada da imagem no pacote. Usa o id, e não o nome original, para evitar colisões e caminhos
+     * arbitrários vindos do upload; apenas a extensão do nome original é mantida.
+     */
+    static String imageEntryName(BiometricImageMetadata metadata) {
+        String filename = metadata.getFilename();
+        Matcher matcher = filename != null ? EXTENSION.matcher(filename) : null;
+        return IMAGES_DIR + metadata.getId() + (matcher != null && matcher.find() ? "." + matcher.group(1) : "");
+    }
+}
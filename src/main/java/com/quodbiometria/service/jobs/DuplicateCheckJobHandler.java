@@ -0,0 +1,64 @@
+package com.quodbiometria.service.jobs;
+
+import com.quodbiometria.model.entity.BiometricImageMetadata;
+import com.quodbiometria.model.entity.ProcessingJob;
+import com.quodbiometria.model.enums.ProcessingJobType;
+import com.quodbiometria.repository.BiometricImageMetadataRepository;
+import com.quodbiometria.service.BiometricImageMetadataCache;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Procura imagens anteriores do mesmo usuário com o mesmo hash e, se houver, registra em
+ * {@code duplicadaDe} a mais antiga delas.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class DuplicateCheckJobHandler implements ProcessingJobHandler {
+
+    private final ProcessingJobImageLoader imageLoader;
+    private final BiometricImageMetadataRepository metadataRepository;
+    private final MongoTemplate mongoTemplate;
+    private final BiometricImageMetadataCache metadataCache;
+
+    @Override
+    public ProcessingJobType getTipo() {
+        return ProcessingJobType.VERIFICACAO_DUPLICIDADE;
+    }
+
+    @Override
+    public String handle(ProcessingJob job) {
+        BiometricImageMetadata metadata = imageLoader.loadMetadata(job);
+
+        Optional<BiometricImageMetadata> original = metadataRepository
+                .findByHashAndUsuarioId(metadata.getHash(), metadata.getUsuarioId()).stream()
+                .filter(other -> other.isAtiva() && !Objects.equals(other.getId(), metadata.getId()))
+                .min(Comparator.comparing(BiometricImageMetadata::getDataCriacao,
+                        Comparator.nullsLast(Comparator.naturalOrder())));
+
+        if (original.isEmpty()) {
+            return "Nenhuma duplicata encontrada";
+        }
+
+        log.warn("Imagem duplicada detectada para o usuário {} com hash {}", metadata.getUsuarioId(),
+                metadata.getHash());
+        mongoTemplate.updateFirst(
+                new Query(Criteria.where("_id").is(metadata.getId())),
+                new Update().set("duplicadaDe", original.get().getId()).set("dataAtualizacao", LocalDateTime.now()),
+                BiometricImageMetadata.class);
+        metadataCache.evict(metadata.getId());
+
+        return "Duplicata da imagem " + original.get().getId();
+    }
+}
@@ -0,0 +1,47 @@
+package com.quodbiometria.service.jobs;
+
+import com.quodbiometria.model.entity.BiometricImageMetadata;
+import com.quodbiometria.model.entity.ProcessingJob;
+import com.quodbiometria.model.enums.ProcessingJobType;
+import com.quodbiometria.service.BiometricImageMetadataCache;
+import com.quodbiometria.service.ImageMetadataExtractionService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+@Component
+@RequiredArgsConstructor
+public class ExifExtractionJobHandler implements ProcessingJobHandler {
+
+    private final ProcessingJobImageLoader imageLoader;
+    private final ImageMetadataExtractionService metadataExtractionService;
+    private final MongoTemplate mongoTemplate;
+    private final BiometricImageMetadataCache metadataCache;
+
+    @Override
+    public ProcessingJobType getTipo() {
+        return ProcessingJobType.EXTRACAO_EXIF;
+    }
+
+    @Override
+    public String handle(ProcessingJob job) throws Exception {
+        BiometricImageMetadata metadata = imageLoader.loadMetadata(job);
+
+        Map<String, String> exifMetadata = metadataExtractionService.extractMetadata(imageLoader.loadContent(metadata));
+        Map<String, String> sanitizedExifMetadata = metadataExtractionService.sanitizeMetadata(exifMetadata);
+
+        mongoTemplate.updateFirst(
+                new Query(Criteria.where("_id").is(metadata.getId())),
+                new Update().set("exifMetadata", sanitizedExifMetadata).set("dataAtualizacao", LocalDateTime.now()),
+                BiometricImageMetadata.class);
+        metadataCache.evict(metadata.getId());
+
+        return sanitizedExifMetadata.size() + " campo(s) EXIF extraído(s)";
+    }
+}
@@ -0,0 +1,55 @@
+package com.quodbiometria.service.jobs;
+
+import com.quodbiometria.exception.ImageProcessingException;
+import com.quodbiometria.exception.ImageValidationException;
+import com.quodbiometria.model.dto.request.FaceDetectionRequestDTO;
+import com.quodbiometria.model.dto.response.FaceDetectionResponseDTO;
+import com.quodbiometria.model.entity.BiometricImageMetadata;
+import com.quodbiometria.model.entity.ProcessingJob;
+import com.quodbiometria.model.enums.ProcessingJobType;
+import com.quodbiometria.repository.FaceDetectionRepository;
+import com.quodbiometria.service.FacialProcessingService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Executa a detecção facial de uma imagem já armazenada e grava o resultado vinculado ao ID da imagem.
+ * Imagens sem face ou com múltiplas faces são um resultado válido, não uma falha a ser repetida. Uma nova
+ * execução do mesmo job (nova tentativa, lease expirado) não grava outro resultado se a imagem já tiver um.
+ */
+@Component
+@RequiredArgsConstructor
+public class FaceDetectionJobHandler implements ProcessingJobHandler {
+
+    private final ProcessingJobImageLoader imageLoader;
+    private final FacialProcessingService facialProcessingService;
+    private final FaceDetectionRepository faceDetectionRepository;
+
+    @Override
+    public ProcessingJobType getTipo() {
+        return ProcessingJobType.DETECCAO_FACIAL;
+    }
+
+    @Override
+    public String handle(ProcessingJob job) throws Exception {
+        BiometricImageMetadata metadata = imageLoader.loadMetadata(job);
+        if (faceDetectionRepository.existsByImageId(metadata.getId())) {
+            return "Detecção facial já registrada para a imagem";
+        }
+
+        FaceDetectionRequestDTO requestDTO = FaceDetectionRequestDTO.builder()
+                .usuarioId(metadata.getUsuarioId())
+                .imageId(metadata.getId())
+                .dispositivo(metadata.getDispositivo())
+                .salvarResultado(true)
+                .build();
+
+        try {
+            FaceDetectionResponseDTO response = facialProcessingService.processFacialImage(
+                    imageLoader.loadContent(metadata), requestDTO);
+            return "Face detectada com confiança " + response.getConfidence();
+        } catch (ImageProcessingException | ImageValidationException e) {
+            return "Detecção facial rejeitada: " + e.getMessage();
+        }
+    }
+}
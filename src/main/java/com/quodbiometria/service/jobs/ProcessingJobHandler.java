@@ -0,0 +1,19 @@
+package com.quodbiometria.service.jobs;
+
+import com.quodbiometria.model.entity.ProcessingJob;
+import com.quodbiometria.model.enums.ProcessingJobType;
+
+/**
+ * Executa um tipo de job da fila de processamento. A execução deve ser idempotente, pois um job cujo lease
+ * expirou pode ser executado novamente por outro nó.
+ */
+public interface ProcessingJobHandler {
+
+    ProcessingJobType getTipo();
+
+    /**
+     * @return Descrição curta do resultado, gravada no job concluído
+     * @throws com.quodbiometria.exception.NonRetryableJobException Se a falha não deve gerar novas tentativas
+     */
+    String handle(ProcessingJob job) throws Exception;
+}
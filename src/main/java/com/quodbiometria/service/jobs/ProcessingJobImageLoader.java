@@ -0,0 +1,43 @@
+package com.quodbiometria.service.jobs;
+
+import com.quodbiometria.exception.NonRetryableJobException;
+import com.quodbiometria.model.entity.BiometricImageMetadata;
+import com.quodbiometria.model.entity.ProcessingJob;
+import com.quodbiometria.repository.BiometricImageMetadataRepository;
+import com.quodbiometria.service.storage.TieredBlobStorage;
+import com.quodbiometria.util.ByteArrayMultipartFile;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.NoSuchFileException;
+
+/**
+ * Carrega a imagem referenciada por um job. Imagem ou blob ausentes não se resolvem com novas tentativas,
+ * por isso geram {@link NonRetryableJobException}.
+ */
+@Component
+@RequiredArgsConstructor
+class ProcessingJobImageLoader {
+
+    private final BiometricImageMetadataRepository metadataRepository;
+    private final TieredBlobStorage tieredBlobStorage;
+
+    BiometricImageMetadata loadMetadata(ProcessingJob job) {
+        return metadataRepository.findById(job.getImagemId())
+                .filter(BiometricImageMetadata::isAtiva)
+                .orElseThrow(() -> new NonRetryableJobException("Imagem " + job.getImagemId() + " não encontrada"));
+    }
+
+    MultipartFile loadContent(BiometricImageMetadata metadata) throws IOException {
+        try (InputStream content = tieredBlobStorage.open(metadata)) {
+            return new ByteArrayMultipartFile("file", metadata.getFilename(), metadata.getContentType(),
+                    content.readAllBytes());
+        } catch (FileNotFoundException | NoSuchFileException e) {
+            throw new NonRetryableJobException("Arquivo da imagem " + metadata.getId() + " não encontrado");
+        }
+    }
+}
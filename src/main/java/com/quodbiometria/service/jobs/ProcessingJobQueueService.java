@@ -0,0 +1,251 @@
+package com.quodbiometria.service.jobs;
+
+import com.quodbiometria.model.entity.ProcessingJob;
+import com.quodbiometria.model.enums.ProcessingJobStatus;
+import com.quodbiometria.model.enums.ProcessingJobType;
+import com.quodbiometria.repository.ProcessingJobRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.net.InetAddress;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Fila de processamento persistida na coleção {@code processing_jobs}. Qualquer nó pode reivindicar um job
+ * pendente com {@code findAndModify}, que marca o job como em execução e registra um lease. Se o nó cair, o
+ * lease expira e o job volta a ser elegível. Falhas são reagendadas com backoff exponencial até o limite de
+ * tentativas, quando o job vai para {@code DEAD_LETTER}.
+ */
+@Slf4j
+@Service
+public class ProcessingJobQueueService {
+
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final MongoTemplate mongoTemplate;
+    private final ProcessingJobRepository jobRepository;
+    private final String nodeId;
+
+    @Value("${app.jobs.max-attempts:5}")
+    private int maxAttempts;
+
+    @Value("${app.jobs.lease-seconds:300}")
+    private long leaseSeconds;
+
+    @Value("${app.jobs.backoff.initial-seconds:10}")
+    private long initialBackoffSeconds;
+
+    @Value("${app.jobs.backoff.max-seconds:3600}")
+    private long maxBackoffSeconds;
+
+    public ProcessingJobQueueService(MongoTemplate mongoTemplate, ProcessingJobRepository jobRepository) {
+        this.mongoTemplate = mongoTemplate;
+        this.jobRepository = jobRepository;
+        this.nodeId = resolveHostName() + "-" + UUID.randomUUID().toString().substring(0, 8);
+    }
+
+    public ProcessingJob enqueue(ProcessingJobType tipo, String imagemId, String usuarioId,
+                                 Map<String, String> parametros) {
+        ProcessingJob saved = jobRepository.save(newJob(tipo, imagemId, usuarioId, parametros, LocalDateTime.now()));
+        log.debug("Job {} do tipo {} enfileirado para a imagem {}", saved.getId(), tipo, imagemId);
+        return saved;
+    }
+
+    /**
+     * Enfileira um job do tipo informado para cada usuário, com uma única inserção em lote.
+     */
+    public List<ProcessingJob> enqueueForUsers(ProcessingJobType tipo, Collection<String> usuarioIds) {
+        LocalDateTime agora = LocalDateTime.now();
+        List<ProcessingJob> jobs = usuarioIds.stream()
+                .map(usuarioId -> newJob(tipo, null, usuarioId, null, agora))
+                .toList();
+
+        List<ProcessingJob> saved = List.copyOf(mongoTemplate.insert(jobs, ProcessingJob.class));
+        log.debug("{} jobs do tipo {} enfileirados", saved.size(), tipo);
+        return saved;
+    }
+
+    private ProcessingJob newJob(ProcessingJobType tipo, String imagemId, String usuarioId,
+                                 Map<String, String> parametros, LocalDateTime agora) {
+        return ProcessingJob.builder()
+                .tipo(tipo)
+                .status(ProcessingJobStatus.PENDENTE)
+                .imagemId(imagemId)
+                .usuarioId(usuarioId)
+                .parametros(parametros != null ? new HashMap<>(parametros) : new HashMap<>())
+                .tentativas(0)
+                .maxTentativas(maxAttempts)
+                .proximaExecucao(agora)
+                .dataCriacao(agora)
+                .dataAtualizacao(agora)
+                .build();
+    }
+
+    /**
+     * Reivindica atomicamente o próximo job elegível entre os tipos informados: pendentes cuja execução já
+     * está vencida ou em execução com lease expirado.
+     */
+    public Optional<ProcessingJob> claimNext(Collection<ProcessingJobType> tipos) {
+        LocalDateTime agora = LocalDateTime.now();
+
+        Query query = new Query(new Criteria().andOperator(
+                Criteria.where("tipo").in(tipos),
+                new Criteria().orOperator(
+                        Criteria.where("status").is(ProcessingJobStatus.PENDENTE).and("proximaExecucao").lte(agora),
+                        Criteria.where("status").is(ProcessingJobStatus.EM_EXECUCAO).and("lockExpiraEm").lt(agora)
+                )
+        )).with(Sort.by(Sort.Direction.ASC, "proximaExecucao"));
+
+        Update update = new Update()
+                .set("status", ProcessingJobStatus.EM_EXECUCAO)
+                .set("lockOwner", nodeId)
+                .set("lockExpiraEm", agora.plusSeconds(leaseSeconds))
+                .set("dataAtualizacao", agora)
+                .inc("tentativas", 1);
+
+        return Optional.ofNullable(mongoTemplate.findAndModify(query, update,
+                FindAndModifyOptions.options().returnNew(true), ProcessingJob.class));
+    }
+
+    public void complete(ProcessingJob job, String resultado) {
+        LocalDateTime agora = LocalDateTime.now();
+        Update update = new Update()
+                .set("status", ProcessingJobStatus.CONCLUIDO)
+                .set("resultado", resultado)
+                .set("dataConclusao", agora)
+                .set("dataAtualizacao", agora)
+                .unset("lockOwner")
+                .unset("lockExpiraEm");
+
+        if (!updateOwned(job, update)) {
+            log.warn("Job {} concluído após perda do lease; resultado ignorado", job.getId());
+        }
+    }
+
+    /**
+     * Registra uma falha. O job é reagendado com backoff exponencial ou, esgotadas as tentativas (ou se a
+     * falha não for recuperável), movido para {@code DEAD_LETTER}.
+     */
+    public void fail(ProcessingJob job, Throwable error, boolean retryable) {
+        LocalDateTime agora = LocalDateTime.now();
+        String mensagem = truncate(error.getClass().getSimpleName() + ": " + error.getMessage());
+
+        Update update = new Update()
+                .set("ultimoErro", mensagem)
+                .set("dataAtualizacao", agora)
+                .unset("lockOwner")
+                .unset("lockExpiraEm");
+
+        if (!retryable || job.getTentativas() >= job.getMaxTentativas()) {
+            update.set("status", ProcessingJobStatus.DEAD_LETTER);
+            log.error("Job {} do tipo {} movido para dead-letter após {} tentativa(s): {}",
+                    job.getId(), job.getTipo(), job.getTentativas(), mensagem);
+        } else {
+            Duration backoff = backoffFor(job.getTentativas());
+            update.set("status", ProcessingJobStatus.PENDENTE)
+                    .set("proximaExecucao", agora.plus(backoff));
+            log.warn("Job {} do tipo {} falhou (tentativa {}/{}); nova tentativa em {}s: {}",
+                    job.getId(), job.getTipo(), job.getTentativas(), job.getMaxTentativas(),
+                    backoff.getSeconds(), mensagem);
+        }
+
+        updateOwned(job, update);
+    }
+
+    /**
+     * Devolve à fila um job reivindicado que este nó não chegou a executar, desfazendo a tentativa contada na
+     * reivindicação, para que ele não espere o lease expirar.
+     */
+    public void release(ProcessingJob job) {
+        Update update = new Update()
+                .set("status", ProcessingJobStatus.PENDENTE)
+                .set("dataAtualizacao", LocalDateTime.now())
+                .inc("tentativas", -1)
+                .unset("lockOwner")
+                .unset("lockExpiraEm");
+
+        if (!updateOwned(job, update)) {
+            log.warn("Job {} não pôde ser devolvido à fila; será retomado após o lease expirar", job.getId());
+        }
+    }
+
+    /**
+     * Devolve à fila um job que está em dead-letter, zerando o contador de tentativas.
+     */
+    public ProcessingJob requeue(String id) {
+        LocalDateTime agora = LocalDateTime.now();
+        Query query = new Query(Criteria.where("_id").is(id).and("status").is(ProcessingJobStatus.DEAD_LETTER));
+        Update update = new Update()
+                .set("status", ProcessingJobStatus.PENDENTE)
+                .set("tentativas", 0)
+                .set("proximaExecucao", agora)
+                .set("dataAtualizacao", agora);
+
+        ProcessingJob job = mongoTemplate.findAndModify(query, update,
+                FindAndModifyOptions.options().returnNew(true), ProcessingJob.class);
+        if (job == null) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT,
+                    "Apenas jobs em dead-letter podem ser reprocessados");
+        }
+        return job;
+    }
+
+    public ProcessingJob findById(String id) {
+        return jobRepository.findById(id)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND,
+                        "Job de processamento não encontrado"));
+    }
+
+    public List<ProcessingJob> findByImagemId(String imagemId) {
+        return jobRepository.findByImagemIdOrderByDataCriacaoAsc(imagemId);
+    }
+
+    public List<ProcessingJob> findByStatus(ProcessingJobStatus status) {
+        return jobRepository.findTop100ByStatusOrderByDataAtualizacaoDesc(status);
+    }
+
+    Duration backoffFor(int tentativas) {
+        int exponent = Math.min(Math.max(tentativas - 1, 0), 30);
+        long seconds = initialBackoffSeconds * (1L << exponent);
+        return Duration.ofSeconds(Math.min(seconds, maxBackoffSeconds));
+    }
+
+    String getNodeId() {
+        return nodeId;
+    }
+
+    private boolean updateOwned(ProcessingJob job, Update update) {
+        Query query = new Query(Criteria.where("_id").is(job.getId())
+                .and("status").is(ProcessingJobStatus.EM_EXECUCAO)
+                .and("lockOwner").is(nodeId));
+        return mongoTemplate.updateFirst(query, update, ProcessingJob.class).getModifiedCount() > 0;
+    }
+
+    private static String truncate(String value) {
+        return value.length() > MAX_ERROR_LENGTH ? value.substring(0, MAX_ERROR_LENGTH) : value;
+    }
+
+    private static String resolveHostName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (Exception e) {
+            return "node";
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.quodbiometria.service.jobs;
+
+import com.quodbiometria.exception.NonRetryableJobException;
+import com.quodbiometria.model.entity.ProcessingJob;
+import com.quodbiometria.model.enums.ProcessingJobType;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Consome a fila de processamento. A cada ciclo reivindica jobs enquanto houver threads livres no pool, de
+ * modo que um nó nunca segura mais leases do que consegue executar.
+ */
+@Slf4j
+@Component
+public class ProcessingJobWorker {
+
+    private final ProcessingJobQueueService queueService;
+    private final ThreadPoolTaskExecutor executor;
+    private final Map<ProcessingJobType, ProcessingJobHandler> handlers = new EnumMap<>(ProcessingJobType.class);
+    private final Semaphore slots;
+
+    @Value("${app.jobs.worker-enabled:true}")
+    private boolean enabled;
+
+    public ProcessingJobWorker(ProcessingJobQueueService queueService,
+                               @Qualifier("processingJobExecutor") ThreadPoolTaskExecutor executor,
+                               List<ProcessingJobHandler> handlerList) {
+        this.queueService = queueService;
+        this.executor = executor;
+        handlerList.forEach(handler -> handlers.put(handler.getTipo(), handler));
+        this.slots = new Semaphore(executor.getMaxPoolSize());
+    }
+
+    @Scheduled(fixedDelayString = "${app.jobs.poll-interval-ms:2000}", initialDelayString = "${app.jobs.initial-delay-ms:10000}")
+    public void poll() {
+        if (!enabled || handlers.isEmpty()) {
+            return;
+        }
+
+        while (slots.tryAcquire()) {
+            Optional<ProcessingJob> claimed;
+            try {
+                claimed = queueService.claimNext(handlers.keySet());
+            } catch (RuntimeException e) {
+                slots.release();
+                log.error("Erro ao reivindicar job de processamento", e);
+                return;
+            }
+
+            if (claimed.isEmpty()) {
+                slots.release();
+                return;
+            }
+
+            ProcessingJob job = claimed.get();
+            try {
+                executor.execute(() -> {
+                    try {
+                        execute(job);
+                    } finally {
+                        slots.release();
+                    }
+                });
+            } catch (RuntimeException e) {
+                slots.release();
+                log.warn("Pool de processamento saturado; job {} devolvido à fila", job.getId());
+                releaseClaim(job);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Com o pool sem fila, a tarefa pode ser rejeitada no intervalo entre a liberação do slot e a volta da
+     * thread ao pool; o job é devolvido em vez de ficar preso até o lease expirar com uma tentativa a menos.
+     */
+    private void releaseClaim(ProcessingJob job) {
+        try {
+            queueService.release(job);
+        } catch (RuntimeException e) {
+            log.error("Erro ao devolver job {} à fila; será retomado após o lease expirar", job.getId(), e);
+        }
+    }
+
+    void execute(ProcessingJob job) {
+        ProcessingJobHandler handler = handlers.get(job.getTipo());
+        try {
+            if (job.getTentativas() > job.getMaxTentativas()) {
+                throw new NonRetryableJobException("Limite de tentativas excedido após expiração do lease");
+            }
+            String resultado = handler.handle(job);
+            queueService.complete(job, resultado);
+            log.debug("Job {} do tipo {} concluído", job.getId(), job.getTipo());
+        } catch (NonRetryableJobException e) {
+            queueService.fail(job, e, false);
+        } catch (Exception e) {
+            queueService.fail(job, e, true);
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.quodbiometria.service.jobs;
+
+import com.quodbiometria.model.entity.ProcessingJob;
+import com.quodbiometria.model.enums.ProcessingJobType;
+import com.quodbiometria.service.privacy.UserDataErasureService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class UserDataErasureJobHandler implements ProcessingJobHandler {
+
+    private final UserDataErasureService erasureService;
+
+    @Override
+    public ProcessingJobType getTipo() {
+        return ProcessingJobType.ELIMINACAO_DADOS_USUARIO;
+    }
+
+    @Override
+    public String handle(ProcessingJob job) {
+        return erasureService.erase(job);
+    }
+}
@@ -0,0 +1,120 @@
+package com.quodbiometria.service.privacy;
+
+import com.quodbiometria.model.entity.FaceDetectionArchive;
+import com.quodbiometria.model.entity.FaceDetectionResult;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Arquivamento opcional dos resultados de detecção facial antes que o índice TTL os remova. Os resultados
+ * gravados há mais que {@code retenção - antecedência} são copiados em forma compacta para
+ * {@link FaceDetectionArchive}.
+ * <p>
+ * A varredura avança por {@code _id} a partir do maior id já arquivado: como o ObjectId carrega o instante da
+ * gravação, o corte é expresso como um limite de {@code _id} e a consulta usa apenas o índice primário. As
+ * cópias são upserts pelo id, então um lote repetido após falha não gera duplicatas. A antecedência deve ser
+ * maior que o intervalo entre execuções.
+ */
+@Slf4j
+@Service
+public class FaceDetectionArchiveService {
+
+    private final MongoTemplate mongoTemplate;
+
+    @Value("${app.face-detection.retention.days:0}")
+    private long retentionDays;
+
+    @Value("${app.face-detection.retention.archive.enabled:false}")
+    private boolean archiveEnabled;
+
+    @Value("${app.face-detection.retention.archive.lead-hours:24}")
+    private long leadHours;
+
+    @Value("${app.face-detection.retention.archive.batch-size:1000}")
+    private int batchSize;
+
+    public FaceDetectionArchiveService(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Scheduled(fixedDelayString = "${app.face-detection.retention.archive.interval-ms:3600000}",
+            initialDelayString = "${app.face-detection.retention.archive.initial-delay-ms:60000}")
+    public void scheduledArchive() {
+        if (!archiveEnabled || retentionDays <= 0) {
+            return;
+        }
+
+        try {
+            long archived = archiveExpiring();
+            if (archived > 0) {
+                log.info("{} resultados de detecção facial arquivados antes da expiração", archived);
+            }
+        } catch (RuntimeException e) {
+            log.error("Erro ao arquivar resultados de detecção facial; nova tentativa na próxima execução", e);
+        }
+    }
+
+    /**
+     * Arquiva, em lotes, todos os resultados que expiram dentro da antecedência configurada.
+     *
+     * @return Quantidade de resultados arquivados
+     */
+    public long archiveExpiring() {
+        ObjectId cutoff = ObjectId.getSmallestWithDate(Date.from(Instant.now()
+                .minus(retentionDays, ChronoUnit.DAYS)
+                .plus(leadHours, ChronoUnit.HOURS)));
+        ObjectId lastArchived = lastArchivedId();
+
+        long total = 0;
+        while (true) {
+            Criteria criteria = lastArchived != null ?
+                    Criteria.where("_id").gt(lastArchived).lt(cutoff) : Criteria.where("_id").lt(cutoff);
+            Query query = new Query(criteria).with(Sort.by(Sort.Direction.ASC, "_id")).limit(batchSize);
+            query.fields().include("usuarioId", "imageId", "faceDetected", "confidence", "faceCount", "createdAt");
+            List<FaceDetectionResult> batch = mongoTemplate.find(query, FaceDetectionResult.class);
+            if (batch.isEmpty()) {
+                break;
+            }
+
+            BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, FaceDetectionArchive.class);
+            for (FaceDetectionResult result : batch) {
+                bulk.upsert(new Query(Criteria.where("_id").is(new ObjectId(result.getId()))), new Update()
+                        .set("usuarioId", result.getUsuarioId())
+                        .set("imageId", result.getImageId())
+                        .set("faceDetected", result.isFaceDetected())
+                        .set("confidence", result.getConfidence())
+                        .set("faceCount", result.getFaceCount())
+                        .set("createdAt", result.getCreatedAt()));
+            }
+            bulk.execute();
+
+            total += batch.size();
+            lastArchived = new ObjectId(batch.get(batch.size() - 1).getId());
+            if (batch.size() < batchSize) {
+                break;
+            }
+        }
+        return total;
+    }
+
+    private ObjectId lastArchivedId() {
+        Query query = new Query().with(Sort.by(Sort.Direction.DESC, "_id")).limit(1);
+        query.fields().include("_id");
+        FaceDetectionArchive last = mongoTemplate.findOne(query, FaceDetectionArchive.class);
+        return last != null ? new ObjectId(last.getId()) : null;
+    }
+}
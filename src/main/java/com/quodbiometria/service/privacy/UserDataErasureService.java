@@ -0,0 +1,255 @@
+package com.quodbiometria.service.privacy;
+
+import com.quodbiometria.model.entity.BiometricImageMetadata;
+import com.quodbiometria.model.entity.ErasureCertificate;
+import com.quodbiometria.model.entity.FaceDetectionArchive;
+import com.quodbiometria.model.entity.FaceDetectionResult;
+import com.quodbiometria.model.entity.ProcessingJob;
+import com.quodbiometria.model.entity.RefreshToken;
+import com.quodbiometria.model.entity.User;
+import com.quodbiometria.model.enums.ErasureStatus;
+import com.quodbiometria.model.enums.ErasureStep;
+import com.quodbiometria.model.enums.ProcessingJobType;
+import com.quodbiometria.repository.ErasureCertificateRepository;
+import com.quodbiometria.service.BiometricImageMetadataCache;
+import com.quodbiometria.service.FaceDetectionResultWriter;
+import com.quodbiometria.service.UserPrincipalCache;
+import com.quodbiometria.service.jobs.ProcessingJobQueueService;
+import com.quodbiometria.service.storage.TieredBlobStorage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Eliminação de todos os dados de um usuário (LGPD): sessões, conta, jobs, imagens com seus blobs e
+ * resultados de detecção facial, inclusive os arquivados. Cada solicitação vira um job da fila de processamento e um
+ * {@link ErasureCertificate} com o mesmo id.
+ * <p>
+ * A execução é retomável: cada etapa usa exclusões em lote idempotentes e é registrada no certificado ao
+ * terminar, de modo que um job reexecutado após falha ou expiração do lease pula as etapas concluídas. As
+ * imagens são removidas em lotes, com o progresso gravado a cada lote.
+ */
+@Slf4j
+@Service
+public class UserDataErasureService {
+
+    private final MongoTemplate mongoTemplate;
+    private final ErasureCertificateRepository certificateRepository;
+    private final ProcessingJobQueueService jobQueueService;
+    private final TieredBlobStorage tieredBlobStorage;
+    private final FaceDetectionResultWriter faceDetectionResultWriter;
+    private final BiometricImageMetadataCache metadataCache;
+    private final UserPrincipalCache principalCache;
+
+    @Value("${app.privacy.erasure.batch-size:500}")
+    private int batchSize;
+
+    @Value("${app.privacy.erasure.max-usuarios-por-solicitacao:10000}")
+    private int maxUsersPerRequest;
+
+    public UserDataErasureService(MongoTemplate mongoTemplate,
+                                  ErasureCertificateRepository certificateRepository,
+                                  ProcessingJobQueueService jobQueueService,
+                                  TieredBlobStorage tieredBlobStorage,
+                                  FaceDetectionResultWriter faceDetectionResultWriter,
+                                  BiometricImageMetadataCache metadataCache,
+                                  UserPrincipalCache principalCache) {
+        this.mongoTemplate = mongoTemplate;
+        this.certificateRepository = certificateRepository;
+        this.jobQueueService = jobQueueService;
+        this.tieredBlobStorage = tieredBlobStorage;
+        this.faceDetectionResultWriter = faceDetectionResultWriter;
+        this.metadataCache = metadataCache;
+        this.principalCache = principalCache;
+    }
+
+    /**
+     * Registra a eliminação dos dados dos usuários informados. Jobs e certificados são gravados com uma
+     * inserção em lote cada, para que solicitações com milhares de usuários sejam aceitas rapidamente.
+     *
+     * @param usuarioIds Usuários cujos dados serão eliminados; repetições são ignoradas
+     * @param solicitante Identificação de quem fez a solicitação
+     * @return Certificados criados, ainda pendentes
+     */
+    public List<ErasureCertificate> requestErasure(Collection<String> usuarioIds, String solicitante) {
+        Set<String> distinctIds = new LinkedHashSet<>();
+        if (usuarioIds != null) {
+            usuarioIds.stream().filter(id -> id != null && !id.isBlank()).forEach(distinctIds::add);
+        }
+        if (distinctIds.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Informe ao menos um usuário");
+        }
+        if (distinctIds.size() > maxUsersPerRequest) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Máximo de " + maxUsersPerRequest + " usuários por solicitação");
+        }
+
+        List<ProcessingJob> jobs = jobQueueService.enqueueForUsers(ProcessingJobType.ELIMINACAO_DADOS_USUARIO,
+                distinctIds);
+
+        LocalDateTime agora = LocalDateTime.now();
+        List<ErasureCertificate> certificates = jobs.stream()
+                .map(job -> ErasureCertificate.builder()
+                        .id(job.getId())
+                        .usuarioId(job.getUsuarioId())
+                        .status(ErasureStatus.PENDENTE)
+                        .solicitadoPor(solicitante)
+                        .etapasConcluidas(new ArrayList<>())
+                        .dataSolicitacao(agora)
+                        .dataAtualizacao(agora)
+                        .build())
+                .toList();
+
+        List<ErasureCertificate> saved = List.copyOf(mongoTemplate.insert(certificates, ErasureCertificate.class));
+        log.info("Eliminação de dados solicitada para {} usuário(s)", saved.size());
+        return saved;
+    }
+
+    /**
+     * Executa, ou retoma, a eliminação associada ao job.
+     *
+     * @return Resumo gravado como resultado do job
+     */
+    public String erase(ProcessingJob job) {
+        String usuarioId = job.getUsuarioId();
+        ErasureCertificate certificate = startCertificate(job);
+        List<ErasureStep> concluidas = certificate.getEtapasConcluidas() != null ?
+                certificate.getEtapasConcluidas() : List.of();
+
+        for (ErasureStep etapa : ErasureStep.values()) {
+            if (concluidas.contains(etapa)) {
+                continue;
+            }
+            long removidos = switch (etapa) {
+                case TOKENS -> remove(Criteria.where("userId").is(usuarioId), RefreshToken.class);
+                case CONTA -> eraseAccount(usuarioId);
+                case JOBS -> remove(Criteria.where("usuarioId").is(usuarioId).and("_id").ne(job.getId())
+                        .and("tipo").ne(ProcessingJobType.ELIMINACAO_DADOS_USUARIO), ProcessingJob.class);
+                case IMAGENS -> eraseImages(job.getId(), usuarioId);
+                case DETECCOES_FACIAIS -> eraseFaceDetections(usuarioId);
+            };
+            recordStep(job.getId(), etapa, etapa == ErasureStep.IMAGENS ? 0 : removidos);
+        }
+
+        LocalDateTime agora = LocalDateTime.now();
+        mongoTemplate.updateFirst(new Query(Criteria.where("_id").is(job.getId())),
+                new Update().set("status", ErasureStatus.CONCLUIDA).set("dataConclusao", agora)
+                        .set("dataAtualizacao", agora),
+                ErasureCertificate.class);
+        log.info("Dados do usuário {} eliminados (certificado {})", usuarioId, job.getId());
+        return "Dados do usuário eliminados; certificado " + job.getId();
+    }
+
+    public ErasureCertificate findCertificate(String id) {
+        return certificateRepository.findById(id)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND,
+                        "Certificado de eliminação não encontrado"));
+    }
+
+    public List<ErasureCertificate> findCertificatesByUsuario(String usuarioId) {
+        return certificateRepository.findByUsuarioIdOrderByDataSolicitacaoDesc(usuarioId);
+    }
+
+    /**
+     * Remove as imagens em lotes: blobs primeiro, agrupados por tier, e depois os metadados do lote com um
+     * único {@code deleteMany}. O contador do certificado é incrementado a cada lote.
+     */
+    private long eraseImages(String certificateId, String usuarioId) {
+        long total = 0;
+        while (true) {
+            Query query = new Query(Criteria.where("usuarioId").is(usuarioId))
+                    .with(Sort.by(Sort.Direction.ASC, "_id"))
+                    .limit(batchSize);
+            query.fields().include("fileId", "originalFileId", "storageTier", "usuarioId");
+            List<BiometricImageMetadata> batch = mongoTemplate.find(query, BiometricImageMetadata.class);
+            if (batch.isEmpty()) {
+                break;
+            }
+
+            try {
+                tieredBlobStorage.deleteAll(batch);
+            } catch (IOException e) {
+                throw new IllegalStateException("Falha ao remover blobs do usuário " + usuarioId, e);
+            }
+
+            List<String> ids = batch.stream().map(BiometricImageMetadata::getId).toList();
+            long removidos = remove(Criteria.where("_id").in(ids), BiometricImageMetadata.class);
+            batch.forEach(metadataCache::evict);
+            incrementCounter(certificateId, ErasureStep.IMAGENS, removidos);
+            total += removidos;
+        }
+        metadataCache.evictUser(usuarioId);
+        return total;
+    }
+
+    private long eraseAccount(String usuarioId) {
+        long removidos = remove(Criteria.where("_id").is(usuarioId), User.class);
+        principalCache.evictUserId(usuarioId);
+        return removidos;
+    }
+
+    private long eraseFaceDetections(String usuarioId) {
+        // Resultados ainda no buffer de write-behind deste nó seriam gravados depois da exclusão; os que
+        // estiverem no buffer de outros nós são descartados pelo próprio writer, que consulta os certificados
+        faceDetectionResultWriter.flush();
+        return remove(Criteria.where("usuarioId").is(usuarioId), FaceDetectionResult.class)
+                + remove(Criteria.where("usuarioId").is(usuarioId), FaceDetectionArchive.class);
+    }
+
+    /**
+     * Marca o certificado como em andamento, criando-o se o job tiver sido enfileirado sem ele.
+     */
+    private ErasureCertificate startCertificate(ProcessingJob job) {
+        LocalDateTime agora = LocalDateTime.now();
+        ErasureCertificate certificate = mongoTemplate.findAndModify(
+                new Query(Criteria.where("_id").is(job.getId())),
+                new Update().set("status", ErasureStatus.EM_ANDAMENTO)
+                        .set("dataAtualizacao", agora)
+                        .setOnInsert("usuarioId", job.getUsuarioId())
+                        .setOnInsert("dataSolicitacao", agora),
+                FindAndModifyOptions.options().returnNew(true).upsert(true),
+                ErasureCertificate.class);
+
+        if (certificate.getDataInicio() == null) {
+            mongoTemplate.updateFirst(new Query(Criteria.where("_id").is(job.getId()).and("dataInicio").is(null)),
+                    new Update().set("dataInicio", agora), ErasureCertificate.class);
+        }
+        return certificate;
+    }
+
+    private void recordStep(String certificateId, ErasureStep etapa, long removidos) {
+        Update update = new Update()
+                .addToSet("etapasConcluidas", etapa)
+                .inc("registrosRemovidos." + etapa.name(), removidos)
+                .set("dataAtualizacao", LocalDateTime.now());
+        mongoTemplate.updateFirst(new Query(Criteria.where("_id").is(certificateId)), update,
+                ErasureCertificate.class);
+    }
+
+    private void incrementCounter(String certificateId, ErasureStep etapa, long removidos) {
+        mongoTemplate.updateFirst(new Query(Criteria.where("_id").is(certificateId)),
+                new Update().inc("registrosRemovidos." + etapa.name(), removidos)
+                        .set("dataAtualizacao", LocalDateTime.now()),
+                ErasureCertificate.class);
+    }
+
+    private long remove(Criteria criteria, Class<?> entityClass) {
+        return mongoTemplate.remove(new Query(criteria), entityClass).getDeletedCount();
+    }
+}
@@ -0,0 +1,127 @@
+package com.quodbiometria.service.ratelimit;
+
+import com.quodbiometria.model.entity.RateLimitBucketState;
+import io.github.bucket4j.distributed.proxy.ClientSideConfig;
+import io.github.bucket4j.distributed.proxy.generic.compare_and_swap.AbstractCompareAndSwapBasedProxyManager;
+import io.github.bucket4j.distributed.proxy.generic.compare_and_swap.AsyncCompareAndSwapOperation;
+import io.github.bucket4j.distributed.proxy.generic.compare_and_swap.CompareAndSwapOperation;
+import io.github.bucket4j.distributed.remote.RemoteBucketState;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * Backend distribuído do Bucket4j sobre o MongoDB. Cada bucket é um documento com o estado serializado; uma
+ * alteração só é gravada se o estado no banco ainda for o lido ({@code updateFirst} filtrando pelo estado
+ * anterior), e o Bucket4j repete a operação quando outro nó ganhou a corrida. A criação usa {@code insert}, de
+ * modo que dois nós criando o mesmo bucket resultam em uma inserção e uma nova tentativa.
+ * <p>
+ * As operações assíncronas reutilizam as síncronas e devolvem futuros já completos: o driver usado pela
+ * aplicação é bloqueante, então a chamada ao MongoDB acontece na própria thread de quem pediu a operação.
+ */
+@Component
+public class MongoCompareAndSwapProxyManager extends AbstractCompareAndSwapBasedProxyManager<String> {
+
+    private static final Duration EXPIRATION_MARGIN = Duration.ofMinutes(1);
+
+    private final MongoTemplate mongoTemplate;
+
+    public MongoCompareAndSwapProxyManager(MongoTemplate mongoTemplate) {
+        super(ClientSideConfig.getDefault());
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    protected CompareAndSwapOperation beginCompareAndSwapOperation(String key) {
+        return new CompareAndSwapOperation() {
+            @Override
+            public Optional<byte[]> getStateData() {
+                Query query = new Query(Criteria.where("_id").is(key));
+                query.fields().include("state");
+                return Optional.ofNullable(mongoTemplate.findOne(query, RateLimitBucketState.class))
+                        .map(RateLimitBucketState::getState);
+            }
+
+            @Override
+            public boolean compareAndSwap(byte[] originalData, byte[] newData, RemoteBucketState newState) {
+                LocalDateTime expiraEm = expiration(newState);
+                if (originalData == null) {
+                    try {
+                        mongoTemplate.insert(RateLimitBucketState.builder()
+                                .id(key).state(newData).expiraEm(expiraEm).build());
+                        return true;
+                    } catch (DuplicateKeyException e) {
+                        return false;
+                    }
+                }
+
+                return mongoTemplate.updateFirst(
+                        new Query(Criteria.where("_id").is(key).and("state").is(originalData)),
+                        new Update().set("state", newData).set("expiraEm", expiraEm),
+                        RateLimitBucketState.class).getModifiedCount() == 1;
+            }
+        };
+    }
+
+    @Override
+    protected AsyncCompareAndSwapOperation beginAsyncCompareAndSwapOperation(String key) {
+        CompareAndSwapOperation operation = beginCompareAndSwapOperation(key);
+        return new AsyncCompareAndSwapOperation() {
+            @Override
+            public CompletableFuture<Optional<byte[]>> getStateData() {
+                return completed(operation::getStateData);
+            }
+
+            @Override
+            public CompletableFuture<Boolean> compareAndSwap(byte[] originalData, byte[] newData,
+                                                             RemoteBucketState newState) {
+                return completed(() -> operation.compareAndSwap(originalData, newData, newState));
+            }
+        };
+    }
+
+    @Override
+    public boolean isAsyncModeSupported() {
+        return true;
+    }
+
+    @Override
+    public void removeProxy(String key) {
+        mongoTemplate.remove(new Query(Criteria.where("_id").is(key)), RateLimitBucketState.class);
+    }
+
+    @Override
+    protected CompletableFuture<Void> removeAsync(String key) {
+        return completed(() -> {
+            removeProxy(key);
+            return null;
+        });
+    }
+
+    private static <T> CompletableFuture<T> completed(Supplier<T> operation) {
+        try {
+            return CompletableFuture.completedFuture(operation.get());
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * Instante em que o bucket volta a estar cheio, contado no relógio em milissegundos que o Bucket4j usa nos
+     * backends de compare-and-swap.
+     */
+    private static LocalDateTime expiration(RemoteBucketState state) {
+        long nowNanos = System.currentTimeMillis() * 1_000_000L;
+        long refillNanos = state.calculateFullRefillingTime(nowNanos);
+        return LocalDateTime.now().plus(Duration.ofNanos(refillNanos)).plus(EXPIRATION_MARGIN);
+    }
+}
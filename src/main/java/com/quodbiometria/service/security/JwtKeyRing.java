@@ -0,0 +1,276 @@
+package com.quodbiometria.service.security;
+
+import com.quodbiometria.model.entity.JwtSigningKey;
+import com.quodbiometria.model.enums.JwtKeyAlgorithm;
+import com.quodbiometria.repository.JwtSigningKeyRepository;
+import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Cipher;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.security.KeyFactory;
+import java.security.KeyPair;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Conjunto de chaves de assinatura de JWT persistido no MongoDB e compartilhado por todos os nós.
+ * <p>
+ * O tempo é dividido em períodos de rotação ({@code jwt.signing.rotation-hours}); cada período tem uma única
+ * chave, criada pelo primeiro nó que precisar dela e gravada com o período como {@code _id}. Os demais
+ * encontram a mesma chave pelo {@code _id}, então todos assinam com a mesma chave sem outra coordenação.
+ * <p>
+ * Cada atualização carrega todas as chaves ainda não aposentadas, que são poucas (retenção dividida pela
+ * rotação), e garante que a chave do período seguinte já exista, para que todos os nós a conheçam antes de
+ * alguém assinar com ela. Tokens são verificados apenas contra o anel local: um {@code kid} desconhecido é
+ * inválido e não gera consulta ao MongoDB.
+ * <p>
+ * Uma chave deixa de ser usada para verificar, e é removida do anel e do MongoDB, quando termina seu período
+ * somado à validade do access token e a uma folga para diferença de relógio entre nós. Como a chave do período
+ * seguinte é criada com antecedência, uma mudança de algoritmo vale a partir do segundo período.
+ */
+@Slf4j
+@Component
+public class JwtKeyRing {
+
+    private static final int GCM_IV_BYTES = 12;
+    private static final int GCM_TAG_BITS = 128;
+    private static final Duration CLOCK_SKEW = Duration.ofMinutes(5);
+
+    private final JwtSigningKeyRepository repository;
+    private final SecureRandom random = new SecureRandom();
+
+    @Value("${jwt.secret}")
+    private String secret;
+
+    @Value("${jwt.signing.algorithm:HS512}")
+    private JwtKeyAlgorithm algorithm;
+
+    @Value("${jwt.signing.rotation-hours:24}")
+    private long rotationHours;
+
+    @Value("${jwt.access-token.expiration:3600000}")
+    private long accessTokenExpiration;
+
+    private Clock clock = Clock.systemUTC();
+
+    private final Map<String, RingKey> keys = new ConcurrentHashMap<>();
+
+    private volatile RingKey current;
+
+    public JwtKeyRing(JwtSigningKeyRepository repository) {
+        this.repository = repository;
+    }
+
+    /**
+     * Chave carregada do anel.
+     *
+     * @param signingKey      Chave de assinatura; nula nos algoritmos assimétricos quando só a pública é conhecida
+     * @param verificationKey Chave usada para verificar assinaturas
+     */
+    public record RingKey(String kid, long slot, JwtKeyAlgorithm algorithm, Key signingKey, Key verificationKey,
+                          LocalDateTime retireAt) {
+    }
+
+    @PostConstruct
+    public void init() {
+        refresh();
+    }
+
+    @Scheduled(fixedDelayString = "${jwt.signing.refresh-interval-ms:60000}",
+            initialDelayString = "${jwt.signing.refresh-interval-ms:60000}")
+    public void scheduledRefresh() {
+        try {
+            refresh();
+        } catch (RuntimeException e) {
+            log.error("Falha ao atualizar o anel de chaves JWT; a chave atual continua em uso", e);
+        }
+    }
+
+    /**
+     * Carrega as chaves não aposentadas, cria as do período corrente e do seguinte se ainda não existirem e
+     * descarta do anel local as chaves aposentadas.
+     */
+    public synchronized void refresh() {
+        long slot = currentSlot();
+        Map<Long, JwtSigningKey> stored = new HashMap<>();
+        for (JwtSigningKey key : repository.findByRetireAtAfter(now())) {
+            stored.put(key.getSlot(), key);
+        }
+        stored.computeIfAbsent(slot, this::create);
+        stored.computeIfAbsent(slot + 1, this::create);
+
+        Map<String, RingKey> loaded = new HashMap<>();
+        for (JwtSigningKey key : stored.values()) {
+            RingKey ringKey = keys.get(key.getKid());
+            loaded.put(key.getKid(), ringKey != null ? ringKey : decode(key));
+        }
+        keys.putAll(loaded);
+        keys.keySet().retainAll(loaded.keySet());
+
+        RingKey key = loaded.get(stored.get(slot).getKid());
+        if (current == null || !current.kid().equals(key.kid())) {
+            log.info("Chave JWT {} ({}) em uso no período {}", key.kid(), key.algorithm(), slot);
+        }
+        current = key;
+    }
+
+    /**
+     * Chave de assinatura do período corrente.
+     */
+    public RingKey currentKey() {
+        RingKey key = current;
+        if (key == null || key.slot() != currentSlot()) {
+            try {
+                refresh();
+            } catch (RuntimeException e) {
+                if (key == null) {
+                    throw e;
+                }
+                log.warn("Não foi possível obter a chave JWT do novo período; mantendo {}: {}", key.kid(),
+                        e.getMessage());
+                return key;
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Chave de verificação do {@code kid} informado, ou nulo se não estiver no anel local ou já estiver
+     * aposentada.
+     */
+    public Key verificationKey(String kid) {
+        RingKey key = kid != null ? keys.get(kid) : null;
+        return key == null || key.retireAt().isBefore(now()) ? null : key.verificationKey();
+    }
+
+    private JwtSigningKey create(long slot) {
+        String kid = UUID.randomUUID().toString();
+        byte[] material;
+        String publicKey = null;
+        if (algorithm.isAsymmetric()) {
+            KeyPair pair = Keys.keyPairFor(algorithm.getSignatureAlgorithm());
+            material = pair.getPrivate().getEncoded();
+            publicKey = Base64.getEncoder().encodeToString(pair.getPublic().getEncoded());
+        } else {
+            material = new byte[64];
+            random.nextBytes(material);
+        }
+
+        LocalDateTime slotEnd = toLocalDateTime(Instant.ofEpochMilli((slot + 1) * rotationMillis()));
+        JwtSigningKey key = JwtSigningKey.builder()
+                .slot(slot)
+                .kid(kid)
+                .algorithm(algorithm)
+                .material(encrypt(material, kid))
+                .publicKey(publicKey)
+                .createdAt(now())
+                .retireAt(slotEnd.plus(Duration.ofMillis(accessTokenExpiration)).plus(CLOCK_SKEW))
+                .build();
+
+        try {
+            JwtSigningKey saved = repository.insert(key);
+            log.info("Nova chave JWT {} criada para o período {}", kid, slot);
+            return saved;
+        } catch (DuplicateKeyException e) {
+            // Outro nó criou a chave do período ao mesmo tempo
+            return repository.findById(slot)
+                    .orElseThrow(() -> new IllegalStateException("Chave JWT do período " + slot + " não encontrada", e));
+        }
+    }
+
+    private RingKey decode(JwtSigningKey stored) {
+        byte[] material = decrypt(stored.getMaterial(), stored.getKid());
+        try {
+            Key signingKey;
+            Key verificationKey;
+            if (stored.getAlgorithm().isAsymmetric()) {
+                KeyFactory factory = KeyFactory.getInstance("EC");
+                signingKey = factory.generatePrivate(new PKCS8EncodedKeySpec(material));
+                verificationKey = factory.generatePublic(
+                        new X509EncodedKeySpec(Base64.getDecoder().decode(stored.getPublicKey())));
+            } else {
+                signingKey = Keys.hmacShaKeyFor(material);
+                verificationKey = signingKey;
+            }
+            return new RingKey(stored.getKid(), stored.getSlot(), stored.getAlgorithm(), signingKey,
+                    verificationKey, stored.getRetireAt());
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Chave JWT " + stored.getKid() + " inválida", e);
+        }
+    }
+
+    /**
+     * Cifra o material da chave com AES-GCM, usando o {@code kid} como dado associado para que o material não
+     * possa ser copiado para outro documento.
+     */
+    private String encrypt(byte[] material, String kid) {
+        try {
+            byte[] iv = new byte[GCM_IV_BYTES];
+            random.nextBytes(iv);
+            Cipher cipher = Cipher.getInstance("AES/GCM/NoPadding");
+            cipher.init(Cipher.ENCRYPT_MODE, wrappingKey(), new GCMParameterSpec(GCM_TAG_BITS, iv));
+            cipher.updateAAD(kid.getBytes(StandardCharsets.UTF_8));
+            byte[] encrypted = cipher.doFinal(material);
+            return Base64.getEncoder().encodeToString(
+                    ByteBuffer.allocate(iv.length + encrypted.length).put(iv).put(encrypted).array());
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Falha ao cifrar chave JWT", e);
+        }
+    }
+
+    private byte[] decrypt(String material, String kid) {
+        try {
+            byte[] data = Base64.getDecoder().decode(material);
+            Cipher cipher = Cipher.getInstance("AES/GCM/NoPadding");
+            cipher.init(Cipher.DECRYPT_MODE, wrappingKey(), new GCMParameterSpec(GCM_TAG_BITS, data, 0, GCM_IV_BYTES));
+            cipher.updateAAD(kid.getBytes(StandardCharsets.UTF_8));
+            return cipher.doFinal(data, GCM_IV_BYTES, data.length - GCM_IV_BYTES);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Falha ao decifrar chave JWT " + kid + "; verifique jwt.secret", e);
+        }
+    }
+
+    private SecretKeySpec wrappingKey() throws GeneralSecurityException {
+        byte[] hash = MessageDigest.getInstance("SHA-256").digest(secret.getBytes(StandardCharsets.UTF_8));
+        return new SecretKeySpec(hash, "AES");
+    }
+
+    private long currentSlot() {
+        return clock.millis() / rotationMillis();
+    }
+
+    private long rotationMillis() {
+        return Duration.ofHours(rotationHours).toMillis();
+    }
+
+    private LocalDateTime now() {
+        return toLocalDateTime(clock.instant());
+    }
+
+    private static LocalDateTime toLocalDateTime(Instant instant) {
+        return LocalDateTime.ofInstant(instant, ZoneId.systemDefault());
+    }
+}
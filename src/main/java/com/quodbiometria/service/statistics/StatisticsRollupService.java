@@ -0,0 +1,240 @@
+package com.quodbiometria.service.statistics;
+
+import com.quodbiometria.config.ImageTypePolicyProperties;
+import com.quodbiometria.model.dto.response.StatisticsPointDTO;
+import com.quodbiometria.model.dto.response.StatisticsSummaryDTO;
+import com.quodbiometria.model.entity.StatisticsRollup;
+import com.quodbiometria.model.enums.RollupGranularity;
+import com.quodbiometria.repository.StatisticsRollupRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Range;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+
+/**
+ * Estatísticas de uso mantidas de forma incremental. Cada upload ou detecção facial incrementa, com um único
+ * bulk de upserts, os contadores da hora e do dia correntes; as consultas leem apenas esses documentos
+ * agregados, sem varrer as coleções de imagens e resultados.
+ * <p>
+ * Tipo de imagem e dispositivo vêm do cliente e viram chaves dos documentos agregados, então o número de chaves
+ * é limitado: tipos sem política em {@code app.image.policy.tipos} são contados como {@code OUTRO}, e cada nó
+ * aceita no máximo {@code app.statistics.max-dispositivos} dispositivos distintos, normalizados; os demais
+ * também são contados como {@code OUTRO}.
+ */
+@Slf4j
+@Service
+public class StatisticsRollupService {
+
+    static final int HISTOGRAM_BUCKETS = 10;
+    static final String VALOR_DESCONHECIDO = "DESCONHECIDO";
+    static final String VALOR_OUTRO = "OUTRO";
+    static final int MAX_KEY_LENGTH = 32;
+    private static final Pattern INVALID_KEY_CHARS = Pattern.compile("[^A-Z0-9_-]");
+
+    private final MongoTemplate mongoTemplate;
+    private final StatisticsRollupRepository rollupRepository;
+    private final ImageTypePolicyProperties policyProperties;
+    private final Set<String> dispositivos = ConcurrentHashMap.newKeySet();
+
+    @Value("${app.statistics.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.statistics.max-pontos:1000}")
+    private long maxPontos;
+
+    @Value("${app.statistics.max-dispositivos:50}")
+    private int maxDispositivos;
+
+    public StatisticsRollupService(MongoTemplate mongoTemplate, StatisticsRollupRepository rollupRepository,
+                                   ImageTypePolicyProperties policyProperties) {
+        this.mongoTemplate = mongoTemplate;
+        this.rollupRepository = rollupRepository;
+        this.policyProperties = policyProperties;
+    }
+
+    public void recordUpload(String tipoImagem, String dispositivo, LocalDateTime instante) {
+        increment(instante, update -> update
+                .inc("uploadsPorTipo." + tipoKey(tipoImagem), 1)
+                .inc("uploadsPorDispositivo." + dispositivoKey(dispositivo), 1));
+    }
+
+    /**
+     * Registra o resultado de uma detecção facial.
+     *
+     * @param faceDetectada Se exatamente uma face foi detectada
+     * @param confianca     Confiança da detecção, ou nulo quando não houve face aceita
+     */
+    public void recordDetection(boolean faceDetectada, Float confianca, String dispositivo, LocalDateTime instante) {
+        increment(instante, update -> {
+            update.inc("deteccoesTotal", 1)
+                    .inc("deteccoesComFace", faceDetectada ? 1 : 0)
+                    .inc("deteccoesPorDispositivo." + dispositivoKey(dispositivo), 1);
+            if (confianca != null) {
+                update.inc("histogramaConfianca." + histogramBucket(confianca), 1);
+            }
+        });
+    }
+
+    public StatisticsSummaryDTO getSummary(RollupGranularity granularidade, LocalDateTime de, LocalDateTime ate) {
+        LocalDateTime inicio = granularidade.truncate(de);
+        if (!inicio.isBefore(ate)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "O início do período deve ser anterior ao fim");
+        }
+        if (granularidade.getUnit().between(inicio, ate) > maxPontos) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Período muito longo para a granularidade " + granularidade + ". Máximo de " + maxPontos + " pontos");
+        }
+
+        List<StatisticsRollup> rollups = rollupRepository.findByGranularidadeAndInicioBetweenOrderByInicioAsc(
+                granularidade, Range.rightOpen(inicio, ate));
+
+        Map<String, Long> uploadsPorTipo = new TreeMap<>();
+        Map<String, Long> uploadsPorDispositivo = new TreeMap<>();
+        Map<String, Long> deteccoesPorDispositivo = new TreeMap<>();
+        Map<String, Long> histograma = new TreeMap<>();
+        long deteccoesTotal = 0;
+        long deteccoesComFace = 0;
+
+        for (StatisticsRollup rollup : rollups) {
+            merge(uploadsPorTipo, rollup.getUploadsPorTipo());
+            merge(uploadsPorDispositivo, rollup.getUploadsPorDispositivo());
+            merge(deteccoesPorDispositivo, rollup.getDeteccoesPorDispositivo());
+            merge(histograma, rollup.getHistogramaConfianca());
+            deteccoesTotal += rollup.getDeteccoesTotal();
+            deteccoesComFace += rollup.getDeteccoesComFace();
+        }
+
+        return StatisticsSummaryDTO.builder()
+                .granularidade(granularidade)
+                .de(inicio)
+                .ate(ate)
+                .totalUploads(sum(uploadsPorTipo))
+                .uploadsPorTipo(uploadsPorTipo)
+                .uploadsPorDispositivo(uploadsPorDispositivo)
+                .deteccoesTotal(deteccoesTotal)
+                .deteccoesComFace(deteccoesComFace)
+                .taxaSucessoDeteccao(successRate(deteccoesComFace, deteccoesTotal))
+                .deteccoesPorDispositivo(deteccoesPorDispositivo)
+                .histogramaConfianca(histograma)
+                .serie(rollups.stream().map(StatisticsRollupService::toPoint).toList())
+                .build();
+    }
+
+    private void increment(LocalDateTime instante, Consumer<Update> counters) {
+        if (!enabled) {
+            return;
+        }
+
+        try {
+            BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, StatisticsRollup.class);
+            for (RollupGranularity granularidade : RollupGranularity.values()) {
+                LocalDateTime inicio = granularidade.truncate(instante);
+                Update update = new Update()
+                        .setOnInsert("granularidade", granularidade)
+                        .setOnInsert("inicio", inicio)
+                        .set("dataAtualizacao", LocalDateTime.now());
+                counters.accept(update);
+                bulk.upsert(new Query(Criteria.where("_id").is(rollupId(granularidade, inicio))), update);
+            }
+            bulk.execute();
+        } catch (RuntimeException e) {
+            // Estatísticas não podem interromper o upload ou a detecção
+            log.warn("Falha ao atualizar estatísticas agregadas: {}", e.getMessage());
+        }
+    }
+
+    static String rollupId(RollupGranularity granularidade, LocalDateTime inicio) {
+        return granularidade + ":" + inicio;
+    }
+
+    /**
+     * Faixa do histograma em pontos percentuais, por exemplo {@code 80-90}.
+     */
+    static String histogramBucket(float confianca) {
+        int bucket = (int) (Math.max(0f, Math.min(confianca, 1f)) * HISTOGRAM_BUCKETS);
+        bucket = Math.min(bucket, HISTOGRAM_BUCKETS - 1);
+        int largura = 100 / HISTOGRAM_BUCKETS;
+        return String.format("%02d-%02d", bucket * largura, (bucket + 1) * largura);
+    }
+
+    /**
+     * Chave do tipo de imagem: só tipos com política configurada; os demais são agrupados em {@code OUTRO}.
+     */
+    String tipoKey(String tipoImagem) {
+        if (tipoImagem == null || tipoImagem.isBlank()) {
+            return VALOR_DESCONHECIDO;
+        }
+        String tipo = policyProperties.metricTag(tipoImagem);
+        return ImageTypePolicyProperties.OTHER_TYPE_TAG.equals(tipo) ? VALOR_OUTRO : tipo.toUpperCase();
+    }
+
+    /**
+     * Chave do dispositivo, normalizada; depois de {@code maxDispositivos} valores distintos neste nó, novos
+     * dispositivos são agrupados em {@code OUTRO}.
+     */
+    String dispositivoKey(String dispositivo) {
+        String key = normalizeKey(dispositivo);
+        if (key.equals(VALOR_DESCONHECIDO) || dispositivos.contains(key)) {
+            return key;
+        }
+        if (dispositivos.size() >= maxDispositivos) {
+            return VALOR_OUTRO;
+        }
+        dispositivos.add(key);
+        return key;
+    }
+
+    /**
+     * Chaves de mapa no MongoDB não podem conter '.' nem começar com '$'; aqui só letras maiúsculas, dígitos,
+     * '_' e '-' são mantidos, com tamanho limitado.
+     */
+    static String normalizeKey(String value) {
+        if (value == null || value.isBlank()) {
+            return VALOR_DESCONHECIDO;
+        }
+        String key = INVALID_KEY_CHARS.matcher(value.trim().toUpperCase()).replaceAll("_");
+        return key.length() > MAX_KEY_LENGTH ? key.substring(0, MAX_KEY_LENGTH) : key;
+    }
+
+    private static StatisticsPointDTO toPoint(StatisticsRollup rollup) {
+        Map<String, Long> uploadsPorTipo = rollup.getUploadsPorTipo() != null ? rollup.getUploadsPorTipo() : Map.of();
+        return StatisticsPointDTO.builder()
+                .inicio(rollup.getInicio())
+                .uploads(sum(uploadsPorTipo))
+                .uploadsPorTipo(uploadsPorTipo)
+                .deteccoesTotal(rollup.getDeteccoesTotal())
+                .deteccoesComFace(rollup.getDeteccoesComFace())
+                .taxaSucessoDeteccao(successRate(rollup.getDeteccoesComFace(), rollup.getDeteccoesTotal()))
+                .build();
+    }
+
+    private static void merge(Map<String, Long> target, Map<String, Long> source) {
+        if (source != null) {
+            source.forEach((key, value) -> target.merge(key, value, Long::sum));
+        }
+    }
+
+    private static long sum(Map<String, Long> counters) {
+        return counters.values().stream().mapToLong(Long::longValue).sum();
+    }
+
+    private static Double successRate(long sucesso, long total) {
+        return total == 0 ? null : (double) sucesso / total;
+    }
+}
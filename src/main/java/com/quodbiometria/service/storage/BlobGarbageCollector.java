@@ -0,0 +1,246 @@
+package com.quodbiometria.service.storage;
+
+import com.quodbiometria.model.entity.BiometricImageMetadata;
+import com.quodbiometria.model.enums.StorageTier;
+import com.quodbiometria.service.BiometricImageMetadataCache;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Date;
+import java.util.EnumSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Coleta em segundo plano o que a exclusão lógica de imagens deixa para trás e reconcilia o GridFS com os
+ * metadados:
+ * <ul>
+ *     <li>imagens com {@code ativa=false} há mais que o período de carência têm os blobs removidos em lote e,
+ *     só depois, os metadados; uma falha no meio do caminho é refeita na execução seguinte;</li>
+ *     <li>arquivos do GridFS mais antigos que a carência que nenhuma imagem do tier quente referencia
+ *     (uploads interrompidos, migrações para o tier frio interrompidas) são removidos;</li>
+ *     <li>opcionalmente ({@code app.storage.gc.reconcile-missing-blobs}), imagens ativas cujo blob não é
+ *     encontrado são registradas em log e métrica e marcadas em {@code blobAusenteDesde}.</li>
+ * </ul>
+ * As varreduras de reconciliação avançam por {@code _id} um lote por execução e recomeçam ao chegar ao fim.
+ * <p>
+ * Um blob não encontrado nunca leva à exclusão da imagem: o tier frio pode estar desmontado ou ilegível neste
+ * nó, e a imagem marcada continua ativa, fora do alcance de {@link #purgeDeleted()}. Quando o diretório do
+ * tier frio não está acessível, as imagens desse tier nem são verificadas.
+ */
+@Slf4j
+@Service
+public class BlobGarbageCollector {
+
+    static final String MISSING_BLOB_METRIC = "biometria.storage.gc.blobs_ausentes";
+
+    private final MongoTemplate mongoTemplate;
+    private final TieredBlobStorage tieredBlobStorage;
+    private final BiometricImageMetadataCache metadataCache;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.storage.gc.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.storage.gc.batch-size:200}")
+    private int batchSize;
+
+    @Value("${app.storage.gc.grace-minutes:10}")
+    private long graceMinutes;
+
+    @Value("${app.storage.gc.reconcile-missing-blobs:false}")
+    private boolean reconcileMissingBlobs;
+
+    @Value("${spring.data.mongodb.gridfs.bucket:fs}")
+    private String bucket;
+
+    private String orphanScanCursor;
+    private String danglingScanCursor;
+
+    public BlobGarbageCollector(MongoTemplate mongoTemplate, TieredBlobStorage tieredBlobStorage,
+                                BiometricImageMetadataCache metadataCache, MeterRegistry meterRegistry) {
+        this.mongoTemplate = mongoTemplate;
+        this.tieredBlobStorage = tieredBlobStorage;
+        this.metadataCache = metadataCache;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Scheduled(fixedDelayString = "${app.storage.gc.interval-ms:60000}",
+            initialDelayString = "${app.storage.gc.initial-delay-ms:60000}")
+    public void scheduledCollection() {
+        if (!enabled) {
+            return;
+        }
+
+        int purged = purgeDeleted();
+        int orphans = removeOrphanBlobs();
+        int dangling = reconcileMissingBlobs ? flagDanglingMetadata() : 0;
+        if (purged + orphans + dangling > 0) {
+            log.info("Coleta de blobs: {} imagens excluídas removidas, {} arquivos órfãos removidos, "
+                    + "{} imagens sem blob encontrado", purged, orphans, dangling);
+        }
+    }
+
+    /**
+     * Remove blobs e metadados de um lote de imagens excluídas logicamente.
+     *
+     * @return Quantidade de imagens removidas
+     */
+    public int purgeDeleted() {
+        Query query = new Query(Criteria.where("ativa").is(false).and("dataExclusao").lt(graceCutoff()))
+                .limit(batchSize);
+        List<BiometricImageMetadata> deleted = mongoTemplate.find(query, BiometricImageMetadata.class);
+        if (deleted.isEmpty()) {
+            return 0;
+        }
+
+        try {
+            tieredBlobStorage.deleteAll(deleted);
+        } catch (IOException | RuntimeException e) {
+            log.error("Erro ao remover blobs de {} imagens excluídas; nova tentativa na próxima execução",
+                    deleted.size(), e);
+            return 0;
+        }
+
+        List<String> ids = deleted.stream().map(BiometricImageMetadata::getId).toList();
+        return (int) mongoTemplate.remove(
+                new Query(Criteria.where("_id").in(ids).and("ativa").is(false)),
+                BiometricImageMetadata.class).getDeletedCount();
+    }
+
+    /**
+     * Remove um lote de arquivos do GridFS que nenhuma imagem referencia no tier quente.
+     *
+     * @return Quantidade de arquivos removidos
+     */
+    public int removeOrphanBlobs() {
+        Criteria criteria = Criteria.where("_id").lt(ObjectId.getSmallestWithDate(Date.from(
+                Instant.now().minus(graceMinutes, ChronoUnit.MINUTES))));
+        if (orphanScanCursor != null) {
+            criteria = criteria.gt(new ObjectId(orphanScanCursor));
+        }
+        Query query = new Query(criteria).with(Sort.by(Sort.Direction.ASC, "_id")).limit(batchSize);
+        query.fields().include("_id");
+
+        List<String> fileIds = mongoTemplate.find(query, Document.class, bucket + ".files").stream()
+                .map(file -> file.getObjectId("_id").toHexString())
+                .toList();
+        orphanScanCursor = fileIds.size() < batchSize ? null : fileIds.get(fileIds.size() - 1);
+        if (fileIds.isEmpty()) {
+            return 0;
+        }
+
+        // Uma cópia no GridFS de imagem já migrada para o tier frio também é lixo
+        Query referencedQuery = new Query(Criteria.where("fileId").in(fileIds)
+                .and("storageTier").ne(StorageTier.COLD));
+        referencedQuery.fields().include("fileId");
+        Set<String> orphans = new LinkedHashSet<>(fileIds);
+        mongoTemplate.find(referencedQuery, BiometricImageMetadata.class)
+                .forEach(metadata -> orphans.remove(metadata.getFileId()));
+        if (orphans.isEmpty()) {
+            return 0;
+        }
+
+        try {
+            tieredBlobStorage.storeFor(StorageTier.HOT).deleteAll(orphans);
+        } catch (IOException | RuntimeException e) {
+            log.error("Erro ao remover {} arquivos órfãos do GridFS", orphans.size(), e);
+            return 0;
+        }
+        log.warn("{} arquivos órfãos removidos do GridFS: {}", orphans.size(), orphans);
+        return orphans.size();
+    }
+
+    /**
+     * Verifica um lote de imagens ativas e marca as que não têm blob encontrado, sem desativá-las. Imagens de um
+     * tier inacessível neste nó são ignoradas; a marca de imagens cujo blob voltou a ser encontrado é removida.
+     *
+     * @return Quantidade de imagens marcadas nesta execução
+     */
+    public int flagDanglingMetadata() {
+        Criteria criteria = Criteria.where("ativa").is(true).and("dataCriacao").lt(graceCutoff());
+        if (danglingScanCursor != null) {
+            criteria = criteria.and("_id").gt(new ObjectId(danglingScanCursor));
+        }
+        Query query = new Query(criteria).with(Sort.by(Sort.Direction.ASC, "_id")).limit(batchSize);
+
+        List<BiometricImageMetadata> candidates = mongoTemplate.find(query, BiometricImageMetadata.class);
+        danglingScanCursor = candidates.size() < batchSize ? null : candidates.get(candidates.size() - 1).getId();
+
+        Set<StorageTier> unavailable = EnumSet.noneOf(StorageTier.class);
+        int flagged = 0;
+        for (BiometricImageMetadata metadata : candidates) {
+            StorageTier tier = TieredBlobStorage.tierOf(metadata);
+            if (unavailable.contains(tier)) {
+                continue;
+            }
+            if (!tieredBlobStorage.isAvailable(tier)) {
+                unavailable.add(tier);
+                log.warn("Tier {} inacessível neste nó; verificação de blobs ausentes ignorada para ele", tier);
+                continue;
+            }
+
+            if (tieredBlobStorage.exists(metadata)) {
+                if (metadata.getBlobAusenteDesde() != null) {
+                    clearMissingFlag(metadata);
+                }
+            } else if (metadata.getBlobAusenteDesde() == null && flagIfStillMissing(metadata.getId())) {
+                flagged++;
+            }
+        }
+        return flagged;
+    }
+
+    /**
+     * Relê a imagem antes de marcá-la, pois uma migração de tier pode ter apagado o blob lido na varredura
+     * logo após apontar os metadados para o novo tier.
+     */
+    private boolean flagIfStillMissing(String id) {
+        BiometricImageMetadata current = mongoTemplate.findById(id, BiometricImageMetadata.class);
+        if (current == null || !current.isAtiva() || current.getBlobAusenteDesde() != null
+                || !tieredBlobStorage.isAvailable(TieredBlobStorage.tierOf(current)) || tieredBlobStorage.exists(current)) {
+            return false;
+        }
+
+        Counter.builder(MISSING_BLOB_METRIC)
+                .description("Imagens ativas cujo blob não foi encontrado pela coleta")
+                .tag("tier", TieredBlobStorage.tierOf(current).name())
+                .register(meterRegistry)
+                .increment();
+        log.warn("Blob {} da imagem {} do usuário {} não encontrado no tier {}", current.getFileId(), id,
+                current.getUsuarioId(), TieredBlobStorage.tierOf(current));
+
+        mongoTemplate.updateFirst(new Query(Criteria.where("_id").is(id).and("blobAusenteDesde").exists(false)),
+                new Update().set("blobAusenteDesde", LocalDateTime.now()), BiometricImageMetadata.class);
+        metadataCache.evict(current);
+        return true;
+    }
+
+    private void clearMissingFlag(BiometricImageMetadata metadata) {
+        mongoTemplate.updateFirst(new Query(Criteria.where("_id").is(metadata.getId())),
+                new Update().unset("blobAusenteDesde"), BiometricImageMetadata.class);
+        metadataCache.evict(metadata);
+        log.info("Blob da imagem {} voltou a ser encontrado no tier {}", metadata.getId(),
+                TieredBlobStorage.tierOf(metadata));
+    }
+
+    private LocalDateTime graceCutoff() {
+        return LocalDateTime.now().minusMinutes(graceMinutes);
+    }
+}
@@ -0,0 +1,53 @@
+package com.quodbiometria.service.storage;
+
+import org.bson.Document;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Collection;
+
+/**
+ * Camada de armazenamento do conteúdo binário das imagens biométricas. Cada implementação representa um
+ * tier (GridFS para o tier quente, sistema de arquivos para o tier frio) e pode ser trocada por outra, como
+ * um object storage, sem alterar os serviços que a utilizam.
+ */
+public interface BlobStore {
+
+    /**
+     * Armazena um novo blob.
+     *
+     * @param content Conteúdo da imagem
+     * @param filename Nome original do arquivo
+     * @param contentType Tipo MIME do conteúdo
+     * @param metadata Metadados associados ao blob (podem ser ignorados pela implementação)
+     * @return Identificador do blob no armazenamento
+     * @throws IOException Se o conteúdo não puder ser gravado
+     */
+    String store(InputStream content, String filename, String contentType, Document metadata) throws IOException;
+
+    /**
+     * Abre o conteúdo de um blob para leitura.
+     *
+     * @param fileId Identificador do blob
+     * @return Stream com o conteúdo, que deve ser fechado pelo chamador
+     * @throws IOException Se o blob não existir ou não puder ser lido
+     */
+    InputStream open(String fileId) throws IOException;
+
+    boolean exists(String fileId);
+
+    void delete(String fileId) throws IOException;
+
+    /**
+     * Remove vários blobs. Identificadores inexistentes são ignorados; implementações podem sobrescrever
+     * para remover o lote em poucas operações.
+     *
+     * @param fileIds Identificadores dos blobs
+     * @throws IOException Se algum blob não puder ser removido
+     */
+    default void deleteAll(Collection<String> fileIds) throws IOException {
+        for (String fileId : fileIds) {
+            delete(fileId);
+        }
+    }
+}
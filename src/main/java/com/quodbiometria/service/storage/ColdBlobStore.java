@@ -0,0 +1,25 @@
+package com.quodbiometria.service.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Tier frio, que além de novos blobs recebe os migrados do tier quente mantendo o identificador original.
+ */
+public interface ColdBlobStore extends BlobStore {
+
+    /**
+     * Armazena um blob com um identificador já conhecido, usado na migração entre tiers.
+     *
+     * @param fileId Identificador do blob
+     * @param content Conteúdo da imagem
+     * @throws IOException Se o conteúdo não puder ser gravado
+     */
+    void storeWithId(String fileId, InputStream content) throws IOException;
+
+    /**
+     * Se o armazenamento está acessível neste nó. Um volume desmontado ou ilegível faz todos os blobs parecerem
+     * ausentes, então verificações de existência só são conclusivas quando este método devolve {@code true}.
+     */
+    boolean isAvailable();
+}
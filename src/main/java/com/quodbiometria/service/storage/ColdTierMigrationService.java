@@ -0,0 +1,107 @@
+package com.quodbiometria.service.storage;
+
+import com.mongodb.client.result.UpdateResult;
+import com.quodbiometria.model.entity.BiometricImageMetadata;
+import com.quodbiometria.model.enums.StorageTier;
+import com.quodbiometria.service.BiometricImageMetadataCache;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Migra periodicamente para o tier frio as imagens mais antigas que a idade definida na política, tirando
+ * seus blobs do working set do MongoDB.
+ * <p>
+ * A ordem das operações é copiar para o tier frio, apontar os metadados para o novo tier e só então apagar
+ * o blob do GridFS. Uma falha no meio do caminho deixa no máximo uma cópia órfã, nunca uma imagem ilegível.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ColdTierMigrationService {
+
+    private final MongoTemplate mongoTemplate;
+    private final TieredBlobStorage tieredBlobStorage;
+    private final BiometricImageMetadataCache metadataCache;
+
+    @Value("${app.storage.tiering.enabled:false}")
+    private boolean enabled;
+
+    @Value("${app.storage.tiering.min-age-days:90}")
+    private int minAgeDays;
+
+    @Value("${app.storage.tiering.batch-size:100}")
+    private int batchSize;
+
+    @Scheduled(fixedDelayString = "${app.storage.tiering.interval-ms:3600000}",
+            initialDelayString = "${app.storage.tiering.initial-delay-ms:300000}")
+    public void scheduledMigration() {
+        if (!enabled) {
+            return;
+        }
+
+        int migrated = migrateBatch();
+        if (migrated > 0) {
+            log.info("{} imagens migradas para o tier frio", migrated);
+        }
+    }
+
+    /**
+     * Migra um lote de imagens elegíveis para o tier frio.
+     *
+     * @return Quantidade de imagens migradas
+     */
+    public int migrateBatch() {
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(minAgeDays);
+        Query query = new Query(Criteria.where("storageTier").ne(StorageTier.COLD)
+                .and("dataCriacao").lt(cutoff)
+                .and("ativa").is(true))
+                .with(Sort.by(Sort.Direction.ASC, "dataCriacao"))
+                .limit(batchSize);
+
+        List<BiometricImageMetadata> candidates = mongoTemplate.find(query, BiometricImageMetadata.class);
+
+        int migrated = 0;
+        for (BiometricImageMetadata metadata : candidates) {
+            if (migrate(metadata)) {
+                migrated++;
+            }
+        }
+        return migrated;
+    }
+
+    private boolean migrate(BiometricImageMetadata metadata) {
+        try {
+            tieredBlobStorage.copyToCold(metadata);
+
+            UpdateResult result = mongoTemplate.updateFirst(
+                    new Query(Criteria.where("_id").is(metadata.getId()).and("storageTier").ne(StorageTier.COLD)
+                        .and("ativa").is(true)),
+                    new Update().set("storageTier", StorageTier.COLD).set("dataAtualizacao", LocalDateTime.now()),
+                    BiometricImageMetadata.class);
+
+            if (result.getModifiedCount() == 0) {
+                log.debug("Imagem {} já havia sido migrada por outro nó", metadata.getId());
+                return false;
+            }
+
+            metadataCache.evict(metadata.getId());
+            tieredBlobStorage.deleteFromHot(metadata.getFileId());
+            return true;
+        } catch (IOException | RuntimeException e) {
+            log.error("Erro ao migrar a imagem {} para o tier frio", metadata.getId(), e);
+            return false;
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.quodbiometria.service.storage;
+
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * Tier frio: blobs gravados em um diretório local ou montado via NFS. Os arquivos são distribuídos em dois
+ * níveis de subdiretórios a partir do identificador ({@code ab/cd/abcd...}) para evitar diretórios enormes.
+ */
+@Slf4j
+public class FileSystemBlobStore implements ColdBlobStore {
+
+    private final Path root;
+
+    public FileSystemBlobStore(Path root) {
+        this.root = root;
+    }
+
+    @Override
+    public String store(InputStream content, String filename, String contentType, Document metadata)
+            throws IOException {
+        String fileId = new ObjectId().toHexString();
+        storeWithId(fileId, content);
+        return fileId;
+    }
+
+    @Override
+    public void storeWithId(String fileId, InputStream content) throws IOException {
+        Path target = resolve(fileId);
+        Files.createDirectories(target.getParent());
+
+        Path temp = Files.createTempFile(target.getParent(), fileId, ".tmp");
+        try {
+            Files.copy(content, temp, StandardCopyOption.REPLACE_EXISTING);
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    @Override
+    public InputStream open(String fileId) throws IOException {
+        return Files.newInputStream(resolve(fileId));
+    }
+
+    @Override
+    public boolean exists(String fileId) {
+        return Files.exists(resolve(fileId));
+    }
+
+    @Override
+    public boolean isAvailable() {
+        return Files.isDirectory(root) && Files.isReadable(root);
+    }
+
+    @Override
+    public void delete(String fileId) throws IOException {
+        if (!Files.deleteIfExists(resolve(fileId))) {
+            log.debug("Blob {} já não existia no tier frio", fileId);
+        }
+    }
+
+    Path resolve(String fileId) {
+        if (fileId == null || fileId.length() < 4 || !fileId.matches("[0-9a-fA-F]+")) {
+            throw new IllegalArgumentException("Identificador de blob inválido: " + fileId);
+        }
+        return root.resolve(fileId.substring(0, 2)).resolve(fileId.substring(2, 4)).resolve(fileId);
+    }
+}
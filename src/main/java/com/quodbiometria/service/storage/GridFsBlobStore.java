@@ -0,0 +1,134 @@
+package com.quodbiometria.service.storage;
+
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.gridfs.model.GridFSFile;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Sorts;
+import com.quodbiometria.config.ImageTypePolicyProperties;
+import com.quodbiometria.config.ImageTypePolicyProperties.Policy;
+import org.bson.BsonValue;
+import org.bson.Document;
+import org.bson.types.Binary;
+import org.bson.types.ObjectId;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.gridfs.GridFsTemplate;
+import org.springframework.data.mongodb.gridfs.GridFsUpload;
+
+import java.io.ByteArrayInputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+/**
+ * Tier quente: blobs mantidos no GridFS, junto ao restante dos dados no MongoDB.
+ *
+ * <p>A leitura usa {@link PrefetchingChunkInputStream}, que consulta a coleção de chunks em lotes e busca os
+ * lotes seguintes em paralelo. O tamanho do chunk de novos arquivos pode ser definido por tipo de imagem em
+ * {@code app.image.policy.tipos.<tipo>.chunk-size-bytes}.
+ */
+public class GridFsBlobStore implements BlobStore {
+
+    private final GridFsTemplate gridFsTemplate;
+    private final MongoCollection<Document> filesCollection;
+    private final MongoCollection<Document> chunksCollection;
+    private final ImageTypePolicyProperties policyProperties;
+    private final Executor prefetchExecutor;
+    private final int chunksPerBatch;
+    private final int batchesAhead;
+
+    public GridFsBlobStore(GridFsTemplate gridFsTemplate, MongoCollection<Document> filesCollection,
+                           MongoCollection<Document> chunksCollection, ImageTypePolicyProperties policyProperties,
+                           Executor prefetchExecutor, int chunksPerBatch, int batchesAhead) {
+        this.gridFsTemplate = gridFsTemplate;
+        this.filesCollection = filesCollection;
+        this.chunksCollection = chunksCollection;
+        this.policyProperties = policyProperties;
+        this.prefetchExecutor = prefetchExecutor;
+        this.chunksPerBatch = chunksPerBatch;
+        this.batchesAhead = batchesAhead;
+    }
+
+    @Override
+    public String store(InputStream content, String filename, String contentType, Document metadata) {
+        Integer chunkSize = metadata != null ?
+                policyProperties.resolve(metadata.getString("tipoImagem"), Policy::getChunkSizeBytes) : null;
+
+        if (chunkSize == null || chunkSize <= 0) {
+            return gridFsTemplate.store(content, filename, contentType, metadata).toString();
+        }
+
+        GridFsUpload<ObjectId> upload = GridFsUpload.fromStream(content)
+                .filename(filename)
+                .contentType(contentType)
+                .metadata(metadata)
+                .chunkSize(chunkSize)
+                .build();
+        return gridFsTemplate.store(upload).toString();
+    }
+
+    @Override
+    public InputStream open(String fileId) throws IOException {
+        GridFSFile file = findFile(fileId);
+        if (file == null) {
+            throw new FileNotFoundException("Arquivo não encontrado no GridFS: " + fileId);
+        }
+        if (file.getLength() == 0) {
+            return new ByteArrayInputStream(new byte[0]);
+        }
+
+        int totalChunks = (int) ((file.getLength() + file.getChunkSize() - 1) / file.getChunkSize());
+        BsonValue filesId = file.getId();
+        return new PrefetchingChunkInputStream((first, count) -> fetchChunks(filesId, first, count),
+                prefetchExecutor, totalChunks, chunksPerBatch, batchesAhead);
+    }
+
+    @Override
+    public boolean exists(String fileId) {
+        return findFile(fileId) != null;
+    }
+
+    @Override
+    public void delete(String fileId) {
+        gridFsTemplate.delete(byId(fileId));
+    }
+
+    /**
+     * Remove o lote com uma operação em cada coleção do bucket. Os chunks são removidos antes dos
+     * documentos de arquivo: uma interrupção entre as duas deixa apenas arquivos vazios, que a próxima
+     * execução remove, e nunca chunks sem arquivo.
+     */
+    @Override
+    public void deleteAll(Collection<String> fileIds) {
+        if (fileIds.isEmpty()) {
+            return;
+        }
+        List<ObjectId> ids = fileIds.stream().map(ObjectId::new).toList();
+        chunksCollection.deleteMany(Filters.in("files_id", ids));
+        filesCollection.deleteMany(Filters.in("_id", ids));
+    }
+
+    private List<byte[]> fetchChunks(BsonValue filesId, int first, int count) {
+        List<byte[]> chunks = new ArrayList<>(count);
+        chunksCollection.find(Filters.and(
+                        Filters.eq("files_id", filesId),
+                        Filters.gte("n", first),
+                        Filters.lt("n", first + count)))
+                .sort(Sorts.ascending("n"))
+                .batchSize(count)
+                .forEach(chunk -> chunks.add(chunk.get("data", Binary.class).getData()));
+        return chunks;
+    }
+
+    private GridFSFile findFile(String fileId) {
+        return gridFsTemplate.findOne(byId(fileId));
+    }
+
+    private Query byId(String fileId) {
+        return new Query(Criteria.where("_id").is(new ObjectId(fileId)));
+    }
+}
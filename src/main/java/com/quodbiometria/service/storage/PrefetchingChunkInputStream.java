@@ -0,0 +1,146 @@
+package com.quodbiometria.service.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+
+/**
+ * {@link InputStream} sobre um arquivo dividido em chunks numerados (como no GridFS) que busca os próximos
+ * chunks em lotes, em paralelo com o consumo. Enquanto o chamador lê um lote, até {@code batchesAhead} lotes
+ * seguintes já estão sendo buscados no pool informado, trocando uma ida ao banco por chunk por uma consulta
+ * por lote.
+ */
+public class PrefetchingChunkInputStream extends InputStream {
+
+    /**
+     * Busca {@code count} chunks consecutivos a partir de {@code firstChunk}, em ordem.
+     */
+    @FunctionalInterface
+    public interface ChunkFetcher {
+        List<byte[]> fetch(int firstChunk, int count) throws IOException;
+    }
+
+    private final ChunkFetcher fetcher;
+    private final Executor executor;
+    private final int totalChunks;
+    private final int chunksPerBatch;
+    private final int batchesAhead;
+
+    private final Deque<CompletableFuture<List<byte[]>>> pendingBatches = new ArrayDeque<>();
+    private final Deque<byte[]> readyChunks = new ArrayDeque<>();
+    private int nextChunkToFetch;
+    private byte[] current;
+    private int position;
+    private boolean closed;
+
+    public PrefetchingChunkInputStream(ChunkFetcher fetcher, Executor executor, int totalChunks,
+                                       int chunksPerBatch, int batchesAhead) {
+        if (chunksPerBatch < 1 || batchesAhead < 1) {
+            throw new IllegalArgumentException("O tamanho do lote e a quantidade de lotes devem ser positivos");
+        }
+        this.fetcher = fetcher;
+        this.executor = executor;
+        this.totalChunks = totalChunks;
+        this.chunksPerBatch = chunksPerBatch;
+        this.batchesAhead = batchesAhead;
+    }
+
+    @Override
+    public int read() throws IOException {
+        if (!ensureCurrentChunk()) {
+            return -1;
+        }
+        return current[position++] & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] buffer, int offset, int length) throws IOException {
+        if (length == 0) {
+            return 0;
+        }
+
+        int copied = 0;
+        while (copied < length && ensureCurrentChunk()) {
+            int count = Math.min(length - copied, current.length - position);
+            System.arraycopy(current, position, buffer, offset + copied, count);
+            position += count;
+            copied += count;
+        }
+        return copied == 0 ? -1 : copied;
+    }
+
+    @Override
+    public int available() {
+        return current != null ? current.length - position : 0;
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        pendingBatches.forEach(batch -> batch.cancel(false));
+        pendingBatches.clear();
+        readyChunks.clear();
+        current = null;
+    }
+
+    private boolean ensureCurrentChunk() throws IOException {
+        if (closed) {
+            throw new IOException("Stream fechado");
+        }
+
+        while (current == null || position >= current.length) {
+            if (readyChunks.isEmpty()) {
+                schedulePrefetch();
+                CompletableFuture<List<byte[]>> batch = pendingBatches.poll();
+                if (batch == null) {
+                    current = null;
+                    return false;
+                }
+                readyChunks.addAll(await(batch));
+                schedulePrefetch();
+            }
+            current = readyChunks.poll();
+            position = 0;
+        }
+        return true;
+    }
+
+    private void schedulePrefetch() {
+        while (pendingBatches.size() < batchesAhead && nextChunkToFetch < totalChunks) {
+            int first = nextChunkToFetch;
+            int count = Math.min(chunksPerBatch, totalChunks - first);
+            nextChunkToFetch += count;
+            pendingBatches.add(CompletableFuture.supplyAsync(() -> fetchBatch(first, count), executor));
+        }
+    }
+
+    private List<byte[]> fetchBatch(int first, int count) {
+        try {
+            List<byte[]> chunks = fetcher.fetch(first, count);
+            if (chunks.size() != count) {
+                throw new IOException("Chunks ausentes: esperados " + count + " a partir de " + first
+                        + ", encontrados " + chunks.size());
+            }
+            return chunks;
+        } catch (IOException e) {
+            throw new CompletionException(e);
+        }
+    }
+
+    private List<byte[]> await(CompletableFuture<List<byte[]>> batch) throws IOException {
+        try {
+            return batch.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException ioException) {
+                throw ioException;
+            }
+            throw new IOException("Erro ao buscar chunks do arquivo", cause);
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.quodbiometria.service.storage;
+
+import com.quodbiometria.model.entity.BiometricImageMetadata;
+import com.quodbiometria.model.enums.StorageTier;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Ponto de acesso único ao conteúdo das imagens. Novos blobs sempre entram no tier quente; leituras e
+ * exclusões são direcionadas ao tier registrado nos metadados da imagem.
+ */
+@Slf4j
+@Service
+public class TieredBlobStorage {
+
+    private final BlobStore hotBlobStore;
+    private final Optional<ColdBlobStore> coldBlobStore;
+
+    public TieredBlobStorage(@Qualifier("hotBlobStore") BlobStore hotBlobStore,
+                             @Qualifier("coldBlobStore") Optional<ColdBlobStore> coldBlobStore) {
+        this.hotBlobStore = hotBlobStore;
+        this.coldBlobStore = coldBlobStore;
+    }
+
+    public String store(InputStream content, String filename, String contentType, Document metadata)
+            throws IOException {
+        return hotBlobStore.store(content, filename, contentType, metadata);
+    }
+
+    public InputStream open(BiometricImageMetadata metadata) throws IOException {
+        return storeFor(tierOf(metadata)).open(metadata.getFileId());
+    }
+
+    public boolean exists(BiometricImageMetadata metadata) {
+        return storeFor(tierOf(metadata)).exists(metadata.getFileId());
+    }
+
+    /**
+     * Remove os blobs de um lote de imagens, incluindo os originais preservados no tier frio, agrupando as
+     * exclusões por tier.
+     *
+     * @param images Metadados das imagens cujos blobs serão removidos
+     * @throws IOException Se algum blob não puder ser removido
+     */
+    public void deleteAll(Collection<BiometricImageMetadata> images) throws IOException {
+        Map<StorageTier, List<String>> fileIdsByTier = new EnumMap<>(StorageTier.class);
+        for (BiometricImageMetadata metadata : images) {
+            if (metadata.getFileId() != null) {
+                fileIdsByTier.computeIfAbsent(tierOf(metadata), tier -> new ArrayList<>()).add(metadata.getFileId());
+            }
+            if (metadata.getOriginalFileId() != null) {
+                fileIdsByTier.computeIfAbsent(StorageTier.COLD, tier -> new ArrayList<>())
+                        .add(metadata.getOriginalFileId());
+            }
+        }
+        for (Map.Entry<StorageTier, List<String>> entry : fileIdsByTier.entrySet()) {
+            storeFor(entry.getKey()).deleteAll(entry.getValue());
+        }
+    }
+
+    /**
+     * Copia o blob de uma imagem do tier quente para o tier frio, mantendo o mesmo identificador.
+     *
+     * @param metadata Metadados da imagem a ser copiada
+     * @throws IOException Se o blob não puder ser lido ou gravado
+     */
+    public void copyToCold(BiometricImageMetadata metadata) throws IOException {
+        try (InputStream content = hotBlobStore.open(metadata.getFileId())) {
+            coldStore().storeWithId(metadata.getFileId(), content);
+        }
+    }
+
+    public void deleteFromHot(String fileId) throws IOException {
+        hotBlobStore.delete(fileId);
+    }
+
+    /**
+     * Se a existência de blobs no tier pode ser verificada neste nó.
+     */
+    public boolean isAvailable(StorageTier tier) {
+        return tier != StorageTier.COLD || coldBlobStore.map(ColdBlobStore::isAvailable).orElse(false);
+    }
+
+    public BlobStore storeFor(StorageTier tier) {
+        return tier == StorageTier.COLD ? coldStore() : hotBlobStore;
+    }
+
+    private ColdBlobStore coldStore() {
+        return coldBlobStore.orElseThrow(() -> new IllegalStateException(
+                "Tier frio não configurado (app.storage.cold.path)"));
+    }
+
+    public static StorageTier tierOf(BiometricImageMetadata metadata) {
+        return metadata.getStorageTier() != null ? metadata.getStorageTier() : StorageTier.HOT;
+    }
+}
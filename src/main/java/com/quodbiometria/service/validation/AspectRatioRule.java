@@ -0,0 +1,54 @@
+package com.quodbiometria.service.validation;
+
+import com.quodbiometria.config.ImageTypePolicyProperties;
+import com.quodbiometria.config.ImageTypePolicyProperties.Policy;
+import com.quodbiometria.exception.ImageValidationException;
+import com.quodbiometria.util.ImageProbe.ImageInfo;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+
+/**
+ * Proporção largura/altura por tipo ({@code app.image.policy.tipos.<tipo>.min-aspect-ratio/max-aspect-ratio}).
+ * Tipos sem limites configurados não são verificados.
+ */
+@Component
+@RequiredArgsConstructor
+public class AspectRatioRule implements ValidationRule {
+
+    private final ImageTypePolicyProperties policyProperties;
+
+    @Override
+    public String getName() {
+        return "proporcao";
+    }
+
+    @Override
+    public CostClass getCostClass() {
+        return CostClass.HEADER;
+    }
+
+    @Override
+    public void validate(ValidationContext context) throws ImageValidationException {
+        String tipoImagem = context.getTipoImagem();
+        Double minAspectRatio = policyProperties.resolve(tipoImagem, Policy::getMinAspectRatio);
+        Double maxAspectRatio = policyProperties.resolve(tipoImagem, Policy::getMaxAspectRatio);
+        if (minAspectRatio == null && maxAspectRatio == null) {
+            return;
+        }
+
+        ImageInfo image = context.getImageInfo();
+        double aspectRatio = (double) image.width() / image.height();
+        if ((minAspectRatio != null && aspectRatio < minAspectRatio)
+                || (maxAspectRatio != null && aspectRatio > maxAspectRatio)) {
+            throw new ImageValidationException(String.format(Locale.ROOT,
+                    "A proporção da imagem (%.2f) está fora do padrão aceitável para %s: entre %s e %s",
+                    aspectRatio, tipoImagem, format(minAspectRatio), format(maxAspectRatio)));
+        }
+    }
+
+    private String format(Double value) {
+        return value != null ? String.format(Locale.ROOT, "%.2f", value) : "-";
+    }
+}
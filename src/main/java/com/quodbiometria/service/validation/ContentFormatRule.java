@@ -0,0 +1,60 @@
+package com.quodbiometria.service.validation;
+
+import com.quodbiometria.exception.ImageValidationException;
+import com.quodbiometria.util.ImageProbe.Format;
+import com.quodbiometria.util.ImageProbe.ImageInfo;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Confere o formato identificado pelos bytes mágicos com os formatos aceitos e com o Content-Type
+ * declarado, que é o usado depois para servir a imagem.
+ */
+@Component
+public class ContentFormatRule implements ValidationRule {
+
+    @Value("${app.image.validation.allowed-formats:jpeg,jpg,png}")
+    private String[] allowedFormats;
+
+    @Override
+    public String getName() {
+        return "formato-conteudo";
+    }
+
+    @Override
+    public CostClass getCostClass() {
+        return CostClass.HEADER;
+    }
+
+    @Override
+    public void validate(ValidationContext context) throws ImageValidationException {
+        ImageInfo imageInfo = context.getImageInfo();
+        List<String> allowedExtensions = Arrays.asList(allowedFormats);
+        boolean allowed = imageInfo.format() == Format.PNG ?
+                allowedExtensions.contains("png") :
+                allowedExtensions.contains("jpeg") || allowedExtensions.contains("jpg");
+
+        if (!allowed) {
+            throw new ImageValidationException(
+                    String.format("Formato de arquivo não permitido. Formatos aceitos: %s",
+                            String.join(", ", allowedFormats)));
+        }
+
+        String contentType = normalizeContentType(context.getFile().getContentType());
+        if (!imageInfo.format().getContentType().equals(contentType)) {
+            throw new ImageValidationException(
+                    "O conteúdo do arquivo não corresponde ao formato declarado: " + imageInfo.format());
+        }
+    }
+
+    private String normalizeContentType(String contentType) {
+        if (contentType == null) {
+            return "";
+        }
+        String normalized = contentType.split(";")[0].trim().toLowerCase();
+        return "image/jpg".equals(normalized) || "image/pjpeg".equals(normalized) ? "image/jpeg" : normalized;
+    }
+}
@@ -0,0 +1,16 @@
+package com.quodbiometria.service.validation;
+
+/**
+ * Classe de custo de uma regra de validação, em ordem crescente de custo. O motor avalia as regras nessa
+ * ordem para que uma rejeição nunca pague por uma verificação mais cara.
+ */
+public enum CostClass {
+    /** Usa apenas dados da requisição (nome, tamanho, Content-Type). */
+    METADATA,
+    /** Lê apenas o cabeçalho da imagem. */
+    HEADER,
+    /** Precisa da imagem decodificada. */
+    DECODED_PIXELS,
+    /** Executa um modelo (ex.: detecção facial). */
+    MODEL_INFERENCE
+}
@@ -0,0 +1,58 @@
+package com.quodbiometria.service.validation;
+
+import com.quodbiometria.exception.ImageValidationException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Confere a extensão e o Content-Type declarados, antes de qualquer leitura do conteúdo.
+ */
+@Component
+public class FileFormatRule implements ValidationRule {
+
+    @Value("${app.image.validation.allowed-formats:jpeg,jpg,png}")
+    private String[] allowedFormats;
+
+    @Override
+    public String getName() {
+        return "formato-arquivo";
+    }
+
+    @Override
+    public CostClass getCostClass() {
+        return CostClass.METADATA;
+    }
+
+    @Override
+    public void validate(ValidationContext context) throws ImageValidationException {
+        String originalFilename = context.getFile().getOriginalFilename();
+        if (originalFilename == null || originalFilename.isEmpty()) {
+            throw new ImageValidationException("Nome do arquivo não fornecido");
+        }
+
+        String fileExtension = getFileExtension(originalFilename).toLowerCase();
+        List<String> allowedExtensions = Arrays.asList(allowedFormats);
+
+        if (!allowedExtensions.contains(fileExtension)) {
+            throw new ImageValidationException(
+                    String.format("Formato de arquivo não permitido. Formatos aceitos: %s",
+                            String.join(", ", allowedFormats)));
+        }
+
+        String contentType = context.getFile().getContentType();
+        if (contentType == null || !contentType.startsWith("image/")) {
+            throw new ImageValidationException("O arquivo enviado não é uma imagem válida");
+        }
+    }
+
+    private String getFileExtension(String filename) {
+        int lastDotIndex = filename.lastIndexOf('.');
+        if (lastDotIndex > 0) {
+            return filename.substring(lastDotIndex + 1);
+        }
+        return "";
+    }
+}
@@ -0,0 +1,30 @@
+package com.quodbiometria.service.validation;
+
+import com.quodbiometria.exception.ImageValidationException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+@Component
+public class FileSizeRule implements ValidationRule {
+
+    @Value("${app.image.validation.max-size:5242880}")
+    private long maxFileSize;
+
+    @Override
+    public String getName() {
+        return "tamanho-arquivo";
+    }
+
+    @Override
+    public CostClass getCostClass() {
+        return CostClass.METADATA;
+    }
+
+    @Override
+    public void validate(ValidationContext context) throws ImageValidationException {
+        if (context.getFile().getSize() > maxFileSize) {
+            throw new ImageValidationException(
+                    String.format("O tamanho do arquivo excede o limite máximo permitido de %d bytes", maxFileSize));
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.quodbiometria.service.validation;
+
+import com.quodbiometria.config.ImageTypePolicyProperties;
+import com.quodbiometria.config.ImageTypePolicyProperties.Policy;
+import com.quodbiometria.exception.ImageValidationException;
+import com.quodbiometria.util.ImageProbe.ImageInfo;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Dimensões mínimas por tipo ({@code app.image.policy.tipos.<tipo>.min-width/min-height}), com
+ * {@code app.image.validation.min-width/min-height} para os tipos sem configuração própria.
+ */
+@Component
+@RequiredArgsConstructor
+public class MinDimensionsRule implements ValidationRule {
+
+    private final ImageTypePolicyProperties policyProperties;
+
+    @Value("${app.image.validation.min-width:100}")
+    private int minWidth;
+
+    @Value("${app.image.validation.min-height:100}")
+    private int minHeight;
+
+    @Override
+    public String getName() {
+        return "dimensoes-minimas";
+    }
+
+    @Override
+    public CostClass getCostClass() {
+        return CostClass.HEADER;
+    }
+
+    @Override
+    public void validate(ValidationContext context) throws ImageValidationException {
+        ImageInfo image = context.getImageInfo();
+        String tipoImagem = context.getTipoImagem();
+
+        Integer configuredWidth = policyProperties.resolve(tipoImagem, Policy::getMinWidth);
+        Integer configuredHeight = policyProperties.resolve(tipoImagem, Policy::getMinHeight);
+        int requiredMinWidth = configuredWidth != null ? configuredWidth : minWidth;
+        int requiredMinHeight = configuredHeight != null ? configuredHeight : minHeight;
+
+        if (image.width() < requiredMinWidth || image.height() < requiredMinHeight) {
+            throw new ImageValidationException(
+                    String.format("A imagem não atende às dimensões mínimas requeridas para %s: %dx%d pixels",
+                            tipoImagem, requiredMinWidth, requiredMinHeight));
+        }
+    }
+}
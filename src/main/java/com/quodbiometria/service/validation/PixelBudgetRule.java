@@ -0,0 +1,28 @@
+package com.quodbiometria.service.validation;
+
+import com.quodbiometria.exception.ImageValidationException;
+import com.quodbiometria.service.PixelBudgetGuard;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class PixelBudgetRule implements ValidationRule {
+
+    private final PixelBudgetGuard pixelBudgetGuard;
+
+    @Override
+    public String getName() {
+        return "limite-pixels";
+    }
+
+    @Override
+    public CostClass getCostClass() {
+        return CostClass.HEADER;
+    }
+
+    @Override
+    public void validate(ValidationContext context) throws ImageValidationException {
+        pixelBudgetGuard.check(context.getImageInfo(), context.getTipoImagem());
+    }
+}
@@ -0,0 +1,47 @@
+package com.quodbiometria.service.validation;
+
+import com.quodbiometria.exception.ImageValidationException;
+import com.quodbiometria.util.ImageProbe;
+import com.quodbiometria.util.ImageProbe.ImageInfo;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Imagem em validação. O cabeçalho é lido uma única vez, na primeira regra que precisar dele.
+ */
+public class ValidationContext {
+
+    private final MultipartFile file;
+    private final String tipoImagem;
+    private ImageInfo imageInfo;
+
+    public ValidationContext(MultipartFile file, String tipoImagem) {
+        this.file = file;
+        this.tipoImagem = tipoImagem;
+    }
+
+    public MultipartFile getFile() {
+        return file;
+    }
+
+    public String getTipoImagem() {
+        return tipoImagem;
+    }
+
+    public ImageInfo getImageInfo() throws ImageValidationException {
+        if (imageInfo == null) {
+            try (InputStream content = file.getInputStream()) {
+                imageInfo = ImageProbe.probe(content);
+            } catch (IOException e) {
+                throw new ImageValidationException("Erro ao processar a imagem: " + e.getMessage());
+            }
+            if (imageInfo == null) {
+                throw new ImageValidationException(
+                        "Não foi possível ler a imagem. Formato inválido ou arquivo corrompido.");
+            }
+        }
+        return imageInfo;
+    }
+}
@@ -0,0 +1,18 @@
+package com.quodbiometria.service.validation;
+
+import com.quodbiometria.exception.ImageValidationException;
+
+public interface ValidationRule {
+
+    /**
+     * Nome usado na configuração ({@code regras-desativadas}, {@code ordem-regras}) e nas métricas.
+     */
+    String getName();
+
+    CostClass getCostClass();
+
+    /**
+     * @throws ImageValidationException Se a imagem não atender à regra
+     */
+    void validate(ValidationContext context) throws ImageValidationException;
+}
@@ -0,0 +1,81 @@
+package com.quodbiometria.service.validation;
+
+import com.quodbiometria.config.ImageTypePolicyProperties;
+import com.quodbiometria.config.ImageTypePolicyProperties.Policy;
+import com.quodbiometria.exception.ImageValidationException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Avalia as regras de validação da mais barata para a mais cara ({@link CostClass}), parando na primeira
+ * rejeição. Dentro da mesma classe de custo vale a ordem de {@code app.image.validation.ordem-regras}; as
+ * métricas {@value #RULE_METRIC} (por regra e resultado) mostram quais regras mais rejeitam e devem vir antes.
+ * Regras podem ser desligadas por tipo em {@code app.image.policy.tipos.<tipo>.regras-desativadas}.
+ */
+@Slf4j
+@Component
+public class ValidationRuleEngine {
+
+    static final String RULE_METRIC = "biometria.validacao.regras";
+
+    private final List<ValidationRule> rules;
+    private final ImageTypePolicyProperties policyProperties;
+    private final MeterRegistry meterRegistry;
+
+    public ValidationRuleEngine(List<ValidationRule> rules,
+                                ImageTypePolicyProperties policyProperties,
+                                MeterRegistry meterRegistry,
+                                @Value("${app.image.validation.ordem-regras:}") String[] ruleOrder) {
+        List<String> order = Arrays.asList(ruleOrder);
+        this.rules = rules.stream()
+                .sorted(Comparator.comparing(ValidationRule::getCostClass)
+                        .thenComparingInt(rule -> order.contains(rule.getName()) ?
+                                order.indexOf(rule.getName()) : Integer.MAX_VALUE)
+                        .thenComparing(ValidationRule::getName))
+                .toList();
+        this.policyProperties = policyProperties;
+        this.meterRegistry = meterRegistry;
+        log.info("Regras de validação de imagem: {}", this.rules.stream().map(ValidationRule::getName).toList());
+    }
+
+    public void validate(MultipartFile file, String tipoImagem) throws ImageValidationException {
+        ValidationContext context = new ValidationContext(file, tipoImagem);
+        List<String> disabled = policyProperties.resolve(tipoImagem, Policy::getRegrasDesativadas);
+
+        for (ValidationRule rule : rules) {
+            if (disabled != null && disabled.contains(rule.getName())) {
+                continue;
+            }
+            try {
+                rule.validate(context);
+            } catch (ImageValidationException e) {
+                count(rule, tipoImagem, "rejeitada");
+                throw e;
+            }
+            count(rule, tipoImagem, "aprovada");
+        }
+    }
+
+    List<ValidationRule> getRules() {
+        return rules;
+    }
+
+    private void count(ValidationRule rule, String tipoImagem, String resultado) {
+        Counter.builder(RULE_METRIC)
+                .description("Avaliações das regras de validação de imagem")
+                .tag("regra", rule.getName())
+                .tag("custo", rule.getCostClass().name())
+                .tag("tipoImagem", policyProperties.metricTag(tipoImagem))
+                .tag("resultado", resultado)
+                .register(meterRegistry)
+                .increment();
+    }
+}
@@ -0,0 +1,328 @@
+package com.quodbiometria.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Leitor de EXIF limitado aos primeiros {@value #SCAN_LIMIT} bytes do arquivo. Localiza o segmento APP1 do
+ * JPEG ou o chunk {@code eXIf} do PNG e decodifica apenas as tags usadas pela aplicação (IFD0, sub-IFD EXIF e
+ * IFD de GPS), sem montar a árvore completa de diretórios TIFF.
+ *
+ * <p>As chaves do mapa retornado são as mesmas gravadas em {@code exifMetadata}: {@code camera.fabricante},
+ * {@code camera.modelo}, {@code software}, {@code data.original}, {@code resolucao.x}, {@code resolucao.y},
+ * {@code orientacao}, {@code largura}, {@code altura}, {@code gps.latitude} e {@code gps.longitude}.
+ */
+public final class ExifSegmentReader {
+
+    public static final int SCAN_LIMIT = 64 * 1024;
+
+    private static final byte[] EXIF_HEADER = {'E', 'x', 'i', 'f', 0, 0};
+    private static final byte[] PNG_SIGNATURE = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n'};
+
+    private static final Map<Integer, String> IFD0_TAGS = Map.of(
+            0x010F, "camera.fabricante",
+            0x0110, "camera.modelo",
+            0x0131, "software",
+            0x011A, "resolucao.x",
+            0x011B, "resolucao.y",
+            0x0112, "orientacao",
+            0x0100, "largura",
+            0x0101, "altura");
+    private static final Map<Integer, String> EXIF_IFD_TAGS = Map.of(0x9003, "data.original");
+
+    private static final int TAG_EXIF_IFD = 0x8769;
+    private static final int TAG_GPS_IFD = 0x8825;
+    private static final int TAG_GPS_LATITUDE_REF = 0x0001;
+    private static final int TAG_GPS_LATITUDE = 0x0002;
+    private static final int TAG_GPS_LONGITUDE_REF = 0x0003;
+    private static final int TAG_GPS_LONGITUDE = 0x0004;
+
+    private static final int TYPE_BYTE = 1;
+    private static final int TYPE_ASCII = 2;
+    private static final int TYPE_SHORT = 3;
+    private static final int TYPE_LONG = 4;
+    private static final int TYPE_RATIONAL = 5;
+    private static final int TYPE_SLONG = 9;
+    private static final int TYPE_SRATIONAL = 10;
+
+    private ExifSegmentReader() {
+    }
+
+    /**
+     * @return Tags encontradas; vazio se o arquivo não tiver EXIF dentro do limite de leitura
+     */
+    public static Map<String, String> read(InputStream inputStream) throws IOException {
+        byte[] head = inputStream.readNBytes(SCAN_LIMIT);
+        Map<String, String> tags = new HashMap<>();
+
+        int[] tiff = locateTiff(head);
+        if (tiff != null) {
+            try {
+                new TiffReader(head, tiff[0], tiff[1]).read(tags);
+            } catch (IndexOutOfBoundsException e) {
+                // EXIF truncado pelo limite de leitura ou malformado: mantém as tags lidas até aqui
+            }
+        }
+        return tags;
+    }
+
+    /**
+     * @return Início e fim (exclusivo) do bloco TIFF dentro de {@code data}, ou {@code null}
+     */
+    private static int[] locateTiff(byte[] data) {
+        if (data.length > 4 && u8(data, 0) == 0xFF && u8(data, 1) == 0xD8) {
+            return locateJpegApp1(data);
+        }
+        if (data.length > PNG_SIGNATURE.length && startsWith(data, 0, PNG_SIGNATURE)) {
+            return locatePngExif(data);
+        }
+        return null;
+    }
+
+    private static int[] locateJpegApp1(byte[] data) {
+        int pos = 2;
+        while (pos + 4 <= data.length) {
+            if (u8(data, pos) != 0xFF) {
+                return null;
+            }
+            int marker = u8(data, pos + 1);
+            if (marker == 0xFF) {
+                pos++;
+                continue;
+            }
+            if (marker == 0xD9 || marker == 0xDA) {
+                return null;
+            }
+            if (marker == 0x01 || (marker >= 0xD0 && marker <= 0xD7)) {
+                pos += 2;
+                continue;
+            }
+
+            int length = (u8(data, pos + 2) << 8) | u8(data, pos + 3);
+            int segmentStart = pos + 4;
+            int segmentEnd = Math.min(pos + 2 + length, data.length);
+            if (marker == 0xE1 && startsWith(data, segmentStart, EXIF_HEADER)) {
+                return new int[]{segmentStart + EXIF_HEADER.length, segmentEnd};
+            }
+            pos += 2 + length;
+        }
+        return null;
+    }
+
+    private static int[] locatePngExif(byte[] data) {
+        int pos = PNG_SIGNATURE.length;
+        while (pos + 8 <= data.length) {
+            long length = ((long) u8(data, pos) << 24) | (u8(data, pos + 1) << 16)
+                    | (u8(data, pos + 2) << 8) | u8(data, pos + 3);
+            String type = new String(data, pos + 4, 4, StandardCharsets.US_ASCII);
+            int chunkStart = pos + 8;
+            if ("eXIf".equals(type)) {
+                return new int[]{chunkStart, (int) Math.min(chunkStart + length, data.length)};
+            }
+            if ("IDAT".equals(type) || "IEND".equals(type)) {
+                return null;
+            }
+            pos = (int) Math.min((long) chunkStart + length + 4, Integer.MAX_VALUE);
+        }
+        return null;
+    }
+
+    private static boolean startsWith(byte[] data, int offset, byte[] prefix) {
+        if (offset + prefix.length > data.length) {
+            return false;
+        }
+        for (int i = 0; i < prefix.length; i++) {
+            if (data[offset + i] != prefix[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int u8(byte[] data, int offset) {
+        return data[offset] & 0xFF;
+    }
+
+    /**
+     * Leitura das IFDs dentro do bloco TIFF. Offsets são relativos ao início do bloco.
+     */
+    private static final class TiffReader {
+
+        private final byte[] data;
+        private final int base;
+        private final int end;
+        private boolean littleEndian;
+
+        TiffReader(byte[] data, int base, int end) {
+            this.data = data;
+            this.base = base;
+            this.end = end;
+        }
+
+        void read(Map<String, String> tags) {
+            if (end - base < 8) {
+                return;
+            }
+            if (data[base] == 'I' && data[base + 1] == 'I') {
+                littleEndian = true;
+            } else if (data[base] != 'M' || data[base + 1] != 'M') {
+                return;
+            }
+            if (u16(2) != 42) {
+                return;
+            }
+
+            int exifIfd = -1;
+            int gpsIfd = -1;
+            int ifd0 = (int) u32(4);
+            int count = u16(ifd0);
+            for (int i = 0; i < count; i++) {
+                int entry = ifd0 + 2 + i * 12;
+                int tag = u16(entry);
+                if (tag == TAG_EXIF_IFD) {
+                    exifIfd = (int) u32(entry + 8);
+                } else if (tag == TAG_GPS_IFD) {
+                    gpsIfd = (int) u32(entry + 8);
+                } else if (IFD0_TAGS.containsKey(tag)) {
+                    putValue(tags, IFD0_TAGS.get(tag), entry);
+                }
+            }
+
+            if (exifIfd > 0) {
+                readExifIfd(tags, exifIfd);
+            }
+            if (gpsIfd > 0) {
+                readGpsIfd(tags, gpsIfd);
+            }
+        }
+
+        private void readExifIfd(Map<String, String> tags, int offset) {
+            int count = u16(offset);
+            for (int i = 0; i < count; i++) {
+                int entry = offset + 2 + i * 12;
+                String key = EXIF_IFD_TAGS.get(u16(entry));
+                if (key != null) {
+                    putValue(tags, key, entry);
+                }
+            }
+        }
+
+        private void readGpsIfd(Map<String, String> tags, int offset) {
+            String latitudeRef = null;
+            String longitudeRef = null;
+            Double latitude = null;
+            Double longitude = null;
+
+            int count = u16(offset);
+            for (int i = 0; i < count; i++) {
+                int entry = offset + 2 + i * 12;
+                switch (u16(entry)) {
+                    case TAG_GPS_LATITUDE_REF -> latitudeRef = ascii(entry);
+                    case TAG_GPS_LATITUDE -> latitude = degrees(entry);
+                    case TAG_GPS_LONGITUDE_REF -> longitudeRef = ascii(entry);
+                    case TAG_GPS_LONGITUDE -> longitude = degrees(entry);
+                    default -> {
+                    }
+                }
+            }
+
+            if (latitude != null && longitude != null) {
+                tags.put("gps.latitude", String.valueOf("S".equalsIgnoreCase(latitudeRef) ? -latitude : latitude));
+                tags.put("gps.longitude", String.valueOf("W".equalsIgnoreCase(longitudeRef) ? -longitude : longitude));
+            }
+        }
+
+        private void putValue(Map<String, String> tags, String key, int entry) {
+            String value;
+            try {
+                value = switch (u16(entry + 2)) {
+                    case TYPE_ASCII -> ascii(entry);
+                    case TYPE_BYTE -> String.valueOf(u8(data, base + valueOffset(entry, 1)));
+                    case TYPE_SHORT -> String.valueOf(u16(valueOffset(entry, 2)));
+                    case TYPE_LONG, TYPE_SLONG -> String.valueOf(u32(valueOffset(entry, 4)));
+                    case TYPE_RATIONAL, TYPE_SRATIONAL -> rational(valueOffset(entry, 8));
+                    default -> null;
+                };
+            } catch (IndexOutOfBoundsException e) {
+                // Valor fora do trecho lido: ignora só esta tag
+                return;
+            }
+            if (value != null && !value.isEmpty()) {
+                tags.put(key, value);
+            }
+        }
+
+        private String ascii(int entry) {
+            int length = (int) Math.min(u32(entry + 4), end - base);
+            int offset = valueOffset(entry, length);
+            checkBounds(offset, length);
+            int stringEnd = offset;
+            while (stringEnd < offset + length && data[base + stringEnd] != 0) {
+                stringEnd++;
+            }
+            return new String(data, base + offset, stringEnd - offset, StandardCharsets.UTF_8).trim();
+        }
+
+        private Double degrees(int entry) {
+            if (u16(entry + 2) != TYPE_RATIONAL || u32(entry + 4) < 3) {
+                return null;
+            }
+            int offset = (int) u32(entry + 8);
+            double degrees = rationalValue(offset);
+            double minutes = rationalValue(offset + 8);
+            double seconds = rationalValue(offset + 16);
+            return degrees + minutes / 60.0 + seconds / 3600.0;
+        }
+
+        private String rational(int offset) {
+            long numerator = u32(offset);
+            long denominator = u32(offset + 4);
+            if (denominator == 0) {
+                return null;
+            }
+            if (numerator % denominator == 0) {
+                return String.valueOf(numerator / denominator);
+            }
+            return String.valueOf((double) numerator / denominator);
+        }
+
+        private double rationalValue(int offset) {
+            long denominator = u32(offset + 4);
+            return denominator == 0 ? 0 : (double) u32(offset) / denominator;
+        }
+
+        /**
+         * Valores de até 4 bytes ficam no próprio registro; os maiores, no offset indicado por ele.
+         */
+        private int valueOffset(int entry, int size) {
+            return size <= 4 ? entry + 8 : (int) u32(entry + 8);
+        }
+
+        private int u16(int offset) {
+            checkBounds(offset, 2);
+            int b0 = u8(data, base + offset);
+            int b1 = u8(data, base + offset + 1);
+            return littleEndian ? (b1 << 8) | b0 : (b0 << 8) | b1;
+        }
+
+        private long u32(int offset) {
+            checkBounds(offset, 4);
+            long b0 = u8(data, base + offset);
+            long b1 = u8(data, base + offset + 1);
+            long b2 = u8(data, base + offset + 2);
+            long b3 = u8(data, base + offset + 3);
+            return littleEndian ?
+                    (b3 << 24) | (b2 << 16) | (b1 << 8) | b0 :
+                    (b0 << 24) | (b1 << 16) | (b2 << 8) | b3;
+        }
+
+        private void checkBounds(int offset, int length) {
+            if (offset < 0 || length < 0 || base + offset + length > end) {
+                throw new IndexOutOfBoundsException("Offset EXIF fora do segmento: " + offset);
+            }
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.quodbiometria.util;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+
+/**
+ * Identifica o formato real de uma imagem pelos bytes mágicos e lê as dimensões direto do cabeçalho
+ * (segmento SOF do JPEG, chunk IHDR do PNG), sem decodificar pixels.
+ */
+public final class ImageProbe {
+
+    private static final byte[] PNG_SIGNATURE = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n'};
+
+    public enum Format {
+        JPEG("image/jpeg"),
+        PNG("image/png");
+
+        private final String contentType;
+
+        Format(String contentType) {
+            this.contentType = contentType;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+    }
+
+    public record ImageInfo(Format format, int width, int height) {
+
+        public long pixels() {
+            return (long) width * height;
+        }
+    }
+
+    private ImageProbe() {
+    }
+
+    /**
+     * @return Formato e dimensões da imagem, ou {@code null} se o conteúdo não for JPEG nem PNG ou se o
+     * cabeçalho estiver incompleto
+     */
+    public static ImageInfo probe(InputStream inputStream) throws IOException {
+        DataInputStream in = new DataInputStream(new BufferedInputStream(inputStream, 512));
+        byte[] signature = new byte[PNG_SIGNATURE.length];
+        try {
+            in.readFully(signature, 0, 3);
+            if ((signature[0] & 0xFF) == 0xFF && (signature[1] & 0xFF) == 0xD8 && (signature[2] & 0xFF) == 0xFF) {
+                return probeJpeg(in);
+            }
+
+            in.readFully(signature, 3, PNG_SIGNATURE.length - 3);
+            if (Arrays.equals(signature, PNG_SIGNATURE)) {
+                return probePng(in);
+            }
+        } catch (EOFException e) {
+            return null;
+        }
+        return null;
+    }
+
+    private static ImageInfo probePng(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        byte[] type = new byte[4];
+        in.readFully(type);
+        if (length != 13 || !Arrays.equals(type, new byte[]{'I', 'H', 'D', 'R'})) {
+            return null;
+        }
+        int width = in.readInt();
+        int height = in.readInt();
+        return width > 0 && height > 0 ? new ImageInfo(Format.PNG, width, height) : null;
+    }
+
+    private static ImageInfo probeJpeg(DataInputStream in) throws IOException {
+        // O terceiro byte lido na assinatura já é o 0xFF do primeiro marcador após o SOI
+        int marker = nextMarker(in, true);
+        while (true) {
+            if (marker == 0xD9 || marker == 0xDA) {
+                // Fim da imagem ou início dos dados comprimidos sem nenhum SOF
+                return null;
+            }
+            if (marker == 0x01 || (marker >= 0xD0 && marker <= 0xD7)) {
+                marker = nextMarker(in, false);
+                continue;
+            }
+
+            int length = in.readUnsignedShort();
+            if (length < 2) {
+                return null;
+            }
+            if (isStartOfFrame(marker)) {
+                in.readUnsignedByte();
+                int height = in.readUnsignedShort();
+                int width = in.readUnsignedShort();
+                return width > 0 && height > 0 ? new ImageInfo(Format.JPEG, width, height) : null;
+            }
+            in.skipNBytes(length - 2L);
+            marker = nextMarker(in, false);
+        }
+    }
+
+    private static int nextMarker(DataInputStream in, boolean prefixConsumed) throws IOException {
+        if (!prefixConsumed && in.readUnsignedByte() != 0xFF) {
+            throw new EOFException("Marcador JPEG inválido");
+        }
+        int marker;
+        do {
+            marker = in.readUnsignedByte();
+        } while (marker == 0xFF);
+        return marker;
+    }
+
+    private static boolean isStartOfFrame(int marker) {
+        return marker >= 0xC0 && marker <= 0xCF && marker != 0xC4 && marker != 0xC8 && marker != 0xCC;
+    }
+}
@@ -1,26 +1,31 @@
 package com.quodbiometria.util;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import com.quodbiometria.model.entity.RefreshToken;
 import com.quodbiometria.model.entity.User;
 import com.quodbiometria.repository.RefreshTokenRepository;
+import com.quodbiometria.service.security.JwtKeyRing;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.SignatureAlgorithm;
-import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SignatureException;
 import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
-import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
 import java.security.Key;
-import java.security.SecureRandom;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 
 @Slf4j
@@ -29,6 +34,7 @@ import java.util.function.Function;
 public class JwtUtil {
 
     private final RefreshTokenRepository refreshTokenRepository;
+    private final JwtKeyRing keyRing;
 
     @Value("${jwt.secret}")
     private String secret;
@@ -39,39 +45,33 @@ public class JwtUtil {
     @Value("${jwt.refresh-token.expiration:86400000}")
     private Long refreshTokenExpiration;
 
-    private final Map<String, SecretKey> keyStore = new ConcurrentHashMap<>();
-    private String currentKeyId;
+    @Value("${jwt.verified-cache.max-size:10000}")
+    private long verifiedCacheMaxSize;
 
-    @PostConstruct
-    public void init() {
-        rotateKey();
-    }
-
-    private synchronized void rotateKey() {
-        String keyId = UUID.randomUUID().toString();
-        SecretKey key = Keys.hmacShaKeyFor(generateRandomKey());
-        keyStore.put(keyId, key);
-        currentKeyId = keyId;
-        log.info("JWT signing key rotated, new key ID: {}", keyId);
-    }
+    @Value("${jwt.verified-cache.ttl-seconds:60}")
+    private long verifiedCacheTtlSeconds;
 
-    private byte[] generateRandomKey() {
-        byte[] key = new byte[64];
-        new SecureRandom().nextBytes(key);
-        return key;
-    }
+    /**
+     * Parser thread-safe, criado uma vez; a chave de cada token é resolvida pelo {@code kid} no anel de chaves
+     * no momento do parse, então rotações não exigem recriá-lo.
+     */
+    private JwtParser parser;
 
-    @Scheduled(cron = "0 0 0 * * ?")
-    public void scheduledKeyRotation() {
-        rotateKey();
-        log.info("Scheduled JWT key rotation completed");
-    }
+    /**
+     * Claims já verificados, indexados pelo SHA-256 do token. Um token repetido dentro do TTL, ou até a sua
+     * expiração se esta vier antes, não tem a assinatura verificada de novo.
+     */
+    private Cache<String, Claims> verifiedTokens;
 
-    private Key getSigningKey(String keyId) {
-        if (keyId == null || !keyStore.containsKey(keyId)) {
-            return keyStore.get(currentKeyId);
-        }
-        return keyStore.get(keyId);
+    @PostConstruct
+    public void init() {
+        parser = Jwts.parserBuilder()
+                .setSigningKeyResolver(keyResolver())
+                .build();
+        verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(verifiedCacheMaxSize)
+                .expireAfter(new VerifiedTokenExpiry(Duration.ofSeconds(verifiedCacheTtlSeconds)))
+                .build();
     }
 
     public String extractUsername(String token) {
@@ -83,33 +83,55 @@ public class JwtUtil {
     }
 
     public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
-        final Claims claims = extractAllClaims(token);
+        final Claims claims = parseToken(token);
         return claimsResolver.apply(claims);
     }
 
-    private Claims extractAllClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKeyResolver(keyResolver())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+    /**
+     * Verifica assinatura e expiração do token uma única vez e devolve seus claims, que podem ser reutilizados
+     * por todas as checagens da requisição. Tokens verificados recentemente vêm do cache.
+     *
+     * @throws io.jsonwebtoken.JwtException se o token for inválido ou estiver expirado
+     */
+    public Claims parseToken(String token) {
+        String digest = digest(token);
+        Claims cached = verifiedTokens.getIfPresent(digest);
+        if (cached != null) {
+            if (isExpired(cached)) {
+                verifiedTokens.invalidate(digest);
+                throw new ExpiredJwtException(null, cached, "JWT expired at " + cached.getExpiration());
+            }
+            return cached;
+        }
+
+        Claims claims = parser.parseClaimsJws(token).getBody();
+        verifiedTokens.put(digest, claims);
+        return claims;
     }
 
     private io.jsonwebtoken.SigningKeyResolver keyResolver() {
         return new io.jsonwebtoken.SigningKeyResolverAdapter() {
             @Override
             public Key resolveSigningKey(io.jsonwebtoken.JwsHeader header, Claims claims) {
-                String keyId = header.getKeyId();
-                return getSigningKey(keyId);
+                Key key = keyRing.verificationKey(header.getKeyId());
+                if (key == null) {
+                    throw new SignatureException("Unknown or retired JWT key: " + header.getKeyId());
+                }
+                return key;
             }
         };
     }
 
-    private Boolean isTokenExpired(String token) {
+    private static boolean isExpired(Claims claims) {
+        return claims.getExpiration() != null && claims.getExpiration().before(new Date());
+    }
+
+    private static String digest(String token) {
         try {
-            return extractExpiration(token).before(new Date());
-        } catch (Exception e) {
-            return true;
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HashUtil.toHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
         }
     }
 
@@ -126,7 +148,7 @@ public class JwtUtil {
                 .userId(((User) userDetails).getId())
                 .expiryDate(LocalDateTime.now().plusSeconds(refreshTokenExpiration / 1000))
                 .revoked(false)
-                .keyId(currentKeyId)
+                .keyId(keyRing.currentKey().kid())
                 .build();
 
         refreshTokenRepository.save(refreshToken);
@@ -135,23 +157,57 @@ public class JwtUtil {
     }
 
     private String createToken(Map<String, Object> claims, String subject, long expiration) {
+        JwtKeyRing.RingKey signingKey = keyRing.currentKey();
         return Jwts.builder()
                 .setClaims(claims)
                 .setSubject(subject)
                 .setIssuedAt(new Date(System.currentTimeMillis()))
                 .setExpiration(new Date(System.currentTimeMillis() + expiration))
-                .setHeaderParam("kid", currentKeyId)
-                .signWith(getSigningKey(currentKeyId), SignatureAlgorithm.HS512)
+                .setHeaderParam("kid", signingKey.kid())
+                .signWith(signingKey.signingKey(), signingKey.algorithm().getSignatureAlgorithm())
                 .compact();
     }
 
     public Boolean validateToken(String token, UserDetails userDetails) {
         try {
-            final String username = extractUsername(token);
-            return (username.equals(userDetails.getUsername()) && !isTokenExpired(token));
+            return validateClaims(parseToken(token), userDetails);
         } catch (Exception e) {
             log.warn("Token validation failed: {}", e.getMessage());
             return false;
         }
     }
+
+    /**
+     * Valida claims já verificados por {@link #parseToken(String)} contra o usuário carregado.
+     */
+    public boolean validateClaims(Claims claims, UserDetails userDetails) {
+        return claims.getSubject() != null && claims.getSubject().equals(userDetails.getUsername())
+                && !isExpired(claims);
+    }
+
+    /**
+     * Mantém cada token no cache pelo menor entre o TTL configurado e o tempo que falta para ele expirar.
+     */
+    private record VerifiedTokenExpiry(Duration ttl) implements Expiry<String, Claims> {
+
+        @Override
+        public long expireAfterCreate(String key, Claims claims, long currentTime) {
+            long ttlNanos = ttl.toNanos();
+            if (claims.getExpiration() == null) {
+                return ttlNanos;
+            }
+            long remaining = Duration.ofMillis(claims.getExpiration().getTime() - System.currentTimeMillis()).toNanos();
+            return Math.max(0, Math.min(ttlNanos, remaining));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, Claims claims, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, claims, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, Claims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,84 @@
+package com.quodbiometria.util;
+
+import com.quodbiometria.model.dto.response.PageResponseDTO;
+import org.bson.types.ObjectId;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Paginação por cursor (keyset) ordenada por {@code _id}. O cursor é o último id da página codificado
+ * em Base64 URL-safe, de modo que cada página custa uma busca no índice independentemente da profundidade.
+ */
+public final class KeysetPagination {
+
+    public static final int DEFAULT_LIMIT = 50;
+    public static final int MAX_LIMIT = 200;
+
+    private KeysetPagination() {
+    }
+
+    public static String encodeCursor(String id) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(id.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodifica o cursor recebido do cliente.
+     *
+     * @return Id a partir do qual a próxima página começa, ou nulo para a primeira página
+     */
+    public static String decodeCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String id = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            if (ObjectId.isValid(id)) {
+                return id;
+            }
+        } catch (IllegalArgumentException e) {
+            // tratado abaixo
+        }
+        throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Cursor de paginação inválido");
+    }
+
+    /**
+     * Limita o tamanho de página solicitado ao intervalo aceito.
+     */
+    public static int resolveLimit(Integer limit) {
+        if (limit == null) {
+            return DEFAULT_LIMIT;
+        }
+        if (limit < 1) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "O limite deve ser maior que zero");
+        }
+        return Math.min(limit, MAX_LIMIT);
+    }
+
+    /**
+     * Consulta com um item a mais que o limite, usado apenas para saber se existe próxima página.
+     */
+    public static Pageable lookahead(int limit) {
+        return PageRequest.of(0, limit + 1);
+    }
+
+    public static <E, D> PageResponseDTO<D> toPage(List<E> fetched, int limit, Function<E, String> idExtractor,
+                                                   Function<List<E>, List<D>> mapper) {
+        boolean temMais = fetched.size() > limit;
+        List<E> itens = temMais ? fetched.subList(0, limit) : fetched;
+        String proximoCursor = temMais ? encodeCursor(idExtractor.apply(itens.get(itens.size() - 1))) : null;
+
+        return PageResponseDTO.<D>builder()
+                .itens(mapper.apply(itens))
+                .proximoCursor(proximoCursor)
+                .limite(limit)
+                .temMais(temMais)
+                .build();
+    }
+}
@@ -0,0 +1,34 @@
+package com.quodbiometria.util;
+
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.web.context.request.async.WebAsyncTask;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+/**
+ * Download gravado em streaming por uma tarefa assíncrona com timeout próprio. Exportações longas precisam de
+ * um limite maior que o das demais requisições assíncronas, que continuam com o timeout padrão.
+ */
+public final class StreamingDownload {
+
+    private StreamingDownload() {
+    }
+
+    /**
+     * Define os cabeçalhos do anexo e devolve a tarefa que escreve o corpo diretamente na resposta.
+     *
+     * @param timeoutMs Tempo máximo da gravação, em milissegundos
+     */
+    public static WebAsyncTask<Void> of(HttpServletResponse response, long timeoutMs, MediaType contentType,
+                                        String filename, StreamingResponseBody body) {
+        response.setContentType(contentType.toString());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"");
+
+        return new WebAsyncTask<>(timeoutMs, () -> {
+            body.writeTo(response.getOutputStream());
+            response.flushBuffer();
+            return null;
+        });
+    }
+}
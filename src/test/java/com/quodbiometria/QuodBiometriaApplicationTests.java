@@ -15,7 +15,8 @@ import com.quodbiometria.util.JwtUtil;
 @TestPropertySource(properties = {
         "jwt.secret=test-jwt-secret-key-for-testing-purposes-only",
         "spring.security.user.name=test-admin",
-        "spring.security.user.password=test-password"
+        "spring.security.user.password=test-password",
+        "app.storage.cold.path=${java.io.tmpdir}/quod-biometria-cold-test"
 })
 class QuodBiometriaApplicationTests {
 
@@ -0,0 +1,188 @@
+package com.quodbiometria.config;
+
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import com.quodbiometria.model.entity.BiometricImageMetadata;
+import com.quodbiometria.model.entity.FaceDetectionResult;
+import com.quodbiometria.model.entity.ProcessingJob;
+import com.quodbiometria.model.entity.RefreshToken;
+import com.quodbiometria.model.entity.User;
+import com.quodbiometria.model.enums.ProcessingJobStatus;
+import com.quodbiometria.model.enums.ProcessingJobType;
+import com.quodbiometria.model.enums.RollupGranularity;
+import com.quodbiometria.model.enums.StorageTier;
+import com.quodbiometria.repository.BiometricImageMetadataRepository;
+import com.quodbiometria.repository.FaceDetectionRepository;
+import com.quodbiometria.repository.ProcessingJobRepository;
+import com.quodbiometria.repository.RefreshTokenRepository;
+import com.quodbiometria.repository.StatisticsRollupRepository;
+import com.quodbiometria.repository.UserRepository;
+import com.quodbiometria.service.BiometricImageMetadataCache;
+import com.quodbiometria.service.jobs.ProcessingJobQueueService;
+import com.quodbiometria.service.storage.BlobGarbageCollector;
+import com.quodbiometria.service.storage.ColdTierMigrationService;
+import com.quodbiometria.util.KeysetPagination;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Range;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.repository.support.MongoRepositoryFactory;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.testcontainers.DockerClientFactory;
+import org.testcontainers.containers.MongoDBContainer;
+import org.testcontainers.utility.DockerImageName;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Executa as consultas reais dos repositórios com o profiler do MongoDB ligado e verifica que nenhuma
+ * delas resulta em COLLSCAN após a criação dos índices. Ignorado quando não há Docker disponível.
+ */
+class MongoIndexBootstrapperIntegrationTest {
+
+    private static MongoDBContainer mongo;
+    private static MongoClient client;
+    private static MongoTemplate mongoTemplate;
+
+    @BeforeAll
+    static void startMongo() {
+        assumeTrue(DockerClientFactory.instance().isDockerAvailable(), "Docker indisponível");
+
+        mongo = new MongoDBContainer(DockerImageName.parse("mongo:6.0"));
+        mongo.start();
+        client = MongoClients.create(mongo.getConnectionString());
+        mongoTemplate = new MongoTemplate(client, "quod_biometria_it");
+    }
+
+    @AfterAll
+    static void stopMongo() {
+        if (client != null) {
+            client.close();
+        }
+        if (mongo != null) {
+            mongo.stop();
+        }
+    }
+
+    @Test
+    void testRepositoryQueries_AfterBootstrap_NoCollectionScan() {
+        MongoIndexBootstrapper bootstrapper = new MongoIndexBootstrapper(mongoTemplate);
+        int expected = MongoIndexBootstrapper.requiredIndexes(Duration.ZERO).values().stream().mapToInt(List::size).sum();
+        assertEquals(expected, bootstrapper.ensureIndexes());
+        // Segunda execução não deve falhar nem duplicar índices
+        assertEquals(expected, bootstrapper.ensureIndexes());
+
+        seedData();
+        mongoTemplate.getDb().runCommand(new Document("profile", 2));
+
+        MongoRepositoryFactory factory = new MongoRepositoryFactory(mongoTemplate);
+        BiometricImageMetadataRepository imageRepository = factory.getRepository(BiometricImageMetadataRepository.class);
+        FaceDetectionRepository faceRepository = factory.getRepository(FaceDetectionRepository.class);
+        ProcessingJobRepository jobRepository = factory.getRepository(ProcessingJobRepository.class);
+        UserRepository userRepository = factory.getRepository(UserRepository.class);
+        RefreshTokenRepository tokenRepository = factory.getRepository(RefreshTokenRepository.class);
+        StatisticsRollupRepository rollupRepository = factory.getRepository(StatisticsRollupRepository.class);
+
+        String afterId = new ObjectId(0, 0).toHexString();
+        imageRepository.findByUsuarioIdAndAtivaTrueOrderByIdAsc("user1", KeysetPagination.lookahead(5));
+        imageRepository.findByUsuarioIdAndAtivaTrueAndIdGreaterThanOrderByIdAsc("user1", afterId, KeysetPagination.lookahead(5));
+        imageRepository.findByUsuarioIdAndTipoImagemAndAtivaTrueOrderByIdAsc("user1", "FACIAL", KeysetPagination.lookahead(5));
+        imageRepository.findByUsuarioIdAndTipoImagemAndAtivaTrueAndIdGreaterThanOrderByIdAsc("user1", "FACIAL", afterId,
+                KeysetPagination.lookahead(5));
+        imageRepository.findByHashAndUsuarioId("hash1", "user1");
+        imageRepository.existsByHashAndUsuarioIdAndAtivaTrue("hash1", "user1");
+
+        faceRepository.findByUsuarioIdOrderByIdAsc("user1", KeysetPagination.lookahead(5));
+        faceRepository.findByUsuarioIdAndIdGreaterThanOrderByIdAsc("user1", afterId, KeysetPagination.lookahead(5));
+        faceRepository.findTopByUsuarioIdOrderByCreatedAtDesc("user1");
+
+        jobRepository.findByImagemIdOrderByDataCriacaoAsc("img1");
+        jobRepository.findTop100ByStatusOrderByDataAtualizacaoDesc(ProcessingJobStatus.DEAD_LETTER);
+
+        userRepository.findByEmail("user1@quod.com");
+        userRepository.existsByEmail("user1@quod.com");
+        userRepository.findAllByOrderByIdAsc(KeysetPagination.lookahead(5));
+        userRepository.findByIdGreaterThanOrderByIdAsc(afterId, KeysetPagination.lookahead(5));
+
+        tokenRepository.findByToken("token1");
+        tokenRepository.findAllByUserIdAndRevokedFalse("user1");
+        tokenRepository.findByUserIdAndToken("user1", "token1");
+        tokenRepository.deleteByUserId("user2");
+
+        rollupRepository.findByGranularidadeAndInicioBetweenOrderByInicioAsc(RollupGranularity.HORA,
+                Range.rightOpen(LocalDateTime.now().minusDays(1), LocalDateTime.now()));
+
+        ProcessingJobQueueService queueService = new ProcessingJobQueueService(mongoTemplate, jobRepository);
+        ReflectionTestUtils.setField(queueService, "leaseSeconds", 300L);
+        queueService.claimNext(EnumSet.allOf(ProcessingJobType.class));
+
+        ColdTierMigrationService migrationService = new ColdTierMigrationService(mongoTemplate, null,
+                new BiometricImageMetadataCache(new SimpleMeterRegistry(), false, 10, 10, 60));
+        ReflectionTestUtils.setField(migrationService, "minAgeDays", 90);
+        ReflectionTestUtils.setField(migrationService, "batchSize", 100);
+        migrationService.migrateBatch();
+
+        BlobGarbageCollector garbageCollector = new BlobGarbageCollector(mongoTemplate, null,
+                new BiometricImageMetadataCache(new SimpleMeterRegistry(), false, 10, 10, 60),
+                new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(garbageCollector, "batchSize", 100);
+        ReflectionTestUtils.setField(garbageCollector, "bucket", "fs");
+        garbageCollector.purgeDeleted();
+        garbageCollector.removeOrphanBlobs();
+
+        mongoTemplate.getDb().runCommand(new Document("profile", 0));
+
+        List<Document> collectionScans = mongoTemplate.getCollection("system.profile")
+                .find(new Document("planSummary", new Document("$regex", "COLLSCAN")))
+                .into(new ArrayList<>());
+        assertTrue(collectionScans.isEmpty(), () -> "Consultas sem índice: " + collectionScans);
+    }
+
+    private static void seedData() {
+        LocalDateTime agora = LocalDateTime.now();
+        for (int i = 0; i < 20; i++) {
+            String usuarioId = "user" + (i % 4);
+            mongoTemplate.insert(BiometricImageMetadata.builder()
+                    .usuarioId(usuarioId)
+                    .tipoImagem(i % 2 == 0 ? "FACIAL" : "DOCUMENTO")
+                    .hash("hash" + i)
+                    .dataCriacao(agora.minusDays(i))
+                    .storageTier(StorageTier.HOT)
+                    .build());
+            mongoTemplate.insert(FaceDetectionResult.builder()
+                    .usuarioId(usuarioId)
+                    .faceDetected(i % 3 != 0)
+                    .confidence(i / 20f)
+                    .createdAt(agora.minusMinutes(i))
+                    .build());
+            mongoTemplate.insert(ProcessingJob.builder()
+                    .tipo(ProcessingJobType.EXTRACAO_EXIF)
+                    .status(i % 2 == 0 ? ProcessingJobStatus.CONCLUIDO : ProcessingJobStatus.PENDENTE)
+                    .imagemId("img" + i)
+                    .proximaExecucao(agora.plusHours(1))
+                    .dataCriacao(agora)
+                    .dataAtualizacao(agora)
+                    .build());
+            mongoTemplate.insert(User.builder()
+                    .name("Usuário " + i)
+                    .email("user" + i + "@quod.com")
+                    .build());
+            mongoTemplate.insert(RefreshToken.builder()
+                    .token("token" + i)
+                    .userId(usuarioId)
+                    .expiryDate(agora.plusDays(1))
+                    .build());
+        }
+    }
+}
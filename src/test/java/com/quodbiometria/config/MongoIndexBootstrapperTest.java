@@ -0,0 +1,125 @@
+package com.quodbiometria.config;
+
+import com.quodbiometria.model.entity.FaceDetectionResult;
+import com.quodbiometria.model.entity.RefreshToken;
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.index.IndexInfo;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class MongoIndexBootstrapperTest {
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private IndexOperations indexOperations;
+
+    @InjectMocks
+    private MongoIndexBootstrapper bootstrapper;
+
+    @Test
+    void testEnsureIndexes_AllDeclared_EnsuresEachIndex() {
+        int declared = MongoIndexBootstrapper.requiredIndexes(Duration.ZERO).values().stream().mapToInt(List::size).sum();
+        when(mongoTemplate.indexOps(any(Class.class))).thenReturn(indexOperations);
+        when(indexOperations.ensureIndex(any(Index.class))).thenReturn("idx");
+
+        assertEquals(declared, bootstrapper.ensureIndexes());
+        verify(indexOperations, times(declared)).ensureIndex(any(Index.class));
+    }
+
+    @Test
+    void testEnsureIndexes_OneIndexFails_ContinuesWithOthers() {
+        int declared = MongoIndexBootstrapper.requiredIndexes(Duration.ZERO).values().stream().mapToInt(List::size).sum();
+        when(mongoTemplate.indexOps(any(Class.class))).thenReturn(indexOperations);
+        when(indexOperations.ensureIndex(any(Index.class)))
+                .thenThrow(new IllegalStateException("conflito"))
+                .thenReturn("idx");
+
+        assertEquals(declared - 1, bootstrapper.ensureIndexes());
+        verify(indexOperations, times(declared)).ensureIndex(any(Index.class));
+    }
+
+    @Test
+    void testInit_AutoCreateDisabled_DoesNotTouchMongo() {
+        ReflectionTestUtils.setField(bootstrapper, "autoCreate", false);
+
+        bootstrapper.init();
+
+        verifyNoInteractions(mongoTemplate);
+    }
+
+    @Test
+    void testRequiredIndexes_RefreshTokens_ExpireAtExpiryDate() {
+        Index ttl = ttlIndex(MongoIndexBootstrapper.requiredIndexes(Duration.ZERO).get(RefreshToken.class));
+
+        assertEquals(new Document("expiryDate", 1), ttl.getIndexKeys());
+        assertEquals(0L, ((Number) ttl.getIndexOptions().get("expireAfterSeconds")).longValue());
+    }
+
+    @Test
+    void testRequiredIndexes_DetectionRetention_AddsTtlOnlyWhenConfigured() {
+        assertNull(ttlIndex(MongoIndexBootstrapper.requiredIndexes(Duration.ZERO).get(FaceDetectionResult.class)));
+
+        Index ttl = ttlIndex(MongoIndexBootstrapper.requiredIndexes(Duration.ofDays(30))
+                .get(FaceDetectionResult.class));
+        assertEquals(new Document("createdAt", 1), ttl.getIndexKeys());
+        assertEquals(Duration.ofDays(30).toSeconds(),
+                ((Number) ttl.getIndexOptions().get("expireAfterSeconds")).longValue());
+    }
+
+    @Test
+    void testEnsureIndexes_TtlChanged_UpdatesExpirationWithCollMod() {
+        ReflectionTestUtils.setField(bootstrapper, "detectionRetentionDays", 30L);
+        int declared = MongoIndexBootstrapper.requiredIndexes(Duration.ofDays(30)).values().stream()
+                .mapToInt(List::size).sum();
+        when(mongoTemplate.indexOps(any(Class.class))).thenReturn(indexOperations);
+        when(mongoTemplate.getCollectionName(any(Class.class))).thenReturn("colecao");
+        when(indexOperations.ensureIndex(any(Index.class))).thenAnswer(invocation -> {
+            Index index = invocation.getArgument(0);
+            if (index.getIndexOptions().containsKey("expireAfterSeconds")) {
+                throw new IllegalStateException("IndexOptionsConflict");
+            }
+            return "idx";
+        });
+
+        assertEquals(declared, bootstrapper.ensureIndexes());
+        verify(mongoTemplate).executeCommand(argThat((Document command) -> command.containsKey("collMod")
+                && ((Document) command.get("index")).get("keyPattern").equals(new Document("createdAt", 1))));
+        verify(indexOperations, never()).dropIndex(any());
+    }
+
+    @Test
+    void testEnsureIndexes_RetentionDisabled_DropsPreviousTtl() {
+        when(mongoTemplate.indexOps(any(Class.class))).thenReturn(indexOperations);
+        when(indexOperations.ensureIndex(any(Index.class))).thenReturn("idx");
+        IndexInfo previous = IndexInfo.indexInfoOf(new Document("name", "createdAt_1")
+                .append("key", new Document("createdAt", 1)).append("expireAfterSeconds", 2592000L));
+        when(indexOperations.getIndexInfo()).thenReturn(List.of(previous));
+
+        bootstrapper.ensureIndexes();
+
+        verify(indexOperations).dropIndex("createdAt_1");
+    }
+
+    private static Index ttlIndex(List<Index> indexes) {
+        return indexes.stream().filter(index -> index.getIndexOptions().containsKey("expireAfterSeconds"))
+                .findFirst().orElse(null);
+    }
+}
@@ -0,0 +1,59 @@
+package com.quodbiometria.config;
+
+import com.quodbiometria.model.enums.StorageTier;
+import com.quodbiometria.service.storage.ColdBlobStore;
+import com.quodbiometria.service.storage.TieredBlobStorage;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.assertj.AssertableApplicationContext;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.gridfs.GridFsTemplate;
+
+import java.util.concurrent.Executor;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class StorageConfigTest {
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withBean(GridFsTemplate.class, () -> mock(GridFsTemplate.class))
+            .withBean(MongoTemplate.class, () -> mock(MongoTemplate.class))
+            .withBean(ImageTypePolicyProperties.class, ImageTypePolicyProperties::new)
+            .withBean("gridFsPrefetchExecutor", Executor.class, () -> Runnable::run)
+            .withUserConfiguration(StorageConfig.class, TieredBlobStorage.class);
+
+    @Test
+    void testColdBlobStore_DefaultsWithoutPath_NotCreated() {
+        contextRunner.run(context -> {
+            assertNull(context.getStartupFailure());
+            assertTrue(context.getBeansOfType(ColdBlobStore.class).isEmpty());
+            assertFalse(context.getBean(TieredBlobStorage.class).isAvailable(StorageTier.COLD));
+        });
+    }
+
+    @Test
+    void testColdBlobStore_TieringEnabledWithoutPath_FailsFast() {
+        contextRunner.withPropertyValues("app.storage.tiering.enabled=true")
+                .run(this::assertColdPathRequired);
+    }
+
+    @Test
+    void testColdBlobStore_KeepOriginalWithoutPath_FailsFast() {
+        contextRunner.withPropertyValues("app.image.normalization.keep-original=true")
+                .run(this::assertColdPathRequired);
+    }
+
+    @Test
+    void testColdBlobStore_PathConfigured_Created() {
+        contextRunner.withPropertyValues("app.storage.cold.path=/data/cold")
+                .run(context -> assertEquals(1, context.getBeansOfType(ColdBlobStore.class).size()));
+    }
+
+    private void assertColdPathRequired(AssertableApplicationContext context) {
+        Throwable failure = context.getStartupFailure();
+        assertNotNull(failure);
+        assertTrue(NestedExceptionUtils.getMostSpecificCause(failure).getMessage().contains("app.storage.cold.path"));
+    }
+}
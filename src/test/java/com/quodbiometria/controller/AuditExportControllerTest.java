@@ -0,0 +1,69 @@
+package com.quodbiometria.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import com.quodbiometria.model.dto.request.AuditExportFilterDTO;
+import com.quodbiometria.service.export.AuditExportService;
+import com.quodbiometria.util.JwtUtil;
+
+@WebMvcTest(AuditExportController.class)
+@AutoConfigureMockMvc(addFilters = false)
+@TestPropertySource(properties = "app.export.request-timeout-ms=120000")
+class AuditExportControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private JwtUtil jwtUtil;
+
+    @MockBean
+    private AuditExportService exportService;
+
+    @Test
+    void testExportImageMetadata_StreamsWithExportTimeout() throws Exception {
+        when(exportService.exportImageMetadata(any(AuditExportFilterDTO.class), any(OutputStream.class)))
+                .thenAnswer(invocation -> {
+                    OutputStream out = invocation.getArgument(1);
+                    out.write("{\"id\":\"1\"}\n".getBytes(StandardCharsets.UTF_8));
+                    return 1L;
+                });
+
+        MvcResult result = mockMvc.perform(get("/api/biometria/exportacao/imagens"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        assertEquals(120000L, result.getRequest().getAsyncContext().getTimeout());
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"metadados-imagens.ndjson\""))
+                .andExpect(content().contentType("application/x-ndjson"))
+                .andExpect(content().string("{\"id\":\"1\"}\n"));
+    }
+
+    @Test
+    void testExportFaceDetections_InvalidCursor_ReturnsBadRequest() throws Exception {
+        mockMvc.perform(get("/api/biometria/exportacao/deteccoes-faciais").param("after", "invalido"))
+                .andExpect(status().isBadRequest());
+    }
+}
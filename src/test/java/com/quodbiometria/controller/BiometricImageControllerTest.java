@@ -28,6 +28,8 @@ import org.springframework.test.web.servlet.MockMvc;
 
 import com.quodbiometria.model.dto.request.BiometricImageUploadRequestDTO;
 import com.quodbiometria.model.dto.response.BiometricImageMetadataResponseDTO;
+import com.quodbiometria.model.dto.response.BiometricImageSummaryDTO;
+import com.quodbiometria.model.dto.response.PageResponseDTO;
 import com.quodbiometria.service.BiometricImageStorageService;
 
 @WebMvcTest(BiometricImageController.class)
@@ -45,6 +47,7 @@ class BiometricImageControllerTest {
 
     private MockMultipartFile testImageFile;
     private BiometricImageMetadataResponseDTO metadataResponse;
+    private BiometricImageSummaryDTO summary;
 
     @BeforeEach
     void setUp() {
@@ -70,6 +73,8 @@ class BiometricImageControllerTest {
         metadataResponse.setDataAtualizacao(LocalDateTime.now());
         metadataResponse.setAtiva(true);
         metadataResponse.setExifMetadata(exifMetadata);
+
+        summary = new BiometricImageSummaryDTO("meta123", "FACIAL", 1024, LocalDateTime.now(), true);
     }
 
     @Test
@@ -109,32 +114,55 @@ class BiometricImageControllerTest {
     @Test
     @WithMockUser
     void testGetImagesByUsuario_ReturnsImages() throws Exception {
-        List<BiometricImageMetadataResponseDTO> images = Collections.singletonList(metadataResponse);
-        when(storageService.getImagesByUsuario("user123")).thenReturn(images);
-
-        mockMvc.perform(get("/api/biometria/imagens/usuario/user123"))
+        PageResponseDTO<BiometricImageSummaryDTO> images = PageResponseDTO.<BiometricImageSummaryDTO>builder()
+                .itens(Collections.singletonList(summary))
+                .proximoCursor("cursor")
+                .limite(1)
+                .temMais(true)
+                .build();
+        when(storageService.getImagesByUsuario("user123", null, 1)).thenReturn(images);
+
+        mockMvc.perform(get("/api/biometria/imagens/usuario/user123").param("limit", "1"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.success").value(true))
                 .andExpect(jsonPath("$.message").value("Imagens biométricas recuperadas com sucesso"))
-                .andExpect(jsonPath("$.data[0].id").value("meta123"))
-                .andExpect(jsonPath("$.data[0].filename").value("test-image.jpg"))
-                .andExpect(jsonPath("$.data[0].usuarioId").value("user123"));
+                .andExpect(jsonPath("$.data.itens[0].id").value("meta123"))
+                .andExpect(jsonPath("$.data.itens[0].size").value(1024))
+                .andExpect(jsonPath("$.data.itens[0].exifMetadata").doesNotExist())
+                .andExpect(jsonPath("$.data.proximoCursor").value("cursor"))
+                .andExpect(jsonPath("$.data.temMais").value(true));
     }
 
     @Test
     @WithMockUser
     void testGetImagesByUsuarioAndTipo_ReturnsImages() throws Exception {
-        List<BiometricImageMetadataResponseDTO> images = Collections.singletonList(metadataResponse);
-        when(storageService.getImagesByUsuarioAndTipo("user123", "FACIAL")).thenReturn(images);
+        PageResponseDTO<BiometricImageSummaryDTO> images = PageResponseDTO.<BiometricImageSummaryDTO>builder()
+                .itens(Collections.singletonList(summary))
+                .limite(50)
+                .build();
+        when(storageService.getImagesByUsuarioAndTipo("user123", "FACIAL", null, null)).thenReturn(images);
 
         mockMvc.perform(get("/api/biometria/imagens/usuario/user123/tipo/FACIAL"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.success").value(true))
                 .andExpect(jsonPath("$.message").value("Imagens biométricas recuperadas com sucesso"))
-                .andExpect(jsonPath("$.data[0].id").value("meta123"))
-                .andExpect(jsonPath("$.data[0].filename").value("test-image.jpg"))
-                .andExpect(jsonPath("$.data[0].usuarioId").value("user123"))
-                .andExpect(jsonPath("$.data[0].tipoImagem").value("FACIAL"));
+                .andExpect(jsonPath("$.data.itens[0].id").value("meta123"))
+                .andExpect(jsonPath("$.data.itens[0].size").value(1024))
+                .andExpect(jsonPath("$.data.itens[0].exifMetadata").doesNotExist())
+                .andExpect(jsonPath("$.data.itens[0].tipoImagem").value("FACIAL"));
+    }
+
+    @Test
+    @WithMockUser
+    void testGetMetadata_ExistingId_ReturnsFullMetadata() throws Exception {
+        when(storageService.getMetadataById("meta123")).thenReturn(metadataResponse);
+
+        mockMvc.perform(get("/api/biometria/imagens/meta123/metadados"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.success").value(true))
+                .andExpect(jsonPath("$.data.id").value("meta123"))
+                .andExpect(jsonPath("$.data.filename").value("test-image.jpg"))
+                .andExpect(jsonPath("$.data.exifMetadata").exists());
     }
 
     @Test
@@ -29,6 +29,7 @@ import org.springframework.test.web.servlet.MockMvc;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.quodbiometria.model.dto.request.UserCreateDTO;
 import com.quodbiometria.model.dto.request.UserUpdateDTO;
+import com.quodbiometria.model.dto.response.PageResponseDTO;
 import com.quodbiometria.model.dto.response.UserResponseDTO;
 import com.quodbiometria.service.UserService;
 
@@ -116,16 +117,19 @@ class UserControllerTest {
     @Test
     @WithMockUser(roles = "ADMIN")
     void testGetAllUsers_ReturnsAllUsers() throws Exception {
-        List<UserResponseDTO> users = Collections.singletonList(responseDTO);
-        when(userService.getAllUsers()).thenReturn(users);
+        PageResponseDTO<UserResponseDTO> users = PageResponseDTO.<UserResponseDTO>builder()
+                .itens(Collections.singletonList(responseDTO))
+                .limite(50)
+                .build();
+        when(userService.getAllUsers(null, null)).thenReturn(users);
 
         mockMvc.perform(get("/api/users"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.success").value(true))
                 .andExpect(jsonPath("$.message").value("Users retrieved successfully"))
-                .andExpect(jsonPath("$.data[0].id").value("user123"))
-                .andExpect(jsonPath("$.data[0].name").value("Test User"))
-                .andExpect(jsonPath("$.data[0].email").value("user@example.com"));
+                .andExpect(jsonPath("$.data.itens[0].id").value("user123"))
+                .andExpect(jsonPath("$.data.itens[0].name").value("Test User"))
+                .andExpect(jsonPath("$.data.itens[0].email").value("user@example.com"));
     }
 
     @Test
@@ -0,0 +1,113 @@
+package com.quodbiometria.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.quodbiometria.model.dto.response.BiometricImageSummaryDTO;
+import com.quodbiometria.model.dto.response.PageResponseDTO;
+import com.quodbiometria.model.entity.BiometricImageMetadata;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class BiometricImageMetadataCacheTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private BiometricImageMetadataCache cache;
+    private AtomicInteger loads;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new BiometricImageMetadataCache(meterRegistry, true, 100, 100, 60);
+        loads = new AtomicInteger();
+    }
+
+    @Test
+    void testGetById_SecondLookup_DoesNotReload() {
+        BiometricImageMetadata metadata = BiometricImageMetadata.builder().id("img1").usuarioId("user1").build();
+
+        cache.getById("img1", id -> load(metadata));
+        assertSame(metadata, cache.getById("img1", id -> load(metadata)));
+
+        assertEquals(1, loads.get());
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", BiometricImageMetadataCache.BY_ID_CACHE)
+                .tag("result", "hit").functionCounter().count());
+    }
+
+    @Test
+    void testGetById_MissingId_IsNotCached() {
+        assertNull(cache.getById("img1", id -> load(null)));
+        assertNull(cache.getById("img1", id -> load(null)));
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void testEvict_ById_ReloadsOnlyThatImage() {
+        BiometricImageMetadata first = BiometricImageMetadata.builder().id("img1").usuarioId("user1").build();
+        BiometricImageMetadata second = BiometricImageMetadata.builder().id("img2").usuarioId("user1").build();
+        cache.getById("img1", id -> load(first));
+        cache.getById("img2", id -> load(second));
+
+        cache.evict("img1");
+        cache.getById("img1", id -> load(first));
+        cache.getById("img2", id -> load(second));
+
+        assertEquals(3, loads.get());
+    }
+
+    @Test
+    void testEvictUser_DropsOnlyThatUsersPages() {
+        cache.getSummaryPage("user1", null, null, 50, this::loadPage);
+        cache.getSummaryPage("user1", "FACIAL", null, 50, this::loadPage);
+        cache.getSummaryPage("user2", null, null, 50, this::loadPage);
+
+        cache.evict(BiometricImageMetadata.builder().id("img1").usuarioId("user1").build());
+
+        cache.getSummaryPage("user1", null, null, 50, this::loadPage);
+        cache.getSummaryPage("user1", "FACIAL", null, 50, this::loadPage);
+        cache.getSummaryPage("user2", null, null, 50, this::loadPage);
+        assertEquals(5, loads.get());
+    }
+
+    @Test
+    void testGetSummaryPage_DifferentCursorOrLimit_AreSeparateEntries() {
+        cache.getSummaryPage("user1", null, null, 50, this::loadPage);
+        cache.getSummaryPage("user1", null, "img9", 50, this::loadPage);
+        cache.getSummaryPage("user1", null, null, 10, this::loadPage);
+        cache.getSummaryPage("user1", null, null, 50, this::loadPage);
+
+        assertEquals(3, loads.get());
+    }
+
+    @Test
+    void testDisabled_AlwaysLoads() {
+        cache = new BiometricImageMetadataCache(new SimpleMeterRegistry(), false, 100, 100, 60);
+        BiometricImageMetadata metadata = BiometricImageMetadata.builder().id("img1").build();
+
+        cache.getById("img1", id -> load(metadata));
+        cache.getById("img1", id -> load(metadata));
+        cache.getSummaryPage("user1", null, null, 50, this::loadPage);
+        cache.getSummaryPage("user1", null, null, 50, this::loadPage);
+
+        assertEquals(4, loads.get());
+    }
+
+    private BiometricImageMetadata load(BiometricImageMetadata metadata) {
+        loads.incrementAndGet();
+        return metadata;
+    }
+
+    private PageResponseDTO<BiometricImageSummaryDTO> loadPage() {
+        loads.incrementAndGet();
+        return PageResponseDTO.<BiometricImageSummaryDTO>builder()
+                .itens(List.of(BiometricImageSummaryDTO.builder().id("img1").build()))
+                .limite(50)
+                .build();
+    }
+}
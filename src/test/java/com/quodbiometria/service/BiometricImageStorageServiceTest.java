@@ -4,33 +4,49 @@ import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
 
 import java.io.ByteArrayInputStream;
+import java.io.FileNotFoundException;
 import java.time.LocalDateTime;
 import java.util.*;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.bson.Document;
-import org.bson.types.ObjectId;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.core.MongoTemplate;
 import org.springframework.data.mongodb.core.query.Query;
-import org.springframework.data.mongodb.gridfs.GridFsResource;
-import org.springframework.data.mongodb.gridfs.GridFsTemplate;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.http.HttpStatus;
 import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.web.server.ResponseStatusException;
 
-import com.mongodb.client.gridfs.model.GridFSFile;
+import com.mongodb.client.result.UpdateResult;
 import com.quodbiometria.exception.ImageValidationException;
 import com.quodbiometria.model.dto.request.BiometricImageUploadRequestDTO;
 import com.quodbiometria.model.dto.response.BiometricImageMetadataResponseDTO;
+import com.quodbiometria.model.dto.response.BiometricImageSummaryDTO;
+import com.quodbiometria.model.dto.response.PageResponseDTO;
 import com.quodbiometria.model.entity.BiometricImageMetadata;
+import com.quodbiometria.model.enums.ProcessingJobType;
+import com.quodbiometria.model.enums.StorageTier;
 import com.quodbiometria.model.mappers.BiometricImageMetadataMapper;
 import com.quodbiometria.repository.BiometricImageMetadataRepository;
+import com.quodbiometria.service.jobs.ProcessingJobQueueService;
+import com.quodbiometria.service.statistics.StatisticsRollupService;
+import com.quodbiometria.service.storage.BlobStore;
+import com.quodbiometria.service.storage.TieredBlobStorage;
+import com.quodbiometria.util.KeysetPagination;
 
 @ExtendWith(MockitoExtension.class)
 class BiometricImageStorageServiceTest {
@@ -39,7 +55,7 @@ class BiometricImageStorageServiceTest {
     private BiometricImageStorageService biometricImageStorageService;
 
     @Mock
-    private GridFsTemplate gridFsTemplate;
+    private TieredBlobStorage tieredBlobStorage;
 
     @Mock
     private BiometricImageMetadataRepository metadataRepository;
@@ -54,15 +70,26 @@ class BiometricImageStorageServiceTest {
     private ImageMetadataExtractionService metadataExtractionService;
 
     @Mock
-    private GridFSFile gridFSFile;
+    private ImageNormalizationService normalizationService;
 
     @Mock
-    private GridFsResource gridFsResource;
+    private ProcessingJobQueueService jobQueueService;
+
+    @Mock
+    private StatisticsRollupService statisticsService;
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Spy
+    private BiometricImageMetadataCache metadataCache =
+            new BiometricImageMetadataCache(new SimpleMeterRegistry(), true, 100, 100, 60);
 
     private MockMultipartFile testImageFile;
     private BiometricImageUploadRequestDTO uploadRequestDTO;
     private BiometricImageMetadata testMetadata;
     private BiometricImageMetadataResponseDTO testMetadataResponse;
+    private BiometricImageSummaryDTO testSummary;
     private Map<String, String> exifMetadata;
     private Map<String, String> sanitizedExifMetadata;
 
@@ -118,18 +145,22 @@ class BiometricImageStorageServiceTest {
         testMetadataResponse.setDataAtualizacao(LocalDateTime.now());
         testMetadataResponse.setAtiva(true);
         testMetadataResponse.setExifMetadata(sanitizedExifMetadata);
+
+        testSummary = new BiometricImageSummaryDTO(VALID_META_ID, "FACIAL", 1024, LocalDateTime.now(), true);
+
+        lenient().when(mongoTemplate.exists(any(Query.class), eq(BiometricImageMetadata.class))).thenReturn(true);
     }
 
     @Test
-    void testStoreImage_ValidImage_Success(){
-        ObjectId validObjectId = new ObjectId(VALID_FILE_ID);
-
+    void testStoreImage_ValidImage_Success() throws Exception {
         doNothing().when(imageValidationService).validateImage(any(), anyString());
         when(metadataExtractionService.extractMetadata(any())).thenReturn(exifMetadata);
         when(metadataExtractionService.sanitizeMetadata(any())).thenReturn(sanitizedExifMetadata);
         when(metadataRepository.findByHashAndUsuarioId(anyString(), anyString())).thenReturn(List.of());
-        when(gridFsTemplate.store(any(), anyString(), anyString(), any(Document.class)))
-                .thenReturn(validObjectId);
+        when(normalizationService.normalize(testImageFile, "FACIAL", exifMetadata))
+                .thenReturn(new ImageNormalizationService.NormalizedImage(testImageFile, false));
+        when(tieredBlobStorage.store(any(), anyString(), anyString(), any(Document.class)))
+                .thenReturn(VALID_FILE_ID);
         when(metadataRepository.save(any(BiometricImageMetadata.class))).thenReturn(testMetadata);
         when(mapper.toDTO(testMetadata)).thenReturn(testMetadataResponse);
 
@@ -144,8 +175,60 @@ class BiometricImageStorageServiceTest {
         verify(imageValidationService).validateImage(testImageFile, "FACIAL");
         verify(metadataExtractionService).extractMetadata(testImageFile);
         verify(metadataExtractionService).sanitizeMetadata(exifMetadata);
-        verify(gridFsTemplate).store(any(), eq("test-image.jpg"), eq("image/jpeg"), any(Document.class));
+        verify(tieredBlobStorage).store(any(), eq("test-image.jpg"), eq("image/jpeg"), any(Document.class));
         verify(metadataRepository).save(any(BiometricImageMetadata.class));
+        verify(statisticsService).recordUpload(eq("FACIAL"), eq("MOBILE"), any());
+    }
+
+    @Test
+    void testStoreImage_NormalizedImage_StoresNormalizedAndKeepsOriginal() throws Exception {
+        MockMultipartFile normalizedFile = new MockMultipartFile("image", "test-image.jpg", "image/jpeg",
+                "small".getBytes());
+        BlobStore coldBlobStore = mock(BlobStore.class);
+
+        when(metadataExtractionService.extractMetadata(any())).thenReturn(exifMetadata);
+        when(metadataExtractionService.sanitizeMetadata(any())).thenReturn(sanitizedExifMetadata);
+        when(metadataRepository.findByHashAndUsuarioId(anyString(), anyString())).thenReturn(List.of());
+        when(normalizationService.normalize(testImageFile, "FACIAL", exifMetadata))
+                .thenReturn(new ImageNormalizationService.NormalizedImage(normalizedFile, true));
+        when(normalizationService.isKeepOriginal()).thenReturn(true);
+        when(tieredBlobStorage.storeFor(StorageTier.COLD)).thenReturn(coldBlobStore);
+        when(coldBlobStore.store(any(), anyString(), anyString(), isNull())).thenReturn("original123");
+        when(tieredBlobStorage.store(any(), anyString(), anyString(), any(Document.class)))
+                .thenReturn(VALID_FILE_ID);
+        when(metadataRepository.save(any(BiometricImageMetadata.class))).thenAnswer(i -> i.getArgument(0));
+
+        biometricImageStorageService.storeImage(testImageFile, uploadRequestDTO, new HashMap<>());
+
+        ArgumentCaptor<BiometricImageMetadata> captor = ArgumentCaptor.forClass(BiometricImageMetadata.class);
+        verify(metadataRepository).save(captor.capture());
+        assertEquals(5L, captor.getValue().getSize());
+        assertEquals(testImageFile.getSize(), captor.getValue().getOriginalSize());
+        assertEquals("original123", captor.getValue().getOriginalFileId());
+        assertEquals(StorageTier.HOT, captor.getValue().getStorageTier());
+    }
+
+    @Test
+    void testStoreImage_AsyncPostProcessing_EnqueuesJobs() throws Exception {
+        ReflectionTestUtils.setField(biometricImageStorageService, "asyncPostProcessing", true);
+        ReflectionTestUtils.setField(biometricImageStorageService, "faceDetectionOnUpload", true);
+
+        when(normalizationService.isEnabled()).thenReturn(false);
+        when(metadataExtractionService.sanitizeMetadata(any())).thenReturn(new HashMap<>());
+        when(normalizationService.normalize(eq(testImageFile), eq("FACIAL"), any()))
+                .thenReturn(new ImageNormalizationService.NormalizedImage(testImageFile, false));
+        when(tieredBlobStorage.store(any(), anyString(), anyString(), any(Document.class)))
+                .thenReturn(VALID_FILE_ID);
+        when(metadataRepository.save(any(BiometricImageMetadata.class))).thenReturn(testMetadata);
+        when(mapper.toDTO(testMetadata)).thenReturn(testMetadataResponse);
+
+        biometricImageStorageService.storeImage(testImageFile, uploadRequestDTO, new HashMap<>());
+
+        verify(metadataExtractionService, never()).extractMetadata(any());
+        verify(metadataRepository, never()).findByHashAndUsuarioId(anyString(), anyString());
+        verify(jobQueueService).enqueue(ProcessingJobType.EXTRACAO_EXIF, VALID_META_ID, "user123", null);
+        verify(jobQueueService).enqueue(ProcessingJobType.VERIFICACAO_DUPLICIDADE, VALID_META_ID, "user123", null);
+        verify(jobQueueService).enqueue(ProcessingJobType.DETECCAO_FACIAL, VALID_META_ID, "user123", null);
     }
 
     @Test
@@ -160,7 +243,7 @@ class BiometricImageStorageServiceTest {
                 biometricImageStorageService.storeImage(testImageFile, uploadRequestDTO, metadataMap));
 
         verify(imageValidationService).validateImage(testImageFile, "FACIAL");
-        verifyNoInteractions(gridFsTemplate);
+        verifyNoInteractions(tieredBlobStorage);
         verifyNoInteractions(metadataRepository);
     }
 
@@ -169,16 +252,54 @@ class BiometricImageStorageServiceTest {
     void testGetImage_ExistingId_ReturnsImageBytes() throws Exception {
         byte[] expectedBytes = "test image content".getBytes();
         when(metadataRepository.findById(VALID_META_ID)).thenReturn(Optional.of(testMetadata));
-        when(gridFsTemplate.findOne(any(Query.class))).thenReturn(gridFSFile);
-        when(gridFsTemplate.getResource(gridFSFile)).thenReturn(gridFsResource);
-        when(gridFsResource.getInputStream()).thenReturn(new ByteArrayInputStream(expectedBytes));
+        when(tieredBlobStorage.open(testMetadata)).thenReturn(new ByteArrayInputStream(expectedBytes));
 
         byte[] result = biometricImageStorageService.getImage(VALID_META_ID);
 
         assertArrayEquals(expectedBytes, result);
         verify(metadataRepository).findById(VALID_META_ID);
-        verify(gridFsTemplate).findOne(any(Query.class));
-        verify(gridFsTemplate).getResource(gridFSFile);
+        verify(tieredBlobStorage).open(testMetadata);
+    }
+
+    @Test
+    void testGetImage_MissingBlob_ThrowsNotFound() throws Exception {
+        when(metadataRepository.findById(VALID_META_ID)).thenReturn(Optional.of(testMetadata));
+        when(tieredBlobStorage.open(testMetadata)).thenThrow(new FileNotFoundException(VALID_FILE_ID));
+
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+                () -> biometricImageStorageService.getImage(VALID_META_ID));
+
+        assertEquals(HttpStatus.NOT_FOUND, exception.getStatusCode());
+    }
+
+    @Test
+    void testGetImage_CachedTierStale_EvictsAndReopensFromCurrentTier() throws Exception {
+        testMetadata.setStorageTier(StorageTier.HOT);
+        BiometricImageMetadata migrated = BiometricImageMetadata.builder().id(VALID_META_ID).fileId(VALID_FILE_ID)
+                .usuarioId("user123").ativa(true).storageTier(StorageTier.COLD).build();
+        when(metadataRepository.findById(VALID_META_ID)).thenReturn(Optional.of(testMetadata), Optional.of(migrated));
+        biometricImageStorageService.getMetadataById(VALID_META_ID);
+        when(tieredBlobStorage.open(testMetadata)).thenThrow(new FileNotFoundException(VALID_FILE_ID));
+        when(tieredBlobStorage.open(migrated)).thenReturn(new ByteArrayInputStream("frio".getBytes()));
+
+        assertArrayEquals("frio".getBytes(), biometricImageStorageService.getImage(VALID_META_ID));
+
+        verify(metadataCache).evict(VALID_META_ID);
+        verify(metadataRepository, times(2)).findById(VALID_META_ID);
+    }
+
+    @Test
+    void testGetImage_DeletedOnAnotherNode_ThrowsNotFoundDespiteCache() throws Exception {
+        when(metadataRepository.findById(VALID_META_ID)).thenReturn(Optional.of(testMetadata));
+        biometricImageStorageService.getMetadataById(VALID_META_ID);
+        when(mongoTemplate.exists(any(Query.class), eq(BiometricImageMetadata.class))).thenReturn(false);
+
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+                () -> biometricImageStorageService.getImage(VALID_META_ID));
+
+        assertEquals(HttpStatus.NOT_FOUND, exception.getStatusCode());
+        verify(tieredBlobStorage, never()).open(any());
+        verify(metadataCache).evict(testMetadata);
     }
 
     @Test
@@ -213,49 +334,148 @@ class BiometricImageStorageServiceTest {
         verify(metadataRepository).findById(nonExistentId);
     }
 
+    @Test
+    void testGetMetadataById_RepeatedLookup_ServedFromCache() {
+        when(metadataRepository.findById(VALID_META_ID)).thenReturn(Optional.of(testMetadata));
+        when(mapper.toDTO(testMetadata)).thenReturn(testMetadataResponse);
+
+        biometricImageStorageService.getMetadataById(VALID_META_ID);
+        biometricImageStorageService.getMetadataById(VALID_META_ID);
+
+        verify(metadataRepository, times(1)).findById(VALID_META_ID);
+    }
+
     @Test
     void testGetImagesByUsuario_ReturnsImages() {
-        List<BiometricImageMetadata> metadataList = Collections.singletonList(testMetadata);
-        List<BiometricImageMetadataResponseDTO> expectedResponses = Collections.singletonList(testMetadataResponse);
+        List<BiometricImageSummaryDTO> summaries = Collections.singletonList(testSummary);
 
-        when(metadataRepository.findByUsuarioId("user123")).thenReturn(metadataList);
-        when(mapper.toDTOList(metadataList)).thenReturn(expectedResponses);
+        when(metadataRepository.findByUsuarioIdAndAtivaTrueOrderByIdAsc(eq("user123"), any(Pageable.class)))
+                .thenReturn(summaries);
 
-        List<BiometricImageMetadataResponseDTO> result = biometricImageStorageService.getImagesByUsuario("user123");
+        PageResponseDTO<BiometricImageSummaryDTO> result =
+                biometricImageStorageService.getImagesByUsuario("user123", null, null);
 
         assertNotNull(result);
-        assertEquals(1, result.size());
-        assertEquals(VALID_META_ID, result.get(0).getId());
-        verify(metadataRepository).findByUsuarioId("user123");
-        verify(mapper).toDTOList(metadataList);
+        assertEquals(1, result.getItens().size());
+        assertEquals(VALID_META_ID, result.getItens().get(0).getId());
+        assertFalse(result.isTemMais());
+        assertNull(result.getProximoCursor());
+        verify(metadataRepository).findByUsuarioIdAndAtivaTrueOrderByIdAsc("user123",
+                KeysetPagination.lookahead(KeysetPagination.DEFAULT_LIMIT));
+        verifyNoInteractions(mapper);
+    }
+
+    @Test
+    void testGetImagesByUsuario_MoreThanLimit_ReturnsCursorForNextPage() {
+        BiometricImageSummaryDTO second = BiometricImageSummaryDTO.builder().id("507f1f77bcf86cd799439099").build();
+        when(metadataRepository.findByUsuarioIdAndAtivaTrueOrderByIdAsc("user123", KeysetPagination.lookahead(1)))
+                .thenReturn(List.of(testSummary, second));
+
+        PageResponseDTO<BiometricImageSummaryDTO> page =
+                biometricImageStorageService.getImagesByUsuario("user123", null, 1);
+
+        assertTrue(page.isTemMais());
+        assertEquals(List.of(testSummary), page.getItens());
+        assertEquals(VALID_META_ID, KeysetPagination.decodeCursor(page.getProximoCursor()));
+    }
+
+    @Test
+    void testGetImagesByUsuario_WithCursor_QueriesAfterLastId() {
+        String cursor = KeysetPagination.encodeCursor(VALID_META_ID);
+        when(metadataRepository.findByUsuarioIdAndAtivaTrueAndIdGreaterThanOrderByIdAsc("user123", VALID_META_ID,
+                KeysetPagination.lookahead(10))).thenReturn(Collections.emptyList());
+
+        PageResponseDTO<BiometricImageSummaryDTO> page =
+                biometricImageStorageService.getImagesByUsuario("user123", cursor, 10);
+
+        assertTrue(page.getItens().isEmpty());
+        assertFalse(page.isTemMais());
+        verify(metadataRepository, never()).findByUsuarioIdAndAtivaTrueOrderByIdAsc(any(), any());
+    }
+
+    @Test
+    void testGetImagesByUsuario_InvalidCursor_ThrowsBadRequest() {
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+                () -> biometricImageStorageService.getImagesByUsuario("user123", "nao-e-um-cursor", 10));
+
+        assertEquals(HttpStatus.BAD_REQUEST, exception.getStatusCode());
+        verifyNoInteractions(metadataRepository);
     }
 
     @Test
     void testGetImagesByUsuarioAndTipo_ReturnsImages() {
-        List<BiometricImageMetadata> metadataList = Collections.singletonList(testMetadata);
-        List<BiometricImageMetadataResponseDTO> expectedResponses = Collections.singletonList(testMetadataResponse);
+        List<BiometricImageSummaryDTO> summaries = Collections.singletonList(testSummary);
 
-        when(metadataRepository.findByUsuarioIdAndTipoImagem("user123", "FACIAL")).thenReturn(metadataList);
-        when(mapper.toDTOList(metadataList)).thenReturn(expectedResponses);
+        when(metadataRepository.findByUsuarioIdAndTipoImagemAndAtivaTrueOrderByIdAsc(eq("user123"), eq("FACIAL"),
+                any(Pageable.class))).thenReturn(summaries);
 
-        List<BiometricImageMetadataResponseDTO> result = biometricImageStorageService.getImagesByUsuarioAndTipo("user123", "FACIAL");
+        PageResponseDTO<BiometricImageSummaryDTO> result =
+                biometricImageStorageService.getImagesByUsuarioAndTipo("user123", "FACIAL", null, null);
 
         assertNotNull(result);
-        assertEquals(1, result.size());
-        assertEquals(VALID_META_ID, result.get(0).getId());
-        verify(metadataRepository).findByUsuarioIdAndTipoImagem("user123", "FACIAL");
-        verify(mapper).toDTOList(metadataList);
+        assertEquals(1, result.getItens().size());
+        assertEquals("FACIAL", result.getItens().get(0).getTipoImagem());
+        verify(metadataRepository).findByUsuarioIdAndTipoImagemAndAtivaTrueOrderByIdAsc("user123", "FACIAL",
+                KeysetPagination.lookahead(KeysetPagination.DEFAULT_LIMIT));
     }
 
     @Test
-    void testDeleteImage_ExistingId_DeletesImage() {
+    void testDeleteImage_ExistingId_MarksInactiveWithoutTouchingBlobs() throws Exception {
         when(metadataRepository.findById(VALID_META_ID)).thenReturn(Optional.of(testMetadata));
+        when(mongoTemplate.updateFirst(any(Query.class), any(Update.class), eq(BiometricImageMetadata.class)))
+                .thenReturn(UpdateResult.acknowledged(1, 1L, null));
 
         biometricImageStorageService.deleteImage(VALID_META_ID);
 
-        verify(metadataRepository).findById(VALID_META_ID);
-        verify(gridFsTemplate).delete(any(Query.class));
-        verify(metadataRepository).delete(testMetadata);
+        ArgumentCaptor<Update> updateCaptor = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate).updateFirst(any(Query.class), updateCaptor.capture(), eq(BiometricImageMetadata.class));
+        Document set = (Document) updateCaptor.getValue().getUpdateObject().get("$set");
+        assertEquals(false, set.get("ativa"));
+        assertNotNull(set.get("dataExclusao"));
+        verify(metadataCache).evict(testMetadata);
+        verifyNoInteractions(tieredBlobStorage);
+        verify(metadataRepository, never()).delete(any());
+    }
+
+    @Test
+    void testDeleteImage_ConcurrentlyDeleted_ThrowsNotFound() {
+        when(metadataRepository.findById(VALID_META_ID)).thenReturn(Optional.of(testMetadata));
+        when(mongoTemplate.updateFirst(any(Query.class), any(Update.class), eq(BiometricImageMetadata.class)))
+                .thenReturn(UpdateResult.acknowledged(1, 0L, null));
+
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+                () -> biometricImageStorageService.deleteImage(VALID_META_ID));
+        assertEquals(HttpStatus.NOT_FOUND, exception.getStatusCode());
+    }
+
+    @Test
+    void testGetMetadataById_InactiveImage_ThrowsNotFound() {
+        testMetadata.setAtiva(false);
+        when(metadataRepository.findById(VALID_META_ID)).thenReturn(Optional.of(testMetadata));
+
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+                () -> biometricImageStorageService.getMetadataById(VALID_META_ID));
+        assertEquals(HttpStatus.NOT_FOUND, exception.getStatusCode());
+    }
+
+    @Test
+    void testDeleteImage_CachedListing_IsInvalidated() throws Exception {
+        when(metadataRepository.findByUsuarioIdAndAtivaTrueOrderByIdAsc(eq(testMetadata.getUsuarioId()), any(Pageable.class)))
+                .thenReturn(Collections.singletonList(testSummary), Collections.emptyList());
+        when(metadataRepository.findById(VALID_META_ID)).thenReturn(Optional.of(testMetadata));
+        when(mongoTemplate.updateFirst(any(Query.class), any(Update.class), eq(BiometricImageMetadata.class)))
+                .thenReturn(UpdateResult.acknowledged(1, 1L, null));
+
+        biometricImageStorageService.getImagesByUsuario(testMetadata.getUsuarioId(), null, null);
+        assertEquals(1, biometricImageStorageService.getImagesByUsuario(testMetadata.getUsuarioId(), null, null)
+                .getItens().size());
+
+        biometricImageStorageService.deleteImage(VALID_META_ID);
+
+        assertTrue(biometricImageStorageService.getImagesByUsuario(testMetadata.getUsuarioId(), null, null)
+                .getItens().isEmpty());
+        verify(metadataRepository, times(2)).findByUsuarioIdAndAtivaTrueOrderByIdAsc(eq(testMetadata.getUsuarioId()),
+                any(Pageable.class));
     }
 
     @Test
@@ -265,6 +485,6 @@ class BiometricImageStorageServiceTest {
 
         assertThrows(ResponseStatusException.class, () -> biometricImageStorageService.deleteImage(nonExistentId));
         verify(metadataRepository).findById(nonExistentId);
-        verifyNoMoreInteractions(gridFsTemplate);
+        verifyNoInteractions(tieredBlobStorage);
     }
 }
\ No newline at end of file
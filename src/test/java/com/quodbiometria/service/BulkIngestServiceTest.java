@@ -0,0 +1,169 @@
+package com.quodbiometria.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.quodbiometria.exception.ImageValidationException;
+import com.quodbiometria.model.dto.request.BiometricImageUploadRequestDTO;
+import com.quodbiometria.model.dto.response.BiometricImageMetadataResponseDTO;
+import com.quodbiometria.model.dto.response.BulkIngestReportDTO;
+import com.quodbiometria.model.enums.BulkIngestItemStatus;
+import com.quodbiometria.repository.BiometricImageMetadataRepository;
+
+@ExtendWith(MockitoExtension.class)
+class BulkIngestServiceTest {
+
+    @Mock
+    private BiometricImageStorageService storageService;
+
+    @Mock
+    private BiometricImageMetadataRepository metadataRepository;
+
+    private BulkIngestService bulkIngestService;
+
+    @BeforeEach
+    void setUp() {
+        bulkIngestService = new BulkIngestService(storageService, metadataRepository, Runnable::run);
+        ReflectionTestUtils.setField(bulkIngestService, "maxFileSize", 1024L);
+    }
+
+    @Test
+    void testIngestZip_ValidBatch_ReportsEachLine() throws IOException {
+        MockMultipartFile zip = zipOf("fotos/a.jpg", "imagem a", "b.jpg", "imagem b");
+        MockMultipartFile manifesto = manifest("""
+                arquivo,usuarioId,tipoImagem,dispositivo
+                a.jpg,user1,facial,KIOSK
+                b.jpg,user2,DIGITAL
+                c.jpg,user3,FACIAL
+                """);
+
+        BiometricImageMetadataResponseDTO stored = BiometricImageMetadataResponseDTO.builder().id("meta1").build();
+        when(metadataRepository.existsByHashAndUsuarioIdAndAtivaTrue(anyString(), anyString())).thenReturn(false);
+        when(storageService.storeImage(any(), any(BiometricImageUploadRequestDTO.class), anyMap()))
+                .thenReturn(stored)
+                .thenThrow(new ImageValidationException("Dimensões inválidas"));
+
+        BulkIngestReportDTO report = bulkIngestService.ingestZip(zip, manifesto, 1);
+
+        assertEquals(3, report.getTotalItens());
+        assertEquals(1, report.getArmazenados());
+        assertEquals(1, report.getRejeitados());
+        assertEquals(1, report.getNaoEncontrados());
+        assertEquals(5, report.getProximaLinha());
+
+        assertEquals(2, report.getItens().get(0).getLinha());
+        assertEquals(BulkIngestItemStatus.ARMAZENADA, report.getItens().get(0).getStatus());
+        assertEquals("FACIAL", report.getItens().get(0).getTipoImagem());
+        assertEquals("meta1", report.getItens().get(0).getImagemId());
+        assertNotNull(report.getItens().get(0).getHash());
+        assertEquals(BulkIngestItemStatus.REJEITADA, report.getItens().get(1).getStatus());
+        assertEquals("Dimensões inválidas", report.getItens().get(1).getMensagem());
+        assertEquals(BulkIngestItemStatus.NAO_ENCONTRADA, report.getItens().get(2).getStatus());
+    }
+
+    @Test
+    void testIngestZip_ResumeFromLine_SkipsPreviousLinesAndDuplicates() throws IOException {
+        MockMultipartFile zip = zipOf("a.jpg", "imagem a", "b.jpg", "imagem b");
+        MockMultipartFile manifesto = manifest("""
+                a.jpg,user1,FACIAL
+                b.jpg,user2,FACIAL
+                """);
+
+        when(metadataRepository.existsByHashAndUsuarioIdAndAtivaTrue(anyString(), eq("user2"))).thenReturn(true);
+
+        BulkIngestReportDTO report = bulkIngestService.ingestZip(zip, manifesto, 2);
+
+        assertEquals(1, report.getTotalItens());
+        assertEquals(1, report.getDuplicados());
+        assertEquals(2, report.getItens().get(0).getLinha());
+        verifyNoInteractions(storageService);
+    }
+
+    @Test
+    void testIngestZip_FileNamedLikeHeader_IsIngested() throws IOException {
+        MockMultipartFile zip = zipOf("arquivo_001.jpg", "imagem a", "b.jpg", "imagem b");
+        MockMultipartFile manifesto = manifest("""
+                arquivo;usuarioId;tipoImagem
+                arquivo_001.jpg;user1;FACIAL
+                b.jpg;user2;FACIAL
+                """);
+
+        when(metadataRepository.existsByHashAndUsuarioIdAndAtivaTrue(anyString(), anyString())).thenReturn(false);
+        when(storageService.storeImage(any(), any(BiometricImageUploadRequestDTO.class), anyMap()))
+                .thenReturn(BiometricImageMetadataResponseDTO.builder().id("meta1").build());
+
+        BulkIngestReportDTO report = bulkIngestService.ingestZip(zip, manifesto, 1);
+
+        assertEquals(2, report.getTotalItens());
+        assertEquals(2, report.getArmazenados());
+        assertEquals("arquivo_001.jpg", report.getItens().get(0).getArquivo());
+    }
+
+    @Test
+    void testIngestZip_EntryExceedsMaxSize_RejectsWithoutStoring() throws IOException {
+        MockMultipartFile zip = zipOf("a.jpg", "x".repeat(2048));
+        MockMultipartFile manifesto = manifest("a.jpg,user1,FACIAL\n");
+
+        BulkIngestReportDTO report = bulkIngestService.ingestZip(zip, manifesto, 1);
+
+        assertEquals(1, report.getRejeitados());
+        verifyNoInteractions(storageService, metadataRepository);
+    }
+
+    @Test
+    void testIngestFiles_InvalidManifestLine_ReportsFailure() {
+        MockMultipartFile file = new MockMultipartFile("arquivos", "a.jpg", "image/jpeg", "imagem".getBytes());
+        MockMultipartFile manifesto = manifest("a.jpg,,FACIAL\n");
+
+        BulkIngestReportDTO report = bulkIngestService.ingestFiles(List.of(file), manifesto, 1);
+
+        assertEquals(1, report.getFalhas());
+        assertEquals(BulkIngestItemStatus.FALHA, report.getItens().get(0).getStatus());
+        verifyNoInteractions(storageService);
+    }
+
+    @Test
+    void testIngestZip_MissingManifest_ThrowsException() throws IOException {
+        MockMultipartFile zip = zipOf("a.jpg", "imagem a");
+        MockMultipartFile manifesto = manifest("");
+
+        assertThrows(ResponseStatusException.class, () -> bulkIngestService.ingestZip(zip, manifesto, 1));
+    }
+
+    private MockMultipartFile manifest(String content) {
+        return new MockMultipartFile("manifesto", "manifesto.csv", "text/csv",
+                content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private MockMultipartFile zipOf(String... namesAndContents) throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        try (ZipOutputStream zos = new ZipOutputStream(baos)) {
+            for (int i = 0; i < namesAndContents.length; i += 2) {
+                zos.putNextEntry(new ZipEntry(namesAndContents[i]));
+                zos.write(namesAndContents[i + 1].getBytes(StandardCharsets.UTF_8));
+                zos.closeEntry();
+            }
+        }
+        return new MockMultipartFile("arquivoZip", "lote.zip", "application/zip", baos.toByteArray());
+    }
+}
@@ -0,0 +1,195 @@
+package com.quodbiometria.service;
+
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.bulk.BulkWriteResult;
+import com.quodbiometria.model.entity.ErasureCertificate;
+import com.quodbiometria.model.entity.FaceDetectionResult;
+import com.quodbiometria.repository.FaceDetectionRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.BsonDocument;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.util.List;
+import java.util.concurrent.Executor;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class FaceDetectionResultWriterTest {
+
+    @Mock
+    private FaceDetectionRepository faceDetectionRepository;
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private BulkOperations bulkOperations;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private FaceDetectionResultWriter writer(boolean writeBehind, int batchSize, int capacity, Executor executor) {
+        return new FaceDetectionResultWriter(faceDetectionRepository, mongoTemplate, executor, meterRegistry,
+                writeBehind, batchSize, capacity, 0);
+    }
+
+    private void stubBulkInsert() {
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, FaceDetectionResult.class))
+                .thenReturn(bulkOperations);
+        when(bulkOperations.insert(anyList())).thenReturn(bulkOperations);
+        when(bulkOperations.execute()).thenAnswer(invocation -> {
+            BulkWriteResult result = mock(BulkWriteResult.class);
+            when(result.getInsertedCount()).thenReturn(2);
+            return result;
+        });
+    }
+
+    @Test
+    void testWrite_WriteBehindDisabled_SavesSynchronously() {
+        FaceDetectionResult result = FaceDetectionResult.builder().usuarioId("user1").build();
+        when(faceDetectionRepository.save(result)).thenReturn(result);
+
+        writer(false, 10, 10, Runnable::run).write(result);
+
+        verify(faceDetectionRepository).save(result);
+        verifyNoInteractions(mongoTemplate);
+    }
+
+    @Test
+    void testWrite_BelowBatchSize_BuffersWithAssignedId() {
+        FaceDetectionResultWriter writer = writer(true, 10, 10, Runnable::run);
+        FaceDetectionResult result = FaceDetectionResult.builder().usuarioId("user1").build();
+
+        FaceDetectionResult buffered = writer.write(result);
+
+        assertNotNull(buffered.getId());
+        verifyNoInteractions(faceDetectionRepository, mongoTemplate);
+    }
+
+    @Test
+    void testWrite_BatchSizeReached_FlushesWithUnorderedBulkInsert() {
+        stubBulkInsert();
+        FaceDetectionResultWriter writer = writer(true, 2, 10, Runnable::run);
+
+        writer.write(FaceDetectionResult.builder().usuarioId("user1").build());
+        writer.write(FaceDetectionResult.builder().usuarioId("user2").build());
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<FaceDetectionResult>> captor = ArgumentCaptor.forClass(List.class);
+        verify(bulkOperations).insert(captor.capture());
+        assertEquals(2, captor.getValue().size());
+        assertEquals(2.0, meterRegistry.get(FaceDetectionResultWriter.METRIC).tag("resultado", "gravado")
+                .counter().count());
+    }
+
+    @Test
+    void testWrite_BufferFull_FallsBackToSynchronousSave() {
+        FaceDetectionResultWriter writer = writer(true, 10, 1, Runnable::run);
+        FaceDetectionResult first = FaceDetectionResult.builder().usuarioId("user1").build();
+        FaceDetectionResult second = FaceDetectionResult.builder().usuarioId("user2").build();
+        when(faceDetectionRepository.save(second)).thenReturn(second);
+
+        writer.write(first);
+        writer.write(second);
+
+        verify(faceDetectionRepository).save(second);
+        verify(faceDetectionRepository, never()).save(first);
+        assertEquals(1.0, meterRegistry.get(FaceDetectionResultWriter.METRIC).tag("resultado", "sincrono")
+                .counter().count());
+    }
+
+    @Test
+    void testShutdown_PendingResults_FlushedBeforeExit() {
+        stubBulkInsert();
+        FaceDetectionResultWriter writer = writer(true, 10, 10, Runnable::run);
+        writer.write(FaceDetectionResult.builder().usuarioId("user1").build());
+        writer.write(FaceDetectionResult.builder().usuarioId("user2").build());
+
+        writer.shutdown();
+
+        verify(bulkOperations).insert(anyList());
+        assertEquals(0, writer.flush());
+    }
+
+    @Test
+    void testFlush_TransientFailure_RequeuesBatchForNextFlush() {
+        FaceDetectionResultWriter writer = writer(true, 10, 10, Runnable::run);
+        writer.write(FaceDetectionResult.builder().usuarioId("user1").build());
+        writer.write(FaceDetectionResult.builder().usuarioId("user2").build());
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, FaceDetectionResult.class))
+                .thenReturn(bulkOperations);
+        when(bulkOperations.insert(anyList())).thenReturn(bulkOperations);
+        BulkWriteResult written = mock(BulkWriteResult.class);
+        when(written.getInsertedCount()).thenReturn(2);
+        when(bulkOperations.execute())
+                .thenThrow(new DataAccessResourceFailureException("primário indisponível"))
+                .thenReturn(written);
+
+        assertEquals(0, writer.flush());
+        assertEquals(2, writer.flush());
+
+        verify(bulkOperations, times(2)).insert(anyList());
+        assertEquals(2.0, meterRegistry.get(FaceDetectionResultWriter.METRIC).tag("resultado", "reenfileirado")
+                .counter().count());
+        assertNull(meterRegistry.find(FaceDetectionResultWriter.METRIC).tag("resultado", "falha").counter());
+    }
+
+    @Test
+    void testFlush_PartialBulkFailure_RequeuesOnlyNonDuplicates() {
+        FaceDetectionResultWriter writer = writer(true, 10, 10, Runnable::run);
+        FaceDetectionResult duplicated = writer.write(FaceDetectionResult.builder().usuarioId("user1").build());
+        FaceDetectionResult failed = writer.write(FaceDetectionResult.builder().usuarioId("user2").build());
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, FaceDetectionResult.class))
+                .thenReturn(bulkOperations);
+        when(bulkOperations.insert(anyList())).thenReturn(bulkOperations);
+
+        BulkOperationException exception = mock(BulkOperationException.class);
+        BulkWriteResult partial = mock(BulkWriteResult.class);
+        when(exception.getResult()).thenReturn(partial);
+        when(exception.getErrors()).thenReturn(List.of(
+                new BulkWriteError(11000, "duplicate key", new BsonDocument(), 0),
+                new BulkWriteError(91, "shutdown in progress", new BsonDocument(), 1)));
+        when(bulkOperations.execute()).thenThrow(exception).thenReturn(mock(BulkWriteResult.class));
+
+        writer.flush();
+        writer.flush();
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<FaceDetectionResult>> captor = ArgumentCaptor.forClass(List.class);
+        verify(bulkOperations, times(2)).insert(captor.capture());
+        assertEquals(List.of(duplicated, failed), captor.getAllValues().get(0));
+        assertEquals(List.of(failed), captor.getAllValues().get(1));
+    }
+
+    @Test
+    void testFlush_UserUnderErasure_DropsTheirResults() {
+        stubBulkInsert();
+        FaceDetectionResultWriter writer = writer(true, 10, 10, Runnable::run);
+        writer.write(FaceDetectionResult.builder().usuarioId("eliminado").build());
+        FaceDetectionResult kept = writer.write(FaceDetectionResult.builder().usuarioId("user2").build());
+        when(mongoTemplate.findDistinct(any(Query.class), eq("usuarioId"), eq(ErasureCertificate.class),
+                eq(String.class))).thenReturn(List.of("eliminado"));
+
+        writer.flush();
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<FaceDetectionResult>> captor = ArgumentCaptor.forClass(List.class);
+        verify(bulkOperations).insert(captor.capture());
+        assertEquals(List.of(kept), captor.getValue());
+        assertEquals(1.0, meterRegistry.get(FaceDetectionResultWriter.METRIC)
+                .tag("resultado", "descartado_eliminacao").counter().count());
+    }
+}
@@ -3,20 +3,19 @@ package com.quodbiometria.service;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
-import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.ByteOrder;
 import java.util.Map;
 
-import org.apache.commons.imaging.ImageReadException;
-import org.apache.commons.imaging.Imaging;
-import org.apache.commons.imaging.formats.jpeg.JpegImageMetadata;
-import org.apache.commons.imaging.formats.tiff.TiffImageMetadata;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
-import org.mockito.MockedStatic;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.web.multipart.MultipartFile;
+
+import com.quodbiometria.util.ExifTestImages;
 
 @ExtendWith(MockitoExtension.class)
 class ImageMetadataExtractionServiceTest {
@@ -25,61 +24,64 @@ class ImageMetadataExtractionServiceTest {
     private ImageMetadataExtractionService metadataExtractionService;
 
     private MockMultipartFile testImageFile;
-    private JpegImageMetadata jpegMetadata;
-    private TiffImageMetadata exifMetadata;
 
     @BeforeEach
-    void setUp() {
+    void setUp() throws IOException {
         testImageFile = new MockMultipartFile(
                 "image",
                 "test-image.jpg",
                 "image/jpeg",
-                "test image content".getBytes());
-
-        jpegMetadata = mock(JpegImageMetadata.class);
-        exifMetadata = mock(TiffImageMetadata.class);
+                ExifTestImages.jpegWithExif(ByteOrder.BIG_ENDIAN));
     }
 
     @Test
     void testExtractMetadata_ValidImage_ReturnsMetadata() {
-        try (MockedStatic<Imaging> imagingMock = mockStatic(Imaging.class)) {
-            imagingMock.when(() -> Imaging.getMetadata(any(ByteArrayInputStream.class), anyString()))
-                    .thenReturn(jpegMetadata);
+        Map<String, String> result = metadataExtractionService.extractMetadata(testImageFile);
 
-            when(jpegMetadata.getExif()).thenReturn(exifMetadata);
+        assertNotNull(result);
+        assertTrue(result.containsKey("filename"));
+        assertTrue(result.containsKey("contentType"));
+        assertTrue(result.containsKey("size"));
+        assertTrue(result.containsKey("extractedAt"));
+
+        assertEquals("test-image.jpg", result.get("filename"));
+        assertEquals("image/jpeg", result.get("contentType"));
+        assertEquals(ExifTestImages.MODEL, result.get("camera.modelo"));
+        assertEquals(String.valueOf(ExifTestImages.ORIENTATION), result.get("orientacao"));
+        assertTrue(result.containsKey("gps.latitude"));
+    }
 
-            Map<String, String> result = metadataExtractionService.extractMetadata(testImageFile);
+    @Test
+    void testExtractMetadata_ImageWithoutExif_ReturnsBasicMetadata() throws IOException {
+        MockMultipartFile plainImage = new MockMultipartFile("image", "plain.png", "image/png",
+                ExifTestImages.encode("png"));
 
-            assertNotNull(result);
-            assertTrue(result.containsKey("filename"));
-            assertTrue(result.containsKey("contentType"));
-            assertTrue(result.containsKey("size"));
-            assertTrue(result.containsKey("extractedAt"));
+        Map<String, String> result = metadataExtractionService.extractMetadata(plainImage);
 
-            assertEquals("test-image.jpg", result.get("filename"));
-            assertEquals("image/jpeg", result.get("contentType"));
-        }
+        assertEquals("plain.png", result.get("filename"));
+        assertFalse(result.containsKey("camera.modelo"));
+        assertFalse(result.containsKey("error"));
     }
 
     @Test
-    void testExtractMetadata_ExceptionThrown_ReturnsBasicMetadata() {
-        try (MockedStatic<Imaging> imagingMock = mockStatic(Imaging.class)) {
-            imagingMock.when(() -> Imaging.getMetadata(any(ByteArrayInputStream.class), anyString()))
-                    .thenThrow(new ImageReadException("Test exception"));
-
-            Map<String, String> result = metadataExtractionService.extractMetadata(testImageFile);
-
-            assertNotNull(result);
-            assertTrue(result.containsKey("filename"));
-            assertTrue(result.containsKey("contentType"));
-            assertTrue(result.containsKey("size"));
-            assertTrue(result.containsKey("extractedAt"));
-            assertTrue(result.containsKey("error"));
-
-            assertEquals("test-image.jpg", result.get("filename"));
-            assertEquals("image/jpeg", result.get("contentType"));
-            assertTrue(result.get("error").contains("Não foi possível extrair metadados EXIF"));
-        }
+    void testExtractMetadata_ExceptionThrown_ReturnsBasicMetadata() throws IOException {
+        MultipartFile unreadableFile = mock(MultipartFile.class);
+        when(unreadableFile.getInputStream()).thenThrow(new IOException("Test exception"));
+        when(unreadableFile.getOriginalFilename()).thenReturn("test-image.jpg");
+        when(unreadableFile.getContentType()).thenReturn("image/jpeg");
+
+        Map<String, String> result = metadataExtractionService.extractMetadata(unreadableFile);
+
+        assertNotNull(result);
+        assertTrue(result.containsKey("filename"));
+        assertTrue(result.containsKey("contentType"));
+        assertTrue(result.containsKey("size"));
+        assertTrue(result.containsKey("extractedAt"));
+        assertTrue(result.containsKey("error"));
+
+        assertEquals("test-image.jpg", result.get("filename"));
+        assertEquals("image/jpeg", result.get("contentType"));
+        assertTrue(result.get("error").contains("Não foi possível extrair metadados EXIF"));
     }
 
     @Test
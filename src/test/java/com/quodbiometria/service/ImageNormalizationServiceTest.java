@@ -0,0 +1,99 @@
+package com.quodbiometria.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Map;
+
+import javax.imageio.ImageIO;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.quodbiometria.config.ImageTypePolicyProperties;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class ImageNormalizationServiceTest {
+
+    private ImageNormalizationService normalizationService;
+
+    @BeforeEach
+    void setUp() {
+        ImageTypePolicyProperties properties = new ImageTypePolicyProperties();
+        properties.getPadrao().setJpegQuality(0.8f);
+        properties.getPadrao().setMaxDimension(0);
+        ImageTypePolicyProperties.Policy facial = new ImageTypePolicyProperties.Policy();
+        facial.setMaxDimension(400);
+        properties.getTipos().put("facial", facial);
+
+        normalizationService = new ImageNormalizationService(properties,
+                new PixelBudgetGuard(properties, new SimpleMeterRegistry()));
+        ReflectionTestUtils.setField(normalizationService, "enabled", true);
+    }
+
+    @Test
+    void testNormalize_Disabled_ReturnsOriginal() throws IOException {
+        ReflectionTestUtils.setField(normalizationService, "enabled", false);
+        MockMultipartFile file = imageFile(1000, 800, "png");
+
+        ImageNormalizationService.NormalizedImage result = normalizationService.normalize(file, "FACIAL", Map.of());
+
+        assertFalse(result.normalized());
+        assertSame(file, result.file());
+    }
+
+    @Test
+    void testNormalize_LargePng_DownscalesAndReencodesAsJpeg() throws IOException {
+        MockMultipartFile file = imageFile(1000, 800, "png");
+
+        ImageNormalizationService.NormalizedImage result = normalizationService.normalize(file, "FACIAL", Map.of());
+
+        assertTrue(result.normalized());
+        assertEquals("image/jpeg", result.file().getContentType());
+        BufferedImage stored = ImageIO.read(new ByteArrayInputStream(result.file().getBytes()));
+        assertEquals(400, stored.getWidth());
+        assertEquals(320, stored.getHeight());
+    }
+
+    @Test
+    void testNormalize_ExifOrientation_RotatesImage() throws IOException {
+        MockMultipartFile file = imageFile(300, 200, "jpg");
+
+        ImageNormalizationService.NormalizedImage result =
+                normalizationService.normalize(file, "DIGITAL", Map.of("orientacao", "6"));
+
+        assertTrue(result.normalized());
+        BufferedImage stored = ImageIO.read(new ByteArrayInputStream(result.file().getBytes()));
+        assertEquals(200, stored.getWidth());
+        assertEquals(300, stored.getHeight());
+    }
+
+    @Test
+    void testNormalize_NoGain_ReturnsOriginal() throws IOException {
+        ImageTypePolicyProperties properties = new ImageTypePolicyProperties();
+        properties.getPadrao().setJpegQuality(1.0f);
+        normalizationService = new ImageNormalizationService(properties,
+                new PixelBudgetGuard(properties, new SimpleMeterRegistry()));
+        ReflectionTestUtils.setField(normalizationService, "enabled", true);
+        MockMultipartFile file = imageFile(50, 50, "jpg");
+
+        ImageNormalizationService.NormalizedImage result = normalizationService.normalize(file, "DIGITAL", Map.of());
+
+        assertFalse(result.normalized());
+        assertSame(file, result.file());
+    }
+
+    private MockMultipartFile imageFile(int width, int height, String format) throws IOException {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        ImageIO.write(image, format, baos);
+        String contentType = "png".equals(format) ? "image/png" : "image/jpeg";
+        return new MockMultipartFile("image", "test." + format, contentType, baos.toByteArray());
+    }
+}
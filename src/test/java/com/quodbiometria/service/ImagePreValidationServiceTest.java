@@ -0,0 +1,75 @@
+package com.quodbiometria.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.quodbiometria.exception.ImageValidationException;
+import com.quodbiometria.model.dto.response.PreValidationReportDTO;
+
+@ExtendWith(MockitoExtension.class)
+class ImagePreValidationServiceTest {
+
+    @Mock
+    private ImageValidationService imageValidationService;
+
+    private ImagePreValidationService preValidationService;
+
+    private final MockMultipartFile validImage = new MockMultipartFile("arquivos", "a.jpg", "image/jpeg", new byte[]{1});
+    private final MockMultipartFile invalidImage = new MockMultipartFile("arquivos", "b.jpg", "image/jpeg", new byte[]{2});
+
+    @BeforeEach
+    void setUp() {
+        preValidationService = new ImagePreValidationService(imageValidationService, Runnable::run);
+        ReflectionTestUtils.setField(preValidationService, "maxFiles", 2);
+    }
+
+    @Test
+    void testValidate_MixedBatch_ReturnsVerdictPerImage() {
+        doNothing().when(imageValidationService).validateImage(validImage, "FACIAL");
+        doThrow(new ImageValidationException("Proporção inválida"))
+                .when(imageValidationService).validateImage(invalidImage, "DIGITAL");
+
+        PreValidationReportDTO report = preValidationService.validate(
+                List.of(validImage, invalidImage), null, List.of("FACIAL", "DIGITAL"));
+
+        assertEquals(2, report.getTotalItens());
+        assertEquals(1, report.getValidas());
+        assertEquals(1, report.getInvalidas());
+        assertTrue(report.getItens().get(0).isValida());
+        assertEquals("FACIAL", report.getItens().get(0).getTipoImagem());
+        assertFalse(report.getItens().get(1).isValida());
+        assertEquals("Proporção inválida", report.getItens().get(1).getMensagem());
+        verify(imageValidationService).validateImage(validImage, "FACIAL");
+    }
+
+    @Test
+    void testValidate_TooManyFiles_ThrowsBadRequest() {
+        List<MultipartFile> arquivos = List.of(validImage, validImage, validImage);
+
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+                () -> preValidationService.validate(arquivos, "FACIAL", null));
+
+        assertEquals(HttpStatus.BAD_REQUEST, exception.getStatusCode());
+        verifyNoInteractions(imageValidationService);
+    }
+
+    @Test
+    void testValidate_MissingType_ThrowsBadRequest() {
+        List<MultipartFile> arquivos = List.of(validImage);
+
+        assertThrows(ResponseStatusException.class, () -> preValidationService.validate(arquivos, null, null));
+    }
+}
@@ -4,23 +4,29 @@ import static org.junit.jupiter.api.Assertions.*;
 
 import java.awt.image.BufferedImage;
 import java.io.IOException;
+import java.util.List;
 
 import javax.imageio.ImageIO;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
-import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.test.util.ReflectionTestUtils;
 
+import com.quodbiometria.config.ImageTypePolicyProperties;
 import com.quodbiometria.exception.ImageValidationException;
+import com.quodbiometria.service.validation.AspectRatioRule;
+import com.quodbiometria.service.validation.ContentFormatRule;
+import com.quodbiometria.service.validation.FileFormatRule;
+import com.quodbiometria.service.validation.FileSizeRule;
+import com.quodbiometria.service.validation.MinDimensionsRule;
+import com.quodbiometria.service.validation.PixelBudgetRule;
+import com.quodbiometria.service.validation.ValidationRuleEngine;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 
-@ExtendWith(MockitoExtension.class)
 class ImageValidationServiceTest {
 
-    @InjectMocks
     private ImageValidationService imageValidationService;
 
     private MockMultipartFile validJpegFile;
@@ -31,10 +37,28 @@ class ImageValidationServiceTest {
 
     @BeforeEach
     void setUp() throws IOException {
-        ReflectionTestUtils.setField(imageValidationService, "maxFileSize", 5242880L);
-        ReflectionTestUtils.setField(imageValidationService, "minWidth", 100);
-        ReflectionTestUtils.setField(imageValidationService, "minHeight", 100);
-        ReflectionTestUtils.setField(imageValidationService, "allowedFormats", new String[]{"jpeg", "jpg", "png"});
+        ImageTypePolicyProperties properties = new ImageTypePolicyProperties();
+        properties.getTipos().put("facial", policy(300, 300, 0.7, 1.5));
+        properties.getTipos().put("digital", policy(200, 200, 0.8, 1.25));
+        properties.getTipos().put("documento", policy(800, 600, 1.2, 1.8));
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+        FileSizeRule fileSizeRule = new FileSizeRule();
+        ReflectionTestUtils.setField(fileSizeRule, "maxFileSize", 5242880L);
+        FileFormatRule fileFormatRule = new FileFormatRule();
+        ReflectionTestUtils.setField(fileFormatRule, "allowedFormats", new String[]{"jpeg", "jpg", "png"});
+        ContentFormatRule contentFormatRule = new ContentFormatRule();
+        ReflectionTestUtils.setField(contentFormatRule, "allowedFormats", new String[]{"jpeg", "jpg", "png"});
+        MinDimensionsRule minDimensionsRule = new MinDimensionsRule(properties);
+        ReflectionTestUtils.setField(minDimensionsRule, "minWidth", 100);
+        ReflectionTestUtils.setField(minDimensionsRule, "minHeight", 100);
+
+        ValidationRuleEngine ruleEngine = new ValidationRuleEngine(List.of(
+                fileSizeRule, fileFormatRule, contentFormatRule,
+                new PixelBudgetRule(new PixelBudgetGuard(properties, meterRegistry)),
+                minDimensionsRule, new AspectRatioRule(properties)),
+                properties, meterRegistry, new String[]{"tamanho-arquivo", "formato-arquivo"});
+        imageValidationService = new ImageValidationService(ruleEngine);
 
         BufferedImage jpegImage = new BufferedImage(400, 300, BufferedImage.TYPE_INT_RGB);
         byte[] jpegBytes = createImageBytes(jpegImage, "jpg");
@@ -51,6 +75,15 @@ class ImageValidationServiceTest {
         oversizedFile = new MockMultipartFile("image", "large.jpg", "image/jpeg", new byte[6 * 1024 * 1024]);
     }
 
+    private ImageTypePolicyProperties.Policy policy(int minWidth, int minHeight, double minAspect, double maxAspect) {
+        ImageTypePolicyProperties.Policy policy = new ImageTypePolicyProperties.Policy();
+        policy.setMinWidth(minWidth);
+        policy.setMinHeight(minHeight);
+        policy.setMinAspectRatio(minAspect);
+        policy.setMaxAspectRatio(maxAspect);
+        return policy;
+    }
+
     private byte[] createImageBytes(BufferedImage image, String format) throws IOException {
         java.io.ByteArrayOutputStream baos = new java.io.ByteArrayOutputStream();
         ImageIO.write(image, format, baos);
@@ -98,4 +131,52 @@ class ImageValidationServiceTest {
 
         assertEquals("O arquivo da imagem é obrigatório", exception.getMessage());
     }
-}
\ No newline at end of file
+
+    @Test
+    void testValidateImage_ContentDoesNotMatchContentType_ThrowsException() {
+        MockMultipartFile disguisedFile = new MockMultipartFile("image", "test.jpg", "image/jpeg",
+                getBytes(validPngFile));
+
+        ImageValidationException exception = assertThrows(ImageValidationException.class,
+                () -> imageValidationService.validateImage(disguisedFile, "DIGITAL"));
+
+        assertTrue(exception.getMessage().contains("não corresponde ao formato declarado"));
+    }
+
+    @Test
+    void testValidateImage_TextWithImageExtension_ThrowsException() {
+        MockMultipartFile fakeImage = new MockMultipartFile("image", "fake.jpg", "image/jpeg",
+                "This is not an image".getBytes());
+
+        ImageValidationException exception = assertThrows(ImageValidationException.class,
+                () -> imageValidationService.validateImage(fakeImage, "FACIAL"));
+
+        assertTrue(exception.getMessage().contains("Não foi possível ler a imagem"));
+    }
+
+    private byte[] getBytes(MockMultipartFile file) {
+        return assertDoesNotThrow(file::getBytes);
+    }
+
+    @Test
+    void testValidateImage_FacialBelowMinDimensions_ThrowsException() throws IOException {
+        MockMultipartFile smallFacial = new MockMultipartFile("image", "small.jpg", "image/jpeg",
+                createImageBytes(new BufferedImage(250, 250, BufferedImage.TYPE_INT_RGB), "jpg"));
+
+        ImageValidationException exception = assertThrows(ImageValidationException.class,
+                () -> imageValidationService.validateImage(smallFacial, "FACIAL"));
+
+        assertTrue(exception.getMessage().contains("300x300"));
+    }
+
+    @Test
+    void testValidateImage_FacialWrongAspectRatio_ThrowsException() throws IOException {
+        MockMultipartFile wideFacial = new MockMultipartFile("image", "wide.jpg", "image/jpeg",
+                createImageBytes(new BufferedImage(800, 300, BufferedImage.TYPE_INT_RGB), "jpg"));
+
+        ImageValidationException exception = assertThrows(ImageValidationException.class,
+                () -> imageValidationService.validateImage(wideFacial, "FACIAL"));
+
+        assertTrue(exception.getMessage().contains("proporção"));
+    }
+}
@@ -0,0 +1,92 @@
+package com.quodbiometria.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import javax.imageio.ImageIO;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockMultipartFile;
+
+import com.quodbiometria.config.ImageTypePolicyProperties;
+import com.quodbiometria.exception.ImageValidationException;
+import com.quodbiometria.util.ImageProbe;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class PixelBudgetGuardTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private PixelBudgetGuard pixelBudgetGuard;
+
+    @BeforeEach
+    void setUp() {
+        ImageTypePolicyProperties properties = new ImageTypePolicyProperties();
+        properties.getPadrao().setMaxPixels(1_000_000L);
+        ImageTypePolicyProperties.Policy facial = new ImageTypePolicyProperties.Policy();
+        facial.setMaxPixels(100_000L);
+        properties.getTipos().put("facial", facial);
+
+        meterRegistry = new SimpleMeterRegistry();
+        pixelBudgetGuard = new PixelBudgetGuard(properties, meterRegistry);
+    }
+
+    @Test
+    void testCheck_WithinBudget_ReturnsHeaderInfo() throws IOException {
+        MockMultipartFile file = pngFile(400, 200);
+
+        ImageProbe.ImageInfo info = pixelBudgetGuard.check(file, "DOCUMENTO");
+
+        assertEquals(400, info.width());
+        assertEquals(200, info.height());
+    }
+
+    @Test
+    void testCheck_OverTypeBudget_ThrowsAndCountsRejection() throws IOException {
+        MockMultipartFile file = pngFile(400, 300);
+
+        ImageValidationException exception = assertThrows(ImageValidationException.class,
+                () -> pixelBudgetGuard.check(file, "FACIAL"));
+
+        assertTrue(exception.getMessage().contains("100000 pixels"));
+        assertEquals(1.0, meterRegistry.get(PixelBudgetGuard.REJECTION_METRIC)
+                .tag("tipoImagem", "facial").tag("motivo", "limite_excedido").counter().count());
+    }
+
+    @Test
+    void testCheck_HugeDeclaredDimensions_RejectedWithoutDecoding() {
+        ImageProbe.ImageInfo bomb = new ImageProbe.ImageInfo(ImageProbe.Format.PNG, 50_000, 50_000);
+
+        assertThrows(ImageValidationException.class, () -> pixelBudgetGuard.check(bomb, "DIGITAL"));
+    }
+
+    @Test
+    void testCheck_UnreadableHeader_ThrowsAndCountsRejection() {
+        MockMultipartFile file = new MockMultipartFile("image", "fake.png", "image/png", "not an image".getBytes());
+
+        assertThrows(ImageValidationException.class, () -> pixelBudgetGuard.check(file, "DIGITAL"));
+        assertEquals(1.0, meterRegistry.get(PixelBudgetGuard.REJECTION_METRIC)
+                .tag("motivo", "cabecalho_invalido").counter().count());
+    }
+
+    @Test
+    void testCheck_UnknownType_TaggedAsOther() {
+        ImageProbe.ImageInfo bomb = new ImageProbe.ImageInfo(ImageProbe.Format.PNG, 50_000, 50_000);
+
+        assertThrows(ImageValidationException.class, () -> pixelBudgetGuard.check(bomb, "tipo-inventado-123"));
+        assertEquals(1.0, meterRegistry.get(PixelBudgetGuard.REJECTION_METRIC)
+                .tag("tipoImagem", "outro").counter().count());
+        assertTrue(meterRegistry.find(PixelBudgetGuard.REJECTION_METRIC)
+                .tag("tipoImagem", "tipo-inventado-123").counters().isEmpty());
+    }
+
+    private MockMultipartFile pngFile(int width, int height) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB), "png", output);
+        return new MockMultipartFile("image", "test.png", "image/png", output.toByteArray());
+    }
+}
@@ -0,0 +1,86 @@
+package com.quodbiometria.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+
+import com.quodbiometria.model.entity.RateLimitBucketState;
+import com.quodbiometria.service.ratelimit.MongoCompareAndSwapProxyManager;
+
+@ExtendWith(MockitoExtension.class)
+class RateLimitServiceTest {
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private MongoCompareAndSwapProxyManager proxyManager;
+
+    @Test
+    void testTryConsume_ConcurrentFirstRequests_ShareOneBucket() throws Exception {
+        RateLimitService service = new RateLimitService(proxyManager, false, 5, 60, 100);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Callable<Boolean>> attempts = new ArrayList<>();
+            for (int i = 0; i < 40; i++) {
+                attempts.add(() -> service.tryConsume("login_ip_user"));
+            }
+
+            long consumed = 0;
+            for (Future<Boolean> result : executor.invokeAll(attempts)) {
+                consumed += result.get() ? 1 : 0;
+            }
+            assertEquals(5, consumed);
+        } finally {
+            executor.shutdownNow();
+        }
+        verifyNoInteractions(proxyManager);
+    }
+
+    @Test
+    void testTryConsume_KeyBlocked_DeniesWithoutRoundTrip() {
+        RateLimitService service = new RateLimitService(new MongoCompareAndSwapProxyManager(mongoTemplate),
+                true, 1, 60, 100);
+        AtomicReference<RateLimitBucketState> stored = new AtomicReference<>();
+        when(mongoTemplate.insert(any(RateLimitBucketState.class))).thenAnswer(invocation -> {
+            stored.set(invocation.getArgument(0));
+            return invocation.getArgument(0);
+        });
+        when(mongoTemplate.findOne(any(Query.class), eq(RateLimitBucketState.class)))
+                .thenAnswer(invocation -> stored.get());
+
+        assertTrue(service.tryConsume("login_ip_user"));
+        assertFalse(service.tryConsume("login_ip_user"));
+        verify(mongoTemplate, times(1)).insert(any(RateLimitBucketState.class));
+        clearInvocations(mongoTemplate);
+
+        assertFalse(service.tryConsume("login_ip_user"));
+        assertFalse(service.tryConsume("login_ip_user"));
+        verifyNoInteractions(mongoTemplate);
+    }
+
+    @Test
+    void testTryConsume_DifferentKeys_IndependentLimits() {
+        RateLimitService service = new RateLimitService(proxyManager, false, 1, 60, 100);
+
+        assertTrue(service.tryConsume("login_ip_a"));
+        assertTrue(service.tryConsume("login_ip_b"));
+        assertFalse(service.tryConsume("login_ip_a"));
+    }
+}
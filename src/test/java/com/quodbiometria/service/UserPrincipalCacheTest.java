@@ -0,0 +1,70 @@
+package com.quodbiometria.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.quodbiometria.model.entity.User;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class UserPrincipalCacheTest {
+
+    private UserPrincipalCache cache;
+    private AtomicInteger loads;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        cache = new UserPrincipalCache(new SimpleMeterRegistry(), true, 100, 60);
+        loads = new AtomicInteger();
+        user = new User();
+        user.setId("user1");
+        user.setEmail("user@example.com");
+    }
+
+    @Test
+    void testGet_SecondLookup_DoesNotReload() {
+        cache.get("user@example.com", email -> load(user));
+
+        assertSame(user, cache.get("user@example.com", email -> load(user)));
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void testGet_UnknownEmail_IsNotCached() {
+        assertNull(cache.get("missing@example.com", email -> load(null)));
+        assertNull(cache.get("missing@example.com", email -> load(null)));
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void testEvict_ByEmailAndById_Reloads() {
+        cache.get("user@example.com", email -> load(user));
+        cache.evict("user@example.com");
+        cache.get("user@example.com", email -> load(user));
+        cache.evictUserId("user1");
+        cache.get("user@example.com", email -> load(user));
+
+        assertEquals(3, loads.get());
+    }
+
+    @Test
+    void testGet_Disabled_AlwaysLoads() {
+        cache = new UserPrincipalCache(new SimpleMeterRegistry(), false, 100, 60);
+
+        cache.get("user@example.com", email -> load(user));
+        cache.get("user@example.com", email -> load(user));
+
+        assertEquals(2, loads.get());
+    }
+
+    private User load(User value) {
+        loads.incrementAndGet();
+        return value;
+    }
+}
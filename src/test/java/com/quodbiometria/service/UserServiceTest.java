@@ -2,9 +2,11 @@ package com.quodbiometria.service;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 import java.util.*;
+import java.util.function.Function;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -12,17 +14,21 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.server.ResponseStatusException;
 
 import com.quodbiometria.model.dto.request.UserCreateDTO;
 import com.quodbiometria.model.dto.request.UserUpdateDTO;
+import com.quodbiometria.model.dto.response.PageResponseDTO;
 import com.quodbiometria.model.dto.response.UserResponseDTO;
 import com.quodbiometria.model.entity.User;
 import com.quodbiometria.model.enums.Role;
 import com.quodbiometria.model.mappers.UserMapper;
 import com.quodbiometria.repository.UserRepository;
+import com.quodbiometria.service.privacy.UserDataErasureService;
+import com.quodbiometria.util.KeysetPagination;
 
 @ExtendWith(MockitoExtension.class)
 class UserServiceTest {
@@ -39,6 +45,12 @@ class UserServiceTest {
     @Mock
     private PasswordEncoder passwordEncoder;
 
+    @Mock
+    private UserDataErasureService erasureService;
+
+    @Mock
+    private UserPrincipalCache principalCache;
+
     private User testUser;
     private UserCreateDTO createDTO;
     private UserResponseDTO responseDTO;
@@ -173,17 +185,18 @@ class UserServiceTest {
         List<User> users = Collections.singletonList(testUser);
         List<UserResponseDTO> expectedResponses = Collections.singletonList(responseDTO);
 
-        when(userRepository.findAll()).thenReturn(users);
+        when(userRepository.findAllByOrderByIdAsc(any(Pageable.class))).thenReturn(users);
         when(userMapper.toDTOList(users)).thenReturn(expectedResponses);
 
         // Act
-        List<UserResponseDTO> result = userService.getAllUsers();
+        PageResponseDTO<UserResponseDTO> result = userService.getAllUsers(null, null);
 
         // Assert
         assertNotNull(result);
-        assertEquals(1, result.size());
-        assertEquals("user123", result.get(0).getId());
-        verify(userRepository).findAll();
+        assertEquals(1, result.getItens().size());
+        assertEquals("user123", result.getItens().get(0).getId());
+        assertFalse(result.isTemMais());
+        verify(userRepository).findAllByOrderByIdAsc(KeysetPagination.lookahead(KeysetPagination.DEFAULT_LIMIT));
         verify(userMapper).toDTOList(users);
     }
 
@@ -205,6 +218,7 @@ class UserServiceTest {
         verify(userMapper).updateEntityFromDTO(updateDTO, testUser);
         verify(userRepository).save(testUser);
         verify(userMapper).toDTO(testUser);
+        verify(principalCache, atLeastOnce()).evict("user@example.com");
     }
 
     @Test
@@ -230,6 +244,27 @@ class UserServiceTest {
         // Assert
         verify(userRepository).findById("user123");
         verify(userRepository).delete(testUser);
+        verify(principalCache).evict("user@example.com");
+        verify(erasureService).requestErasure(List.of("user123"), null);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testLoadPrincipalByUsername_ExistingUser_LoadsThroughCache() {
+        when(principalCache.get(eq("user@example.com"), any(Function.class)))
+                .thenAnswer(invocation -> ((Function<String, User>) invocation.getArgument(1)).apply("user@example.com"));
+        when(userRepository.findByEmail("user@example.com")).thenReturn(Optional.of(testUser));
+
+        assertSame(testUser, userService.loadPrincipalByUsername("user@example.com"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testLoadPrincipalByUsername_NonExistingUser_ThrowsException() {
+        when(principalCache.get(eq("missing@example.com"), any(Function.class))).thenReturn(null);
+
+        assertThrows(UsernameNotFoundException.class,
+                () -> userService.loadPrincipalByUsername("missing@example.com"));
     }
 
     @Test
@@ -0,0 +1,141 @@
+package com.quodbiometria.service.export;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.quodbiometria.model.dto.request.AuditExportFilterDTO;
+import com.quodbiometria.model.entity.BiometricImageMetadata;
+import com.quodbiometria.model.entity.FaceDetectionResult;
+import com.quodbiometria.util.KeysetPagination;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AuditExportServiceTest {
+
+    private static final String ID_1 = "507f1f77bcf86cd799439011";
+    private static final String ID_2 = "507f1f77bcf86cd799439012";
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    private AuditExportService exportService;
+
+    @BeforeEach
+    void setUp() {
+        exportService = new AuditExportService(mongoTemplate, objectMapper);
+        ReflectionTestUtils.setField(exportService, "batchSize", 1);
+    }
+
+    @Test
+    void testExportImageMetadata_TwoRecords_WritesOneLinePerRecordWithCursor() throws Exception {
+        BiometricImageMetadata first = BiometricImageMetadata.builder().id(ID_1).usuarioId("user1")
+                .tipoImagem("FACIAL").dataCriacao(LocalDateTime.of(2024, 1, 10, 8, 0)).build();
+        BiometricImageMetadata second = BiometricImageMetadata.builder().id(ID_2).usuarioId("user1")
+                .tipoImagem("FACIAL").build();
+        when(mongoTemplate.stream(any(Query.class), eq(BiometricImageMetadata.class)))
+                .thenReturn(Stream.of(first, second));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long exported = exportService.exportImageMetadata(new AuditExportFilterDTO(), out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, exported);
+        assertEquals(2, lines.length);
+
+        JsonNode firstLine = objectMapper.readTree(lines[0]);
+        assertEquals(ID_1, firstLine.get("id").asText());
+        assertEquals("2024-01-10T08:00:00", firstLine.get("dataCriacao").asText());
+        assertEquals(ID_1, KeysetPagination.decodeCursor(firstLine.get(AuditExportService.CURSOR_FIELD).asText()));
+        assertEquals(ID_2, objectMapper.readTree(lines[1]).get("id").asText());
+    }
+
+    @Test
+    void testExportImageMetadata_WithFilters_BuildsRangeQuerySortedById() throws Exception {
+        LocalDateTime de = LocalDateTime.of(2024, 1, 1, 0, 0);
+        LocalDateTime ate = LocalDateTime.of(2024, 2, 1, 0, 0);
+        AuditExportFilterDTO filtro = AuditExportFilterDTO.builder()
+                .de(de).ate(ate).tipoImagem("DOCUMENTO").usuarioId("user1")
+                .after(KeysetPagination.encodeCursor(ID_1))
+                .build();
+        when(mongoTemplate.stream(any(Query.class), eq(BiometricImageMetadata.class))).thenReturn(Stream.empty());
+
+        exportService.exportImageMetadata(filtro, new ByteArrayOutputStream());
+
+        ArgumentCaptor<Query> captor = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).stream(captor.capture(), eq(BiometricImageMetadata.class));
+        Document query = captor.getValue().getQueryObject();
+        assertEquals(new Document("$gt", ID_1)
+                .append("$gte", ObjectId.getSmallestWithDate(date(de.minus(AuditExportService.ID_TIME_MARGIN))))
+                .append("$lt", ObjectId.getSmallestWithDate(date(ate.plus(AuditExportService.ID_TIME_MARGIN)))),
+                query.get("_id"));
+        assertEquals("user1", query.get("usuarioId"));
+        assertEquals("DOCUMENTO", query.get("tipoImagem"));
+        assertEquals(new Document("$gte", de).append("$lt", ate), query.get("dataCriacao"));
+        assertEquals(new Document("_id", 1), captor.getValue().getSortObject());
+        assertEquals(1, captor.getValue().getMeta().getCursorBatchSize());
+    }
+
+    @Test
+    void testExportFaceDetections_DateFilter_UsesCreatedAt() throws Exception {
+        LocalDateTime de = LocalDateTime.of(2024, 1, 1, 0, 0);
+        FaceDetectionResult result = FaceDetectionResult.builder().id(ID_1).usuarioId("user1")
+                .faceDetected(true).confidence(0.9f).build();
+        when(mongoTemplate.stream(any(Query.class), eq(FaceDetectionResult.class))).thenReturn(Stream.of(result));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long exported = exportService.exportFaceDetections(AuditExportFilterDTO.builder().de(de).build(), out);
+
+        ArgumentCaptor<Query> captor = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).stream(captor.capture(), eq(FaceDetectionResult.class));
+        Document query = captor.getValue().getQueryObject();
+        assertEquals(new Document("$gte", de), query.get("createdAt"));
+        assertEquals(new Document("$gte",
+                ObjectId.getSmallestWithDate(date(de.minus(AuditExportService.ID_TIME_MARGIN)))), query.get("_id"));
+        assertEquals(1, exported);
+        assertTrue(objectMapper.readTree(out.toString(StandardCharsets.UTF_8)).get("faceDetected").asBoolean());
+    }
+
+    @Test
+    void testExportImageMetadata_InvalidCursor_ThrowsBadRequest() {
+        AuditExportFilterDTO filtro = AuditExportFilterDTO.builder().after("invalido").build();
+
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+                () -> exportService.exportImageMetadata(filtro, new ByteArrayOutputStream()));
+
+        assertEquals(HttpStatus.BAD_REQUEST, exception.getStatusCode());
+        verifyNoInteractions(mongoTemplate);
+    }
+
+    private static Date date(LocalDateTime dateTime) {
+        return Date.from(dateTime.atZone(ZoneId.systemDefault()).toInstant());
+    }
+}
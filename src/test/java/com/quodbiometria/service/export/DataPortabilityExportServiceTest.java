@@ -0,0 +1,128 @@
+package com.quodbiometria.service.export;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.quodbiometria.model.entity.BiometricImageMetadata;
+import com.quodbiometria.model.entity.FaceDetectionResult;
+import com.quodbiometria.service.storage.TieredBlobStorage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.FileNotFoundException;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DataPortabilityExportServiceTest {
+
+    private static final String ID_1 = "507f1f77bcf86cd799439011";
+    private static final String ID_2 = "507f1f77bcf86cd799439012";
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private TieredBlobStorage tieredBlobStorage;
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    private DataPortabilityExportService exportService;
+
+    @BeforeEach
+    void setUp() {
+        exportService = new DataPortabilityExportService(mongoTemplate, tieredBlobStorage, objectMapper);
+        ReflectionTestUtils.setField(exportService, "batchSize", 1);
+    }
+
+    @Test
+    void testExportUserPackage_WritesImagesManifestAndDetections() throws Exception {
+        BiometricImageMetadata first = BiometricImageMetadata.builder().id(ID_1).usuarioId("user1")
+                .filename("rosto.jpg").ativa(true).build();
+        BiometricImageMetadata second = BiometricImageMetadata.builder().id(ID_2).usuarioId("user1")
+                .filename("documento.png").ativa(true).build();
+        when(mongoTemplate.stream(any(Query.class), eq(BiometricImageMetadata.class)))
+                .thenReturn(Stream.of(first, second), Stream.of(first, second));
+        when(mongoTemplate.stream(any(Query.class), eq(FaceDetectionResult.class)))
+                .thenReturn(Stream.of(FaceDetectionResult.builder().id("det1").usuarioId("user1").build()));
+        when(tieredBlobStorage.open(first)).thenReturn(new ByteArrayInputStream("rosto".getBytes()));
+        when(tieredBlobStorage.open(second)).thenReturn(new ByteArrayInputStream("documento".getBytes()));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long images = exportService.exportUserPackage("user1", out);
+
+        Map<String, String> entries = unzip(out.toByteArray());
+        assertEquals(2, images);
+        assertEquals(List.of("imagens/" + ID_1 + ".jpg", "imagens/" + ID_2 + ".png",
+                DataPortabilityExportService.MANIFEST_ENTRY, DataPortabilityExportService.DETECTIONS_ENTRY),
+                List.copyOf(entries.keySet()));
+        assertEquals("rosto", entries.get("imagens/" + ID_1 + ".jpg"));
+
+        String[] manifest = entries.get(DataPortabilityExportService.MANIFEST_ENTRY).split("\n");
+        assertEquals(2, manifest.length);
+        JsonNode line = objectMapper.readTree(manifest[1]);
+        assertEquals(ID_2, line.get("id").asText());
+        assertEquals("imagens/" + ID_2 + ".png", line.get(DataPortabilityExportService.FILE_FIELD).asText());
+        assertEquals(1, entries.get(DataPortabilityExportService.DETECTIONS_ENTRY).split("\n").length);
+    }
+
+    @Test
+    void testExportUserPackage_MissingBlob_ListedWithoutFile() throws Exception {
+        BiometricImageMetadata metadata = BiometricImageMetadata.builder().id(ID_1).usuarioId("user1")
+                .filename("rosto.jpg").ativa(true).build();
+        when(mongoTemplate.stream(any(Query.class), eq(BiometricImageMetadata.class)))
+                .thenReturn(Stream.of(metadata), Stream.of(metadata));
+        when(mongoTemplate.stream(any(Query.class), eq(FaceDetectionResult.class))).thenReturn(Stream.empty());
+        when(tieredBlobStorage.open(metadata)).thenThrow(new FileNotFoundException("ausente"));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        assertEquals(0, exportService.exportUserPackage("user1", out));
+
+        Map<String, String> entries = unzip(out.toByteArray());
+        assertFalse(entries.containsKey("imagens/" + ID_1 + ".jpg"));
+        JsonNode line = objectMapper.readTree(entries.get(DataPortabilityExportService.MANIFEST_ENTRY).trim());
+        assertTrue(line.get(DataPortabilityExportService.FILE_FIELD).isNull());
+    }
+
+    @Test
+    void testImageEntryName_UnsafeFilename_KeepsOnlyExtension() {
+        BiometricImageMetadata metadata = BiometricImageMetadata.builder().id(ID_1)
+                .filename("../../etc/passwd.jpeg").build();
+        assertEquals("imagens/" + ID_1 + ".jpeg", DataPortabilityExportService.imageEntryName(metadata));
+
+        metadata.setFilename(null);
+        assertEquals("imagens/" + ID_1, DataPortabilityExportService.imageEntryName(metadata));
+    }
+
+    private static Map<String, String> unzip(byte[] bytes) throws Exception {
+        Map<String, String> entries = new LinkedHashMap<>();
+        try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(bytes))) {
+            ZipEntry entry;
+            while ((entry = zip.getNextEntry()) != null) {
+                entries.put(entry.getName(), new String(zip.readAllBytes(), StandardCharsets.UTF_8));
+            }
+        }
+        return entries;
+    }
+}
@@ -0,0 +1,62 @@
+package com.quodbiometria.service.jobs;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockMultipartFile;
+
+import com.quodbiometria.model.dto.request.FaceDetectionRequestDTO;
+import com.quodbiometria.model.dto.response.FaceDetectionResponseDTO;
+import com.quodbiometria.model.entity.BiometricImageMetadata;
+import com.quodbiometria.model.entity.ProcessingJob;
+import com.quodbiometria.repository.FaceDetectionRepository;
+import com.quodbiometria.service.FacialProcessingService;
+
+@ExtendWith(MockitoExtension.class)
+class FaceDetectionJobHandlerTest {
+
+    @InjectMocks
+    private FaceDetectionJobHandler handler;
+
+    @Mock
+    private ProcessingJobImageLoader imageLoader;
+
+    @Mock
+    private FacialProcessingService facialProcessingService;
+
+    @Mock
+    private FaceDetectionRepository faceDetectionRepository;
+
+    private final ProcessingJob job = ProcessingJob.builder().id("job1").imagemId("img1").build();
+    private final BiometricImageMetadata metadata = BiometricImageMetadata.builder().id("img1")
+            .usuarioId("user1").ativa(true).build();
+
+    @Test
+    void testHandle_NoPreviousResult_DetectsAndSaves() throws Exception {
+        MockMultipartFile content = new MockMultipartFile("file", "rosto.jpg", "image/jpeg", "imagem".getBytes());
+        when(imageLoader.loadMetadata(job)).thenReturn(metadata);
+        when(faceDetectionRepository.existsByImageId("img1")).thenReturn(false);
+        when(imageLoader.loadContent(metadata)).thenReturn(content);
+        when(facialProcessingService.processFacialImage(any(), any(FaceDetectionRequestDTO.class)))
+                .thenReturn(FaceDetectionResponseDTO.builder().confidence(0.9f).build());
+
+        assertTrue(handler.handle(job).startsWith("Face detectada"));
+        verify(facialProcessingService).processFacialImage(eq(content), argThat(request -> Boolean.TRUE.equals(request.getSalvarResultado())));
+    }
+
+    @Test
+    void testHandle_ResultAlreadySaved_SkipsDetection() throws Exception {
+        when(imageLoader.loadMetadata(job)).thenReturn(metadata);
+        when(faceDetectionRepository.existsByImageId("img1")).thenReturn(true);
+
+        assertEquals("Detecção facial já registrada para a imagem", handler.handle(job));
+        verify(imageLoader, never()).loadContent(any());
+        verifyNoInteractions(facialProcessingService);
+    }
+}
@@ -0,0 +1,155 @@
+package com.quodbiometria.service.jobs;
+
+import com.mongodb.client.result.UpdateResult;
+import com.quodbiometria.model.entity.ProcessingJob;
+import com.quodbiometria.model.enums.ProcessingJobStatus;
+import com.quodbiometria.model.enums.ProcessingJobType;
+import com.quodbiometria.repository.ProcessingJobRepository;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProcessingJobQueueServiceTest {
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private ProcessingJobRepository jobRepository;
+
+    private ProcessingJobQueueService queueService;
+
+    @BeforeEach
+    void setUp() {
+        queueService = new ProcessingJobQueueService(mongoTemplate, jobRepository);
+        ReflectionTestUtils.setField(queueService, "maxAttempts", 3);
+        ReflectionTestUtils.setField(queueService, "leaseSeconds", 300L);
+        ReflectionTestUtils.setField(queueService, "initialBackoffSeconds", 10L);
+        ReflectionTestUtils.setField(queueService, "maxBackoffSeconds", 60L);
+    }
+
+    @Test
+    void testEnqueue_NewJob_SavedAsPending() {
+        when(jobRepository.save(any(ProcessingJob.class))).thenAnswer(i -> i.getArgument(0));
+
+        ProcessingJob job = queueService.enqueue(ProcessingJobType.EXTRACAO_EXIF, "img1", "user1", null);
+
+        assertEquals(ProcessingJobStatus.PENDENTE, job.getStatus());
+        assertEquals(0, job.getTentativas());
+        assertEquals(3, job.getMaxTentativas());
+        assertNotNull(job.getProximaExecucao());
+    }
+
+    @Test
+    void testClaimNext_AvailableJob_MarksRunningWithLease() {
+        ProcessingJob claimed = ProcessingJob.builder().id("job1").status(ProcessingJobStatus.EM_EXECUCAO).build();
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class),
+                eq(ProcessingJob.class))).thenReturn(claimed);
+
+        Optional<ProcessingJob> result = queueService.claimNext(List.of(ProcessingJobType.EXTRACAO_EXIF));
+
+        assertTrue(result.isPresent());
+        ArgumentCaptor<Update> updateCaptor = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate).findAndModify(any(Query.class), updateCaptor.capture(),
+                any(FindAndModifyOptions.class), eq(ProcessingJob.class));
+        Document set = (Document) updateCaptor.getValue().getUpdateObject().get("$set");
+        assertEquals(ProcessingJobStatus.EM_EXECUCAO, set.get("status"));
+        assertEquals(queueService.getNodeId(), set.get("lockOwner"));
+        assertNotNull(set.get("lockExpiraEm"));
+    }
+
+    @Test
+    void testFail_AttemptsRemaining_ReschedulesPending() {
+        ProcessingJob job = ProcessingJob.builder().id("job1").tentativas(1).maxTentativas(3).build();
+        when(mongoTemplate.updateFirst(any(Query.class), any(Update.class), eq(ProcessingJob.class)))
+                .thenReturn(UpdateResult.acknowledged(1, 1L, null));
+
+        queueService.fail(job, new IllegalStateException("falha"), true);
+
+        assertEquals(ProcessingJobStatus.PENDENTE, capturedSet().get("status"));
+    }
+
+    @Test
+    void testFail_AttemptsExhausted_MovesToDeadLetter() {
+        ProcessingJob job = ProcessingJob.builder().id("job1").tentativas(3).maxTentativas(3).build();
+        when(mongoTemplate.updateFirst(any(Query.class), any(Update.class), eq(ProcessingJob.class)))
+                .thenReturn(UpdateResult.acknowledged(1, 1L, null));
+
+        queueService.fail(job, new IllegalStateException("falha"), true);
+
+        assertEquals(ProcessingJobStatus.DEAD_LETTER, capturedSet().get("status"));
+    }
+
+    @Test
+    void testFail_NonRetryable_MovesToDeadLetter() {
+        ProcessingJob job = ProcessingJob.builder().id("job1").tentativas(1).maxTentativas(3).build();
+        when(mongoTemplate.updateFirst(any(Query.class), any(Update.class), eq(ProcessingJob.class)))
+                .thenReturn(UpdateResult.acknowledged(1, 1L, null));
+
+        queueService.fail(job, new IllegalStateException("falha"), false);
+
+        assertEquals(ProcessingJobStatus.DEAD_LETTER, capturedSet().get("status"));
+    }
+
+    @Test
+    void testRelease_ClaimedJob_ReturnsToPendingAndUndoesAttempt() {
+        ProcessingJob job = ProcessingJob.builder().id("job1").tentativas(2).maxTentativas(3).build();
+        when(mongoTemplate.updateFirst(any(Query.class), any(Update.class), eq(ProcessingJob.class)))
+                .thenReturn(UpdateResult.acknowledged(1, 1L, null));
+
+        queueService.release(job);
+
+        ArgumentCaptor<Update> updateCaptor = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate).updateFirst(any(Query.class), updateCaptor.capture(), eq(ProcessingJob.class));
+        Document update = updateCaptor.getValue().getUpdateObject();
+        assertEquals(ProcessingJobStatus.PENDENTE, ((Document) update.get("$set")).get("status"));
+        assertEquals(-1, ((Document) update.get("$inc")).get("tentativas"));
+        assertTrue(((Document) update.get("$unset")).containsKey("lockOwner"));
+    }
+
+    @Test
+    void testBackoffFor_GrowsExponentiallyUpToMax() {
+        assertEquals(Duration.ofSeconds(10), queueService.backoffFor(1));
+        assertEquals(Duration.ofSeconds(20), queueService.backoffFor(2));
+        assertEquals(Duration.ofSeconds(40), queueService.backoffFor(3));
+        assertEquals(Duration.ofSeconds(60), queueService.backoffFor(4));
+    }
+
+    @Test
+    void testRequeue_JobNotInDeadLetter_ThrowsConflict() {
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class),
+                eq(ProcessingJob.class))).thenReturn(null);
+
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+                () -> queueService.requeue("job1"));
+
+        assertEquals(HttpStatus.CONFLICT, exception.getStatusCode());
+    }
+
+    private Document capturedSet() {
+        ArgumentCaptor<Update> updateCaptor = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate).updateFirst(any(Query.class), updateCaptor.capture(), eq(ProcessingJob.class));
+        return (Document) updateCaptor.getValue().getUpdateObject().get("$set");
+    }
+}
@@ -0,0 +1,50 @@
+package com.quodbiometria.service.jobs;
+
+import com.quodbiometria.model.entity.ProcessingJob;
+import com.quodbiometria.model.enums.ProcessingJobType;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Semaphore;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProcessingJobWorkerTest {
+
+    @Mock
+    private ProcessingJobQueueService queueService;
+
+    @Mock
+    private ThreadPoolTaskExecutor executor;
+
+    @Mock
+    private ProcessingJobHandler handler;
+
+    @Test
+    void testPoll_ExecutorRejectsTask_ReleasesClaim() {
+        when(executor.getMaxPoolSize()).thenReturn(2);
+        when(handler.getTipo()).thenReturn(ProcessingJobType.EXTRACAO_EXIF);
+        ProcessingJob job = ProcessingJob.builder().id("job1").tipo(ProcessingJobType.EXTRACAO_EXIF).build();
+        when(queueService.claimNext(anyCollection())).thenReturn(Optional.of(job));
+        doThrow(new TaskRejectedException("pool cheio")).when(executor).execute(any(Runnable.class));
+
+        ProcessingJobWorker worker = new ProcessingJobWorker(queueService, executor, List.of(handler));
+        ReflectionTestUtils.setField(worker, "enabled", true);
+        worker.poll();
+
+        verify(queueService).release(job);
+        verify(queueService, times(1)).claimNext(anyCollection());
+        assertEquals(2, ((Semaphore) ReflectionTestUtils.getField(worker, "slots")).availablePermits());
+    }
+}
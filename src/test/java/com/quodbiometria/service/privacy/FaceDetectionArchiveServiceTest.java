@@ -0,0 +1,99 @@
+package com.quodbiometria.service.privacy;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+import java.util.List;
+
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.quodbiometria.model.entity.FaceDetectionArchive;
+import com.quodbiometria.model.entity.FaceDetectionResult;
+
+@ExtendWith(MockitoExtension.class)
+class FaceDetectionArchiveServiceTest {
+
+    private static final String ID_1 = "507f1f77bcf86cd799439011";
+    private static final String ID_2 = "507f1f77bcf86cd799439012";
+    private static final String ID_3 = "507f1f77bcf86cd799439013";
+
+    @InjectMocks
+    private FaceDetectionArchiveService archiveService;
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private BulkOperations bulkOperations;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(archiveService, "retentionDays", 30L);
+        ReflectionTestUtils.setField(archiveService, "archiveEnabled", true);
+        ReflectionTestUtils.setField(archiveService, "leadHours", 24L);
+        ReflectionTestUtils.setField(archiveService, "batchSize", 2);
+    }
+
+    @Test
+    void testArchiveExpiring_ResumesAfterLastArchivedId() {
+        when(mongoTemplate.findOne(any(Query.class), eq(FaceDetectionArchive.class)))
+                .thenReturn(FaceDetectionArchive.builder().id(ID_1).build());
+        when(mongoTemplate.find(any(Query.class), eq(FaceDetectionResult.class)))
+                .thenReturn(List.of(result(ID_2), result(ID_3)), List.of());
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, FaceDetectionArchive.class))
+                .thenReturn(bulkOperations);
+
+        assertEquals(2, archiveService.archiveExpiring());
+
+        ArgumentCaptor<Query> queries = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate, times(2)).find(queries.capture(), eq(FaceDetectionResult.class));
+        Document first = (Document) queries.getAllValues().get(0).getQueryObject().get("_id");
+        Document second = (Document) queries.getAllValues().get(1).getQueryObject().get("_id");
+        assertEquals(new ObjectId(ID_1), first.get("$gt"));
+        assertEquals(new ObjectId(ID_3), second.get("$gt"));
+
+        ArgumentCaptor<Update> updates = ArgumentCaptor.forClass(Update.class);
+        verify(bulkOperations, times(2)).upsert(any(Query.class), updates.capture());
+        Document set = (Document) updates.getAllValues().get(0).getUpdateObject().get("$set");
+        assertEquals("user1", set.get("usuarioId"));
+        assertEquals(true, set.get("faceDetected"));
+        verify(bulkOperations).execute();
+    }
+
+    @Test
+    void testArchiveExpiring_NothingToArchive_DoesNotWrite() {
+        when(mongoTemplate.find(any(Query.class), eq(FaceDetectionResult.class))).thenReturn(List.of());
+
+        assertEquals(0, archiveService.archiveExpiring());
+        verify(mongoTemplate, never()).bulkOps(any(), eq(FaceDetectionArchive.class));
+    }
+
+    @Test
+    void testScheduledArchive_RetentionDisabled_DoesNothing() {
+        ReflectionTestUtils.setField(archiveService, "retentionDays", 0L);
+
+        archiveService.scheduledArchive();
+
+        verifyNoInteractions(mongoTemplate);
+    }
+
+    private static FaceDetectionResult result(String id) {
+        return FaceDetectionResult.builder().id(id).usuarioId("user1").imageId("img-" + id)
+                .faceDetected(true).confidence(0.97f).faceCount(1).build();
+    }
+}
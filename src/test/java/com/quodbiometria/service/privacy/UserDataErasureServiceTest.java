@@ -0,0 +1,204 @@
+package com.quodbiometria.service.privacy;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.mongodb.client.result.DeleteResult;
+import com.mongodb.client.result.UpdateResult;
+import com.quodbiometria.model.entity.BiometricImageMetadata;
+import com.quodbiometria.model.entity.ErasureCertificate;
+import com.quodbiometria.model.entity.FaceDetectionArchive;
+import com.quodbiometria.model.entity.FaceDetectionResult;
+import com.quodbiometria.model.entity.ProcessingJob;
+import com.quodbiometria.model.entity.RefreshToken;
+import com.quodbiometria.model.entity.User;
+import com.quodbiometria.model.enums.ErasureStatus;
+import com.quodbiometria.model.enums.ErasureStep;
+import com.quodbiometria.model.enums.ProcessingJobType;
+import com.quodbiometria.repository.ErasureCertificateRepository;
+import com.quodbiometria.service.BiometricImageMetadataCache;
+import com.quodbiometria.service.FaceDetectionResultWriter;
+import com.quodbiometria.service.UserPrincipalCache;
+import com.quodbiometria.service.jobs.ProcessingJobQueueService;
+import com.quodbiometria.service.storage.TieredBlobStorage;
+
+@ExtendWith(MockitoExtension.class)
+class UserDataErasureServiceTest {
+
+    @InjectMocks
+    private UserDataErasureService erasureService;
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private ErasureCertificateRepository certificateRepository;
+
+    @Mock
+    private ProcessingJobQueueService jobQueueService;
+
+    @Mock
+    private TieredBlobStorage tieredBlobStorage;
+
+    @Mock
+    private FaceDetectionResultWriter faceDetectionResultWriter;
+
+    @Mock
+    private BiometricImageMetadataCache metadataCache;
+
+    @Mock
+    private UserPrincipalCache principalCache;
+
+    private ProcessingJob job;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(erasureService, "batchSize", 2);
+        ReflectionTestUtils.setField(erasureService, "maxUsersPerRequest", 3);
+
+        job = ProcessingJob.builder().id("job1").tipo(ProcessingJobType.ELIMINACAO_DADOS_USUARIO)
+                .usuarioId("user1").build();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testRequestErasure_DuplicateIds_EnqueuesOnceAndCreatesCertificates() {
+        when(jobQueueService.enqueueForUsers(eq(ProcessingJobType.ELIMINACAO_DADOS_USUARIO), anyCollection()))
+                .thenReturn(List.of(job, ProcessingJob.builder().id("job2").usuarioId("user2").build()));
+        when(mongoTemplate.insert(anyCollection(), eq(ErasureCertificate.class)))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+
+        List<ErasureCertificate> certificates = erasureService.requestErasure(
+                List.of("user1", "user2", "user1", " "), "admin@quod.com");
+
+        ArgumentCaptor<Collection<String>> idsCaptor = ArgumentCaptor.forClass(Collection.class);
+        verify(jobQueueService).enqueueForUsers(eq(ProcessingJobType.ELIMINACAO_DADOS_USUARIO), idsCaptor.capture());
+        assertEquals(List.of("user1", "user2"), new ArrayList<>(idsCaptor.getValue()));
+        assertEquals(2, certificates.size());
+        assertEquals("job1", certificates.get(0).getId());
+        assertEquals(ErasureStatus.PENDENTE, certificates.get(0).getStatus());
+        assertEquals("admin@quod.com", certificates.get(0).getSolicitadoPor());
+    }
+
+    @Test
+    void testRequestErasure_TooManyUsers_ThrowsBadRequest() {
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+                () -> erasureService.requestErasure(List.of("u1", "u2", "u3", "u4"), "admin"));
+
+        assertEquals(HttpStatus.BAD_REQUEST, exception.getStatusCode());
+        verifyNoInteractions(jobQueueService);
+    }
+
+    @Test
+    void testErase_NewErasure_RemovesEverythingInBatches() throws IOException {
+        startWith(List.of());
+        BiometricImageMetadata img1 = image("img1");
+        BiometricImageMetadata img2 = image("img2");
+        BiometricImageMetadata img3 = image("img3");
+        when(mongoTemplate.find(any(Query.class), eq(BiometricImageMetadata.class)))
+                .thenReturn(List.of(img1, img2), List.of(img3), List.of());
+        when(mongoTemplate.remove(any(Query.class), any(Class.class)))
+                .thenAnswer(invocation -> DeleteResult.acknowledged(
+                        invocation.getArgument(1) == BiometricImageMetadata.class ? 2 : 1));
+
+        String resultado = erasureService.erase(job);
+
+        assertTrue(resultado.contains("job1"));
+        verify(tieredBlobStorage).deleteAll(List.of(img1, img2));
+        verify(tieredBlobStorage).deleteAll(List.of(img3));
+        verify(mongoTemplate).remove(any(Query.class), eq(RefreshToken.class));
+        verify(mongoTemplate).remove(any(Query.class), eq(User.class));
+        verify(mongoTemplate).remove(any(Query.class), eq(ProcessingJob.class));
+        verify(mongoTemplate, times(2)).remove(any(Query.class), eq(BiometricImageMetadata.class));
+        verify(mongoTemplate).remove(any(Query.class), eq(FaceDetectionResult.class));
+        verify(mongoTemplate).remove(any(Query.class), eq(FaceDetectionArchive.class));
+        verify(faceDetectionResultWriter).flush();
+        verify(metadataCache).evictUser("user1");
+        verify(principalCache).evictUserId("user1");
+
+        ArgumentCaptor<Update> updates = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate, atLeastOnce()).updateFirst(any(Query.class), updates.capture(),
+                eq(ErasureCertificate.class));
+        Document last = (Document) updates.getValue().getUpdateObject().get("$set");
+        assertEquals(ErasureStatus.CONCLUIDA, last.get("status"));
+        assertNotNull(last.get("dataConclusao"));
+    }
+
+    @Test
+    void testErase_Resumed_SkipsCompletedSteps() {
+        startWith(List.of(ErasureStep.TOKENS, ErasureStep.CONTA, ErasureStep.JOBS, ErasureStep.IMAGENS));
+        when(mongoTemplate.remove(any(Query.class), eq(FaceDetectionResult.class)))
+                .thenReturn(DeleteResult.acknowledged(4));
+        when(mongoTemplate.remove(any(Query.class), eq(FaceDetectionArchive.class)))
+                .thenReturn(DeleteResult.acknowledged(2));
+
+        erasureService.erase(job);
+
+        verify(mongoTemplate, never()).remove(any(Query.class), eq(RefreshToken.class));
+        verify(mongoTemplate, never()).remove(any(Query.class), eq(User.class));
+        verify(mongoTemplate, never()).find(any(Query.class), eq(BiometricImageMetadata.class));
+        verify(mongoTemplate).remove(any(Query.class), eq(FaceDetectionResult.class));
+    }
+
+    @Test
+    void testErase_BlobDeletionFails_StopsBeforeRemovingMetadata() throws IOException {
+        startWith(List.of(ErasureStep.TOKENS, ErasureStep.CONTA, ErasureStep.JOBS));
+        BiometricImageMetadata img1 = image("img1");
+        when(mongoTemplate.find(any(Query.class), eq(BiometricImageMetadata.class))).thenReturn(List.of(img1));
+        doThrow(new IOException("disco indisponível")).when(tieredBlobStorage).deleteAll(List.of(img1));
+
+        assertThrows(IllegalStateException.class, () -> erasureService.erase(job));
+        verify(mongoTemplate, never()).remove(any(Query.class), eq(BiometricImageMetadata.class));
+        verify(mongoTemplate, never()).remove(any(Query.class), eq(FaceDetectionResult.class));
+    }
+
+    @Test
+    void testFindCertificate_Missing_ThrowsNotFound() {
+        when(certificateRepository.findById(anyString())).thenReturn(java.util.Optional.empty());
+
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+                () -> erasureService.findCertificate("job1"));
+        assertEquals(HttpStatus.NOT_FOUND, exception.getStatusCode());
+    }
+
+    private void startWith(List<ErasureStep> concluidas) {
+        ErasureCertificate certificate = ErasureCertificate.builder().id("job1").usuarioId("user1")
+                .status(ErasureStatus.EM_ANDAMENTO).etapasConcluidas(new ArrayList<>(concluidas))
+                .dataInicio(concluidas.isEmpty() ? null : java.time.LocalDateTime.now())
+                .build();
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class),
+                eq(ErasureCertificate.class))).thenReturn(certificate);
+        lenient().when(mongoTemplate.updateFirst(any(Query.class), any(Update.class), eq(ErasureCertificate.class)))
+                .thenReturn(UpdateResult.acknowledged(1, 1L, null));
+    }
+
+    private static BiometricImageMetadata image(String id) {
+        return BiometricImageMetadata.builder().id(id).usuarioId("user1").fileId("507f1f77bcf86cd79943901" + id.charAt(3))
+                .build();
+    }
+}
@@ -0,0 +1,128 @@
+package com.quodbiometria.service.ratelimit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import com.mongodb.client.result.UpdateResult;
+import com.quodbiometria.model.entity.RateLimitBucketState;
+
+import io.github.bucket4j.Bandwidth;
+import io.github.bucket4j.Bucket;
+import io.github.bucket4j.BucketConfiguration;
+import io.github.bucket4j.Refill;
+import io.github.bucket4j.distributed.AsyncBucketProxy;
+
+@ExtendWith(MockitoExtension.class)
+class MongoCompareAndSwapProxyManagerTest {
+
+    private static final BucketConfiguration CONFIGURATION = BucketConfiguration.builder()
+            .addLimit(Bandwidth.classic(3, Refill.intervally(3, Duration.ofMinutes(1))))
+            .build();
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    private final Map<String, RateLimitBucketState> stored = new ConcurrentHashMap<>();
+    private final AtomicBoolean failNextSwap = new AtomicBoolean();
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(mongoTemplate.findOne(any(Query.class), eq(RateLimitBucketState.class)))
+                .thenAnswer(invocation -> stored.get(id(invocation.getArgument(0))));
+        lenient().when(mongoTemplate.insert(any(RateLimitBucketState.class))).thenAnswer(invocation -> {
+            RateLimitBucketState state = invocation.getArgument(0);
+            if (stored.putIfAbsent(state.getId(), state) != null) {
+                throw new DuplicateKeyException(state.getId());
+            }
+            return state;
+        });
+        lenient().when(mongoTemplate.updateFirst(any(Query.class), any(Update.class), eq(RateLimitBucketState.class)))
+                .thenAnswer(invocation -> {
+                    Query query = invocation.getArgument(0);
+                    Update update = invocation.getArgument(1);
+                    RateLimitBucketState current = stored.get(id(query));
+                    byte[] expected = (byte[]) query.getQueryObject().get("state");
+                    if (failNextSwap.getAndSet(false) || current == null
+                            || !Arrays.equals(current.getState(), expected)) {
+                        return UpdateResult.acknowledged(0, 0L, null);
+                    }
+                    org.bson.Document set = (org.bson.Document) update.getUpdateObject().get("$set");
+                    current.setState((byte[]) set.get("state"));
+                    return UpdateResult.acknowledged(1, 1L, null);
+                });
+    }
+
+    @Test
+    void testTryConsume_TwoNodes_ShareTheLimit() {
+        Bucket nodeA = new MongoCompareAndSwapProxyManager(mongoTemplate).builder().build("login_ip_user", CONFIGURATION);
+        Bucket nodeB = new MongoCompareAndSwapProxyManager(mongoTemplate).builder().build("login_ip_user", CONFIGURATION);
+
+        assertTrue(nodeA.tryConsume(1));
+        assertTrue(nodeB.tryConsume(1));
+        assertTrue(nodeA.tryConsume(1));
+        assertFalse(nodeB.tryConsume(1));
+        assertFalse(nodeA.tryConsume(1));
+
+        assertEquals(1, stored.size());
+        assertNotNull(stored.get("login_ip_user").getExpiraEm());
+    }
+
+    @Test
+    void testTryConsume_ConcurrentUpdate_RetriesWithFreshState() {
+        Bucket bucket = new MongoCompareAndSwapProxyManager(mongoTemplate).builder().build("chave", CONFIGURATION);
+        assertTrue(bucket.tryConsume(1));
+
+        failNextSwap.set(true);
+        assertTrue(bucket.tryConsume(1));
+
+        verify(mongoTemplate, times(2)).updateFirst(any(Query.class), any(Update.class), eq(RateLimitBucketState.class));
+        assertEquals(1, bucket.getAvailableTokens());
+    }
+
+    @Test
+    void testRemoveProxy_DeletesDocument() {
+        new MongoCompareAndSwapProxyManager(mongoTemplate).removeProxy("chave");
+
+        verify(mongoTemplate).remove(any(Query.class), eq(RateLimitBucketState.class));
+    }
+
+    @Test
+    void testAsyncTryConsume_SharesStateWithSyncBuckets() throws Exception {
+        MongoCompareAndSwapProxyManager proxyManager = new MongoCompareAndSwapProxyManager(mongoTemplate);
+        Bucket bucket = proxyManager.builder().build("chave", CONFIGURATION);
+        AsyncBucketProxy asyncBucket = proxyManager.asAsync().builder().build("chave", CONFIGURATION);
+
+        assertTrue(bucket.tryConsume(2));
+        assertTrue(asyncBucket.tryConsume(1).get());
+        assertFalse(asyncBucket.tryConsume(1).get());
+    }
+
+    @Test
+    void testAsyncRemoveProxy_DeletesDocument() throws Exception {
+        new MongoCompareAndSwapProxyManager(mongoTemplate).asAsync().removeProxy("chave").get();
+
+        verify(mongoTemplate).remove(any(Query.class), eq(RateLimitBucketState.class));
+    }
+
+    private static String id(Query query) {
+        return (String) query.getQueryObject().get("_id");
+    }
+}
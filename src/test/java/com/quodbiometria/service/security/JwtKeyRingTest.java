@@ -0,0 +1,157 @@
+package com.quodbiometria.service.security;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.quodbiometria.model.entity.JwtSigningKey;
+import com.quodbiometria.model.enums.JwtKeyAlgorithm;
+import com.quodbiometria.repository.JwtSigningKeyRepository;
+
+@ExtendWith(MockitoExtension.class)
+class JwtKeyRingTest {
+
+    private static final Instant START = Instant.parse("2024-05-01T10:00:00Z");
+
+    @Mock
+    private JwtSigningKeyRepository repository;
+
+    private final Map<Long, JwtSigningKey> stored = new ConcurrentHashMap<>();
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(repository.findByRetireAtAfter(any(LocalDateTime.class))).thenAnswer(invocation -> {
+            LocalDateTime now = invocation.getArgument(0);
+            return stored.values().stream().filter(key -> key.getRetireAt().isAfter(now)).toList();
+        });
+        lenient().when(repository.findById(anyLong()))
+                .thenAnswer(invocation -> Optional.ofNullable(stored.get((Long) invocation.getArgument(0))));
+        lenient().when(repository.insert(any(JwtSigningKey.class))).thenAnswer(invocation -> {
+            JwtSigningKey key = invocation.getArgument(0);
+            if (stored.putIfAbsent(key.getSlot(), key) != null) {
+                throw new DuplicateKeyException("_id");
+            }
+            return key;
+        });
+    }
+
+    @Test
+    void testCurrentKey_TwoNodes_ShareTheSameKey() {
+        JwtKeyRing first = ring(JwtKeyAlgorithm.HS512, "segredo-compartilhado", START);
+        JwtKeyRing second = ring(JwtKeyAlgorithm.HS512, "segredo-compartilhado", START);
+
+        JwtKeyRing.RingKey key = first.currentKey();
+
+        assertEquals(key.kid(), second.currentKey().kid());
+        assertEquals(key.signingKey(), second.verificationKey(key.kid()));
+        // Chave do período corrente e a do seguinte, criadas uma única vez
+        verify(repository, times(2)).insert(any(JwtSigningKey.class));
+        assertFalse(stored.get(key.slot()).getMaterial().isBlank());
+    }
+
+    @Test
+    void testCurrentKey_ConcurrentCreation_UsesStoredKey() {
+        JwtKeyRing ring = ring(JwtKeyAlgorithm.HS512, "segredo", START);
+        JwtSigningKey winner = stored.get(ring.currentKey().slot());
+        ReflectionTestUtils.setField(ring, "current", null);
+        when(repository.findByRetireAtAfter(any(LocalDateTime.class))).thenReturn(List.of());
+
+        assertEquals(winner.getKid(), ring.currentKey().kid());
+    }
+
+    @Test
+    void testRefresh_NextPeriod_KeyKnownBeforeUse() {
+        JwtKeyRing signer = ring(JwtKeyAlgorithm.HS512, "segredo", START);
+        JwtKeyRing verifier = ring(JwtKeyAlgorithm.HS512, "segredo", START);
+
+        // O nó que assina já entrou no período seguinte; o que verifica ainda não atualizou o anel
+        ReflectionTestUtils.setField(signer, "clock", Clock.fixed(START.plus(Duration.ofHours(14)), ZoneOffset.UTC));
+        JwtKeyRing.RingKey next = signer.currentKey();
+
+        assertEquals(next.verificationKey(), verifier.verificationKey(next.kid()));
+    }
+
+    @Test
+    void testCurrentKey_Es256_UsesKeyPair() {
+        JwtKeyRing ring = ring(JwtKeyAlgorithm.ES256, "segredo", START);
+
+        JwtKeyRing.RingKey key = ring.currentKey();
+
+        assertInstanceOf(PrivateKey.class, key.signingKey());
+        assertInstanceOf(PublicKey.class, ring.verificationKey(key.kid()));
+        assertNotNull(stored.get(key.slot()).getPublicKey());
+    }
+
+    @Test
+    void testRefresh_NextPeriod_RotatesAndRetiresOldKey() {
+        JwtKeyRing ring = ring(JwtKeyAlgorithm.HS512, "segredo", START);
+        String oldKid = ring.currentKey().kid();
+
+        // 00:30 do dia seguinte: novo período, mas a chave anterior ainda verifica tokens emitidos até a meia-noite
+        ReflectionTestUtils.setField(ring, "clock",
+                Clock.fixed(START.plus(Duration.ofMinutes(14 * 60 + 30)), ZoneOffset.UTC));
+        String newKid = ring.currentKey().kid();
+        assertNotEquals(oldKid, newKid);
+        assertNotNull(ring.verificationKey(oldKid));
+
+        ReflectionTestUtils.setField(ring, "clock", Clock.fixed(START.plus(Duration.ofHours(16)), ZoneOffset.UTC));
+        ring.refresh();
+        assertNull(ring.verificationKey(oldKid));
+    }
+
+    @Test
+    void testVerificationKey_UnknownKid_RejectedWithoutQuery() {
+        JwtKeyRing ring = ring(JwtKeyAlgorithm.HS512, "segredo", START);
+        clearInvocations(repository);
+
+        assertNull(ring.verificationKey("forjado"));
+        assertNull(ring.verificationKey("outro-forjado"));
+
+        verifyNoInteractions(repository);
+    }
+
+    @Test
+    void testRefresh_DifferentSecret_FailsToDecrypt() {
+        ring(JwtKeyAlgorithm.HS512, "segredo", START);
+        JwtKeyRing other = new JwtKeyRing(repository);
+        configure(other, JwtKeyAlgorithm.HS512, "outro-segredo", START);
+
+        assertThrows(IllegalStateException.class, other::init);
+    }
+
+    private JwtKeyRing ring(JwtKeyAlgorithm algorithm, String secret, Instant now) {
+        JwtKeyRing ring = new JwtKeyRing(repository);
+        configure(ring, algorithm, secret, now);
+        ring.init();
+        return ring;
+    }
+
+    private static void configure(JwtKeyRing ring, JwtKeyAlgorithm algorithm, String secret, Instant now) {
+        ReflectionTestUtils.setField(ring, "secret", secret);
+        ReflectionTestUtils.setField(ring, "algorithm", algorithm);
+        ReflectionTestUtils.setField(ring, "rotationHours", 24L);
+        ReflectionTestUtils.setField(ring, "accessTokenExpiration", Duration.ofHours(1).toMillis());
+        ReflectionTestUtils.setField(ring, "clock", Clock.fixed(now, ZoneOffset.UTC));
+    }
+}
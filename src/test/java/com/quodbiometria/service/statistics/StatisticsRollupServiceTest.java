@@ -0,0 +1,186 @@
+package com.quodbiometria.service.statistics;
+
+import com.quodbiometria.config.ImageTypePolicyProperties;
+import com.quodbiometria.model.dto.response.StatisticsSummaryDTO;
+import com.quodbiometria.model.entity.StatisticsRollup;
+import com.quodbiometria.model.enums.RollupGranularity;
+import com.quodbiometria.repository.StatisticsRollupRepository;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Range;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class StatisticsRollupServiceTest {
+
+    private static final LocalDateTime INSTANTE = LocalDateTime.of(2024, 3, 15, 14, 37, 12);
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private StatisticsRollupRepository rollupRepository;
+
+    @Mock
+    private BulkOperations bulkOperations;
+
+    private StatisticsRollupService statisticsService;
+
+    @BeforeEach
+    void setUp() {
+        ImageTypePolicyProperties policyProperties = new ImageTypePolicyProperties();
+        policyProperties.getTipos().put("facial", new ImageTypePolicyProperties.Policy());
+        statisticsService = new StatisticsRollupService(mongoTemplate, rollupRepository, policyProperties);
+        ReflectionTestUtils.setField(statisticsService, "enabled", true);
+        ReflectionTestUtils.setField(statisticsService, "maxPontos", 1000L);
+        ReflectionTestUtils.setField(statisticsService, "maxDispositivos", 2);
+    }
+
+    private void stubBulk() {
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, StatisticsRollup.class))
+                .thenReturn(bulkOperations);
+        when(bulkOperations.upsert(any(Query.class), any(Update.class))).thenReturn(bulkOperations);
+    }
+
+    @Test
+    void testRecordUpload_IncrementsHourAndDayRollupsInOneBulk() {
+        stubBulk();
+
+        statisticsService.recordUpload("FACIAL", "app.mobile", INSTANTE);
+
+        ArgumentCaptor<Query> queries = ArgumentCaptor.forClass(Query.class);
+        ArgumentCaptor<Update> updates = ArgumentCaptor.forClass(Update.class);
+        verify(bulkOperations, times(2)).upsert(queries.capture(), updates.capture());
+        verify(bulkOperations).execute();
+
+        assertEquals("HORA:2024-03-15T14:00", queries.getAllValues().get(0).getQueryObject().get("_id"));
+        assertEquals("DIA:2024-03-15T00:00", queries.getAllValues().get(1).getQueryObject().get("_id"));
+
+        Document inc = (Document) updates.getValue().getUpdateObject().get("$inc");
+        assertEquals(1, inc.get("uploadsPorTipo.FACIAL"));
+        assertEquals(1, inc.get("uploadsPorDispositivo.APP_MOBILE"));
+        Document setOnInsert = (Document) updates.getValue().getUpdateObject().get("$setOnInsert");
+        assertEquals(RollupGranularity.DIA, setOnInsert.get("granularidade"));
+    }
+
+    @Test
+    void testRecordDetection_WithConfidence_IncrementsHistogramBucket() {
+        stubBulk();
+
+        statisticsService.recordDetection(true, 0.87f, null, INSTANTE);
+
+        ArgumentCaptor<Update> updates = ArgumentCaptor.forClass(Update.class);
+        verify(bulkOperations, times(2)).upsert(any(Query.class), updates.capture());
+        Document inc = (Document) updates.getValue().getUpdateObject().get("$inc");
+        assertEquals(1, inc.get("deteccoesTotal"));
+        assertEquals(1, inc.get("deteccoesComFace"));
+        assertEquals(1, inc.get("histogramaConfianca.80-90"));
+        assertEquals(1, inc.get("deteccoesPorDispositivo.DESCONHECIDO"));
+    }
+
+    @Test
+    void testRecordUpload_ClientSuppliedKeys_AreBounded() {
+        stubBulk();
+
+        statisticsService.recordUpload("tipo-" + "x".repeat(100), "KIOSK", INSTANTE);
+        statisticsService.recordUpload(null, "mobile", INSTANTE);
+        statisticsService.recordUpload("FACIAL", "dispositivo$novo", INSTANTE);
+
+        ArgumentCaptor<Update> updates = ArgumentCaptor.forClass(Update.class);
+        verify(bulkOperations, times(6)).upsert(any(Query.class), updates.capture());
+        Document first = (Document) updates.getAllValues().get(0).getUpdateObject().get("$inc");
+        Document second = (Document) updates.getAllValues().get(2).getUpdateObject().get("$inc");
+        Document third = (Document) updates.getAllValues().get(4).getUpdateObject().get("$inc");
+        assertEquals(1, first.get("uploadsPorTipo.OUTRO"));
+        assertEquals(1, first.get("uploadsPorDispositivo.KIOSK"));
+        assertEquals(1, second.get("uploadsPorTipo.DESCONHECIDO"));
+        assertEquals(1, second.get("uploadsPorDispositivo.MOBILE"));
+        assertEquals(1, third.get("uploadsPorTipo.FACIAL"));
+        assertEquals(1, third.get("uploadsPorDispositivo.OUTRO"));
+        assertEquals("A".repeat(StatisticsRollupService.MAX_KEY_LENGTH),
+                StatisticsRollupService.normalizeKey("a".repeat(100)));
+    }
+
+    @Test
+    void testRecordUpload_MongoFailure_DoesNotPropagate() {
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, StatisticsRollup.class))
+                .thenThrow(new IllegalStateException("indisponível"));
+
+        assertDoesNotThrow(() -> statisticsService.recordUpload("FACIAL", "MOBILE", INSTANTE));
+    }
+
+    @Test
+    void testRecordUpload_Disabled_DoesNothing() {
+        ReflectionTestUtils.setField(statisticsService, "enabled", false);
+
+        statisticsService.recordUpload("FACIAL", "MOBILE", INSTANTE);
+
+        verifyNoInteractions(mongoTemplate);
+    }
+
+    @Test
+    void testHistogramBucket_Bounds() {
+        assertEquals("00-10", StatisticsRollupService.histogramBucket(0f));
+        assertEquals("90-100", StatisticsRollupService.histogramBucket(1f));
+        assertEquals("90-100", StatisticsRollupService.histogramBucket(1.5f));
+        assertEquals("50-60", StatisticsRollupService.histogramBucket(0.5f));
+    }
+
+    @Test
+    void testGetSummary_SumsRollupsOfPeriod() {
+        LocalDateTime de = LocalDateTime.of(2024, 3, 15, 0, 0);
+        LocalDateTime ate = LocalDateTime.of(2024, 3, 15, 2, 0);
+        StatisticsRollup primeira = StatisticsRollup.builder()
+                .inicio(de)
+                .uploadsPorTipo(Map.of("FACIAL", 3L, "DOCUMENTO", 1L))
+                .deteccoesTotal(4).deteccoesComFace(3)
+                .histogramaConfianca(Map.of("90-100", 3L))
+                .build();
+        StatisticsRollup segunda = StatisticsRollup.builder()
+                .inicio(de.plusHours(1))
+                .uploadsPorTipo(Map.of("FACIAL", 2L))
+                .deteccoesTotal(0)
+                .build();
+        when(rollupRepository.findByGranularidadeAndInicioBetweenOrderByInicioAsc(RollupGranularity.HORA,
+                Range.rightOpen(de, ate))).thenReturn(List.of(primeira, segunda));
+
+        StatisticsSummaryDTO summary = statisticsService.getSummary(RollupGranularity.HORA, de, ate);
+
+        assertEquals(6, summary.getTotalUploads());
+        assertEquals(5L, summary.getUploadsPorTipo().get("FACIAL"));
+        assertEquals(0.75, summary.getTaxaSucessoDeteccao());
+        assertEquals(3L, summary.getHistogramaConfianca().get("90-100"));
+        assertEquals(2, summary.getSerie().size());
+        assertNull(summary.getSerie().get(1).getTaxaSucessoDeteccao());
+    }
+
+    @Test
+    void testGetSummary_TooManyPoints_ThrowsBadRequest() {
+        LocalDateTime de = LocalDateTime.of(2020, 1, 1, 0, 0);
+
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+                () -> statisticsService.getSummary(RollupGranularity.HORA, de, de.plusYears(1)));
+
+        assertEquals(HttpStatus.BAD_REQUEST, exception.getStatusCode());
+        verifyNoInteractions(rollupRepository);
+    }
+}
@@ -0,0 +1,197 @@
+package com.quodbiometria.service.storage;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.mongodb.client.result.DeleteResult;
+import com.quodbiometria.model.entity.BiometricImageMetadata;
+import com.quodbiometria.model.enums.StorageTier;
+import com.quodbiometria.service.BiometricImageMetadataCache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+class BlobGarbageCollectorTest {
+
+    private static final String FILE_1 = "507f1f77bcf86cd799439011";
+    private static final String FILE_2 = "507f1f77bcf86cd799439012";
+
+    private BlobGarbageCollector garbageCollector;
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private TieredBlobStorage tieredBlobStorage;
+
+    @Mock
+    private BiometricImageMetadataCache metadataCache;
+
+    @Mock
+    private BlobStore hotBlobStore;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @BeforeEach
+    void setUp() {
+        garbageCollector = new BlobGarbageCollector(mongoTemplate, tieredBlobStorage, metadataCache, meterRegistry);
+        ReflectionTestUtils.setField(garbageCollector, "batchSize", 10);
+        ReflectionTestUtils.setField(garbageCollector, "graceMinutes", 10L);
+        ReflectionTestUtils.setField(garbageCollector, "bucket", "fs");
+    }
+
+    @Test
+    void testPurgeDeleted_RemovesBlobsBeforeMetadata() throws IOException {
+        BiometricImageMetadata deleted = BiometricImageMetadata.builder().id("meta1").fileId(FILE_1)
+                .ativa(false).dataExclusao(LocalDateTime.now().minusHours(1)).build();
+        when(mongoTemplate.find(any(Query.class), eq(BiometricImageMetadata.class))).thenReturn(List.of(deleted));
+        when(mongoTemplate.remove(any(Query.class), eq(BiometricImageMetadata.class)))
+                .thenReturn(DeleteResult.acknowledged(1));
+
+        assertEquals(1, garbageCollector.purgeDeleted());
+
+        var inOrder = inOrder(tieredBlobStorage, mongoTemplate);
+        inOrder.verify(tieredBlobStorage).deleteAll(List.of(deleted));
+        inOrder.verify(mongoTemplate).remove(any(Query.class), eq(BiometricImageMetadata.class));
+    }
+
+    @Test
+    void testPurgeDeleted_BlobRemovalFails_KeepsMetadataForRetry() throws IOException {
+        BiometricImageMetadata deleted = BiometricImageMetadata.builder().id("meta1").fileId(FILE_1).build();
+        when(mongoTemplate.find(any(Query.class), eq(BiometricImageMetadata.class))).thenReturn(List.of(deleted));
+        doThrow(new IOException("disco indisponível")).when(tieredBlobStorage).deleteAll(List.of(deleted));
+
+        assertEquals(0, garbageCollector.purgeDeleted());
+        verify(mongoTemplate, never()).remove(any(Query.class), eq(BiometricImageMetadata.class));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testRemoveOrphanBlobs_DeletesOnlyUnreferencedFiles() throws IOException {
+        when(mongoTemplate.find(any(Query.class), eq(Document.class), eq("fs.files"))).thenReturn(List.of(
+                new Document("_id", new ObjectId(FILE_1)), new Document("_id", new ObjectId(FILE_2))));
+        when(mongoTemplate.find(any(Query.class), eq(BiometricImageMetadata.class)))
+                .thenReturn(List.of(BiometricImageMetadata.builder().fileId(FILE_1).build()));
+        when(tieredBlobStorage.storeFor(StorageTier.HOT)).thenReturn(hotBlobStore);
+
+        assertEquals(1, garbageCollector.removeOrphanBlobs());
+
+        ArgumentCaptor<Collection<String>> captor = ArgumentCaptor.forClass(Collection.class);
+        verify(hotBlobStore).deleteAll(captor.capture());
+        assertEquals(List.of(FILE_2), List.copyOf(captor.getValue()));
+    }
+
+    @Test
+    void testRemoveOrphanBlobs_AllReferenced_DeletesNothing() throws IOException {
+        when(mongoTemplate.find(any(Query.class), eq(Document.class), eq("fs.files")))
+                .thenReturn(List.of(new Document("_id", new ObjectId(FILE_1))));
+        when(mongoTemplate.find(any(Query.class), eq(BiometricImageMetadata.class)))
+                .thenReturn(List.of(BiometricImageMetadata.builder().fileId(FILE_1).build()));
+
+        assertEquals(0, garbageCollector.removeOrphanBlobs());
+        verify(tieredBlobStorage, never()).storeFor(any());
+        verify(hotBlobStore, never()).deleteAll(anyCollection());
+    }
+
+    @Test
+    void testFlagDanglingMetadata_MissingBlob_FlagsWithoutDeactivating() {
+        BiometricImageMetadata dangling = BiometricImageMetadata.builder().id("meta1").fileId(FILE_1)
+                .usuarioId("user1").ativa(true).storageTier(StorageTier.HOT).build();
+        when(mongoTemplate.find(any(Query.class), eq(BiometricImageMetadata.class))).thenReturn(List.of(dangling));
+        when(mongoTemplate.findById("meta1", BiometricImageMetadata.class)).thenReturn(dangling);
+        when(tieredBlobStorage.isAvailable(StorageTier.HOT)).thenReturn(true);
+        when(tieredBlobStorage.exists(dangling)).thenReturn(false);
+
+        assertEquals(1, garbageCollector.flagDanglingMetadata());
+
+        ArgumentCaptor<Update> updateCaptor = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate).updateFirst(any(Query.class), updateCaptor.capture(), eq(BiometricImageMetadata.class));
+        Document set = (Document) updateCaptor.getValue().getUpdateObject().get("$set");
+        assertNotNull(set.get("blobAusenteDesde"));
+        assertFalse(set.containsKey("ativa"));
+        assertEquals(1.0, meterRegistry.get(BlobGarbageCollector.MISSING_BLOB_METRIC).tag("tier", "HOT")
+                .counter().count());
+        verify(metadataCache).evict(dangling);
+    }
+
+    @Test
+    void testFlagDanglingMetadata_ColdTierUnavailable_SkipsCheck() {
+        BiometricImageMetadata cold = BiometricImageMetadata.builder().id("meta1").fileId(FILE_1)
+                .ativa(true).storageTier(StorageTier.COLD).build();
+        BiometricImageMetadata otherCold = BiometricImageMetadata.builder().id("meta2").fileId(FILE_2)
+                .ativa(true).storageTier(StorageTier.COLD).build();
+        when(mongoTemplate.find(any(Query.class), eq(BiometricImageMetadata.class)))
+                .thenReturn(List.of(cold, otherCold));
+        when(tieredBlobStorage.isAvailable(StorageTier.COLD)).thenReturn(false);
+
+        assertEquals(0, garbageCollector.flagDanglingMetadata());
+
+        verify(tieredBlobStorage, times(1)).isAvailable(StorageTier.COLD);
+        verify(tieredBlobStorage, never()).exists(any());
+        verify(mongoTemplate, never()).updateFirst(any(Query.class), any(Update.class), eq(BiometricImageMetadata.class));
+    }
+
+    @Test
+    void testFlagDanglingMetadata_BlobFoundAgain_ClearsFlag() {
+        BiometricImageMetadata flagged = BiometricImageMetadata.builder().id("meta1").fileId(FILE_1).ativa(true)
+                .storageTier(StorageTier.COLD).blobAusenteDesde(LocalDateTime.now().minusDays(1)).build();
+        when(mongoTemplate.find(any(Query.class), eq(BiometricImageMetadata.class))).thenReturn(List.of(flagged));
+        when(tieredBlobStorage.isAvailable(StorageTier.COLD)).thenReturn(true);
+        when(tieredBlobStorage.exists(flagged)).thenReturn(true);
+
+        assertEquals(0, garbageCollector.flagDanglingMetadata());
+
+        ArgumentCaptor<Update> updateCaptor = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate).updateFirst(any(Query.class), updateCaptor.capture(), eq(BiometricImageMetadata.class));
+        assertTrue(((Document) updateCaptor.getValue().getUpdateObject().get("$unset")).containsKey("blobAusenteDesde"));
+    }
+
+    @Test
+    void testFlagDanglingMetadata_MigratedMeanwhile_KeepsImage() {
+        BiometricImageMetadata scanned = BiometricImageMetadata.builder().id("meta1").fileId(FILE_1)
+                .ativa(true).storageTier(StorageTier.HOT).build();
+        BiometricImageMetadata migrated = BiometricImageMetadata.builder().id("meta1").fileId(FILE_1)
+                .ativa(true).storageTier(StorageTier.COLD).build();
+        when(mongoTemplate.find(any(Query.class), eq(BiometricImageMetadata.class))).thenReturn(List.of(scanned));
+        when(tieredBlobStorage.isAvailable(any())).thenReturn(true);
+        when(tieredBlobStorage.exists(scanned)).thenReturn(false);
+        when(mongoTemplate.findById("meta1", BiometricImageMetadata.class)).thenReturn(migrated);
+        when(tieredBlobStorage.exists(migrated)).thenReturn(true);
+
+        assertEquals(0, garbageCollector.flagDanglingMetadata());
+        verify(mongoTemplate, never()).updateFirst(any(Query.class), any(Update.class), eq(BiometricImageMetadata.class));
+    }
+
+    @Test
+    void testScheduledCollection_ReconciliationDisabled_DoesNotCheckBlobs() {
+        ReflectionTestUtils.setField(garbageCollector, "enabled", true);
+        when(mongoTemplate.find(any(Query.class), eq(BiometricImageMetadata.class))).thenReturn(List.of());
+        when(mongoTemplate.find(any(Query.class), eq(Document.class), eq("fs.files"))).thenReturn(List.of());
+
+        garbageCollector.scheduledCollection();
+
+        verify(mongoTemplate, times(1)).find(any(Query.class), eq(BiometricImageMetadata.class));
+        verify(tieredBlobStorage, never()).exists(any());
+    }
+}
@@ -0,0 +1,89 @@
+package com.quodbiometria.service.storage;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+import java.io.IOException;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.mongodb.client.result.UpdateResult;
+import com.quodbiometria.model.entity.BiometricImageMetadata;
+import com.quodbiometria.service.BiometricImageMetadataCache;
+
+@ExtendWith(MockitoExtension.class)
+class ColdTierMigrationServiceTest {
+
+    @InjectMocks
+    private ColdTierMigrationService migrationService;
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private TieredBlobStorage tieredBlobStorage;
+
+    @Mock
+    private BiometricImageMetadataCache metadataCache;
+
+    private BiometricImageMetadata metadata;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(migrationService, "minAgeDays", 90);
+        ReflectionTestUtils.setField(migrationService, "batchSize", 10);
+
+        metadata = BiometricImageMetadata.builder()
+                .id("meta1")
+                .fileId("507f1f77bcf86cd799439011")
+                .build();
+    }
+
+    @Test
+    void testMigrateBatch_CopiesUpdatesThenDeletesHotBlob() throws IOException {
+        when(mongoTemplate.find(any(Query.class), eq(BiometricImageMetadata.class))).thenReturn(List.of(metadata));
+        when(mongoTemplate.updateFirst(any(Query.class), any(Update.class), eq(BiometricImageMetadata.class)))
+                .thenReturn(UpdateResult.acknowledged(1, 1L, null));
+
+        int migrated = migrationService.migrateBatch();
+
+        assertEquals(1, migrated);
+        var inOrder = inOrder(tieredBlobStorage, mongoTemplate, metadataCache);
+        inOrder.verify(tieredBlobStorage).copyToCold(metadata);
+        inOrder.verify(mongoTemplate).updateFirst(any(Query.class), any(Update.class), eq(BiometricImageMetadata.class));
+        inOrder.verify(metadataCache).evict("meta1");
+        inOrder.verify(tieredBlobStorage).deleteFromHot("507f1f77bcf86cd799439011");
+    }
+
+    @Test
+    void testMigrateBatch_AlreadyMigrated_KeepsHotBlob() throws IOException {
+        when(mongoTemplate.find(any(Query.class), eq(BiometricImageMetadata.class))).thenReturn(List.of(metadata));
+        when(mongoTemplate.updateFirst(any(Query.class), any(Update.class), eq(BiometricImageMetadata.class)))
+                .thenReturn(UpdateResult.acknowledged(1, 0L, null));
+
+        assertEquals(0, migrationService.migrateBatch());
+        verify(tieredBlobStorage, never()).deleteFromHot(any());
+    }
+
+    @Test
+    void testMigrateBatch_CopyFails_LeavesMetadataUntouched() throws IOException {
+        when(mongoTemplate.find(any(Query.class), eq(BiometricImageMetadata.class))).thenReturn(List.of(metadata));
+        doThrow(new IOException("disco cheio")).when(tieredBlobStorage).copyToCold(metadata);
+
+        assertEquals(0, migrationService.migrateBatch());
+        verify(mongoTemplate, never()).updateFirst(any(Query.class), any(Update.class), eq(BiometricImageMetadata.class));
+        verify(tieredBlobStorage, never()).deleteFromHot(any());
+    }
+}
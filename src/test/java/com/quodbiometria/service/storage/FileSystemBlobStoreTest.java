@@ -0,0 +1,66 @@
+package com.quodbiometria.service.storage;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class FileSystemBlobStoreTest {
+
+    @TempDir
+    Path root;
+
+    private FileSystemBlobStore blobStore;
+
+    @BeforeEach
+    void setUp() {
+        blobStore = new FileSystemBlobStore(root);
+    }
+
+    @Test
+    void testStoreWithId_WritesToShardedLayout() throws IOException {
+        String fileId = new ObjectId().toHexString();
+
+        blobStore.storeWithId(fileId, new ByteArrayInputStream("conteudo".getBytes()));
+
+        Path expected = root.resolve(fileId.substring(0, 2)).resolve(fileId.substring(2, 4)).resolve(fileId);
+        assertTrue(Files.exists(expected));
+        assertTrue(blobStore.exists(fileId));
+        try (InputStream content = blobStore.open(fileId)) {
+            assertArrayEquals("conteudo".getBytes(), content.readAllBytes());
+        }
+    }
+
+    @Test
+    void testStore_GeneratesObjectIdKey() throws IOException {
+        String fileId = blobStore.store(new ByteArrayInputStream("conteudo".getBytes()), "a.jpg", "image/jpeg", null);
+
+        assertTrue(ObjectId.isValid(fileId));
+        assertTrue(blobStore.exists(fileId));
+    }
+
+    @Test
+    void testDelete_RemovesBlob() throws IOException {
+        String fileId = new ObjectId().toHexString();
+        blobStore.storeWithId(fileId, new ByteArrayInputStream("conteudo".getBytes()));
+
+        blobStore.delete(fileId);
+
+        assertFalse(blobStore.exists(fileId));
+        assertThrows(NoSuchFileException.class, () -> blobStore.open(fileId));
+    }
+
+    @Test
+    void testResolve_InvalidId_ThrowsException() {
+        assertThrows(IllegalArgumentException.class, () -> blobStore.exists("../../etc/passwd"));
+    }
+}
@@ -0,0 +1,96 @@
+package com.quodbiometria.service.storage;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PrefetchingChunkInputStreamTest {
+
+    private static final int CHUNK_SIZE = 10;
+
+    private ExecutorService executor;
+    private byte[] content;
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newFixedThreadPool(2);
+        content = new byte[95];
+        for (int i = 0; i < content.length; i++) {
+            content[i] = (byte) i;
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void testRead_MultipleBatches_ReturnsContentInOrder() throws IOException {
+        List<Integer> requestedBatches = new CopyOnWriteArrayList<>();
+
+        try (InputStream stream = new PrefetchingChunkInputStream((first, count) -> {
+            requestedBatches.add(first);
+            return chunks(first, count);
+        }, executor, 10, 3, 2)) {
+            assertArrayEquals(content, stream.readAllBytes());
+        }
+
+        assertEquals(List.of(0, 3, 6, 9), requestedBatches.stream().sorted().toList());
+    }
+
+    @Test
+    void testRead_SingleByteReads_ReturnsContent() throws IOException {
+        try (InputStream stream = new PrefetchingChunkInputStream(this::chunks, executor, 10, 4, 1)) {
+            for (byte expected : content) {
+                assertEquals(expected & 0xFF, stream.read());
+            }
+            assertEquals(-1, stream.read());
+        }
+    }
+
+    @Test
+    void testRead_MissingChunks_ThrowsIOException() throws IOException {
+        try (InputStream stream = new PrefetchingChunkInputStream(
+                (first, count) -> chunks(first, count - 1), executor, 10, 4, 2)) {
+            assertThrows(IOException.class, stream::readAllBytes);
+        }
+    }
+
+    @Test
+    void testRead_FetcherFails_PropagatesIOException() throws IOException {
+        try (InputStream stream = new PrefetchingChunkInputStream((first, count) -> {
+            throw new IOException("falha de rede");
+        }, executor, 10, 4, 2)) {
+            IOException exception = assertThrows(IOException.class, stream::read);
+            assertEquals("falha de rede", exception.getMessage());
+        }
+    }
+
+    @Test
+    void testRead_NoChunks_ReturnsEndOfStream() throws IOException {
+        try (InputStream stream = new PrefetchingChunkInputStream(this::chunks, executor, 0, 4, 2)) {
+            assertEquals(-1, stream.read());
+        }
+    }
+
+    private List<byte[]> chunks(int first, int count) {
+        List<byte[]> chunks = new ArrayList<>();
+        for (int n = first; n < first + count; n++) {
+            int start = n * CHUNK_SIZE;
+            chunks.add(Arrays.copyOfRange(content, start, Math.min(start + CHUNK_SIZE, content.length)));
+        }
+        return chunks;
+    }
+}
@@ -0,0 +1,115 @@
+package com.quodbiometria.service.validation;
+
+import com.quodbiometria.config.ImageTypePolicyProperties;
+import com.quodbiometria.exception.ImageValidationException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ValidationRuleEngineTest {
+
+    private final List<String> executed = new ArrayList<>();
+    private ImageTypePolicyProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+    private MockMultipartFile file;
+
+    @BeforeEach
+    void setUp() {
+        properties = new ImageTypePolicyProperties();
+        meterRegistry = new SimpleMeterRegistry();
+        file = new MockMultipartFile("image", "test.jpg", "image/jpeg", new byte[]{1});
+    }
+
+    @Test
+    void testValidate_RulesEvaluatedCheapestFirst() {
+        ValidationRuleEngine engine = engine(new String[0],
+                rule("inferencia", CostClass.MODEL_INFERENCE, false),
+                rule("cabecalho", CostClass.HEADER, false),
+                rule("metadados", CostClass.METADATA, false));
+
+        engine.validate(file, "FACIAL");
+
+        assertEquals(List.of("metadados", "cabecalho", "inferencia"), executed);
+    }
+
+    @Test
+    void testValidate_ConfiguredOrderWithinCostClass() {
+        ValidationRuleEngine engine = engine(new String[]{"b", "a"},
+                rule("a", CostClass.HEADER, false),
+                rule("b", CostClass.HEADER, false));
+
+        engine.validate(file, "FACIAL");
+
+        assertEquals(List.of("b", "a"), executed);
+    }
+
+    @Test
+    void testValidate_Rejection_ShortCircuitsExpensiveRules() {
+        ValidationRuleEngine engine = engine(new String[0],
+                rule("inferencia", CostClass.MODEL_INFERENCE, false),
+                rule("metadados", CostClass.METADATA, true));
+
+        assertThrows(ImageValidationException.class, () -> engine.validate(file, "FACIAL"));
+
+        assertEquals(List.of("metadados"), executed);
+        assertEquals(1.0, meterRegistry.get(ValidationRuleEngine.RULE_METRIC)
+                .tag("regra", "metadados").tag("resultado", "rejeitada").counter().count());
+    }
+
+    @Test
+    void testValidate_RuleDisabledForType_Skipped() {
+        ImageTypePolicyProperties.Policy digital = new ImageTypePolicyProperties.Policy();
+        digital.setRegrasDesativadas(List.of("metadados"));
+        properties.getTipos().put("digital", digital);
+        ValidationRuleEngine engine = engine(new String[0], rule("metadados", CostClass.METADATA, true));
+
+        assertDoesNotThrow(() -> engine.validate(file, "DIGITAL"));
+        assertThrows(ImageValidationException.class, () -> engine.validate(file, "FACIAL"));
+    }
+
+    @Test
+    void testValidate_TypeWithoutPolicy_TaggedAsOther() {
+        properties.getTipos().put("facial", new ImageTypePolicyProperties.Policy());
+        ValidationRuleEngine engine = engine(new String[0], rule("metadados", CostClass.METADATA, true));
+
+        assertThrows(ImageValidationException.class, () -> engine.validate(file, "FACIAL"));
+        assertThrows(ImageValidationException.class, () -> engine.validate(file, "qualquer-valor"));
+
+        assertEquals(1.0, meterRegistry.get(ValidationRuleEngine.RULE_METRIC)
+                .tag("tipoImagem", "facial").counter().count());
+        assertEquals(1.0, meterRegistry.get(ValidationRuleEngine.RULE_METRIC)
+                .tag("tipoImagem", "outro").counter().count());
+    }
+
+    private ValidationRuleEngine engine(String[] order, ValidationRule... rules) {
+        return new ValidationRuleEngine(List.of(rules), properties, meterRegistry, order);
+    }
+
+    private ValidationRule rule(String name, CostClass costClass, boolean reject) {
+        return new ValidationRule() {
+            @Override
+            public String getName() {
+                return name;
+            }
+
+            @Override
+            public CostClass getCostClass() {
+                return costClass;
+            }
+
+            @Override
+            public void validate(ValidationContext context) {
+                executed.add(name);
+                if (reject) {
+                    throw new ImageValidationException("Rejeitada por " + name);
+                }
+            }
+        };
+    }
+}
@@ -0,0 +1,69 @@
+package com.quodbiometria.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ExifSegmentReaderTest {
+
+    @Test
+    void testRead_JpegBigEndian_ReturnsRequestedTags() throws IOException {
+        assertExpectedTags(ExifSegmentReader.read(
+                new ByteArrayInputStream(ExifTestImages.jpegWithExif(ByteOrder.BIG_ENDIAN))));
+    }
+
+    @Test
+    void testRead_JpegLittleEndian_ReturnsRequestedTags() throws IOException {
+        assertExpectedTags(ExifSegmentReader.read(
+                new ByteArrayInputStream(ExifTestImages.jpegWithExif(ByteOrder.LITTLE_ENDIAN))));
+    }
+
+    @Test
+    void testRead_PngExifChunk_ReturnsRequestedTags() throws IOException {
+        assertExpectedTags(ExifSegmentReader.read(new ByteArrayInputStream(ExifTestImages.pngWithExif())));
+    }
+
+    @Test
+    void testRead_ImageWithoutExif_ReturnsEmpty() throws IOException {
+        assertTrue(ExifSegmentReader.read(new ByteArrayInputStream(ExifTestImages.encode("jpg"))).isEmpty());
+        assertTrue(ExifSegmentReader.read(new ByteArrayInputStream(ExifTestImages.encode("png"))).isEmpty());
+    }
+
+    @Test
+    void testRead_TruncatedSegment_ReturnsTagsReadSoFar() throws IOException {
+        byte[] jpeg = ExifTestImages.jpegWithExif(ByteOrder.BIG_ENDIAN);
+        byte[] truncated = Arrays.copyOf(jpeg, 120);
+
+        Map<String, String> tags = ExifSegmentReader.read(new ByteArrayInputStream(truncated));
+
+        assertEquals(String.valueOf(ExifTestImages.ORIENTATION), tags.get("orientacao"));
+        assertFalse(tags.containsKey("gps.latitude"));
+    }
+
+    @Test
+    void testRead_ReadsAtMostScanLimit() throws IOException {
+        byte[] large = new byte[ExifSegmentReader.SCAN_LIMIT * 4];
+        ByteArrayInputStream input = new ByteArrayInputStream(large);
+
+        ExifSegmentReader.read(input);
+
+        assertEquals(large.length - ExifSegmentReader.SCAN_LIMIT, input.available());
+    }
+
+    private void assertExpectedTags(Map<String, String> tags) {
+        assertEquals(ExifTestImages.MAKE, tags.get("camera.fabricante"));
+        assertEquals(ExifTestImages.MODEL, tags.get("camera.modelo"));
+        assertEquals(String.valueOf(ExifTestImages.ORIENTATION), tags.get("orientacao"));
+        assertEquals("300", tags.get("resolucao.x"));
+        assertEquals("72", tags.get("resolucao.y"));
+        assertEquals(ExifTestImages.DATE_TIME_ORIGINAL, tags.get("data.original"));
+        assertEquals(ExifTestImages.LATITUDE, Double.parseDouble(tags.get("gps.latitude")), 1e-9);
+        assertEquals(ExifTestImages.LONGITUDE, Double.parseDouble(tags.get("gps.longitude")), 1e-9);
+    }
+}
@@ -0,0 +1,162 @@
+package com.quodbiometria.util;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * Monta imagens JPEG e PNG com um bloco EXIF conhecido para os testes de extração.
+ */
+public final class ExifTestImages {
+
+    public static final String MAKE = "Canon";
+    public static final String MODEL = "Test Camera";
+    public static final String DATE_TIME_ORIGINAL = "2024:01:02 03:04:05";
+    public static final int ORIENTATION = 6;
+    public static final double LATITUDE = -(23 + 30 / 60.0);
+    public static final double LONGITUDE = -(46 + 37 / 60.0 + 48 / 3600.0);
+
+    private ExifTestImages() {
+    }
+
+    public static byte[] jpegWithExif(ByteOrder order) throws IOException {
+        byte[] jpeg = encode("jpg");
+        byte[] tiff = tiff(order);
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        output.write(jpeg, 0, 2);
+        output.write(0xFF);
+        output.write(0xE1);
+        int length = 2 + 6 + tiff.length;
+        output.write(length >> 8);
+        output.write(length & 0xFF);
+        output.write(new byte[]{'E', 'x', 'i', 'f', 0, 0});
+        output.write(tiff);
+        output.write(jpeg, 2, jpeg.length - 2);
+        return output.toByteArray();
+    }
+
+    public static byte[] pngWithExif() throws IOException {
+        byte[] png = encode("png");
+        byte[] tiff = tiff(ByteOrder.BIG_ENDIAN);
+        // Assinatura (8) + IHDR (4 + 4 + 13 + 4)
+        int afterIhdr = 8 + 25;
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        output.write(png, 0, afterIhdr);
+        ByteBuffer chunk = ByteBuffer.allocate(12 + tiff.length);
+        chunk.putInt(tiff.length).put("eXIf".getBytes(StandardCharsets.US_ASCII)).put(tiff);
+        CRC32 crc = new CRC32();
+        crc.update(chunk.array(), 4, 4 + tiff.length);
+        chunk.putInt((int) crc.getValue());
+        output.write(chunk.array());
+        output.write(png, afterIhdr, png.length - afterIhdr);
+        return output.toByteArray();
+    }
+
+    public static byte[] encode(String format) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(64, 48, BufferedImage.TYPE_INT_RGB), format, output);
+        return output.toByteArray();
+    }
+
+    private static byte[] tiff(ByteOrder order) {
+        List<Entry> ifd0 = new ArrayList<>();
+        List<Entry> exifIfd = new ArrayList<>();
+        List<Entry> gpsIfd = new ArrayList<>();
+
+        ifd0.add(Entry.ascii(0x010F, MAKE));
+        ifd0.add(Entry.ascii(0x0110, MODEL));
+        ifd0.add(Entry.shortValue(0x0112, ORIENTATION));
+        ifd0.add(Entry.rationals(0x011A, 300, 1));
+        ifd0.add(Entry.rationals(0x011B, 144, 2));
+        exifIfd.add(Entry.ascii(0x9003, DATE_TIME_ORIGINAL));
+        gpsIfd.add(Entry.ascii(0x0001, "S"));
+        gpsIfd.add(Entry.rationals(0x0002, 23, 1, 30, 1, 0, 1));
+        gpsIfd.add(Entry.ascii(0x0003, "W"));
+        gpsIfd.add(Entry.rationals(0x0004, 46, 1, 37, 1, 48, 1));
+
+        int ifd0Offset = 8;
+        int exifOffset = ifd0Offset + ifdSize(ifd0.size() + 2);
+        int gpsOffset = exifOffset + ifdSize(exifIfd.size());
+        int dataOffset = gpsOffset + ifdSize(gpsIfd.size());
+        ifd0.add(Entry.longValue(0x8769, exifOffset));
+        ifd0.add(Entry.longValue(0x8825, gpsOffset));
+
+        ByteBuffer buffer = ByteBuffer.allocate(4096).order(order);
+        buffer.put(order == ByteOrder.LITTLE_ENDIAN ? new byte[]{'I', 'I'} : new byte[]{'M', 'M'});
+        buffer.putShort((short) 42).putInt(ifd0Offset);
+
+        int[] data = {dataOffset};
+        writeIfd(buffer, ifd0, data);
+        writeIfd(buffer, exifIfd, data);
+        writeIfd(buffer, gpsIfd, data);
+
+        byte[] result = new byte[data[0]];
+        System.arraycopy(buffer.array(), 0, result, 0, data[0]);
+        return result;
+    }
+
+    private static int ifdSize(int entries) {
+        return 2 + entries * 12 + 4;
+    }
+
+    private static void writeIfd(ByteBuffer buffer, List<Entry> entries, int[] data) {
+        buffer.putShort((short) entries.size());
+        for (Entry entry : entries) {
+            buffer.putShort((short) entry.tag).putShort((short) entry.type).putInt(entry.count);
+            byte[] value = entry.value(buffer.order());
+            if (value.length <= 4) {
+                buffer.put(value).put(new byte[4 - value.length]);
+            } else {
+                buffer.putInt(data[0]);
+                int position = buffer.position();
+                buffer.position(data[0]).put(value).position(position);
+                data[0] += value.length;
+            }
+        }
+        buffer.putInt(0);
+    }
+
+    private record Entry(int tag, int type, int count, long[] numbers, String text) {
+
+        static Entry ascii(int tag, String value) {
+            return new Entry(tag, 2, value.length() + 1, null, value);
+        }
+
+        static Entry shortValue(int tag, int value) {
+            return new Entry(tag, 3, 1, new long[]{value}, null);
+        }
+
+        static Entry longValue(int tag, long value) {
+            return new Entry(tag, 4, 1, new long[]{value}, null);
+        }
+
+        static Entry rationals(int tag, long... values) {
+            return new Entry(tag, 5, values.length / 2, values, null);
+        }
+
+        byte[] value(ByteOrder order) {
+            if (text != null) {
+                return (text + "\0").getBytes(StandardCharsets.US_ASCII);
+            }
+            int size = type == 3 ? 2 : 4;
+            ByteBuffer value = ByteBuffer.allocate(numbers.length * size).order(order);
+            for (long number : numbers) {
+                if (type == 3) {
+                    value.putShort((short) number);
+                } else {
+                    value.putInt((int) number);
+                }
+            }
+            return value.array();
+        }
+    }
+}
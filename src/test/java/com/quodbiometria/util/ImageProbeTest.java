@@ -0,0 +1,64 @@
+package com.quodbiometria.util;
+
+import org.junit.jupiter.api.Test;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ImageProbeTest {
+
+    @Test
+    void testProbe_Jpeg_ReturnsFormatAndDimensions() throws IOException {
+        ImageProbe.ImageInfo info = ImageProbe.probe(new ByteArrayInputStream(encode(640, 480, "jpg")));
+
+        assertNotNull(info);
+        assertEquals(ImageProbe.Format.JPEG, info.format());
+        assertEquals(640, info.width());
+        assertEquals(480, info.height());
+        assertEquals(640L * 480, info.pixels());
+    }
+
+    @Test
+    void testProbe_Png_ReturnsFormatAndDimensions() throws IOException {
+        ImageProbe.ImageInfo info = ImageProbe.probe(new ByteArrayInputStream(encode(300, 200, "png")));
+
+        assertNotNull(info);
+        assertEquals(ImageProbe.Format.PNG, info.format());
+        assertEquals(300, info.width());
+        assertEquals(200, info.height());
+    }
+
+    @Test
+    void testProbe_HeaderOnly_DoesNotNeedPixelData() throws IOException {
+        byte[] jpeg = encode(800, 600, "jpg");
+        byte[] truncated = Arrays.copyOf(jpeg, 700);
+
+        ImageProbe.ImageInfo info = ImageProbe.probe(new ByteArrayInputStream(truncated));
+
+        assertNotNull(info);
+        assertEquals(800, info.width());
+        assertEquals(600, info.height());
+    }
+
+    @Test
+    void testProbe_NotAnImage_ReturnsNull() throws IOException {
+        assertNull(ImageProbe.probe(new ByteArrayInputStream("This is not an image".getBytes())));
+    }
+
+    @Test
+    void testProbe_TruncatedHeader_ReturnsNull() throws IOException {
+        assertNull(ImageProbe.probe(new ByteArrayInputStream(new byte[]{(byte) 0xFF, (byte) 0xD8, (byte) 0xFF})));
+    }
+
+    private byte[] encode(int width, int height, String format) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB), format, output);
+        return output.toByteArray();
+    }
+}
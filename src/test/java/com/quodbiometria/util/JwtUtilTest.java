@@ -3,9 +3,17 @@ package com.quodbiometria.util;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.when;
 
+import java.time.LocalDateTime;
 import java.util.Date;
 
+import javax.crypto.SecretKey;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.security.Keys;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -17,7 +25,9 @@ import org.springframework.test.util.ReflectionTestUtils;
 
 import com.quodbiometria.model.entity.RefreshToken;
 import com.quodbiometria.model.entity.User;
+import com.quodbiometria.model.enums.JwtKeyAlgorithm;
 import com.quodbiometria.repository.RefreshTokenRepository;
+import com.quodbiometria.service.security.JwtKeyRing;
 
 @ExtendWith(MockitoExtension.class)
 class JwtUtilTest {
@@ -31,14 +41,26 @@ class JwtUtilTest {
     @Mock
     private RefreshTokenRepository refreshTokenRepository;
 
+    @Mock
+    private JwtKeyRing keyRing;
+
+    private JwtKeyRing.RingKey ringKey;
+
     @BeforeEach
     void setUp() {
         // Configure properties via ReflectionTestUtils
         ReflectionTestUtils.setField(jwtUtil, "secret", "testSecretKeyForJwtThatNeedsToBeAtLeast32CharactersLong");
         ReflectionTestUtils.setField(jwtUtil, "accessTokenExpiration", 3600000L);
         ReflectionTestUtils.setField(jwtUtil, "refreshTokenExpiration", 86400000L);
+        ReflectionTestUtils.setField(jwtUtil, "verifiedCacheMaxSize", 100L);
+        ReflectionTestUtils.setField(jwtUtil, "verifiedCacheTtlSeconds", 60L);
+
+        SecretKey key = Keys.hmacShaKeyFor(new byte[64]);
+        ringKey = new JwtKeyRing.RingKey("kid1", 1L, JwtKeyAlgorithm.HS512, key, key,
+                LocalDateTime.now().plusDays(1));
+        lenient().when(keyRing.currentKey()).thenReturn(ringKey);
+        lenient().when(keyRing.verificationKey("kid1")).thenReturn(key);
 
-        // Initialize the keyStore
         jwtUtil.init();
 
         // Use lenient() to avoid "unnecessary stubbing" errors
@@ -121,4 +143,47 @@ class JwtUtilTest {
         assertNotNull(refreshToken);
         assertTrue(refreshToken.length() > 0);
     }
+
+    @Test
+    void testParseToken_SameTokenTwice_ReusesVerifiedClaims() {
+        String token = jwtUtil.generateToken(userDetails);
+
+        Claims first = jwtUtil.parseToken(token);
+        Claims second = jwtUtil.parseToken(token);
+
+        assertSame(first, second);
+        assertEquals("user@example.com", first.getSubject());
+        assertTrue(jwtUtil.validateClaims(first, userDetails));
+    }
+
+    @Test
+    void testParseToken_TamperedSignature_Rejected() {
+        String token = jwtUtil.generateToken(userDetails);
+        jwtUtil.parseToken(token);
+        int signatureStart = token.lastIndexOf('.') + 1;
+        char first = token.charAt(signatureStart);
+        String tampered = token.substring(0, signatureStart) + (first == 'A' ? 'B' : 'A')
+                + token.substring(signatureStart + 1);
+
+        assertThrows(JwtException.class, () -> jwtUtil.parseToken(tampered));
+    }
+
+    @Test
+    void testParseToken_ExpiredToken_ThrowsExpired() throws InterruptedException {
+        ReflectionTestUtils.setField(jwtUtil, "accessTokenExpiration", 1000L);
+        String token = jwtUtil.generateToken(userDetails);
+        assertNotNull(jwtUtil.parseToken(token));
+
+        Thread.sleep(1100);
+
+        assertThrows(ExpiredJwtException.class, () -> jwtUtil.parseToken(token));
+    }
+
+    @Test
+    void testParseToken_RetiredKey_Rejected() {
+        String token = jwtUtil.generateToken(userDetails);
+        when(keyRing.verificationKey("kid1")).thenReturn(null);
+
+        assertThrows(JwtException.class, () -> jwtUtil.parseToken(token));
+    }
 }
@@ -0,0 +1,71 @@
+package com.quodbiometria.util;
+
+import com.quodbiometria.model.dto.response.PageResponseDTO;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class KeysetPaginationTest {
+
+    private static final String ID_1 = "507f1f77bcf86cd799439011";
+    private static final String ID_2 = "507f1f77bcf86cd799439012";
+    private static final String ID_3 = "507f1f77bcf86cd799439013";
+
+    @Test
+    void testDecodeCursor_EncodedId_ReturnsSameId() {
+        String cursor = KeysetPagination.encodeCursor(ID_1);
+
+        assertNotEquals(ID_1, cursor);
+        assertEquals(ID_1, KeysetPagination.decodeCursor(cursor));
+    }
+
+    @Test
+    void testDecodeCursor_NullOrBlank_ReturnsNull() {
+        assertNull(KeysetPagination.decodeCursor(null));
+        assertNull(KeysetPagination.decodeCursor(" "));
+    }
+
+    @Test
+    void testDecodeCursor_NotAnObjectId_ThrowsBadRequest() {
+        String cursor = KeysetPagination.encodeCursor("qualquer-coisa");
+
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+                () -> KeysetPagination.decodeCursor(cursor));
+        assertEquals(HttpStatus.BAD_REQUEST, exception.getStatusCode());
+        assertThrows(ResponseStatusException.class, () -> KeysetPagination.decodeCursor("%%%"));
+    }
+
+    @Test
+    void testResolveLimit_OutOfRange_ClampsOrRejects() {
+        assertEquals(KeysetPagination.DEFAULT_LIMIT, KeysetPagination.resolveLimit(null));
+        assertEquals(KeysetPagination.MAX_LIMIT, KeysetPagination.resolveLimit(10_000));
+        assertEquals(10, KeysetPagination.resolveLimit(10));
+        assertThrows(ResponseStatusException.class, () -> KeysetPagination.resolveLimit(0));
+    }
+
+    @Test
+    void testToPage_FetchedBeyondLimit_TrimsAndReturnsCursorOfLastItem() {
+        PageResponseDTO<String> page = KeysetPagination.toPage(List.of(ID_1, ID_2, ID_3), 2,
+                Function.identity(), Function.identity());
+
+        assertEquals(List.of(ID_1, ID_2), page.getItens());
+        assertTrue(page.isTemMais());
+        assertEquals(2, page.getLimite());
+        assertEquals(ID_2, KeysetPagination.decodeCursor(page.getProximoCursor()));
+    }
+
+    @Test
+    void testToPage_LastPage_HasNoCursor() {
+        PageResponseDTO<String> page = KeysetPagination.toPage(List.of(ID_1), 2,
+                Function.identity(), Function.identity());
+
+        assertEquals(List.of(ID_1), page.getItens());
+        assertFalse(page.isTemMais());
+        assertNull(page.getProximoCursor());
+    }
+}